@@ -13,4 +13,19 @@ public interface PipelineExecutionObserver {
 
     void onPipelineEnd();
 
+    /**
+     * Executor can run multiple executions at the same time, so
+     * execution IRI is used to identify the execution in other calls.
+     * Observers that keep state per execution should override this method.
+     */
+    default void onPipelineBegin(
+            String execution, String pipeline, RdfSource definition)
+            throws LpException {
+        onPipelineBegin(pipeline, definition);
+    }
+
+    default void onPipelineEnd(String execution) {
+        onPipelineEnd();
+    }
+
 }
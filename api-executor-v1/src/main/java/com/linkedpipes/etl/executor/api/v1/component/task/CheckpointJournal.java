@@ -0,0 +1,133 @@
+package com.linkedpipes.etl.executor.api.v1.component.task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Journal of finished tasks of one worker. For every task the hash
+ * of its IRI is stored, see {@link TaskFilter#hash(String)}.
+ *
+ * <p>Records are buffered and written in groups, once there is given
+ * number of records or given time passed since the last write. So after
+ * a crash the last tasks may be executed again.
+ *
+ * <p>The journal is not thread safe, each worker has its own.
+ */
+class CheckpointJournal implements AutoCloseable {
+
+    public static final String EXTENSION = ".journal";
+
+    private static final int RECORD_SIZE = Long.BYTES;
+
+    /**
+     * Size of a mapped region, must be a multiple of the record size.
+     */
+    private static final long MAX_REGION =
+            (Integer.MAX_VALUE / RECORD_SIZE) * RECORD_SIZE;
+
+    private final File file;
+
+    private final long flushInterval;
+
+    private final ByteBuffer buffer;
+
+    private FileChannel channel = null;
+
+    private long lastFlush = System.currentTimeMillis();
+
+    /**
+     * @param flushCount Number of records to buffer.
+     * @param flushInterval Max time in milliseconds to buffer records.
+     */
+    CheckpointJournal(File file, int flushCount, long flushInterval) {
+        this.file = file;
+        this.flushInterval = flushInterval;
+        this.buffer = ByteBuffer.allocate(
+                Math.max(1, flushCount) * RECORD_SIZE);
+    }
+
+    public void write(String iri) throws IOException {
+        writeHash(TaskFilter.hash(iri));
+        if (System.currentTimeMillis() - lastFlush >= flushInterval) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        lastFlush = System.currentTimeMillis();
+        if (buffer.position() == 0) {
+            return;
+        }
+        if (channel == null) {
+            // Open on first write, so we do not create empty files.
+            channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Load records from given journal into the filter. Incomplete record
+     * at the end of the file, if any, is ignored.
+     */
+    public static void load(File file, TaskFilter filter) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size() - (channel.size() % RECORD_SIZE);
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(MAX_REGION, size - position);
+                LongBuffer records = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position, length)
+                        .asLongBuffer();
+                while (records.hasRemaining()) {
+                    filter.addHash(records.get());
+                }
+                position += length;
+            }
+        }
+    }
+
+    /**
+     * Save all records from the filter into given file.
+     */
+    public static void save(File file, TaskFilter filter) throws IOException {
+        Files.deleteIfExists(file.toPath());
+        try (CheckpointJournal journal = new CheckpointJournal(
+                file, Short.MAX_VALUE, Long.MAX_VALUE)) {
+            for (long hash : filter.toArray()) {
+                journal.writeHash(hash);
+            }
+        }
+    }
+
+    private void writeHash(long hash) throws IOException {
+        buffer.putLong(hash);
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+    }
+
+}
@@ -1,59 +1,60 @@
 package com.linkedpipes.etl.executor.api.v1.component.task;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit number of running tasks in a group.
+ *
+ * <p>Groups with a task and a free slot are kept in a ready queue, so
+ * getting a task does not require scanning of all groups. Groups are
+ * taken from the queue in round-robin fashion, so tasks from all groups
+ * are executed. Waiting workers are notified when a group becomes ready.
+ */
 class GroupTaskSource<T extends GroupTask> implements TaskSource<T> {
 
     /**
      * Group of tasks, limit the number of running tasks.
      */
-    private class Group<G> {
+    private static class Group<G> {
 
-        private volatile AtomicInteger numberOfRunning = new AtomicInteger();
+        private final Deque<G> tasks = new ArrayDeque<>();
 
-        protected ConcurrentLinkedDeque<G> tasks =
-                new ConcurrentLinkedDeque<>();
+        private int runningLimit;
 
-        private void addTask(G task) {
-            this.tasks.add(task);
-        }
+        private int numberOfRunning = 0;
 
-        private void onTaskExecutionFinished() {
-            numberOfRunning.decrementAndGet();
+        /**
+         * True if the group is in the ready queue.
+         */
+        private boolean ready = false;
+
+        Group(int runningLimit) {
+            this.runningLimit = runningLimit;
         }
 
-        protected G getTask(int runningLimit) {
-            if (numberOfRunning.get() >= runningLimit) {
-                return null;
-            }
-            G task = tasks.poll();
-            if (task == null) {
-                return null;
-            } else {
-                numberOfRunning.incrementAndGet();
-                return task;
-            }
+        private boolean canExecute() {
+            return !tasks.isEmpty() && numberOfRunning < runningLimit;
         }
 
     }
 
+    private final Map<Object, Group<T>> groups = new HashMap<>();
+
     /**
-     * Group for all tasks without the group, i.e. where group is null.
+     * Groups from which we can take a task.
      */
-    private class NullGroup<G> extends Group<G> {
+    private final Deque<Group<T>> readyGroups = new ArrayDeque<>();
 
-        @Override
-        public G getTask(int runningLimit) {
-            return tasks.poll();
-        }
-
-    }
+    private final ReentrantLock lock = new ReentrantLock();
 
-    private final Map<Object, Group<T>> groups = new HashMap<>();
+    private final Condition taskAvailable = lock.newCondition();
 
     private final int runningLimit;
 
@@ -61,21 +62,43 @@ class GroupTaskSource<T extends GroupTask> implements TaskSource<T> {
 
     private volatile boolean taskFailed = false;
 
-    private final Object lock = new Object();
+    /**
+     * Number of tasks waiting for execution.
+     */
+    private volatile int waitingTasks = 0;
 
     GroupTaskSource(Collection<T> tasks, int runningLimit) {
         this.runningLimit = runningLimit;
-        this.groups.put(null, new NullGroup<>());
-        splitTasks(tasks);
+        // Tasks without a group are not limited.
+        this.groups.put(null, new Group<>(Integer.MAX_VALUE));
+        lock.lock();
+        try {
+            splitTasks(tasks, runningLimit);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private void splitTasks(Collection<T> tasks) {
+    private void splitTasks(Collection<T> tasks, int runningLimit) {
         tasks.forEach((T task) -> {
             Group<T> group = groups.computeIfAbsent(
                     task.getGroup(),
-                    (x) -> new Group<T>());
-            group.addTask(task);
+                    (x) -> new Group<>(runningLimit));
+            group.tasks.add(task);
         });
+        for (Group<T> group : groups.values()) {
+            addToReadyIfCanExecute(group);
+        }
+        waitingTasks = tasks.size();
+    }
+
+    private void addToReadyIfCanExecute(Group<T> group) {
+        if (group.ready || !group.canExecute()) {
+            return;
+        }
+        group.ready = true;
+        readyGroups.add(group);
+        taskAvailable.signal();
     }
 
     @Override
@@ -85,43 +108,59 @@ class GroupTaskSource<T extends GroupTask> implements TaskSource<T> {
 
     @Override
     public T getTask() {
-        if (shouldHandleNextTask()) {
-            return getTaskToExecute();
-        } else {
-            return null;
+        lock.lock();
+        try {
+            return takeTask();
+        } finally {
+            lock.unlock();
         }
     }
 
-    private boolean shouldHandleNextTask() {
-        return skipOnError || !taskFailed;
-    }
-
-
-    private T getTaskToExecute() {
-        synchronized (lock) {
-            for (Group<T> group : groups.values()) {
-                T task = group.getTask(this.runningLimit);
-                if (task != null) {
+    @Override
+    public T waitForTask(long timeout) throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                T task = takeTask();
+                if (task != null || isAllExecuted() || nanos <= 0) {
                     return task;
                 }
+                nanos = taskAvailable.awaitNanos(nanos);
             }
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
-    @Override
-    public boolean isAllExecuted() {
+    private T takeTask() {
         if (!shouldHandleNextTask()) {
-            return true;
+            return null;
         }
-        synchronized (lock) {
-            for (Group<T> group : groups.values()) {
-                if (!group.tasks.isEmpty()) {
-                    return false;
-                }
-            }
+        Group<T> group = readyGroups.poll();
+        if (group == null) {
+            return null;
+        }
+        group.ready = false;
+        T task = group.tasks.poll();
+        group.numberOfRunning += 1;
+        waitingTasks -= 1;
+        // Put the group to the end of the queue so other groups can go.
+        addToReadyIfCanExecute(group);
+        if (waitingTasks == 0) {
+            // Waiting workers can finish.
+            taskAvailable.signalAll();
         }
-        return true;
+        return task;
+    }
+
+    private boolean shouldHandleNextTask() {
+        return skipOnError || !taskFailed;
+    }
+
+    @Override
+    public boolean isAllExecuted() {
+        return !shouldHandleNextTask() || waitingTasks == 0;
     }
 
     @Override
@@ -130,14 +169,29 @@ class GroupTaskSource<T extends GroupTask> implements TaskSource<T> {
     }
 
     private void onTaskExecutionEnd(T task) {
-        Group<T> group = groups.get(task.getGroup());
-        group.onTaskExecutionFinished();
+        lock.lock();
+        try {
+            Group<T> group = groups.get(task.getGroup());
+            group.numberOfRunning -= 1;
+            addToReadyIfCanExecute(group);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public void onTaskFailed(T task) {
-        onTaskExecutionEnd(task);
         this.taskFailed = true;
+        onTaskExecutionEnd(task);
+        if (!skipOnError) {
+            // Waiting workers can finish.
+            lock.lock();
+            try {
+                taskAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     @Override
@@ -145,4 +199,18 @@ class GroupTaskSource<T extends GroupTask> implements TaskSource<T> {
         return this.taskFailed;
     }
 
+    @Override
+    public int transferGroupLimit() {
+        lock.lock();
+        try {
+            for (Group<T> group : groups.values()) {
+                group.runningLimit = Integer.MAX_VALUE;
+                addToReadyIfCanExecute(group);
+            }
+            return runningLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
 }
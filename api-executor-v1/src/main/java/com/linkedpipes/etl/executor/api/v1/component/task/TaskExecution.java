@@ -7,19 +7,16 @@ import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.report.ReportWriter;
 import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.service.WorkingDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +24,9 @@ import java.util.concurrent.TimeUnit;
 public abstract class TaskExecution<T extends Task>
         implements Component, SequentialExecution, ResumableComponent {
 
+    private static final Logger LOG =
+            LoggerFactory.getLogger(TaskExecution.class);
+
     private static final int TERMINATION_CHECK = 5;
 
     private static final String CHECKPOINT_FILE_NAME_PADDING = "000000";
@@ -43,7 +43,7 @@ public abstract class TaskExecution<T extends Task>
 
     private File checkpointDir;
 
-    private final Set<String> taskFilter = new HashSet<>();
+    private final TaskFilter taskFilter = new TaskFilter();
 
     @Override
     public void execute(Component.Context context) throws LpException {
@@ -53,11 +53,14 @@ public abstract class TaskExecution<T extends Task>
         prepareCheckpointDir();
         TaskSource<T> taskSource = createTaskSource();
         taskSource.setSkipOnError(configuration.isSkipOnError());
-        List<TaskExecutor<T>> executors = createExecutors(taskSource);
-        beforeExecution();
-        ExecutorService executorService = createExecutorService();
-        start(executorService, executors);
-        waitForShutdown(executorService);
+        TaskExecutionMetrics metrics = new TaskExecutionMetrics();
+        ExecutorService virtualThreads = createVirtualThreadsService();
+        if (virtualThreads == null) {
+            executeOnPlatformThreads(taskSource, metrics);
+        } else {
+            executeOnVirtualThreads(virtualThreads, taskSource, metrics);
+        }
+        logMetrics(metrics);
         afterExecution();
         checkForFailures(taskSource);
     }
@@ -85,12 +88,83 @@ public abstract class TaskExecution<T extends Task>
 
     protected abstract TaskExecutionConfiguration getExecutionConfiguration();
 
-    private ExecutorService createExecutorService() {
-        return Executors.newFixedThreadPool(configuration.getThreadsNumber());
+    /**
+     * @return Null if the virtual threads should not be used.
+     */
+    private ExecutorService createVirtualThreadsService() {
+        if (!configuration.isVirtualThreads()) {
+            return null;
+        }
+        ExecutorService result = createVirtualThreadExecutorService();
+        if (result == null) {
+            LOG.warn("Virtual threads are not supported by the runtime, "
+                    + "platform threads are used instead.");
+        }
+        return result;
+    }
+
+    /**
+     * Virtual threads are not part of the Java version we build for,
+     * so we need to use reflection.
+     *
+     * @return Null if virtual threads are not supported.
+     */
+    private static ExecutorService createVirtualThreadExecutorService() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
     }
 
     protected abstract TaskSource<T> createTaskSource() throws LpException;
 
+    private void executeOnPlatformThreads(
+            TaskSource<T> taskSource, TaskExecutionMetrics metrics)
+            throws LpException {
+        List<TaskExecutor<T>> executors =
+                createExecutors(taskSource, metrics);
+        beforeExecution();
+        ExecutorService executorService = Executors.newFixedThreadPool(
+                configuration.getThreadsNumber());
+        start(executorService, executors);
+        waitForShutdown(executorService);
+    }
+
+    /**
+     * Each task is executed on its own virtual thread, so the number
+     * of running tasks is not limited by the number of threads, only
+     * by the limits for the groups.
+     */
+    private void executeOnVirtualThreads(
+            ExecutorService executorService, TaskSource<T> taskSource,
+            TaskExecutionMetrics metrics) throws LpException {
+        VirtualTaskExecutor<T> executor = new VirtualTaskExecutor<>(
+                this::createVirtualWorker, taskSource, createReportWriter(),
+                context, taskFilter, metrics, configuration.isSkipOnError(),
+                configuration.getThreadsNumber());
+        executor.prepare();
+        beforeExecution();
+        try {
+            executor.execute(executorService);
+        } finally {
+            waitForShutdown(executorService);
+            executor.close();
+        }
+    }
+
+    private VirtualTaskExecutor.Worker<T> createVirtualWorker(int index)
+            throws LpException {
+        CheckpointJournal checkpoint = new CheckpointJournal(
+                getTaskCheckpointFile(index),
+                configuration.getCheckpointFlushCount(),
+                configuration.getCheckpointFlushInterval());
+        return new VirtualTaskExecutor.Worker<>(
+                createConsumer(), createReportWriter(), checkpoint);
+    }
+
     /**
      * This function is called before the workers are created.
      */
@@ -98,20 +172,26 @@ public abstract class TaskExecution<T extends Task>
         // No operation here.
     }
 
-    private List<TaskExecutor<T>> createExecutors(TaskSource<T> taskSource)
+    private List<TaskExecutor<T>> createExecutors(
+            TaskSource<T> taskSource, TaskExecutionMetrics metrics)
             throws LpException {
         List<TaskExecutor<T>> executors = new ArrayList<>();
         for (int i = 0; i < configuration.getThreadsNumber(); ++i) {
-            executors.add(createTaskExecutor(taskSource, i));
+            executors.add(createTaskExecutor(taskSource, i, metrics));
         }
         return executors;
     }
 
     private TaskExecutor<T> createTaskExecutor(
-            TaskSource<T> taskSource, int index) throws LpException {
+            TaskSource<T> taskSource, int index,
+            TaskExecutionMetrics metrics) throws LpException {
+        CheckpointJournal checkpoint = new CheckpointJournal(
+                getTaskCheckpointFile(index),
+                configuration.getCheckpointFlushCount(),
+                configuration.getCheckpointFlushInterval());
         return new TaskExecutor<>(
                 createConsumer(), taskSource, createReportWriter(),
-                context, getTaskCheckpointFile(index), taskFilter);
+                context, checkpoint, taskFilter, metrics);
     }
 
     protected abstract TaskConsumer<T> createConsumer() throws LpException;
@@ -125,7 +205,8 @@ public abstract class TaskExecution<T extends Task>
             indexAsStr = CHECKPOINT_FILE_NAME_PADDING.substring(
                     indexAsStr.length()) + indexAsStr;
         }
-        return new File(checkpointDir, indexAsStr);
+        return new File(
+                checkpointDir, indexAsStr + CheckpointJournal.EXTENSION);
     }
 
     protected void start(
@@ -149,6 +230,13 @@ public abstract class TaskExecution<T extends Task>
         }
     }
 
+    private void logMetrics(TaskExecutionMetrics metrics) {
+        LOG.info("Executed {} tasks, queue wait average: {} ms, "
+                        + "max: {} ms, workers idle time: {} ms",
+                metrics.getTasks(), metrics.getAverageQueueWait(),
+                metrics.getMaxQueueWait(), metrics.getWorkerIdle());
+    }
+
     protected void afterExecution() throws LpException {
         // No operation here.
     }
@@ -182,11 +270,19 @@ public abstract class TaskExecution<T extends Task>
             return;
         }
         for (File file : files) {
-            loadProcessedTasksFromFile(file);
+            if (file.getName().endsWith(CheckpointJournal.EXTENSION)) {
+                CheckpointJournal.load(file, taskFilter);
+            } else {
+                loadProcessedTasksFromTextFile(file);
+            }
         }
     }
 
-    private void loadProcessedTasksFromFile(File file) throws IOException {
+    /**
+     * Load checkpoint in format used before the journal, one IRI per line.
+     */
+    private void loadProcessedTasksFromTextFile(File file)
+            throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(
                 new FileInputStream(file), "utf-8"))) {
             String line;
@@ -199,13 +295,9 @@ public abstract class TaskExecution<T extends Task>
     private void saveProcessedTasks() throws IOException {
         // We save processed task, so in next execution we does not
         // repeat those from previous run.
-        File file = new File(checkpointDir, "previous");
-        try (Writer writer = new OutputStreamWriter(
-                new FileOutputStream(file), "utf-8")) {
-            for (String iri : taskFilter) {
-                writer.write(String.format("%s%n", iri));
-            }
-        }
+        File file = new File(
+                checkpointDir, "previous" + CheckpointJournal.EXTENSION);
+        CheckpointJournal.save(file, taskFilter);
     }
 
 }
@@ -3,13 +3,40 @@ package com.linkedpipes.etl.executor.api.v1.component.task;
 public interface TaskExecutionConfiguration {
 
     /**
-     * Number of thread used for execution.
+     * Number of thread used for execution, it limits the number of tasks
+     * executed at the same time.
      */
     int getThreadsNumber();
 
+    /**
+     * If true and supported by the runtime, the tasks are executed using
+     * virtual threads. In such case the number of threads can be high
+     * as only running tasks occupy platform threads. Limits for groups
+     * of tasks are still respected.
+     */
+    default boolean isVirtualThreads() {
+        return false;
+    }
+
     /**
      * True to skip task on error.
      */
     boolean isSkipOnError();
 
+    /**
+     * Number of finished tasks a worker can keep in memory before
+     * saving them to the checkpoint journal.
+     */
+    default int getCheckpointFlushCount() {
+        return 1024;
+    }
+
+    /**
+     * Max time in milliseconds a worker can keep finished tasks in memory
+     * before saving them to the checkpoint journal.
+     */
+    default long getCheckpointFlushInterval() {
+        return 1000;
+    }
+
 }
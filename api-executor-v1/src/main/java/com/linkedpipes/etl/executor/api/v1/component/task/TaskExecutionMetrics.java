@@ -0,0 +1,55 @@
+package com.linkedpipes.etl.executor.api.v1.component.task;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collect time tasks spent in a queue and time workers spent waiting
+ * for a task. All tasks are queued when the execution starts.
+ */
+class TaskExecutionMetrics {
+
+    private final long start = System.currentTimeMillis();
+
+    private final AtomicLong tasks = new AtomicLong();
+
+    private final AtomicLong queueWait = new AtomicLong();
+
+    private final AtomicLong maxQueueWait = new AtomicLong();
+
+    private final AtomicLong idle = new AtomicLong();
+
+    public void onTaskTaken() {
+        long wait = System.currentTimeMillis() - start;
+        tasks.incrementAndGet();
+        queueWait.addAndGet(wait);
+        maxQueueWait.accumulateAndGet(wait, Math::max);
+    }
+
+    public void onWorkerIdle(long time) {
+        idle.addAndGet(time);
+    }
+
+    public long getTasks() {
+        return tasks.get();
+    }
+
+    /**
+     * Average time in milliseconds a task waited for execution.
+     */
+    public long getAverageQueueWait() {
+        long count = tasks.get();
+        return count == 0 ? 0 : queueWait.get() / count;
+    }
+
+    public long getMaxQueueWait() {
+        return maxQueueWait.get();
+    }
+
+    /**
+     * Total time in milliseconds workers spent waiting for a task.
+     */
+    public long getWorkerIdle() {
+        return idle.get();
+    }
+
+}
@@ -6,17 +6,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
 import java.util.Date;
 import java.util.Map;
-import java.util.Set;
 
 class TaskExecutor<T extends Task> implements Runnable {
 
-    private static final int SLEEP_TIME = 15 * 1000;
+    /**
+     * Limit for waiting on a task, so we can check for cancellation.
+     */
+    private static final int WAIT_TIME = 1000;
 
     private static final Logger LOG =
             LoggerFactory.getLogger(TaskExecutor.class);
@@ -35,23 +34,27 @@ class TaskExecutor<T extends Task> implements Runnable {
     /**
      * If provided is used to save finished tasks.
      */
-    private final File checkpointFile;
+    private final CheckpointJournal checkpoint;
+
+    private final TaskFilter taskFilter;
 
-    private final Set<String> taskFilter;
+    private final TaskExecutionMetrics metrics;
 
     TaskExecutor(
             TaskConsumer<T> taskConsumer,
             TaskSource<T> taskSource,
             ReportWriter reportWriter,
             Component.Context context,
-            File checkpointFile,
-            Set<String> taskFilter) {
+            CheckpointJournal checkpoint,
+            TaskFilter taskFilter,
+            TaskExecutionMetrics metrics) {
         this.taskConsumer = taskConsumer;
         this.taskSource = taskSource;
         this.reportWriter = reportWriter;
         this.context = context;
-        this.checkpointFile = checkpointFile;
+        this.checkpoint = checkpoint;
         this.taskFilter = taskFilter;
+        this.metrics = metrics;
     }
 
     @Override
@@ -61,6 +64,8 @@ class TaskExecutor<T extends Task> implements Runnable {
             execute();
         } catch (Throwable throwable) {
             LOG.error("Task executor failed with Throwable!", throwable);
+        } finally {
+            closeCheckpoint();
         }
     }
 
@@ -74,12 +79,12 @@ class TaskExecutor<T extends Task> implements Runnable {
             if (context.isCancelled()) {
                 break;
             }
-            T task = taskSource.getTask();
+            T task = waitForTask();
             if (task == null) {
                 // There is no task now, but there might be later.
-                waitForNextTask();
                 continue;
             }
+            metrics.onTaskTaken();
             if (taskFilter.contains(task.getIri())) {
                 reportWriter.onTaskFinishedInPreviousRun(task);
                 taskSource.onTaskFinished(task);
@@ -89,11 +94,15 @@ class TaskExecutor<T extends Task> implements Runnable {
         }
     }
 
-    private void waitForNextTask() {
+    private T waitForTask() {
+        long start = System.currentTimeMillis();
         try {
-            Thread.sleep(SLEEP_TIME);
+            return taskSource.waitForTask(WAIT_TIME);
         } catch (InterruptedException ex) {
             // Do nothing..
+            return null;
+        } finally {
+            metrics.onWorkerIdle(System.currentTimeMillis() - start);
         }
     }
 
@@ -114,17 +123,22 @@ class TaskExecutor<T extends Task> implements Runnable {
     }
 
     private void writeTaskStatus(T task) {
-        if (checkpointFile == null) {
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            checkpoint.write(task.getIri());
+        } catch (IOException ex) {
+            LOG.warn("Can't save progress.", ex);
+        }
+    }
+
+    private void closeCheckpoint() {
+        if (checkpoint == null) {
             return;
         }
         try {
-            String content = String.format("%s%n", task.getIri());
-            Files.write(
-                    checkpointFile.toPath(),
-                    content.getBytes("utf-8"),
-                    Files.exists(checkpointFile.toPath())
-                            ? StandardOpenOption.APPEND :
-                            StandardOpenOption.CREATE);
+            checkpoint.close();
         } catch (IOException ex) {
             LOG.warn("Can't save progress.", ex);
         }
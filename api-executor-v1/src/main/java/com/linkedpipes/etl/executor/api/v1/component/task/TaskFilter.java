@@ -0,0 +1,135 @@
+package com.linkedpipes.etl.executor.api.v1.component.task;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Set of tasks finished in a previous run. Tasks are identified by
+ * a 64-bit hash of their IRI stored in an open addressing table,
+ * so we do not need to keep the IRIs in memory.
+ *
+ * <p>The filter is filled before the execution and only read during
+ * the execution.
+ */
+class TaskFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int BYTE_MASK = 0xff;
+
+    private static final long MIX_MULTIPLIER = 0xff51afd7ed558ccdL;
+
+    private static final int MIX_SHIFT = 33;
+
+    /**
+     * Zero is used to mark an empty slot.
+     */
+    private long[] table = new long[INITIAL_CAPACITY];
+
+    private boolean containsZero = false;
+
+    private int size = 0;
+
+    /**
+     * Return identity of a task with given IRI.
+     */
+    public static long hash(String iri) {
+        long hash = FNV_OFFSET;
+        for (byte value : iri.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & BYTE_MASK;
+            hash *= FNV_PRIME;
+        }
+        // Final mix to spread the bits, as the table use the lower ones.
+        hash ^= hash >>> MIX_SHIFT;
+        hash *= MIX_MULTIPLIER;
+        hash ^= hash >>> MIX_SHIFT;
+        return hash;
+    }
+
+    public void add(String iri) {
+        addHash(hash(iri));
+    }
+
+    public void addHash(long hash) {
+        if (hash == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                ++size;
+            }
+            return;
+        }
+        if ((size + 1) * 2 > table.length) {
+            resize();
+        }
+        if (insert(table, hash)) {
+            ++size;
+        }
+    }
+
+    private static boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        int index = (int) hash & mask;
+        while (table[index] != 0) {
+            if (table[index] == hash) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = hash;
+        return true;
+    }
+
+    private void resize() {
+        long[] newTable = new long[table.length * 2];
+        for (long hash : table) {
+            if (hash != 0) {
+                insert(newTable, hash);
+            }
+        }
+        table = newTable;
+    }
+
+    public boolean contains(String iri) {
+        return containsHash(hash(iri));
+    }
+
+    public boolean containsHash(long hash) {
+        if (hash == 0) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        int index = (int) hash & mask;
+        while (table[index] != 0) {
+            if (table[index] == hash) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Return all stored hashes.
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int index = 0;
+        if (containsZero) {
+            result[index++] = 0;
+        }
+        for (long hash : table) {
+            if (hash != 0) {
+                result[index++] = hash;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
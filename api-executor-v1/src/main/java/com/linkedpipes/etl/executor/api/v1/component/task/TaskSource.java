@@ -14,6 +14,15 @@ public interface TaskSource<T extends Task> {
      */
     T getTask();
 
+    /**
+     * Wait up to given time in milliseconds for a task to execute.
+     *
+     * @return Null if there is no task to execute.
+     */
+    default T waitForTask(long timeout) throws InterruptedException {
+        return getTask();
+    }
+
     /**
      * True when there are no more tasks to execute.
      */
@@ -25,6 +34,18 @@ public interface TaskSource<T extends Task> {
 
     boolean doesTaskFailed();
 
+    /**
+     * Stop limiting the number of running tasks in a group, the caller
+     * is responsible for the limit. Used when each task is executed
+     * on its own thread.
+     *
+     * @return Limit for running tasks in a group,
+     *         {@link Integer#MAX_VALUE} if there is no limit.
+     */
+    default int transferGroupLimit() {
+        return Integer.MAX_VALUE;
+    }
+
     static <T extends Task> TaskSource<T> defaultTaskSource(
             Collection<T> tasks) {
         return new SimpleTaskSource<>(tasks);
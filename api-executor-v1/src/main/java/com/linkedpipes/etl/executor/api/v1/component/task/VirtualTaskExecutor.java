@@ -0,0 +1,295 @@
+package com.linkedpipes.etl.executor.api.v1.component.task;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.component.Component;
+import com.linkedpipes.etl.executor.api.v1.report.ReportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Execute each task on its own thread, designed to be used with virtual
+ * threads. The number of running tasks in a group is limited by
+ * a semaphore, tasks without a group share a limit given by the number
+ * of threads.
+ *
+ * <p>Consumers, report writers and checkpoint journals are not thread
+ * safe, so a running task borrows a worker holding them. Workers are
+ * created on demand, so there is one worker for each task running
+ * at the same time.
+ */
+class VirtualTaskExecutor<T extends Task> {
+
+    /**
+     * Objects used to execute one task at a time.
+     */
+    static class Worker<T extends Task> {
+
+        private final TaskConsumer<T> consumer;
+
+        private final ReportWriter reportWriter;
+
+        private final CheckpointJournal checkpoint;
+
+        Worker(
+                TaskConsumer<T> consumer,
+                ReportWriter reportWriter,
+                CheckpointJournal checkpoint) {
+            this.consumer = consumer;
+            this.reportWriter = reportWriter;
+            this.checkpoint = checkpoint;
+        }
+
+    }
+
+    @FunctionalInterface
+    interface WorkerFactory<T extends Task> {
+
+        Worker<T> create(int index) throws LpException;
+
+    }
+
+    /**
+     * Limit for waiting on a task, so we can check for cancellation.
+     */
+    private static final int WAIT_TIME = 1000;
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(VirtualTaskExecutor.class);
+
+    private final WorkerFactory<T> workerFactory;
+
+    private final TaskSource<T> taskSource;
+
+    /**
+     * Used only by the thread that dispatch the tasks.
+     */
+    private final ReportWriter reportWriter;
+
+    private final Map<String, String> mdcContextMap =
+            MDC.getCopyOfContextMap();
+
+    private final Component.Context context;
+
+    private final TaskFilter taskFilter;
+
+    private final TaskExecutionMetrics metrics;
+
+    private final boolean skipOnError;
+
+    private final int ungroupedLimit;
+
+    private final int groupLimit;
+
+    /**
+     * Used only by the thread that dispatch the tasks.
+     */
+    private final Map<Object, Semaphore> semaphores = new HashMap<>();
+
+    private final ReentrantLock workersLock = new ReentrantLock();
+
+    private final Deque<Worker<T>> idleWorkers = new ArrayDeque<>();
+
+    private final List<Worker<T>> workers = new ArrayList<>();
+
+    VirtualTaskExecutor(
+            WorkerFactory<T> workerFactory,
+            TaskSource<T> taskSource,
+            ReportWriter reportWriter,
+            Component.Context context,
+            TaskFilter taskFilter,
+            TaskExecutionMetrics metrics,
+            boolean skipOnError,
+            int ungroupedLimit) {
+        this.workerFactory = workerFactory;
+        this.taskSource = taskSource;
+        this.reportWriter = reportWriter;
+        this.context = context;
+        this.taskFilter = taskFilter;
+        this.metrics = metrics;
+        this.skipOnError = skipOnError;
+        this.ungroupedLimit = ungroupedLimit;
+        // From now on the groups are limited here.
+        this.groupLimit = taskSource.transferGroupLimit();
+    }
+
+    /**
+     * Create the first worker, so the component can initialize it
+     * before the execution.
+     */
+    public void prepare() throws LpException {
+        releaseWorker(takeWorker());
+    }
+
+    /**
+     * Submit tasks to given service, return when there are no more
+     * tasks to submit.
+     */
+    public void execute(ExecutorService executorService) {
+        while (!taskSource.isAllExecuted()) {
+            if (context.isCancelled()) {
+                break;
+            }
+            T task = waitForTask();
+            if (task == null) {
+                // There is no task now, but there might be later.
+                continue;
+            }
+            metrics.onTaskTaken();
+            if (taskFilter.contains(task.getIri())) {
+                reportWriter.onTaskFinishedInPreviousRun(task);
+                taskSource.onTaskFinished(task);
+            } else {
+                Semaphore semaphore = getSemaphore(task);
+                executorService.submit(() -> run(task, semaphore));
+            }
+        }
+    }
+
+    private T waitForTask() {
+        long start = System.currentTimeMillis();
+        try {
+            return taskSource.waitForTask(WAIT_TIME);
+        } catch (InterruptedException ex) {
+            // Do nothing..
+            return null;
+        } finally {
+            metrics.onWorkerIdle(System.currentTimeMillis() - start);
+        }
+    }
+
+    private Semaphore getSemaphore(T task) {
+        Object group = null;
+        if (task instanceof GroupTask && groupLimit != Integer.MAX_VALUE) {
+            group = ((GroupTask) task).getGroup();
+        }
+        if (group == null) {
+            return semaphores.computeIfAbsent(
+                    null, (key) -> new Semaphore(ungroupedLimit, true));
+        }
+        return semaphores.computeIfAbsent(
+                group, (key) -> new Semaphore(groupLimit, true));
+    }
+
+    private void run(T task, Semaphore semaphore) {
+        MDC.setContextMap(mdcContextMap);
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException ex) {
+            return;
+        }
+        try {
+            if (shouldExecute()) {
+                execute(task);
+            }
+        } catch (Throwable throwable) {
+            LOG.error("Task executor failed with Throwable!", throwable);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * The task may wait for a semaphore after the execution was
+     * cancelled or other task failed.
+     */
+    private boolean shouldExecute() {
+        if (context.isCancelled()) {
+            return false;
+        }
+        return skipOnError || !taskSource.doesTaskFailed();
+    }
+
+    private void execute(T task) {
+        Worker<T> worker;
+        try {
+            worker = takeWorker();
+        } catch (LpException ex) {
+            LOG.error("Can't create worker for task: {}", task.getIri(), ex);
+            taskSource.onTaskFailed(task);
+            return;
+        }
+        try {
+            executeTask(worker, task);
+        } finally {
+            releaseWorker(worker);
+        }
+    }
+
+    private Worker<T> takeWorker() throws LpException {
+        workersLock.lock();
+        try {
+            Worker<T> worker = idleWorkers.poll();
+            if (worker == null) {
+                worker = workerFactory.create(workers.size());
+                worker.consumer.setContext(context);
+                workers.add(worker);
+            }
+            return worker;
+        } finally {
+            workersLock.unlock();
+        }
+    }
+
+    private void releaseWorker(Worker<T> worker) {
+        workersLock.lock();
+        try {
+            idleWorkers.push(worker);
+        } finally {
+            workersLock.unlock();
+        }
+    }
+
+    private void executeTask(Worker<T> worker, T task) {
+        Date taskStart = new Date();
+        try {
+            worker.consumer.accept(task);
+            onTaskFinished(worker, task, taskStart);
+        } catch (Throwable throwable) {
+            onTaskFailed(worker, task, taskStart, throwable);
+        }
+    }
+
+    private void onTaskFinished(Worker<T> worker, T task, Date startTime) {
+        worker.reportWriter.onTaskFinished(task, startTime, new Date());
+        taskSource.onTaskFinished(task);
+        try {
+            worker.checkpoint.write(task.getIri());
+        } catch (IOException ex) {
+            LOG.warn("Can't save progress.", ex);
+        }
+    }
+
+    private void onTaskFailed(
+            Worker<T> worker, T task, Date startTime, Throwable throwable) {
+        worker.reportWriter.onTaskFailed(
+                task, startTime, new Date(), throwable);
+        taskSource.onTaskFailed(task);
+    }
+
+    /**
+     * Call once all tasks are finished.
+     */
+    public void close() {
+        for (Worker<T> worker : workers) {
+            try {
+                worker.checkpoint.close();
+            } catch (IOException ex) {
+                LOG.warn("Can't save progress.", ex);
+            }
+        }
+    }
+
+}
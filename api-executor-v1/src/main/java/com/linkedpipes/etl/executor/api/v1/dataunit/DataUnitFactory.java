@@ -17,4 +17,21 @@ public interface DataUnitFactory {
             String dataUnit, String graph, RdfSource definition)
             throws LpException;
 
+    /**
+     * Create dataunit for given execution. Factories that keep state
+     * per execution should override this method.
+     *
+     * @param execution  IRI of execution the data unit belongs to.
+     * @param dataUnit   Resource of DataUnit to create.
+     * @param graph      Graph with the resource.
+     * @param definition Pipeline definition.
+     * @return Null if this factory can not create given type of dataunit.
+     */
+    default ManageableDataUnit create(
+            String execution, String dataUnit, String graph,
+            RdfSource definition)
+            throws LpException {
+        return create(dataUnit, graph, definition);
+    }
+
 }
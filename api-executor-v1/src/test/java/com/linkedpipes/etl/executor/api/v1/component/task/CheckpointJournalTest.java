@@ -0,0 +1,76 @@
+package com.linkedpipes.etl.executor.api.v1.component.task;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+public class CheckpointJournalTest {
+
+    private File file;
+
+    @Before
+    public void before() throws IOException {
+        file = Files.createTempFile("lp-test-", ".journal").toFile();
+        file.delete();
+    }
+
+    @After
+    public void after() {
+        file.delete();
+    }
+
+    @Test
+    public void writeAndLoad() throws IOException {
+        try (CheckpointJournal journal =
+                     new CheckpointJournal(file, 2, Long.MAX_VALUE)) {
+            for (int index = 0; index < 5; ++index) {
+                journal.write("http://task/" + index);
+            }
+            // Two groups of two records are written.
+            Assert.assertEquals(4 * Long.BYTES, file.length());
+        }
+        Assert.assertEquals(5 * Long.BYTES, file.length());
+        TaskFilter filter = new TaskFilter();
+        CheckpointJournal.load(file, filter);
+        Assert.assertEquals(5, filter.size());
+        Assert.assertTrue(filter.contains("http://task/0"));
+        Assert.assertTrue(filter.contains("http://task/4"));
+        Assert.assertFalse(filter.contains("http://task/5"));
+    }
+
+    @Test
+    public void ignoreIncompleteRecord() throws IOException {
+        try (CheckpointJournal journal =
+                     new CheckpointJournal(file, 1, Long.MAX_VALUE)) {
+            journal.write("http://task");
+        }
+        Files.write(file.toPath(), new byte[]{1, 2, 3},
+                StandardOpenOption.APPEND);
+        TaskFilter filter = new TaskFilter();
+        CheckpointJournal.load(file, filter);
+        Assert.assertEquals(1, filter.size());
+        Assert.assertTrue(filter.contains("http://task"));
+    }
+
+    @Test
+    public void saveFilter() throws IOException {
+        TaskFilter expected = new TaskFilter();
+        for (int index = 0; index < 100; ++index) {
+            expected.add("http://task/" + index);
+        }
+        CheckpointJournal.save(file, expected);
+        TaskFilter actual = new TaskFilter();
+        CheckpointJournal.load(file, actual);
+        Assert.assertEquals(100, actual.size());
+        for (int index = 0; index < 100; ++index) {
+            Assert.assertTrue(actual.contains("http://task/" + index));
+        }
+    }
+
+}
@@ -4,6 +4,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GroupTaskSourceTest {
 
@@ -103,4 +104,55 @@ public class GroupTaskSourceTest {
         Assert.assertTrue(source.doesTaskFailed());
     }
 
+    @Test
+    public void rotateGroups() {
+        TaskSource<MockedTask> source = new GroupTaskSource<>(Arrays.asList(
+                new MockedTask(1), new MockedTask(1), new MockedTask(2)), 2);
+        Object firstGroup = source.getTask().getGroup();
+        Object secondGroup = source.getTask().getGroup();
+        Assert.assertNotEquals(firstGroup, secondGroup);
+        Assert.assertNotNull(source.getTask());
+        Assert.assertTrue(source.isAllExecuted());
+    }
+
+    @Test(timeout = 5000)
+    public void wakeUpWhenGroupIsReady() throws Exception {
+        TaskSource<MockedTask> source = new GroupTaskSource<>(Arrays.asList(
+                new MockedTask(1), new MockedTask(1)), 1);
+        MockedTask first = source.getTask();
+        Assert.assertNotNull(first);
+        AtomicReference<MockedTask> second = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            try {
+                second.set(source.waitForTask(60 * 1000));
+            } catch (InterruptedException ex) {
+                // Test fails on missing task.
+            }
+        });
+        worker.start();
+        source.onTaskFinished(first);
+        worker.join();
+        Assert.assertNotNull(second.get());
+    }
+
+    @Test
+    public void waitForTaskTimeout() throws InterruptedException {
+        TaskSource<MockedTask> source = new GroupTaskSource<>(Arrays.asList(
+                new MockedTask(1), new MockedTask(1)), 1);
+        Assert.assertNotNull(source.waitForTask(1));
+        Assert.assertNull(source.waitForTask(1));
+        Assert.assertFalse(source.isAllExecuted());
+    }
+
+    @Test
+    public void transferGroupLimit() {
+        TaskSource<MockedTask> source = new GroupTaskSource<>(Arrays.asList(
+                new MockedTask(1), new MockedTask(1)), 1);
+        Assert.assertNotNull(source.getTask());
+        Assert.assertNull(source.getTask());
+        Assert.assertEquals(1, source.transferGroupLimit());
+        Assert.assertNotNull(source.getTask());
+        Assert.assertTrue(source.isAllExecuted());
+    }
+
 }
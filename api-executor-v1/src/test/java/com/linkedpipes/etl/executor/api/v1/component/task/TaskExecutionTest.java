@@ -6,6 +6,7 @@ import com.linkedpipes.etl.executor.api.v1.report.ReportWriter;
 import com.linkedpipes.etl.executor.api.v1.service.WorkingDirectory;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -18,6 +19,12 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TODO Add test for failing task.
@@ -66,6 +73,126 @@ public class TaskExecutionTest {
         }
     }
 
+    private static class MockedGroupTask implements GroupTask {
+
+        private final String group;
+
+        private final int index;
+
+        MockedGroupTask(String group, int index) {
+            this.group = group;
+            this.index = index;
+        }
+
+        @Override
+        public String getIri() {
+            return "http://task/" + group + "/" + index;
+        }
+
+        @Override
+        public Object getGroup() {
+            return group;
+        }
+
+    }
+
+    /**
+     * First four tasks wait for each other, so we can check how many
+     * tasks run at the same time.
+     */
+    private static class VirtualTaskExecution
+            extends TaskExecution<MockedGroupTask> {
+
+        private static final int WAIT_SECONDS = 5;
+
+        List<MockedGroupTask> tasks = new ArrayList<>();
+
+        ReportWriter report = Mockito.mock(ReportWriter.class);
+
+        CountDownLatch latch = new CountDownLatch(4);
+
+        AtomicInteger running = new AtomicInteger();
+
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Map<Object, AtomicInteger> runningInGroup =
+                new ConcurrentHashMap<>();
+
+        AtomicInteger maxRunningInGroup = new AtomicInteger();
+
+        AtomicBoolean allVirtual = new AtomicBoolean(true);
+
+        AtomicBoolean mdcPropagated = new AtomicBoolean(true);
+
+        AtomicInteger consumersCount = new AtomicInteger();
+
+        @Override
+        protected TaskExecutionConfiguration getExecutionConfiguration() {
+            return new TaskExecutionConfiguration() {
+
+                @Override
+                public int getThreadsNumber() {
+                    return 1;
+                }
+
+                @Override
+                public boolean isVirtualThreads() {
+                    return true;
+                }
+
+                @Override
+                public boolean isSkipOnError() {
+                    return false;
+                }
+
+            };
+        }
+
+        @Override
+        protected TaskSource<MockedGroupTask> createTaskSource() {
+            return TaskSource.groupTaskSource(tasks, 2);
+        }
+
+        @Override
+        protected TaskConsumer<MockedGroupTask> createConsumer() {
+            consumersCount.incrementAndGet();
+            return (task) -> {
+                AtomicInteger inGroup = runningInGroup.computeIfAbsent(
+                        task.getGroup(), (key) -> new AtomicInteger());
+                maxRunning.accumulateAndGet(
+                        running.incrementAndGet(), Math::max);
+                maxRunningInGroup.accumulateAndGet(
+                        inGroup.incrementAndGet(), Math::max);
+                allVirtual.compareAndSet(true, isVirtual());
+                mdcPropagated.compareAndSet(
+                        true, "virtual".equals(MDC.get("execution")));
+                latch.countDown();
+                try {
+                    latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    throw new LpException("Interrupted.", ex);
+                }
+                inGroup.decrementAndGet();
+                running.decrementAndGet();
+            };
+        }
+
+        private static boolean isVirtual() {
+            try {
+                return (Boolean) Thread.class.getMethod("isVirtual")
+                        .invoke(Thread.currentThread());
+            } catch (ReflectiveOperationException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        protected ReportWriter createReportWriter() {
+            return report;
+        }
+
+    }
+
     private File workingDirectory;
 
     @BeforeClass
@@ -133,4 +260,70 @@ public class TaskExecutionTest {
                 Mockito.any(), Mockito.any(), Mockito.any());
     }
 
+    @Test
+    public void fallbackToPlatformThreads() throws LpException {
+        Assume.assumeFalse(isVirtualThreadSupported());
+        MockedTaskExecution component = new MockedTaskExecution();
+        Mockito.when(component.config.getThreadsNumber()).thenReturn(2);
+        Mockito.when(component.config.isSkipOnError()).thenReturn(false);
+        Mockito.when(component.config.isVirtualThreads()).thenReturn(true);
+        component.tasks.add(new MockedTask());
+        component.tasks.add(new MockedTask());
+        component.tasks.add(new MockedTask());
+
+        component.workingDirectory = new WorkingDirectory(
+                new File(workingDirectory, "fallbackToPlatformThreads"));
+
+        Component.Context context = Mockito.mock(Component.Context.class);
+        component.execute(context);
+
+        Assert.assertEquals(2, component.consumers.size());
+        Mockito.verify(component.report, Mockito.times(3)).onTaskFinished(
+                Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    private static boolean isVirtualThreadSupported() {
+        try {
+            Thread.class.getMethod("isVirtual");
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    @Test
+    public void executeWithVirtualThreads() throws Exception {
+        Assume.assumeTrue(isVirtualThreadSupported());
+        VirtualTaskExecution component = new VirtualTaskExecution();
+        for (int index = 0; index < 4; ++index) {
+            component.tasks.add(new MockedGroupTask("a", index));
+            component.tasks.add(new MockedGroupTask("b", index));
+        }
+        component.workingDirectory = new WorkingDirectory(
+                new File(workingDirectory, "executeWithVirtualThreads"));
+
+        Component.Context context = Mockito.mock(Component.Context.class);
+        MDC.put("execution", "virtual");
+        try {
+            component.execute(context);
+        } finally {
+            MDC.remove("execution");
+        }
+
+        Mockito.verify(component.report, Mockito.times(8)).onTaskFinished(
+                Mockito.any(), Mockito.any(), Mockito.any());
+        // Two groups with two running tasks each, while there is only
+        // one thread configured.
+        Assert.assertEquals(4, component.maxRunning.get());
+        Assert.assertEquals(2, component.maxRunningInGroup.get());
+        Assert.assertTrue(component.allVirtual.get());
+        Assert.assertTrue(component.mdcPropagated.get());
+        // Each task running at the same time had its own consumer.
+        Assert.assertEquals(4, component.consumersCount.get());
+        File[] checkpoints = new File(
+                component.workingDirectory, "checkpoints").listFiles();
+        Assert.assertNotNull(checkpoints);
+        Assert.assertEquals(4, checkpoints.length);
+    }
+
 }
@@ -48,7 +48,7 @@ public class TaskExecutorTest {
                 Arrays.asList(first));
         TaskExecutor<Task> executor = new TaskExecutor<>(
                 consumer, source, report, context, null,
-                Collections.emptySet());
+                new TaskFilter(), new TaskExecutionMetrics());
         executor.run();
 
         Mockito.verify(report, Mockito.times(1)).onTaskFinished(
@@ -62,7 +62,7 @@ public class TaskExecutorTest {
                 Arrays.asList(first));
         TaskExecutor<Task> executor = new TaskExecutor<>(
                 consumer, source, report, context, null,
-                Collections.emptySet());
+                new TaskFilter(), new TaskExecutionMetrics());
         Mockito.doThrow(LpException.class).when(consumer)
                 .accept(Mockito.any());
         executor.run();
@@ -80,7 +80,7 @@ public class TaskExecutorTest {
         source.setSkipOnError(true);
         TaskExecutor<Task> executor = new TaskExecutor<>(
                 consumer, source, report, context, null,
-                Collections.emptySet());
+                new TaskFilter(), new TaskExecutionMetrics());
         Mockito.doThrow(LpException.class).when(consumer)
                 .accept(Mockito.eq(first));
         executor.run();
@@ -100,7 +100,7 @@ public class TaskExecutorTest {
         source.setSkipOnError(false);
         TaskExecutor<Task> executor = new TaskExecutor<>(
                 consumer, source, report, context, null,
-                Collections.emptySet());
+                new TaskFilter(), new TaskExecutionMetrics());
         Mockito.doThrow(LpException.class).when(consumer)
                 .accept(Mockito.eq(first));
         executor.run();
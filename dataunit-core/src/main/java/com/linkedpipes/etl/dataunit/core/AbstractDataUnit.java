@@ -1,6 +1,9 @@
 package com.linkedpipes.etl.dataunit.core;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
@@ -8,6 +11,7 @@ import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +26,11 @@ public abstract class AbstractDataUnit implements ManageableDataUnit {
 
     protected final Collection<String> sources;
 
+    /**
+     * Content of data directories.
+     */
+    protected final DataManifest manifest = new DataManifest();
+
     public AbstractDataUnit(
             DataUnitConfiguration configuration,
             Collection<String> sources) {
@@ -58,8 +67,12 @@ public abstract class AbstractDataUnit implements ManageableDataUnit {
     @Override
     public void referenceContent(
             File source, File destination) throws LpException {
-        saveDataDirectories(destination, loadDataDirectories(source));
+        List<File> dataDirectories = loadDataDirectories(source);
+        saveDataDirectories(destination, dataDirectories);
         saveDebugDirectories(destination, loadDebugDirectories(source));
+        DataManifest sourceManifest = new DataManifest();
+        loadManifest(source, sourceManifest);
+        saveManifest(destination, sourceManifest, dataDirectories);
     }
 
     protected List<File> loadDataDirectories(File directory)
@@ -134,6 +147,69 @@ public abstract class AbstractDataUnit implements ManageableDataUnit {
         return base.relativize(file.getAbsoluteFile().toPath());
     }
 
+    /**
+     * Load manifest file, if it exists, into given manifest.
+     */
+    protected void loadManifest(File directory, DataManifest target)
+            throws LpException {
+        File file = new File(directory, "manifest.json");
+        if (!file.exists()) {
+            return;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode root;
+        try {
+            root = mapper.readTree(file);
+        } catch (IOException ex) {
+            throw new LpException("Can't load manifest.", ex);
+        }
+        for (JsonNode directoryNode : root) {
+            List<DataManifest.Entry> entries = new ArrayList<>();
+            for (JsonNode entryNode : directoryNode.get("entries")) {
+                entries.add(new DataManifest.Entry(
+                        entryNode.get("name").asText(),
+                        entryNode.get("size").asLong()));
+            }
+            target.set(
+                    new File(directory,
+                            directoryNode.get("directory").asText()),
+                    entries);
+        }
+    }
+
+    /**
+     * Save records for given directories from the manifest.
+     */
+    protected void saveManifest(
+            File directory, DataManifest source, List<File> directories)
+            throws LpException {
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode root = mapper.createArrayNode();
+        Path rootPath = directory.getAbsoluteFile().toPath();
+        for (File dataDirectory : directories) {
+            List<DataManifest.Entry> entries = source.get(dataDirectory);
+            if (entries == null) {
+                continue;
+            }
+            ObjectNode directoryNode = root.addObject();
+            directoryNode.put("directory",
+                    asRelativePath(rootPath, dataDirectory).toString());
+            ArrayNode entriesNode = directoryNode.putArray("entries");
+            for (DataManifest.Entry entry : entries) {
+                entriesNode.addObject()
+                        .put("name", entry.getName())
+                        .put("size", entry.getSize());
+            }
+        }
+        File file = new File(directory, "manifest.json");
+        file.getParentFile().mkdirs();
+        try {
+            mapper.writeValue(file, root);
+        } catch (IOException ex) {
+            throw new LpException("Can't save manifest.", ex);
+        }
+    }
+
     protected void saveDebugDirectories(
             File directory, List<File> directories) throws LpException {
         saveRelativePaths(directory, "debug.json", directories);
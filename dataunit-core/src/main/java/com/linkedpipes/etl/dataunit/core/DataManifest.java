@@ -0,0 +1,167 @@
+package com.linkedpipes.etl.dataunit.core;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keep list of files stored in data directories of a data unit, so the
+ * directories does not need to be crawled to count or iterate the content.
+ *
+ * <p>Directories without a record, for example from executions created
+ * before the manifest was introduced, are crawled when needed.
+ */
+public class DataManifest {
+
+    public static class Entry {
+
+        private final String name;
+
+        private final long size;
+
+        public Entry(String name, long size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        /**
+         * Relative path of the file from the data directory.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Size of the file in bytes.
+         */
+        public long getSize() {
+            return size;
+        }
+
+    }
+
+    private final Map<File, List<Entry>> directories = new HashMap<>();
+
+    /**
+     * Add entry to given directory, create record for the directory
+     * if it does not exist.
+     */
+    public synchronized void add(File directory, String name, long size) {
+        directories.computeIfAbsent(
+                asKey(directory), (key) -> new ArrayList<>())
+                .add(new Entry(name, size));
+    }
+
+    /**
+     * Set content of given directory.
+     */
+    public synchronized void set(File directory, List<Entry> entries) {
+        directories.put(asKey(directory), new ArrayList<>(entries));
+    }
+
+    /**
+     * Return entries in given directory or null if the content
+     * of the directory is not known.
+     */
+    public synchronized List<Entry> get(File directory) {
+        List<Entry> entries = directories.get(asKey(directory));
+        if (entries == null) {
+            return null;
+        }
+        return Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Copy records for given directories from the other manifest.
+     */
+    public void merge(DataManifest other, Collection<File> toMerge) {
+        for (File directory : toMerge) {
+            List<Entry> entries = other.get(directory);
+            if (entries != null) {
+                set(directory, entries);
+            }
+        }
+    }
+
+    /**
+     * Return number of files in given directories.
+     */
+    public long count(Collection<File> toCount) {
+        long result = 0;
+        for (File directory : toCount) {
+            int size = size(directory);
+            if (size < 0) {
+                Iterator<File> iterator = files(directory);
+                while (iterator.hasNext()) {
+                    iterator.next();
+                    ++result;
+                }
+            } else {
+                result += size;
+            }
+        }
+        return result;
+    }
+
+    private synchronized int size(File directory) {
+        List<Entry> entries = directories.get(asKey(directory));
+        if (entries == null) {
+            return -1;
+        }
+        return entries.size();
+    }
+
+    /**
+     * Return files in given directory.
+     */
+    public Iterator<File> files(File directory) {
+        List<Entry> entries = get(directory);
+        if (entries == null) {
+            return FileUtils.iterateFiles(directory, null, true);
+        }
+        Iterator<Entry> iterator = entries.iterator();
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public File next() {
+                return new File(directory, iterator.next().getName());
+            }
+
+        };
+    }
+
+    /**
+     * Read content of given directory from the file system.
+     */
+    public static List<Entry> crawl(File directory) {
+        List<Entry> result = new ArrayList<>();
+        if (!directory.exists()) {
+            return result;
+        }
+        Iterator<File> iterator = FileUtils.iterateFiles(directory, null, true);
+        while (iterator.hasNext()) {
+            File file = iterator.next();
+            result.add(new Entry(
+                    directory.toPath().relativize(file.toPath()).toString(),
+                    file.length()));
+        }
+        return result;
+    }
+
+    private static File asKey(File directory) {
+        return directory.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+}
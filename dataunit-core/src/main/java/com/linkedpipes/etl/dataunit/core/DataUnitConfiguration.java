@@ -27,6 +27,8 @@ public class DataUnitConfiguration implements Loadable {
 
     private String workingDirectory;
 
+    private String chunkFormat;
+
     public DataUnitConfiguration(String resource) {
         this.resource = resource;
     }
@@ -55,6 +57,9 @@ public class DataUnitConfiguration implements Loadable {
             case LP_EXEC.HAS_WORKING_DIRECTORY:
                 workingDirectory = object.asString();
                 break;
+            case LP_PIPELINE.HAS_CHUNK_FORMAT:
+                chunkFormat = object.asString();
+                break;
             default:
                 break;
         }
@@ -81,4 +86,11 @@ public class DataUnitConfiguration implements Loadable {
         return new File(URI.create(workingDirectory));
     }
 
+    /**
+     * Return IRI of the chunk format or null if not set.
+     */
+    public String getChunkFormat() {
+        return chunkFormat;
+    }
+
 }
@@ -1,16 +1,15 @@
 package com.linkedpipes.etl.dataunit.core.files;
 
 import com.linkedpipes.etl.dataunit.core.AbstractDataUnit;
+import com.linkedpipes.etl.dataunit.core.DataManifest;
 import com.linkedpipes.etl.dataunit.core.DataUnitConfiguration;
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -23,13 +22,26 @@ class DefaultFilesDataUnit
         extends AbstractDataUnit
         implements FilesDataUnit, WritableFilesDataUnit {
 
-    private static final Logger LOG =
-            LoggerFactory.getLogger(DefaultFilesDataUnit.class);
-
     private final File writeDirectory;
 
     private final List<File> dataDirectories = new LinkedList<>();
 
+    /**
+     * Files created in the write directory using {@link #createFile(String)}.
+     */
+    private final List<String> createdFiles = new ArrayList<>();
+
+    /**
+     * If true the write directory was given to the component, so
+     * it can contain files not created by {@link #createFile(String)}.
+     */
+    private boolean writeDirectoryExposed = false;
+
+    /**
+     * If true the manifest record for write directory is up to date.
+     */
+    private boolean writeDirectorySealed = false;
+
     public DefaultFilesDataUnit(
             DataUnitConfiguration configuration,
             Collection<String> sources) {
@@ -44,25 +56,71 @@ class DefaultFilesDataUnit
 
 
     @Override
-    public File createFile(String fileName) throws LpException {
+    public synchronized File createFile(String fileName) throws LpException {
         File output = new File(this.writeDirectory, fileName);
         if (output.exists()) {
             throw new LpException(
                     "File already exists: {} ({})", fileName, output);
         }
         output.getParentFile().mkdirs();
+        this.createdFiles.add(fileName);
+        this.writeDirectorySealed = false;
         return output;
     }
 
     @Override
     public File getWriteDirectory() {
+        this.writeDirectoryExposed = true;
+        this.writeDirectorySealed = false;
         return this.writeDirectory;
     }
 
+    /**
+     * Update manifest record for the write directory. The files are
+     * written by the component, so we can check them only once
+     * the component is done with them.
+     */
+    private synchronized void updateWriteDirectory() {
+        if (this.writeDirectory == null || this.writeDirectorySealed) {
+            return;
+        }
+        List<DataManifest.Entry> entries;
+        if (this.writeDirectoryExposed) {
+            entries = DataManifest.crawl(this.writeDirectory);
+        } else {
+            entries = new ArrayList<>(this.createdFiles.size());
+            for (String fileName : this.createdFiles) {
+                File file = new File(this.writeDirectory, fileName);
+                if (file.isFile()) {
+                    entries.add(new DataManifest.Entry(
+                            fileName, file.length()));
+                } else if (file.isDirectory()) {
+                    // Component used the path as a directory.
+                    for (DataManifest.Entry entry : DataManifest.crawl(file)) {
+                        entries.add(new DataManifest.Entry(
+                                fileName + File.separator + entry.getName(),
+                                entry.getSize()));
+                    }
+                }
+            }
+        }
+        this.manifest.set(this.writeDirectory, entries);
+    }
+
+    /**
+     * Update manifest record for the write directory and assume
+     * no more changes.
+     */
+    private synchronized void sealWriteDirectory() {
+        updateWriteDirectory();
+        this.writeDirectorySealed = true;
+    }
+
     @Override
     public void initialize(File directory) throws LpException {
         dataDirectories.clear();
         dataDirectories.addAll(loadDataDirectories(directory));
+        loadManifest(directory, manifest);
     }
 
     @Override
@@ -75,6 +133,8 @@ class DefaultFilesDataUnit
     public void save(File directory) throws LpException {
         saveDataDirectories(directory, dataDirectories);
         saveDebugDirectories(directory, dataDirectories);
+        sealWriteDirectory();
+        saveManifest(directory, manifest, dataDirectories);
     }
 
     @Override
@@ -89,23 +149,18 @@ class DefaultFilesDataUnit
 
     @Override
     public long size() {
-        Date start = new Date();
-        long size = 0;
-        for (FilesDataUnit.Entry item : this) {
-            ++size;
-        }
-        LOG.debug("Computing size takes: {} ms",
-                (new Date()).getTime() - start.getTime());
-        return size;
+        updateWriteDirectory();
+        return manifest.count(dataDirectories);
     }
 
     @Override
     public Iterator<Entry> iterator() {
+        updateWriteDirectory();
         Iterator<File> directoryIterator = dataDirectories.iterator();
         if (!directoryIterator.hasNext()) {
             return Collections.EMPTY_LIST.iterator();
         }
-        return new DirectoryIterator(directoryIterator);
+        return new DirectoryIterator(directoryIterator, manifest);
     }
 
     @Override
@@ -129,7 +184,9 @@ class DefaultFilesDataUnit
     protected void merge(ManageableDataUnit dataUnit) throws LpException {
         if (dataUnit instanceof DefaultFilesDataUnit) {
             DefaultFilesDataUnit source = (DefaultFilesDataUnit) dataUnit;
+            source.sealWriteDirectory();
             dataDirectories.addAll(source.dataDirectories);
+            manifest.merge(source.manifest, source.dataDirectories);
         } else {
             throw new LpException(
                     "Can't merge with source data unit: {} of type {}",
@@ -1,6 +1,6 @@
 package com.linkedpipes.etl.dataunit.core.files;
 
-import org.apache.commons.io.FileUtils;
+import com.linkedpipes.etl.dataunit.core.DataManifest;
 
 import java.io.File;
 import java.util.Iterator;
@@ -23,13 +23,16 @@ class DirectoryIterator implements Iterator<FilesDataUnit.Entry> {
      */
     private final Iterator<File> directoryIterator;
 
+    private final DataManifest manifest;
+
     private File currentDirectory;
 
-    public DirectoryIterator(Iterator<File> directoryIterator) {
+    public DirectoryIterator(
+            Iterator<File> directoryIterator, DataManifest manifest) {
         this.directoryIterator = directoryIterator;
+        this.manifest = manifest;
         this.currentDirectory = directoryIterator.next();
-        this.fileIterator = FileUtils.iterateFiles(
-                currentDirectory, null, true);
+        this.fileIterator = manifest.files(currentDirectory);
         this.nextEntry = getNext();
     }
 
@@ -59,7 +62,7 @@ class DirectoryIterator implements Iterator<FilesDataUnit.Entry> {
             return new DefaultEntry(nextFile, currentDirectory);
         } else if (directoryIterator.hasNext()) {
             currentDirectory = directoryIterator.next();
-            fileIterator = FileUtils.iterateFiles(currentDirectory, null, true);
+            fileIterator = manifest.files(currentDirectory);
             return getNext();
         } else {
             return null;
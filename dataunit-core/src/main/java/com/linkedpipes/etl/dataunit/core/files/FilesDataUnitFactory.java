@@ -11,18 +11,38 @@ import com.linkedpipes.etl.executor.api.v1.rdf.pojo.RdfToPojoLoader;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
 import org.osgi.service.component.annotations.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component(
         immediate = true,
         service = {DataUnitFactory.class, PipelineExecutionObserver.class})
 public class FilesDataUnitFactory
         implements DataUnitFactory, PipelineExecutionObserver {
 
-    private PipelineModel pipelineModel = new PipelineModel();
+    /**
+     * Used for calls without execution IRI.
+     */
+    private static final String DEFAULT_EXECUTION = "";
+
+    /**
+     * Pipeline models for running executions.
+     */
+    private final Map<String, PipelineModel> pipelineModels =
+            new ConcurrentHashMap<>();
 
     @Override
     public ManageableDataUnit create(
             String dataUnit, String graph, RdfSource definition)
             throws LpException {
+        return create(DEFAULT_EXECUTION, dataUnit, graph, definition);
+    }
+
+    @Override
+    public ManageableDataUnit create(
+            String execution, String dataUnit, String graph,
+            RdfSource definition)
+            throws LpException {
         DataUnitConfiguration configuration =
                 loadConfiguration(dataUnit, definition);
 
@@ -30,13 +50,22 @@ public class FilesDataUnitFactory
             if (LP_PIPELINE.FILE_DATA_UNIT.equals(type)) {
                 return new DefaultFilesDataUnit(
                         configuration,
-                        pipelineModel.getSourcesFor(dataUnit));
+                        getPipelineModel(execution).getSourcesFor(dataUnit));
             }
         }
 
         return null;
     }
 
+    private PipelineModel getPipelineModel(String execution)
+            throws LpException {
+        PipelineModel pipelineModel = pipelineModels.get(execution);
+        if (pipelineModel == null) {
+            throw new LpException("Missing pipeline for: {}", execution);
+        }
+        return pipelineModel;
+    }
+
     private DataUnitConfiguration loadConfiguration(
             String dataUnit, RdfSource definition)
             throws LpException {
@@ -46,15 +75,29 @@ public class FilesDataUnitFactory
         return configuration;
     }
 
+    @Override
+    public void onPipelineBegin(String pipeline, RdfSource definition)
+            throws LpException {
+        onPipelineBegin(DEFAULT_EXECUTION, pipeline, definition);
+    }
+
     @Override
     public void onPipelineBegin(
-            String pipeline, RdfSource definition) throws LpException {
-        this.pipelineModel.load(pipeline, definition);
+            String execution, String pipeline, RdfSource definition)
+            throws LpException {
+        PipelineModel pipelineModel = new PipelineModel();
+        pipelineModel.load(pipeline, definition);
+        this.pipelineModels.put(execution, pipelineModel);
     }
 
     @Override
     public void onPipelineEnd() {
-        this.pipelineModel.clear();
+        onPipelineEnd(DEFAULT_EXECUTION);
+    }
+
+    @Override
+    public void onPipelineEnd(String execution) {
+        this.pipelineModels.remove(execution);
     }
 
 }
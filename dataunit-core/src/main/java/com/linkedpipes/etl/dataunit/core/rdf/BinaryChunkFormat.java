@@ -0,0 +1,278 @@
+package com.linkedpipes.etl.dataunit.core.rdf;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary representation of a chunk. The file starts with
+ * the number of statements followed by the statements. Each term is
+ * stored as an index into a dictionary of terms. The dictionary is built
+ * as the statements are written, a term is written in full only when it
+ * is used for the first time. Statements can thus be read one by one,
+ * only the dictionary is kept in memory.
+ *
+ * <p>All numbers are stored as variable length integers. Blank nodes
+ * are local to the chunk, so only their position in the dictionary is
+ * stored. As with Turtle chunks each read produce new blank nodes.
+ */
+final class BinaryChunkFormat {
+
+    public static final String EXTENSION = ".lpc";
+
+    private static final byte[] MAGIC = {'L', 'P', 'C', 'H'};
+
+    private static final int VERSION = 3;
+
+    private static final int TERM_IRI = 0;
+
+    private static final int TERM_BNODE = 1;
+
+    private static final int TERM_LITERAL = 2;
+
+    private static final int TERM_LANG_LITERAL = 3;
+
+    private static final int INITIAL_DICTIONARY_SIZE = 1024;
+
+    private static final int VARINT_MASK = 0x7F;
+
+    private static final int VARINT_CONTINUE = 0x80;
+
+    private static final int VARINT_SHIFT = 7;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Assign IDs to terms, new terms are written in full.
+     */
+    private static class TermWriter {
+
+        private final Map<Value, Integer> ids = new HashMap<>();
+
+        private final DataOutputStream stream;
+
+        private int size = 0;
+
+        public TermWriter(DataOutputStream stream) {
+            this.stream = stream;
+        }
+
+        public void write(Value value) throws IOException {
+            Integer id = ids.get(value);
+            if (id != null) {
+                writeVarInt(stream, id);
+                return;
+            }
+            // The next free ID marks a new term.
+            writeVarInt(stream, size);
+            if (value instanceof Literal) {
+                Literal literal = (Literal) value;
+                if (literal.getLanguage().isPresent()) {
+                    writeTerm(TERM_LANG_LITERAL);
+                    writeString(stream, literal.getLabel());
+                    writeString(stream, literal.getLanguage().get());
+                } else {
+                    writeTerm(TERM_LITERAL);
+                    writeString(stream, literal.getLabel());
+                    // Datatype may be a new term as well.
+                    write(literal.getDatatype());
+                }
+            } else if (value instanceof BNode) {
+                // The dictionary ID is enough to identify the node.
+                writeTerm(TERM_BNODE);
+            } else {
+                writeTerm(TERM_IRI);
+                writeString(stream, value.stringValue());
+            }
+            ids.put(value, size++);
+        }
+
+        private void writeTerm(int type) throws IOException {
+            stream.writeByte(type);
+        }
+
+    }
+
+    /**
+     * Read terms, mirror of the {@link TermWriter}.
+     */
+    private static class TermReader {
+
+        private final ValueFactory valueFactory =
+                SimpleValueFactory.getInstance();
+
+        private final DataInputStream stream;
+
+        private Value[] terms = new Value[INITIAL_DICTIONARY_SIZE];
+
+        private int size = 0;
+
+        public TermReader(DataInputStream stream) {
+            this.stream = stream;
+        }
+
+        public Value read() throws IOException {
+            int id = readVarInt(stream);
+            if (id < size) {
+                return terms[id];
+            } else if (id != size) {
+                throw new IOException("Invalid term ID: " + id);
+            }
+            int type = stream.readUnsignedByte();
+            Value value;
+            switch (type) {
+                case TERM_IRI:
+                    value = valueFactory.createIRI(readString(stream));
+                    break;
+                case TERM_BNODE:
+                    value = valueFactory.createBNode();
+                    break;
+                case TERM_LITERAL:
+                    String label = readString(stream);
+                    IRI datatype = (IRI) read();
+                    value = valueFactory.createLiteral(label, datatype);
+                    break;
+                case TERM_LANG_LITERAL:
+                    value = valueFactory.createLiteral(
+                            readString(stream), readString(stream));
+                    break;
+                default:
+                    throw new IOException("Invalid term type: " + type);
+            }
+            if (size == terms.length) {
+                terms = Arrays.copyOf(terms, terms.length * 2);
+            }
+            terms[size++] = value;
+            return value;
+        }
+
+    }
+
+    private BinaryChunkFormat() {
+    }
+
+    /**
+     * Check whether the stream starts with binary chunk header.
+     */
+    public static boolean startsWithMagic(InputStream stream)
+            throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        int read = 0;
+        while (read < header.length) {
+            int count = stream.read(header, read, header.length - read);
+            if (count < 0) {
+                return false;
+            }
+            read += count;
+        }
+        return Arrays.equals(MAGIC, header);
+    }
+
+    public static void write(
+            Collection<Statement> statements, OutputStream outputStream)
+            throws IOException {
+        DataOutputStream stream = new DataOutputStream(
+                new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        stream.write(MAGIC);
+        stream.writeByte(VERSION);
+        writeVarInt(stream, statements.size());
+        TermWriter writer = new TermWriter(stream);
+        for (Statement statement : statements) {
+            writer.write(statement.getSubject());
+            writer.write(statement.getPredicate());
+            writer.write(statement.getObject());
+        }
+        stream.flush();
+    }
+
+    private static void writeString(DataOutputStream stream, String value)
+            throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(stream, bytes.length);
+        stream.write(bytes);
+    }
+
+    private static void writeVarInt(DataOutputStream stream, int value)
+            throws IOException {
+        while ((value & ~VARINT_MASK) != 0) {
+            stream.writeByte((value & VARINT_MASK) | VARINT_CONTINUE);
+            value >>>= VARINT_SHIFT;
+        }
+        stream.writeByte(value);
+    }
+
+    /**
+     * Read content of the chunk and pass statements to the handler
+     * as they are read.
+     */
+    public static void read(InputStream inputStream, RDFHandler handler)
+            throws IOException, RDFHandlerException {
+        DataInputStream stream = new DataInputStream(
+                new BufferedInputStream(inputStream, BUFFER_SIZE));
+        if (!startsWithMagic(stream)) {
+            throw new IOException("Missing binary chunk header.");
+        }
+        int version = stream.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException(
+                    "Unsupported binary chunk version: " + version);
+        }
+        int size = readVarInt(stream);
+        TermReader reader = new TermReader(stream);
+        ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        handler.startRDF();
+        for (int i = 0; i < size; ++i) {
+            Resource subject = (Resource) reader.read();
+            IRI predicate = (IRI) reader.read();
+            Value object = reader.read();
+            handler.handleStatement(valueFactory.createStatement(
+                    subject, predicate, object));
+        }
+        handler.endRDF();
+    }
+
+    private static String readString(DataInputStream stream)
+            throws IOException {
+        byte[] bytes = new byte[readVarInt(stream)];
+        stream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarInt(DataInputStream stream) throws IOException {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            int next = stream.read();
+            if (next < 0) {
+                throw new EOFException();
+            }
+            value |= (next & VARINT_MASK) << shift;
+            if ((next & VARINT_CONTINUE) == 0) {
+                return value;
+            }
+            shift += VARINT_SHIFT;
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.linkedpipes.etl.dataunit.core.rdf;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Format used to store content of a single chunk.
+ */
+public enum ChunkFormat {
+    /**
+     * Human readable format, used as default.
+     */
+    TURTLE(".ttl"),
+    /**
+     * Statements with terms encoded as IDs into a dictionary of terms.
+     */
+    BINARY(BinaryChunkFormat.EXTENSION);
+
+    private final String extension;
+
+    ChunkFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Return format for given IRI, for null return {@link #TURTLE}.
+     */
+    public static ChunkFormat fromIri(String iri) throws LpException {
+        if (iri == null || LP_PIPELINE.TURTLE_CHUNK_FORMAT.equals(iri)) {
+            return TURTLE;
+        } else if (LP_PIPELINE.BINARY_CHUNK_FORMAT.equals(iri)) {
+            return BINARY;
+        }
+        throw new LpException("Unknown chunk format: {}", iri);
+    }
+
+    /**
+     * Detect format of given chunk file based on its content, so chunks
+     * written in any format can be loaded.
+     */
+    public static ChunkFormat detect(File file) throws LpException {
+        try (InputStream stream = new FileInputStream(file)) {
+            if (BinaryChunkFormat.startsWithMagic(stream)) {
+                return BINARY;
+            }
+            return TURTLE;
+        } catch (IOException ex) {
+            throw new LpException(
+                    "Can't detect format of chunk: {}", file.getName(), ex);
+        }
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.linkedpipes.etl.dataunit.core.rdf;
 
-import org.apache.commons.io.FileUtils;
+import com.linkedpipes.etl.dataunit.core.DataManifest;
 
 import java.io.File;
 import java.util.Iterator;
@@ -9,12 +9,16 @@ public class ChunkIterator implements Iterator<ChunkedTriples.Chunk> {
 
     private final Iterator<File> directoryIterator;
 
+    private final DataManifest manifest;
+
     private Iterator<File> fileIterator = null;
 
     private ChunkedTriples.Chunk nextChunk;
 
-    public ChunkIterator(Iterator<File> directoryIterator) {
+    public ChunkIterator(
+            Iterator<File> directoryIterator, DataManifest manifest) {
         this.directoryIterator = directoryIterator;
+        this.manifest = manifest;
         prepareNext();
     }
 
@@ -34,8 +38,8 @@ public class ChunkIterator implements Iterator<ChunkedTriples.Chunk> {
         if (this.fileIterator != null && this.fileIterator.hasNext()) {
             this.nextChunk = new DefaultChunk(this.fileIterator.next());
         } else if (this.directoryIterator.hasNext()) {
-            this.fileIterator = FileUtils.iterateFiles(
-                    this.directoryIterator.next(), null, true);
+            this.fileIterator =
+                    this.manifest.files(this.directoryIterator.next());
             prepareNext();
         } else {
             this.nextChunk = null;
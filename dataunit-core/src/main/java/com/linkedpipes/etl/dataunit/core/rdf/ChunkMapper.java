@@ -0,0 +1,284 @@
+package com.linkedpipes.etl.dataunit.core.rdf;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
+import org.eclipse.rdf4j.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Apply a function to every chunk using a pool of worker threads.
+ *
+ * <p>Chunks are read ahead, so workers do not wait for the next chunk,
+ * but the number of chunks in progress is limited to keep the memory
+ * usage under control. Results are passed to the consumer, and the
+ * progress is reported, from the calling thread. If the mapping is
+ * ordered, results are consumed in the order of the input chunks,
+ * otherwise once they are ready.
+ *
+ * <p>The function is called from multiple threads, it can write to
+ * {@link WritableChunkedTriples} directly.
+ */
+public class ChunkMapper {
+
+    @FunctionalInterface
+    public interface MapFunction<R> {
+
+        R apply(ChunkedTriples.Chunk chunk) throws LpException;
+
+    }
+
+    @FunctionalInterface
+    public interface ResultConsumer<R> {
+
+        void accept(R result) throws LpException;
+
+    }
+
+    /**
+     * Result of processing of one chunk.
+     */
+    private static class Result<R> {
+
+        private final ChunkedTriples.Chunk chunk;
+
+        private final R value;
+
+        private final Exception exception;
+
+        Result(ChunkedTriples.Chunk chunk, R value, Exception exception) {
+            this.chunk = chunk;
+            this.value = value;
+            this.exception = exception;
+        }
+
+    }
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(ChunkMapper.class);
+
+    private static final int TERMINATION_CHECK = 5;
+
+    private final int threads;
+
+    private int readAhead;
+
+    private boolean ordered = false;
+
+    private boolean skipOnFailure = false;
+
+    private ProgressReport progressReport = null;
+
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
+    /**
+     * @param threads Number of worker threads.
+     */
+    public ChunkMapper(int threads) {
+        this.threads = Math.max(1, threads);
+        this.readAhead = this.threads;
+    }
+
+    /**
+     * Number of chunks to read in addition to chunks being processed.
+     */
+    public ChunkMapper setReadAhead(int readAhead) {
+        this.readAhead = Math.max(0, readAhead);
+        return this;
+    }
+
+    /**
+     * If true results are consumed in the order of the input chunks.
+     */
+    public ChunkMapper setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * If true failed chunks are logged and skipped.
+     */
+    public ChunkMapper setSkipOnFailure(boolean skipOnFailure) {
+        this.skipOnFailure = skipOnFailure;
+        return this;
+    }
+
+    /**
+     * The progress report is started with number of the input chunks.
+     */
+    public ChunkMapper setProgressReport(ProgressReport progressReport) {
+        this.progressReport = progressReport;
+        return this;
+    }
+
+    /**
+     * Apply function to every chunk, write non-null results to the output.
+     * If the mapping is not ordered results are written by the workers.
+     */
+    public void mapToChunks(
+            ChunkedTriples input,
+            MapFunction<Collection<Statement>> function,
+            WritableChunkedTriples output) throws LpException {
+        if (ordered) {
+            map(input, function, (statements) -> {
+                if (statements != null) {
+                    output.submit(statements);
+                }
+            });
+        } else {
+            map(input, (chunk) -> {
+                Collection<Statement> statements = function.apply(chunk);
+                if (statements != null) {
+                    output.submit(statements);
+                }
+                return null;
+            }, null);
+        }
+    }
+
+    /**
+     * Apply function to every chunk.
+     *
+     * @param consumer Called with results from the calling thread,
+     *                 can be null.
+     */
+    public <R> void map(
+            ChunkedTriples input,
+            MapFunction<R> function,
+            ResultConsumer<R> consumer) throws LpException {
+        if (progressReport != null) {
+            progressReport.start(input.size());
+        }
+        LOG.info("Mapping chunks using {} threads, read ahead: {}",
+                threads, readAhead);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            execute(executor, input.iterator(), function, consumer);
+        } finally {
+            shutdown(executor);
+        }
+        if (progressReport != null) {
+            progressReport.done();
+        }
+    }
+
+    private <R> void execute(
+            ExecutorService executor,
+            Iterator<ChunkedTriples.Chunk> chunks,
+            MapFunction<R> function,
+            ResultConsumer<R> consumer) throws LpException {
+        CompletionService<Result<R>> completionService =
+                new ExecutorCompletionService<>(executor);
+        // Tasks in the input order, used only for ordered mapping.
+        Deque<Future<Result<R>>> pending = new ArrayDeque<>();
+        int maxInProgress = threads + readAhead;
+        int inProgress = 0;
+        LpException failure = null;
+        while (true) {
+            while (failure == null
+                    && inProgress < maxInProgress && chunks.hasNext()) {
+                ChunkedTriples.Chunk chunk = chunks.next();
+                Callable<Result<R>> task =
+                        () -> executeFunction(function, chunk);
+                if (ordered) {
+                    pending.add(executor.submit(task));
+                } else {
+                    completionService.submit(task);
+                }
+                ++inProgress;
+            }
+            if (inProgress == 0) {
+                break;
+            }
+            Result<R> result;
+            try {
+                if (ordered) {
+                    result = pending.poll().get();
+                } else {
+                    result = completionService.take().get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            } catch (ExecutionException ex) {
+                throw new LpException("Unexpected failure.", ex);
+            }
+            --inProgress;
+            if (failure != null) {
+                // Just wait for the running tasks.
+                continue;
+            }
+            failure = handleResult(result, consumer);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private <R> Result<R> executeFunction(
+            MapFunction<R> function, ChunkedTriples.Chunk chunk) {
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        }
+        try {
+            return new Result<>(chunk, function.apply(chunk), null);
+        } catch (Exception ex) {
+            return new Result<>(chunk, null, ex);
+        }
+    }
+
+    /**
+     * @return Exception to report or null.
+     */
+    private <R> LpException handleResult(
+            Result<R> result, ResultConsumer<R> consumer) {
+        try {
+            if (result.exception != null) {
+                throw result.exception;
+            }
+            if (consumer != null) {
+                consumer.accept(result.value);
+            }
+        } catch (Exception ex) {
+            if (!skipOnFailure) {
+                return new LpException(
+                        "Can't process chunk: {}", result.chunk, ex);
+            }
+            LOG.error("Can't process chunk: {}", result.chunk, ex);
+        }
+        if (progressReport != null) {
+            progressReport.entryProcessed();
+        }
+        return null;
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        while (true) {
+            try {
+                if (executor.awaitTermination(
+                        TERMINATION_CHECK, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                // Ignore.
+            }
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package com.linkedpipes.etl.dataunit.core.rdf;
 
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFHandler;
 
 import java.io.File;
 import java.util.Collection;
@@ -24,6 +25,12 @@ public interface ChunkedTriples extends Iterable<ChunkedTriples.Chunk> {
          */
         Collection<Statement> toCollection() throws LpException;
 
+        /**
+         * Pass content of the chunk to given handler without loading
+         * the whole chunk into memory.
+         */
+        void handle(RDFHandler handler) throws LpException;
+
     }
 
     default Stream<Chunk> stream() {
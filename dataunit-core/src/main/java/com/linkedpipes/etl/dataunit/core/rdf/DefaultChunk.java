@@ -3,6 +3,7 @@ package com.linkedpipes.etl.dataunit.core.rdf;
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.Rio;
@@ -10,6 +11,7 @@ import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -17,7 +19,11 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
-class DefaultChunk implements ChunkedTriples.Chunk {
+/**
+ * Chunk stored in a file, the format of the file is detected
+ * when the chunk is loaded.
+ */
+public class DefaultChunk implements ChunkedTriples.Chunk {
 
     private final File file;
 
@@ -28,22 +34,37 @@ class DefaultChunk implements ChunkedTriples.Chunk {
     @Override
     public Collection<Statement> toCollection() throws LpException {
         List<Statement> statements = new LinkedList<>();
-        try (InputStream stream = new FileInputStream(this.file);
-                Reader reader = new InputStreamReader(stream, "UTF-8")) {
-            RDFParser parser = Rio.createParser(RDFFormat.TURTLE);
-            parser.setRDFHandler(new AbstractRDFHandler() {
-                @Override
-                public void handleStatement(Statement st)
-                        throws RDFHandlerException {
-                    statements.add(st);
-                }
-            });
-            parser.parse(reader, "http://localhost/base/");
+        handle(new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(Statement st)
+                    throws RDFHandlerException {
+                statements.add(st);
+            }
+        });
+        return statements;
+    }
+
+    @Override
+    public void handle(RDFHandler handler) throws LpException {
+        ChunkFormat format = ChunkFormat.detect(this.file);
+        try (InputStream stream = new FileInputStream(this.file)) {
+            if (format == ChunkFormat.BINARY) {
+                BinaryChunkFormat.read(stream, handler);
+            } else {
+                parseTurtle(stream, handler);
+            }
         } catch (Exception ex) {
             throw new LpException(
                     "Can't load chunk: {}", this.file.getName(), ex);
         }
-        return statements;
+    }
+
+    private void parseTurtle(InputStream stream, RDFHandler handler)
+            throws IOException {
+        Reader reader = new InputStreamReader(stream, "UTF-8");
+        RDFParser parser = Rio.createParser(RDFFormat.TURTLE);
+        parser.setRDFHandler(handler);
+        parser.parse(reader, "http://localhost/base/");
     }
 
     @Override
@@ -7,8 +7,6 @@ import com.linkedpipes.etl.executor.api.v1.dataunit.ManageableDataUnit;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.Rio;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -22,6 +20,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 class DefaultChunkedTriples
@@ -29,23 +28,25 @@ class DefaultChunkedTriples
         implements ChunkedTriples, WritableChunkedTriples,
         ManageableDataUnit {
 
-    private static final Logger LOG =
-            LoggerFactory.getLogger(DefaultChunkedTriples.class);
-
     private final File writeDirectory;
 
     private final List<File> dataDirectories = new LinkedList<>();
 
-    private int fileCounter = 0;
+    private final ChunkFormat chunkFormat;
+
+    private final AtomicInteger fileCounter = new AtomicInteger();
 
     public DefaultChunkedTriples(
             DataUnitConfiguration configuration,
-            Collection<String> sources) {
+            Collection<String> sources,
+            ChunkFormat chunkFormat) {
         super(configuration, sources);
+        this.chunkFormat = chunkFormat;
         this.writeDirectory = configuration.getWorkingDirectory();
         if (this.writeDirectory != null) {
             this.dataDirectories.add(this.writeDirectory);
             this.writeDirectory.mkdirs();
+            this.manifest.set(this.writeDirectory, Collections.emptyList());
         }
     }
 
@@ -53,6 +54,7 @@ class DefaultChunkedTriples
     public void initialize(File directory) throws LpException {
         this.dataDirectories.clear();
         this.dataDirectories.addAll(loadDataDirectories(directory));
+        loadManifest(directory, this.manifest);
     }
 
     @Override
@@ -65,6 +67,7 @@ class DefaultChunkedTriples
     public void save(File directory) throws LpException {
         saveDataDirectories(directory, this.dataDirectories);
         saveDebugDirectories(directory, this.dataDirectories);
+        saveManifest(directory, this.manifest, this.dataDirectories);
     }
 
     @Override
@@ -72,32 +75,45 @@ class DefaultChunkedTriples
         // No operation here.
     }
 
+    /**
+     * Can be called from multiple threads, only the chunk number is
+     * shared and the chunks are written in parallel.
+     */
     @Override
     public void submit(Collection<Statement> statements) throws LpException {
-        File outputFile =
-                new File(this.writeDirectory, ++this.fileCounter + ".ttl");
-        try (OutputStream stream = new FileOutputStream(outputFile);
-                Writer writer = new OutputStreamWriter(stream, "UTF-8")) {
-            Rio.write(statements, writer, RDFFormat.TURTLE);
+        File outputFile = new File(this.writeDirectory,
+                this.fileCounter.incrementAndGet()
+                        + this.chunkFormat.getExtension());
+        try (OutputStream stream = new FileOutputStream(outputFile)) {
+            if (this.chunkFormat == ChunkFormat.BINARY) {
+                BinaryChunkFormat.write(statements, stream);
+            } else {
+                writeTurtle(statements, stream);
+            }
         } catch (IOException ex) {
             throw new LpException("Can't save chunk.", ex);
         }
+        this.manifest.add(
+                this.writeDirectory, outputFile.getName(), outputFile.length());
+    }
+
+    private void writeTurtle(
+            Collection<Statement> statements, OutputStream stream)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(stream, "UTF-8");
+        Rio.write(statements, writer, RDFFormat.TURTLE);
+        writer.flush();
     }
 
     @Override
     public long size() {
-        LOG.debug("Computing size ...");
-        int size = 0;
-        for (ChunkedTriples.Chunk chunk : this) {
-            size++;
-        }
-        LOG.debug("Computing size ... done");
-        return size;
+        return this.manifest.count(this.dataDirectories);
     }
 
     @Override
     public Iterator<Chunk> iterator() {
-        return new ChunkIterator(this.dataDirectories.iterator());
+        return new ChunkIterator(
+                this.dataDirectories.iterator(), this.manifest);
     }
 
     @Override
@@ -110,6 +126,7 @@ class DefaultChunkedTriples
         if (dataUnit instanceof DefaultChunkedTriples) {
             DefaultChunkedTriples source = (DefaultChunkedTriples) dataUnit;
             this.dataDirectories.addAll(source.dataDirectories);
+            this.manifest.merge(source.manifest, source.dataDirectories);
         } else {
             throw new LpException(
                     "Can't merge with source data unit: {} of type {}",
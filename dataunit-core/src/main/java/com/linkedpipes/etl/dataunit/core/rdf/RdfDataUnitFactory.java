@@ -12,45 +12,75 @@ import com.linkedpipes.etl.executor.api.v1.rdf.pojo.RdfToPojoLoader;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
 import org.osgi.service.component.annotations.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component(
         immediate = true,
         service = {DataUnitFactory.class, PipelineExecutionObserver.class})
 public class RdfDataUnitFactory
         implements DataUnitFactory, PipelineExecutionObserver {
 
-    private FactoryConfiguration factoryConfiguration;
+    /**
+     * Factory state for a single execution.
+     */
+    private static class ExecutionContext {
+
+        private final PipelineModel pipelineModel = new PipelineModel();
+
+        private FactoryConfiguration factoryConfiguration;
+
+        private RepositoryManager repositoryManager;
+
+    }
 
-    private RepositoryManager repositoryManager;
+    /**
+     * Used for calls without execution IRI.
+     */
+    private static final String DEFAULT_EXECUTION = "";
 
-    private PipelineModel pipelineModel = new PipelineModel();
+    private final Map<String, ExecutionContext> executions =
+            new ConcurrentHashMap<>();
 
     @Override
     public ManageableDataUnit create(
             String dataUnit, String graph, RdfSource definition)
             throws LpException {
-        if (factoryConfiguration == null) {
+        return create(DEFAULT_EXECUTION, dataUnit, graph, definition);
+    }
+
+    @Override
+    public ManageableDataUnit create(
+            String execution, String dataUnit, String graph,
+            RdfSource definition)
+            throws LpException {
+        ExecutionContext context = executions.get(execution);
+        if (context == null || context.factoryConfiguration == null) {
             return null;
         }
         DataUnitConfiguration configuration =
                 loadDataUnitConfiguration(dataUnit, definition);
 
+        PipelineModel pipelineModel = context.pipelineModel;
         for (String type : configuration.getTypes()) {
             switch (type) {
                 case LP_PIPELINE.SINGLE_GRAPH_DATA_UNIT:
                     return new DefaultSingleGraphDataUnit(
                             configuration,
-                            repositoryManager,
+                            context.repositoryManager,
                             pipelineModel.getSourcesFor(dataUnit)
                     );
                 case LP_PIPELINE.GRAPH_LIST_DATA_UNIT:
                     return new DefaultGraphListDataUnit(
                             configuration,
-                            repositoryManager,
+                            context.repositoryManager,
                             pipelineModel.getSourcesFor(dataUnit));
                 case LP_PIPELINE.CHUNKED_TRIPLES_DATA_UNIT:
                     return new DefaultChunkedTriples(
                             configuration,
-                            pipelineModel.getSourcesFor(dataUnit));
+                            pipelineModel.getSourcesFor(dataUnit),
+                            ChunkFormat.fromIri(
+                                    configuration.getChunkFormat()));
                 default:
                     break;
             }
@@ -67,41 +97,55 @@ public class RdfDataUnitFactory
         return configuration;
     }
 
+    @Override
+    public void onPipelineBegin(String pipeline, RdfSource definition)
+            throws LpException {
+        onPipelineBegin(DEFAULT_EXECUTION, pipeline, definition);
+    }
+
     @Override
     public void onPipelineBegin(
-            String pipeline, RdfSource definition) throws LpException {
-        pipelineModel.load(pipeline, definition);
-        if (pipelineModel.getRdfRepository() == null) {
+            String execution, String pipeline, RdfSource definition)
+            throws LpException {
+        ExecutionContext context = new ExecutionContext();
+        executions.put(execution, context);
+        context.pipelineModel.load(pipeline, definition);
+        if (context.pipelineModel.getRdfRepository() == null) {
             return;
         }
-        loadFactoryConfiguration(definition);
-        initializeRepositoryManager();
+        loadFactoryConfiguration(context, definition);
+        initializeRepositoryManager(context);
     }
 
-    private void loadFactoryConfiguration(RdfSource definition)
+    private void loadFactoryConfiguration(
+            ExecutionContext context, RdfSource definition)
             throws RdfException {
-        factoryConfiguration = new FactoryConfiguration();
+        context.factoryConfiguration = new FactoryConfiguration();
         RdfToPojoLoader.load(
                 definition,
-                pipelineModel.getRdfRepository(),
-                factoryConfiguration);
+                context.pipelineModel.getRdfRepository(),
+                context.factoryConfiguration);
     }
 
-    private void initializeRepositoryManager() {
-        repositoryManager = new RepositoryManager(
-                pipelineModel.getRdfRepositoryPolicy(),
-                pipelineModel.getRdfRepositoryType(),
-                factoryConfiguration.getDirectory());
+    private void initializeRepositoryManager(ExecutionContext context) {
+        context.repositoryManager = new RepositoryManager(
+                context.pipelineModel.getRdfRepositoryPolicy(),
+                context.pipelineModel.getRdfRepositoryType(),
+                context.factoryConfiguration.getDirectory());
     }
 
     @Override
     public void onPipelineEnd() {
-        pipelineModel.clear();
-        if (repositoryManager == null) {
+        onPipelineEnd(DEFAULT_EXECUTION);
+    }
+
+    @Override
+    public void onPipelineEnd(String execution) {
+        ExecutionContext context = executions.remove(execution);
+        if (context == null || context.repositoryManager == null) {
             return;
         }
-        repositoryManager.closeAll();
-        repositoryManager = null;
+        context.repositoryManager.closeAll();
     }
 
 }
@@ -83,7 +83,8 @@ class RepositoryManager {
                 repositoryPolicy, repositoryType, directory);
     }
 
-    public Repository getRepository(DataUnitConfiguration configuration)
+    public synchronized Repository getRepository(
+            DataUnitConfiguration configuration)
             throws LpException {
         String group = configuration.getGroup();
         if (this.configuration.isSingleRepository()) {
@@ -136,7 +137,7 @@ class RepositoryManager {
 
     }
 
-    public void closeAll() {
+    public synchronized void closeAll() {
         LOG.info("Closing all remaining repositories.");
         for (RepositoryContainer container : repositories.values()) {
             closeRepositoryContainer(container);
@@ -155,7 +156,7 @@ class RepositoryManager {
         }
     }
 
-    public void closeRepository(Repository repository) {
+    public synchronized void closeRepository(Repository repository) {
         for (RepositoryContainer container : repositories.values()) {
             if (container.repository != repository) {
                 continue;
@@ -12,7 +12,7 @@ public interface WritableChunkedTriples {
 
     /**
      * Store data from the collection into data unit. The collection
-     * can be cleared after this call.
+     * can be cleared after this call. Can be called from multiple threads.
      */
     void submit(Collection<Statement> statements) throws LpException;
 
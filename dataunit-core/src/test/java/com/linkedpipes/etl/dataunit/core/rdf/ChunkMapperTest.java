@@ -0,0 +1,147 @@
+package com.linkedpipes.etl.dataunit.core.rdf;
+
+import com.linkedpipes.etl.dataunit.core.DataUnitConfiguration;
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+public class ChunkMapperTest {
+
+    private static final int CHUNKS = 20;
+
+    private static List<File> DIRECTORIES = new LinkedList<>();
+
+    private final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+
+    @AfterClass
+    public static void cleanup() {
+        for (File directory : DIRECTORIES) {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void mapUnordered() throws Exception {
+        DefaultChunkedTriples input = createInput();
+        DefaultChunkedTriples output = createChunked();
+        ProgressReport progressReport = Mockito.mock(ProgressReport.class);
+        new ChunkMapper(4)
+                .setProgressReport(progressReport)
+                .mapToChunks(
+                        input, ChunkedTriples.Chunk::toCollection, output);
+        Assert.assertEquals(CHUNKS, output.size());
+        Set<String> values = new HashSet<>();
+        for (ChunkedTriples.Chunk chunk : output) {
+            for (Statement statement : chunk.toCollection()) {
+                values.add(statement.getObject().stringValue());
+            }
+        }
+        Assert.assertEquals(CHUNKS, values.size());
+        Mockito.verify(progressReport).start((long) CHUNKS);
+        Mockito.verify(progressReport, Mockito.times(CHUNKS))
+                .entryProcessed();
+        Mockito.verify(progressReport).done();
+    }
+
+    @Test
+    public void mapOrdered() throws Exception {
+        DefaultChunkedTriples input = createInput();
+        List<String> values = new ArrayList<>();
+        new ChunkMapper(4)
+                .setOrdered(true)
+                .setReadAhead(2)
+                .map(input, (chunk) -> {
+                    Statement statement = chunk.toCollection()
+                            .iterator().next();
+                    int value = Integer.parseInt(
+                            statement.getObject().stringValue());
+                    // Make the first chunks the slowest.
+                    sleep(CHUNKS - value);
+                    return statement.getObject().stringValue();
+                }, values::add);
+        List<String> expected = new ArrayList<>();
+        for (int index = 0; index < CHUNKS; ++index) {
+            expected.add(Integer.toString(index));
+        }
+        Assert.assertEquals(expected, values);
+    }
+
+    @Test
+    public void failOnError() throws Exception {
+        DefaultChunkedTriples input = createInput();
+        try {
+            new ChunkMapper(2).map(input, (chunk) -> {
+                throw new LpException("Failure");
+            }, null);
+            Assert.fail();
+        } catch (LpException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void skipOnError() throws Exception {
+        DefaultChunkedTriples input = createInput();
+        List<Object> values = Collections.synchronizedList(new ArrayList<>());
+        new ChunkMapper(2)
+                .setSkipOnFailure(true)
+                .map(input, (chunk) -> {
+                    String value = chunk.toCollection().iterator().next()
+                            .getObject().stringValue();
+                    if (Integer.parseInt(value) % 2 == 0) {
+                        throw new LpException("Failure");
+                    }
+                    return value;
+                }, values::add);
+        Assert.assertEquals(CHUNKS / 2, values.size());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private DefaultChunkedTriples createInput() throws Exception {
+        DefaultChunkedTriples result = createChunked();
+        for (int index = 0; index < CHUNKS; ++index) {
+            result.submit(Collections.singletonList(
+                    valueFactory.createStatement(
+                            valueFactory.createIRI("http://localhost/s"),
+                            valueFactory.createIRI("http://localhost/p"),
+                            valueFactory.createLiteral(
+                                    Integer.toString(index)))));
+        }
+        return result;
+    }
+
+    private DefaultChunkedTriples createChunked() throws IOException {
+        File directory = File.createTempFile("lp-test-du-mapper", "");
+        directory.delete();
+        DIRECTORIES.add(directory);
+        return new DefaultChunkedTriples(
+                new DataUnitConfiguration(
+                        null, null, null, directory.toURI().toString()),
+                Collections.emptyList(),
+                ChunkFormat.BINARY);
+    }
+
+}
@@ -0,0 +1,240 @@
+package com.linkedpipes.etl.dataunit.core.rdf;
+
+import com.linkedpipes.etl.dataunit.core.DataUnitConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+public class ChunkedTriplesTest {
+
+    private static List<File> DIRECTORIES = new LinkedList<>();
+
+    @AfterClass
+    public static void cleanup() {
+        for (File directory : DIRECTORIES) {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void writeAndReadTurtle() throws Exception {
+        File directory = getTempDirectory();
+        DefaultChunkedTriples chunked = new DefaultChunkedTriples(
+                createConfiguration(directory),
+                Collections.emptyList(),
+                ChunkFormat.TURTLE);
+        chunked.submit(createStatements());
+        //
+        Assert.assertEquals(1, chunked.size());
+        File file = new File(directory, "1.ttl");
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(ChunkFormat.TURTLE, ChunkFormat.detect(file));
+        assertIsomorphic(
+                createStatements(), chunked.iterator().next().toCollection());
+    }
+
+    @Test
+    public void writeAndReadBinary() throws Exception {
+        File directory = getTempDirectory();
+        DefaultChunkedTriples chunked = new DefaultChunkedTriples(
+                createConfiguration(directory),
+                Collections.emptyList(),
+                ChunkFormat.BINARY);
+        chunked.submit(createStatements());
+        //
+        Assert.assertEquals(1, chunked.size());
+        File file = new File(directory, "1" + BinaryChunkFormat.EXTENSION);
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(ChunkFormat.BINARY, ChunkFormat.detect(file));
+        assertIsomorphic(
+                createStatements(), chunked.iterator().next().toCollection());
+    }
+
+    @Test
+    public void readMixedFormats() throws Exception {
+        File directory = getTempDirectory();
+        DefaultChunkedTriples turtle = new DefaultChunkedTriples(
+                createConfiguration(new File(directory, "turtle")),
+                Collections.emptyList(),
+                ChunkFormat.TURTLE);
+        turtle.submit(createStatements());
+        DefaultChunkedTriples binary = new DefaultChunkedTriples(
+                createConfiguration(new File(directory, "binary")),
+                Collections.emptyList(),
+                ChunkFormat.BINARY);
+        binary.submit(createStatements());
+        DefaultChunkedTriples merged = new DefaultChunkedTriples(
+                createConfiguration(new File(directory, "merged")),
+                Collections.emptyList(),
+                ChunkFormat.TURTLE);
+        merged.merge(turtle);
+        merged.merge(binary);
+        //
+        Assert.assertEquals(2, merged.size());
+        for (ChunkedTriples.Chunk chunk : merged) {
+            assertIsomorphic(createStatements(), chunk.toCollection());
+        }
+    }
+
+    @Test
+    public void handleChunk() throws Exception {
+        for (ChunkFormat format : ChunkFormat.values()) {
+            DefaultChunkedTriples chunked = new DefaultChunkedTriples(
+                    createConfiguration(getTempDirectory()),
+                    Collections.emptyList(),
+                    format);
+            chunked.submit(createStatements());
+            //
+            List<Statement> statements = new ArrayList<>();
+            chunked.iterator().next().handle(new AbstractRDFHandler() {
+                @Override
+                public void handleStatement(Statement statement) {
+                    statements.add(statement);
+                }
+            });
+            assertIsomorphic(createStatements(), statements);
+        }
+    }
+
+    @Test
+    public void binaryChunkIsStreamed() throws Exception {
+        ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        IRI predicate = valueFactory.createIRI("http://localhost/predicate");
+        List<Statement> statements = new ArrayList<>();
+        for (int index = 0; index < 5000; ++index) {
+            statements.add(valueFactory.createStatement(
+                    valueFactory.createIRI("http://localhost/" + index),
+                    predicate,
+                    valueFactory.createLiteral(index % 100)));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryChunkFormat.write(statements, output);
+        byte[] content = output.toByteArray();
+        List<Statement> actual = new ArrayList<>();
+        AbstractRDFHandler handler = new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(Statement statement) {
+                actual.add(statement);
+            }
+        };
+        BinaryChunkFormat.read(new ByteArrayInputStream(content), handler);
+        Assert.assertEquals(statements, actual);
+        // Statements are passed to the handler before the end is read.
+        actual.clear();
+        try {
+            BinaryChunkFormat.read(new ByteArrayInputStream(
+                    content, 0, content.length / 2), handler);
+            Assert.fail();
+        } catch (EOFException ex) {
+            // Expected.
+        }
+        Assert.assertTrue(actual.size() > 1000);
+        Assert.assertEquals(statements.subList(0, actual.size()), actual);
+    }
+
+    @Test
+    public void saveAndLoadManifest() throws Exception {
+        File directory = getTempDirectory();
+        DefaultChunkedTriples chunked = new DefaultChunkedTriples(
+                createConfiguration(new File(directory, "data")),
+                Collections.emptyList(),
+                ChunkFormat.BINARY);
+        chunked.submit(createStatements());
+        chunked.submit(createStatements());
+        File saveDirectory = new File(directory, "save");
+        chunked.save(saveDirectory);
+        Assert.assertTrue(new File(saveDirectory, "manifest.json").exists());
+        // Content is taken from the manifest, not from the directory.
+        FileUtils.writeStringToFile(
+                new File(directory, "data/unknown"), "", "UTF-8");
+        DefaultChunkedTriples loaded = new DefaultChunkedTriples(
+                createConfiguration(new File(directory, "loaded")),
+                Collections.emptyList(),
+                ChunkFormat.TURTLE);
+        loaded.initialize(saveDirectory);
+        Assert.assertEquals(2, loaded.size());
+        for (ChunkedTriples.Chunk chunk : loaded) {
+            assertIsomorphic(createStatements(), chunk.toCollection());
+        }
+        // Without the manifest the directories are crawled.
+        new File(saveDirectory, "manifest.json").delete();
+        DefaultChunkedTriples legacy = new DefaultChunkedTriples(
+                createConfiguration(new File(directory, "legacy")),
+                Collections.emptyList(),
+                ChunkFormat.TURTLE);
+        legacy.initialize(saveDirectory);
+        Assert.assertEquals(3, legacy.size());
+    }
+
+    @Test
+    public void unknownFormat() {
+        try {
+            ChunkFormat.fromIri("http://localhost/unknown");
+            Assert.fail();
+        } catch (Exception ex) {
+            // Expected.
+        }
+    }
+
+    private List<Statement> createStatements() {
+        ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        IRI subject = valueFactory.createIRI("http://localhost/subject");
+        IRI predicate = valueFactory.createIRI("http://localhost/predicate");
+        List<Statement> result = new ArrayList<>();
+        result.add(valueFactory.createStatement(subject, predicate,
+                valueFactory.createIRI("http://localhost/object")));
+        result.add(valueFactory.createStatement(subject, predicate,
+                valueFactory.createLiteral("value")));
+        result.add(valueFactory.createStatement(subject, predicate,
+                valueFactory.createLiteral("hodnota", "cs")));
+        result.add(valueFactory.createStatement(subject, predicate,
+                valueFactory.createLiteral("12", XMLSchema.INTEGER)));
+        result.add(valueFactory.createStatement(subject, predicate,
+                valueFactory.createBNode("node")));
+        result.add(valueFactory.createStatement(
+                valueFactory.createBNode("node"), predicate,
+                valueFactory.createLiteral("žluťoučký")));
+        return result;
+    }
+
+    private void assertIsomorphic(
+            List<Statement> expected, Iterable<Statement> actual) {
+        Model actualModel = new LinkedHashModel();
+        actual.forEach(actualModel::add);
+        Assert.assertTrue(Models.isomorphic(
+                new LinkedHashModel(expected), actualModel));
+    }
+
+    private DataUnitConfiguration createConfiguration(File directory) {
+        return new DataUnitConfiguration(
+                null, null, null, directory.toURI().toString());
+    }
+
+    private File getTempDirectory() throws IOException {
+        File file = File.createTempFile("lp-test-du-chunked", "");
+        file.delete();
+        DIRECTORIES.add(file);
+        return file;
+    }
+
+}
@@ -1,3 +1,3 @@
 #!/usr/bin/env bash
 
-java -DconfigFileLocation=configuration.properties -jar ./executor/executor.jar
+java -DconfigFileLocation="${1:-configuration.properties}" -jar ./executor/executor.jar
@@ -11,6 +11,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 @Service
@@ -29,6 +32,8 @@ public class Configuration {
 
     private String executorUri;
 
+    private List<String> executorUris;
+
     private int ftpCommandPort;
 
     private String executionPrefix;
@@ -91,6 +96,7 @@ public class Configuration {
                 "executor-monitor.public_working_data_url_prefix");
         //
         validateUri(executorUri, "executor.execution.working_directory");
+        executorUris = loadExecutorUris();
         validateDirectory(workingDirectoryPath);
         validateDirectory(logDirectoryPath);
     }
@@ -120,8 +126,33 @@ public class Configuration {
         return logFilter;
     }
 
-    public String getExecutorUri() {
-        return executorUri;
+    /**
+     * Use list of executors if given, else use the default executor.
+     */
+    private List<String> loadExecutorUris() {
+        String value = getOptionalProperty("executor-monitor.executors");
+        if (value == null) {
+            return Collections.singletonList(executorUri);
+        }
+        List<String> result = new ArrayList<>();
+        for (String uri : value.split(",")) {
+            uri = uri.trim();
+            if (uri.isEmpty()) {
+                continue;
+            }
+            validateUri(uri, "executor-monitor.executors");
+            result.add(uri);
+        }
+        if (result.isEmpty()) {
+            LOG.error("Invalid configuration property: '{}'",
+                    "executor-monitor.executors");
+            throw new RuntimeException("Invalid configuration property!");
+        }
+        return result;
+    }
+
+    public List<String> getExecutorUris() {
+        return Collections.unmodifiableList(executorUris);
     }
 
     public int getFtpCommandPort() {
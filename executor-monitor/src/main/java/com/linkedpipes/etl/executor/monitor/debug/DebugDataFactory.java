@@ -1,5 +1,6 @@
 package com.linkedpipes.etl.executor.monitor.debug;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_EXEC;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
 import org.eclipse.rdf4j.model.Resource;
@@ -7,6 +8,8 @@ import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -22,6 +25,30 @@ public class DebugDataFactory {
                 dataUnits);
     }
 
+    /**
+     * Add data units reported by an executor, as {"name", "dataPath"}
+     * objects, to given debug data. Already known data units are kept
+     * so their loaded debug directories are not lost.
+     */
+    public static DebugData update(DebugData debugData, JsonNode dataUnits) {
+        Map<String, DataUnit> result =
+                new HashMap<>(debugData.getDataUnits());
+        for (JsonNode dataUnit : dataUnits) {
+            String name = dataUnit.path("name").asText(null);
+            if (name == null || result.containsKey(name)) {
+                continue;
+            }
+            result.put(name, new DataUnit(
+                    debugData.getExecutionId(), name,
+                    dataUnit.path("dataPath").asText(null), null,
+                    Collections.emptyList()));
+        }
+        return new DebugData(
+                debugData.getExecutionId(),
+                debugData.getExecutionDirectory(),
+                result);
+    }
+
     private static Map<String, DataUnit> parseFromStatements(
             Execution execution, Collection<Statement> statements) {
         Map<Resource, DataUnit> newDataUnits = statements.stream()
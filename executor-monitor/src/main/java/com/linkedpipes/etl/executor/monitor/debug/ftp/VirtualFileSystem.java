@@ -4,6 +4,7 @@ import com.linkedpipes.etl.executor.monitor.debug.DataUnit;
 import com.linkedpipes.etl.executor.monitor.debug.DebugData;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
 import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade;
+import com.linkedpipes.etl.executor.monitor.execution.ExecutionStatus;
 import org.apache.ftpserver.ftplet.FileSystemView;
 import org.apache.ftpserver.ftplet.FtpFile;
 import org.slf4j.Logger;
@@ -16,6 +17,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.function.Supplier;
 
 /**
  * Virtual file system.
@@ -94,14 +96,22 @@ public class VirtualFileSystem {
         public List<FtpFile> listFiles() {
             final List<FtpFile> result = new ArrayList<>();
             for (Execution execution : executions.getExecutions()) {
-                if (execution.getDebugData() != null) {
-                    result.add(new ExecutionDirectory(execution.getDebugData(),
-                            ftpPath + "/" + execution.getId()));
+                if (!hasDebugData(execution)) {
+                    continue;
                 }
+                // Debug data are loaded only when the directory is listed.
+                result.add(new ExecutionDirectory(
+                        () -> executions.getDebugData(execution),
+                        ftpPath + "/" + execution.getId()));
             }
             return result;
         }
 
+        private boolean hasDebugData(Execution execution) {
+            return execution.getStatus() != ExecutionStatus.QUEUED
+                    && execution.getStatus() != ExecutionStatus.DELETED;
+        }
+
         @Override
         public Object getPhysicalFile() {
             return null;
@@ -110,16 +120,20 @@ public class VirtualFileSystem {
 
     private class ExecutionDirectory extends AbstractFtpDirectory {
 
-        final DebugData execution;
+        final Supplier<DebugData> debugData;
 
-        ExecutionDirectory(DebugData debugData, String ftpPath) {
+        ExecutionDirectory(Supplier<DebugData> debugData, String ftpPath) {
             super(ftpPath);
-            this.execution = debugData;
+            this.debugData = debugData;
         }
 
         @Override
         public List<FtpFile> listFiles() {
             List<FtpFile> result = new ArrayList<>();
+            DebugData execution = debugData.get();
+            if (execution == null) {
+                return result;
+            }
             for (DataUnit dataUnit
                     : execution.getDataUnits().values()) {
                 result.add(new DataUnitDirectory(execution, dataUnit,
@@ -212,22 +226,24 @@ public class VirtualFileSystem {
         }
         // Search for an execution.
         Execution execution = executions.getExecution(parsedPath.removeFirst());
-        if (execution == null || execution.getDebugData() == null) {
+        if (execution == null) {
+            return null;
+        }
+        DebugData debugData = executions.getDebugData(execution);
+        if (debugData == null) {
             return null;
         }
         if (parsedPath.isEmpty()) {
-            return new Path(ftpPath, true, null, execution.getDebugData(),
-                    null);
+            return new Path(ftpPath, true, null, debugData, null);
         }
         // Search for data unit.
-        DataUnit dataUnit = execution.getDebugData().getDataUnits().get(
+        DataUnit dataUnit = debugData.getDataUnits().get(
                 parsedPath.removeFirst());
         if (dataUnit == null) {
             return null;
         }
         if (parsedPath.isEmpty()) {
-            return new Path(ftpPath, true, null, execution.getDebugData(),
-                    dataUnit);
+            return new Path(ftpPath, true, null, debugData, dataUnit);
         }
         // The execution can be change here.
         if (dataUnit.isMapped()) {
@@ -267,7 +283,8 @@ public class VirtualFileSystem {
             if (path.execution == null) {
                 return new RootDirectory(executions, path.ftpPath);
             } else if (path.dataUnit == null) {
-                return new ExecutionDirectory(path.execution, path.ftpPath);
+                return new ExecutionDirectory(
+                        () -> path.execution, path.ftpPath);
             } else {
                 return new DataUnitDirectory(path.execution, path.dataUnit,
                         path.ftpPath);
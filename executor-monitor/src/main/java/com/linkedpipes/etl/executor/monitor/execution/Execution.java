@@ -40,7 +40,7 @@ public class Execution {
 
     private ExecutionStatus status;
 
-    private DebugData debugData;
+    private volatile DebugData debugData;
 
     /**
      * Has assigned executor.
@@ -163,13 +163,6 @@ public class Execution {
         this.pipeline = pipeline;
     }
 
-    /**
-     * Return true if there were changes to this execution since given time.
-     */
-    boolean changedAfter(Date date) {
-        return date.before(this.lastChange);
-    }
-
     /**
      * Return name of graph used to store data in execution list.
      */
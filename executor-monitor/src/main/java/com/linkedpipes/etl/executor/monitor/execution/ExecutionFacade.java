@@ -15,7 +15,6 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ExecutionFacade implements DebugDataSource {
@@ -52,9 +51,30 @@ public class ExecutionFacade implements DebugDataSource {
     }
 
     public Collection<Execution> getExecutions(Date changedSince) {
-        return this.storage.getExecutions().stream()
-                .filter((exec) -> exec.changedAfter(changedSince))
-                .collect(Collectors.toList());
+        return this.storage.getExecutions(changedSince);
+    }
+
+    /**
+     * Return executions changed after change with given sequence number.
+     */
+    public Collection<Execution> getExecutions(long sequence) {
+        return this.storage.getExecutions(sequence);
+    }
+
+    /**
+     * Return sequence number of the last change, it can be used to ask
+     * for executions changed since now.
+     */
+    public long getSequence() {
+        return this.storage.getSequence();
+    }
+
+    /**
+     * Return true if the execution is new to client that have seen changes
+     * up to given sequence number.
+     */
+    public boolean isAddedAfter(Execution execution, long sequence) {
+        return this.storage.isAddedAfter(execution, sequence);
     }
 
     public File getExecutionDebugLogFile(Execution execution) {
@@ -101,7 +121,26 @@ public class ExecutionFacade implements DebugDataSource {
         if (execution == null) {
             return null;
         }
-        return execution.getDebugData();
+        return getDebugData(execution);
+    }
+
+    /**
+     * Debug data are loaded on first request.
+     */
+    public DebugData getDebugData(Execution execution) {
+        return storage.getDebugData(execution);
+    }
+
+    /**
+     * Return true if the executions are being loaded after start,
+     * in such case not all executions are available.
+     */
+    public boolean isLoading() {
+        return storage.isLoading();
+    }
+
+    public int getExecutionsToLoad() {
+        return storage.getExecutionsToLoad();
     }
 
 }
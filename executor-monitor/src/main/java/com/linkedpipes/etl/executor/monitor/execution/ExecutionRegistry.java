@@ -0,0 +1,229 @@
+package com.linkedpipes.etl.executor.monitor.execution;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Executions indexed by id, IRI, status and time of last change.
+ *
+ * <p>Every change is also given a sequence number, so clients can ask
+ * for changes since the last sequence number they have seen.
+ *
+ * <p>Status and time of last change of an execution are changed outside
+ * of the registry, so {@link #onChange(Execution)} must be called
+ * after every such change to update the indexes.
+ *
+ * <p>Modifications are synchronized, reading is not blocked and can be
+ * done from any thread.
+ */
+class ExecutionRegistry {
+
+    /**
+     * Key in the change log, the counter make the key unique for
+     * executions changed at the same time.
+     */
+    private static class ChangeKey implements Comparable<ChangeKey> {
+
+        private final long time;
+
+        private final long counter;
+
+        ChangeKey(long time, long counter) {
+            this.time = time;
+            this.counter = counter;
+        }
+
+        @Override
+        public int compareTo(ChangeKey other) {
+            int result = Long.compare(time, other.time);
+            if (result != 0) {
+                return result;
+            }
+            return Long.compare(counter, other.counter);
+        }
+
+    }
+
+    /**
+     * Values of an execution as they are stored in the indexes.
+     */
+    private static class Indexed {
+
+        private final ExecutionStatus status;
+
+        private final ChangeKey change;
+
+        Indexed(ExecutionStatus status, ChangeKey change) {
+            this.status = status;
+            this.change = change;
+        }
+
+    }
+
+    private static final Comparator<Execution> BY_IRI =
+            Comparator.comparing(Execution::getIri);
+
+    private final Map<String, Execution> byId = new ConcurrentHashMap<>();
+
+    private final Map<String, Execution> byIri = new ConcurrentHashMap<>();
+
+    private final Map<ExecutionStatus, NavigableSet<Execution>> byStatus =
+            new EnumMap<>(ExecutionStatus.class);
+
+    private final NavigableMap<ChangeKey, Execution> changeLog =
+            new ConcurrentSkipListMap<>();
+
+    private final NavigableMap<Long, Execution> bySequence =
+            new ConcurrentSkipListMap<>();
+
+    /**
+     * Sequence number of the change that added the execution.
+     */
+    private final Map<Execution, Long> addedIn = new ConcurrentHashMap<>();
+
+    private final Map<Execution, Indexed> indexed = new HashMap<>();
+
+    /**
+     * Last used sequence number, it is updated once all indexes are
+     * updated, so all changes up to this number can be read.
+     */
+    private volatile long changeCounter = 0;
+
+    public ExecutionRegistry() {
+        for (ExecutionStatus status : ExecutionStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(BY_IRI));
+        }
+    }
+
+    /**
+     * Add execution if there is no execution with the same IRI.
+     *
+     * @return Execution stored in the registry.
+     */
+    public synchronized Execution add(Execution execution) {
+        Execution existing = byIri.get(execution.getIri());
+        if (existing != null) {
+            return existing;
+        }
+        byId.put(execution.getId(), execution);
+        byIri.put(execution.getIri(), execution);
+        onChange(execution);
+        addedIn.put(execution, changeCounter);
+        return execution;
+    }
+
+    public synchronized void remove(Execution execution) {
+        byId.remove(execution.getId());
+        byIri.remove(execution.getIri());
+        addedIn.remove(execution);
+        removeFromIndexes(execution);
+    }
+
+    /**
+     * Update indexes for given execution.
+     */
+    public synchronized void onChange(Execution execution) {
+        if (!byIri.containsKey(execution.getIri())) {
+            return;
+        }
+        Indexed oldValue = indexed.get(execution);
+        long changeTime = execution.getLastChange().getTime();
+        if (oldValue != null
+                && oldValue.status == execution.getStatus()
+                && oldValue.change.time == changeTime) {
+            return;
+        }
+        removeFromIndexes(execution);
+        long sequence = changeCounter + 1;
+        Indexed newValue = new Indexed(
+                execution.getStatus(),
+                new ChangeKey(changeTime, sequence));
+        indexed.put(execution, newValue);
+        if (newValue.status != null) {
+            byStatus.get(newValue.status).add(execution);
+        }
+        changeLog.put(newValue.change, execution);
+        bySequence.put(sequence, execution);
+        changeCounter = sequence;
+    }
+
+    private void removeFromIndexes(Execution execution) {
+        Indexed oldValue = indexed.remove(execution);
+        if (oldValue == null) {
+            return;
+        }
+        if (oldValue.status != null) {
+            byStatus.get(oldValue.status).remove(execution);
+        }
+        changeLog.remove(oldValue.change);
+        bySequence.remove(oldValue.change.counter);
+    }
+
+    public Execution getById(String id) {
+        return byId.get(id);
+    }
+
+    public Execution getByIri(String iri) {
+        return byIri.get(iri);
+    }
+
+    public Collection<Execution> getAll() {
+        return Collections.unmodifiableCollection(byIri.values());
+    }
+
+    /**
+     * Return executions with given status ordered by IRI.
+     */
+    public Collection<Execution> getByStatus(ExecutionStatus status) {
+        return Collections.unmodifiableCollection(byStatus.get(status));
+    }
+
+    /**
+     * Return executions changed after given time.
+     */
+    public Collection<Execution> getChangedAfter(Date date) {
+        ChangeKey from = new ChangeKey(date.getTime() + 1, 0);
+        return Collections.unmodifiableCollection(
+                changeLog.tailMap(from, true).values());
+    }
+
+    /**
+     * Return executions changed after change with given sequence number
+     * ordered by the sequence number of their last change.
+     */
+    public Collection<Execution> getChangedAfter(long sequence) {
+        return Collections.unmodifiableCollection(
+                bySequence.tailMap(sequence, false).values());
+    }
+
+    /**
+     * Return sequence number of the last change.
+     */
+    public long getSequence() {
+        return changeCounter;
+    }
+
+    /**
+     * Return true if the execution was added after change with given
+     * sequence number.
+     */
+    public boolean isAddedAfter(Execution execution, long sequence) {
+        Long added = addedIn.get(execution);
+        return added != null && added > sequence;
+    }
+
+    public int size() {
+        return byIri.size();
+    }
+
+}
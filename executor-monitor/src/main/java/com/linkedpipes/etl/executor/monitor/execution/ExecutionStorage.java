@@ -3,8 +3,10 @@ package com.linkedpipes.etl.executor.monitor.execution;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.linkedpipes.etl.executor.monitor.Configuration;
 import com.linkedpipes.etl.executor.monitor.MonitorException;
+import com.linkedpipes.etl.executor.monitor.debug.DebugData;
 import com.linkedpipes.etl.executor.monitor.debug.DebugDataFactory;
 import com.linkedpipes.etl.executor.monitor.events.EventListener;
+import com.linkedpipes.etl.executor.monitor.execution.overview.OverviewDelta;
 import com.linkedpipes.etl.executor.monitor.execution.overview.OverviewFactory;
 import com.linkedpipes.etl.executor.monitor.execution.overview.OverviewObject;
 import com.linkedpipes.etl.executor.monitor.executor.ExecutionSource;
@@ -24,7 +26,6 @@ import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
@@ -33,6 +34,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Responsible for storing information about existing executions.
@@ -46,16 +50,30 @@ class ExecutionStorage
 
     private static final int TOMBSTONE_TTL = 5 * 60;
 
+    /**
+     * Report loading progress after given number of executions.
+     */
+    private static final int LOG_PROGRESS_STEP = 1000;
+
     private final Configuration configuration;
 
-    private final List<Execution> executions = new ArrayList<>(64);
+    private final ExecutionRegistry executions = new ExecutionRegistry();
 
-    private final List<File> directoriesToDelete = new ArrayList<>(16);
+    private final List<File> directoriesToDelete =
+            new CopyOnWriteArrayList<>();
 
-    private final Map<Executor, Execution> executors = new HashMap<>();
+    /**
+     * Executor each running execution is assigned to.
+     */
+    private final Map<Execution, Executor> executors = new HashMap<>();
 
     private final EventListener eventListener;
 
+    /**
+     * Number of execution directories left to load at startup.
+     */
+    private final AtomicInteger directoriesToLoad = new AtomicInteger(0);
+
     @Autowired
     public ExecutionStorage(
             Configuration configuration, EventListener eventListener) {
@@ -65,10 +83,51 @@ class ExecutionStorage
 
     @PostConstruct
     public void onInit() throws MonitorException {
-        File executionsDirectory = getExecutionsDirectory();
-        Arrays.stream(executionsDirectory.listFiles())
-                .filter(file -> file.isDirectory())
-                .forEach(directory -> loadExecutionForFirstTime(directory));
+        File[] directories = getExecutionsDirectory().listFiles(
+                file -> file.isDirectory());
+        directoriesToLoad.set(directories.length);
+        int threads = Runtime.getRuntime().availableProcessors();
+        LOG.info("Loading {} executions using {} threads ...",
+                directories.length, threads);
+        java.util.concurrent.ExecutorService loader =
+                Executors.newFixedThreadPool(threads);
+        for (File directory : directories) {
+            loader.submit(() -> {
+                try {
+                    loadExecution(directory);
+                } catch (RuntimeException ex) {
+                    LOG.error("Can't load execution: {}", directory, ex);
+                } finally {
+                    onDirectoryLoaded();
+                }
+            });
+        }
+        // Let the threads end once all is loaded.
+        loader.shutdown();
+    }
+
+    private void onDirectoryLoaded() {
+        int remaining = directoriesToLoad.decrementAndGet();
+        if (remaining == 0) {
+            LOG.info("Loading executions ... done");
+        } else if (remaining % LOG_PROGRESS_STEP == 0) {
+            LOG.info("Loading executions, remaining: {}", remaining);
+        }
+    }
+
+    /**
+     * Return true if the executions are being loaded, in such case
+     * not all executions are available.
+     */
+    public boolean isLoading() {
+        return directoriesToLoad.get() > 0;
+    }
+
+    /**
+     * Return number of executions that are not loaded yet.
+     */
+    public int getExecutionsToLoad() {
+        return directoriesToLoad.get();
     }
 
     private File getExecutionsDirectory() throws MonitorException {
@@ -80,16 +139,23 @@ class ExecutionStorage
         return directory;
     }
 
-    private Execution loadExecutionForFirstTime(File directory) {
-        final Date updateTime = new Date();
+    /**
+     * Load execution from given directory, if the execution is already
+     * loaded return the loaded execution. The debug data are loaded
+     * on first access.
+     */
+    private Execution loadExecution(File directory) {
+        Execution loaded = executions.getByIri(getExecutionIri(directory));
+        if (loaded != null) {
+            return loaded;
+        }
 
         Execution execution = new Execution();
         execution.setIri(getExecutionIri(directory));
         execution.setDirectory(directory);
 
-        PipelineLoader pipelineLoader = new PipelineLoader(execution);
         try {
-            pipelineLoader.loadPipelineIntoExecution();
+            loadPipeline(execution);
         } catch (Throwable ex) {
             LOG.error("Can't load pipeline for: {}", directory, ex);
             return null;
@@ -103,15 +169,6 @@ class ExecutionStorage
             return null;
         }
 
-        if (!ExecutionStatus.QUEUED.equals(execution.getStatus())) {
-            try {
-                updateDebugData(execution);
-            } catch (Throwable ex) {
-                LOG.error("Can't load debug data for: {}", directory, ex);
-                return null;
-            }
-        }
-
         if (ExecutionStatus.isFinished(execution.getStatus())) {
             execution.setHasFinalData(true);
         }
@@ -121,9 +178,51 @@ class ExecutionStorage
             migration.migrate(execution);
         }
 
-        execution.setLastChange(updateTime);
-        this.executions.add(execution);
-        return execution;
+        // The execution become visible now, so we use current time,
+        // else clients asking for changes may miss it.
+        execution.setLastChange(new Date());
+        return this.executions.add(execution);
+    }
+
+    /**
+     * Use pipeline summary if available, else load the pipeline
+     * and create the summary. Invalid summary is replaced.
+     */
+    private void loadPipeline(Execution execution) throws MonitorException {
+        PipelineSummary summary = new PipelineSummary();
+        try {
+            if (summary.load(execution)) {
+                return;
+            }
+        } catch (MonitorException ex) {
+            LOG.warn("Can't load pipeline summary for: {}",
+                    execution.getId(), ex);
+            summary.delete(execution);
+        }
+        PipelineLoader pipelineLoader = new PipelineLoader(execution);
+        pipelineLoader.loadPipelineIntoExecution();
+        summary.save(execution);
+    }
+
+    /**
+     * Load debug data if they are not loaded.
+     */
+    public DebugData getDebugData(Execution execution) {
+        if (execution.getDebugData() != null
+                || ExecutionStatus.QUEUED == execution.getStatus()) {
+            return execution.getDebugData();
+        }
+        synchronized (execution) {
+            if (execution.getDebugData() == null) {
+                try {
+                    updateDebugData(execution);
+                } catch (MonitorException | RuntimeException ex) {
+                    LOG.error("Can't load debug data for: {}",
+                            execution.getId(), ex);
+                }
+            }
+        }
+        return execution.getDebugData();
     }
 
     private String getExecutionIri(File directory) {
@@ -136,20 +235,66 @@ class ExecutionStorage
                 execution, executionLoader.loadStatements(execution));
     }
 
-    public List<Execution> getExecutions() {
-        return Collections.unmodifiableList(executions);
+    @Override
+    public Collection<Execution> getExecutions() {
+        return executions.getAll();
+    }
+
+    /**
+     * Return executions ordered by IRI.
+     */
+    @Override
+    public Collection<Execution> getExecutions(ExecutionStatus status) {
+        return executions.getByStatus(status);
+    }
+
+    /**
+     * Return executions changed after given time.
+     */
+    public Collection<Execution> getExecutions(Date changedSince) {
+        return executions.getChangedAfter(changedSince);
+    }
+
+    /**
+     * Return executions changed after change with given sequence number.
+     */
+    public Collection<Execution> getExecutions(long sequence) {
+        return executions.getChangedAfter(sequence);
+    }
+
+    /**
+     * Return sequence number of the last change of any execution.
+     */
+    public long getSequence() {
+        return executions.getSequence();
+    }
+
+    public boolean isAddedAfter(Execution execution, long sequence) {
+        return executions.isAddedAfter(execution, sequence);
     }
 
     /**
      * Return last part of the execution IRI after the last '/'.
      */
     public Execution getExecution(String id) {
-        for (Execution execution : executions) {
-            if (execution.getId().equals(id)) {
-                return execution;
-            }
+        Execution execution = executions.getById(id);
+        if (execution == null && isLoading()) {
+            return loadExecutionOnDemand(id);
         }
-        return null;
+        return execution;
+    }
+
+    /**
+     * Load execution that was not loaded yet by the startup scan.
+     */
+    private Execution loadExecutionOnDemand(String id) {
+        File root = configuration.getWorkingDirectory();
+        File directory = new File(root, id);
+        if (!root.equals(directory.getParentFile())
+                || !directory.isDirectory()) {
+            return null;
+        }
+        return loadExecution(directory);
     }
 
     @Override
@@ -161,23 +306,36 @@ class ExecutionStorage
             LOG.error("Invalid overview object.", ex);
             return null;
         }
-        for (Execution execution : executions) {
-            if (execution.getIri().equals(iri)) {
-                return execution;
-            }
+        Execution execution = executions.getByIri(iri);
+        if (execution == null && isLoading()
+                && iri.startsWith(configuration.getExecutionPrefix())) {
+            return loadExecutionOnDemand(iri.substring(
+                    configuration.getExecutionPrefix().length()));
         }
-        return null;
+        return execution;
     }
 
     @Override
-    public Execution getExecution(Executor executor) {
-        return executors.get(executor);
+    public synchronized Collection<Execution> getExecutions(
+            Executor executor) {
+        List<Execution> result = new ArrayList<>();
+        for (Map.Entry<Execution, Executor> entry : executors.entrySet()) {
+            if (entry.getValue() == executor) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
     }
 
     /**
      * Perform full execution update from directory.
      */
     public void update(Execution execution) {
+        updateFromDirectory(execution);
+        executions.onChange(execution);
+    }
+
+    private void updateFromDirectory(Execution execution) {
         if (!(shouldUpdate(execution))) {
             // We do not reload dangling or invalid executions.
             return;
@@ -214,6 +372,7 @@ class ExecutionStorage
         ExecutionStatus oldStatus = execution.getStatus();
         LoadOverview overviewLoader = new LoadOverview();
         overviewLoader.load(execution, overview);
+        executions.onChange(execution);
         if (oldStatus != execution.getStatus()) {
             eventListener.onExecutionStatusDidChange(execution, oldStatus);
         }
@@ -239,7 +398,7 @@ class ExecutionStorage
             deleteDirectory(directory);
             throw ex;
         }
-        Execution execution = loadExecutionForFirstTime(directory);
+        Execution execution = loadExecution(directory);
         if (execution == null) {
             throw new MonitorException("Can't load new execution");
         }
@@ -284,7 +443,11 @@ class ExecutionStorage
 
     @Scheduled(fixedDelay = 15000, initialDelay = 200)
     public void updateExecutions() {
-        for (Execution execution : executions) {
+        for (Execution execution : executions.getAll()) {
+            if (execution.isExecutor() && execution.isExecutorResponsive()) {
+                // Changes are received from the executor.
+                continue;
+            }
             if (shouldUpdate(execution)) {
                 update(execution);
             }
@@ -303,14 +466,13 @@ class ExecutionStorage
 
     private void deleteTombstones(Date time) {
         Collection<Execution> toDelete = new ArrayList<>(2);
-        for (Execution execution : executions) {
-            if (execution.getStatus() == ExecutionStatus.DELETED) {
-                if (execution.getTimeToLive().before(time)) {
-                    toDelete.add(execution);
-                }
+        for (Execution execution :
+                executions.getByStatus(ExecutionStatus.DELETED)) {
+            if (execution.getTimeToLive().before(time)) {
+                toDelete.add(execution);
             }
         }
-        this.executions.removeAll(toDelete);
+        toDelete.forEach(executions::remove);
     }
 
     private void deleteDirectories() {
@@ -328,54 +490,47 @@ class ExecutionStorage
     }
 
     @Override
-    public void onExecutorHasExecution(Execution execution, Executor executor) {
-        LOG.info("onExecutorHasExecution: {}",
-                execution == null ? "null" : execution.getId());
-        Execution oldExecution = executors.get(executor);
-        if (oldExecution == null) {
-            executors.put(executor, execution);
-            execution.setExecutor(true);
-            execution.setExecutorResponsive(true);
-            return;
-        }
-        if (execution == oldExecution) {
+    public synchronized void onExecutorHasExecution(
+            Execution execution, Executor executor) {
+        Executor oldExecutor = executors.put(execution, executor);
+        if (oldExecutor == executor) {
             // There is no change in the execution.
             return;
         }
-        // Executor stop execution of one execution and start with another.
-        oldExecution.setExecutor(false);
-        oldExecution.setExecutorResponsive(false);
-        if (execution == null) {
-            executors.remove(executor);
-        } else {
-            executors.put(executor, execution);
-            execution.setExecutor(true);
-            execution.setExecutorResponsive(true);
-        }
+        LOG.info("onExecutorHasExecution: {}", execution.getId());
+        execution.setExecutor(true);
+        execution.setExecutorResponsive(true);
     }
 
     @Override
-    public void onExecutorWithoutExecution(Executor executor) {
+    public void onExecutorWithoutExecution(
+            Executor executor, Execution execution) {
         // We have execution assigned to this executor, but now it is not
-        // executing anything. We need to update from disk as the
+        // executed. We need to update from disk as the
         // execution might have been finished in a meantime.
-        Execution execution = executors.get(executor);
-        if (execution == null) {
-            return;
+        synchronized (this) {
+            if (!executors.remove(execution, executor)) {
+                return;
+            }
         }
         execution.setExecutor(false);
         execution.setExecutorResponsive(false);
-        executors.remove(executor);
         update(execution);
     }
 
     @Override
-    public void onExecutorUnavailable(Executor executor) {
-        Execution execution = executors.get(executor);
-        if (execution == null) {
-            return;
+    public synchronized void onExecutorUnavailable(Executor executor) {
+        for (Execution execution : getExecutions(executor)) {
+            execution.setExecutorResponsive(false);
+            if (ExecutionStatus.QUEUED == execution.getStatus()) {
+                // Execution was not started, so it can be started
+                // by another executor.
+                LOG.info("Releasing execution from unavailable executor: {}",
+                        execution.getId());
+                executors.remove(execution);
+                execution.setExecutor(false);
+            }
         }
-        execution.setExecutorResponsive(false);
     }
 
     @Override
@@ -383,4 +538,27 @@ class ExecutionStorage
         updateFromOverview(execution, overview);
     }
 
+    @Override
+    public void onExecutionDelta(Execution execution, JsonNode delta) {
+        JsonNode overview = execution.getOverviewJson();
+        if (overview == null) {
+            LOG.warn("Ignored delta for execution without overview: {}",
+                    execution.getIri());
+            return;
+        }
+        OverviewDelta overviewDelta = new OverviewDelta();
+        updateFromOverview(execution, overviewDelta.apply(overview, delta));
+    }
+
+    @Override
+    public void onDebugData(Execution execution, JsonNode dataUnits) {
+        DebugData debugData = execution.getDebugData();
+        if (debugData == null) {
+            // Debug data not loaded yet are loaded on request.
+            return;
+        }
+        execution.setDebugData(
+                DebugDataFactory.update(debugData, dataUnits));
+    }
+
 }
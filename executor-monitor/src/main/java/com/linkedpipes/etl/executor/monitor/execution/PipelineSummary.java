@@ -0,0 +1,107 @@
+package com.linkedpipes.etl.executor.monitor.execution;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
+import com.linkedpipes.etl.executor.monitor.MonitorException;
+import com.linkedpipes.etl.rdf4j.Statements;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Store pipeline statements of an execution, as created by
+ * {@link PipelineLoader}, in the execution directory. Loading the summary
+ * is much faster than parsing the whole pipeline.
+ *
+ * <p>The statements are stored without a graph, as the graph depends
+ * on the execution IRI.
+ */
+class PipelineSummary {
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(PipelineSummary.class);
+
+    private static final String FILE_NAME = "pipeline-summary.nt";
+
+    private static final String TEMP_FILE_NAME = "pipeline-summary.nt.tmp";
+
+    /**
+     * Load pipeline statements from summary if it exists.
+     *
+     * @return False if there is no summary.
+     * @throws MonitorException If the summary is not valid.
+     */
+    public boolean load(Execution execution) throws MonitorException {
+        File file = getFile(execution);
+        if (!file.exists()) {
+            return false;
+        }
+        Statements content = Statements.arrayList();
+        try {
+            content.addAll(file, RDFFormat.NTRIPLES);
+        } catch (IOException | RuntimeException ex) {
+            throw new MonitorException("Can't load pipeline summary.", ex);
+        }
+        Statements output = Statements.arrayList(content.size());
+        output.setDefaultGraph(execution.getListGraph());
+        Resource pipeline = null;
+        for (Statement statement : content) {
+            output.integrate(statement);
+            if (RDF.TYPE.equals(statement.getPredicate())
+                    && LP_PIPELINE.PIPELINE.equals(
+                    statement.getObject().stringValue())) {
+                pipeline = statement.getSubject();
+            }
+        }
+        if (pipeline == null) {
+            throw new MonitorException(
+                    "Missing pipeline resource in summary for: {}",
+                    execution.getId());
+        }
+        execution.setPipeline(pipeline);
+        execution.setPipelineStatements(output);
+        return true;
+    }
+
+    /**
+     * Save pipeline statements of given execution, failure is only
+     * logged as the summary can be created again. The summary is written
+     * into a temporary file first, so it is never left incomplete.
+     */
+    public void save(Execution execution) {
+        File file = getFile(execution);
+        File temp = new File(execution.getDirectory(), TEMP_FILE_NAME);
+        try {
+            try (OutputStream stream = new FileOutputStream(temp)) {
+                Rio.write(execution.getPipelineStatements(),
+                        stream, RDFFormat.NTRIPLES);
+            }
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            LOG.warn("Can't save pipeline summary for: {}",
+                    execution.getId(), ex);
+            temp.delete();
+        }
+    }
+
+    public void delete(Execution execution) {
+        getFile(execution).delete();
+    }
+
+    private File getFile(Execution execution) {
+        return new File(execution.getDirectory(), FILE_NAME);
+    }
+
+}
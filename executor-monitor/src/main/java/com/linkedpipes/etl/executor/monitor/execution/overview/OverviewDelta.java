@@ -0,0 +1,72 @@
+package com.linkedpipes.etl.executor.monitor.execution.overview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_OVERVIEW;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Apply a delta, as reported by the executor for a component, to
+ * an overview. The delta holds the whole state of the component,
+ * so applying the same delta twice has no effect.
+ */
+public class OverviewDelta {
+
+    /**
+     * Return a copy of the overview with the delta applied, the given
+     * overview is not modified.
+     */
+    public JsonNode apply(JsonNode overview, JsonNode delta) {
+        ObjectNode result = ((ObjectNode) overview).deepCopy();
+        result.set("lastChange", delta.get("lastChange"));
+        if (delta.has("status")) {
+            result.set("status", delta.get("status").deepCopy());
+        }
+        JsonNode progress = delta.path("pipelineProgress");
+        if (progress.isObject()) {
+            updateProgress(result, progress);
+        }
+        JsonNode component = delta.path("component");
+        if (component.isObject()) {
+            updateComponent(result, component);
+        }
+        return result;
+    }
+
+    private void updateProgress(ObjectNode overview, JsonNode progress) {
+        JsonNode target = overview.path("pipelineProgress");
+        if (!target.isObject()) {
+            target = overview.putObject("pipelineProgress");
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = progress.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            ((ObjectNode) target).set(field.getKey(), field.getValue());
+        }
+    }
+
+    private void updateComponent(ObjectNode overview, JsonNode component) {
+        JsonNode context = overview.path("@context");
+        if (context.isObject() && !context.has("components")) {
+            ((ObjectNode) context).put(
+                    "components", LP_OVERVIEW.HAS_COMPONENT);
+        }
+        JsonNode components = overview.path("components");
+        if (!components.isArray()) {
+            components = overview.putArray("components");
+        }
+        ArrayNode array = (ArrayNode) components;
+        String iri = component.path("@id").asText();
+        for (int index = 0; index < array.size(); ++index) {
+            if (iri.equals(array.get(index).path("@id").asText())) {
+                array.set(index, component.deepCopy());
+                return;
+            }
+        }
+        array.add(component.deepCopy());
+    }
+
+}
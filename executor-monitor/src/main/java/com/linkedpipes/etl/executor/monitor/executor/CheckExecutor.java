@@ -10,6 +10,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 class CheckExecutor {
@@ -35,7 +40,13 @@ class CheckExecutor {
         this.executions = executions;
     }
 
-    public void check(Executor executor) {
+    /**
+     * Wait for change in the executor status and apply it.
+     *
+     * @return False if the executor status was not received.
+     */
+    public boolean check(Executor executor) {
+        long requestTime = System.currentTimeMillis();
         String response;
         try {
             response = restClient.check(executor);
@@ -44,35 +55,93 @@ class CheckExecutor {
             }
         } catch (Exception ex) {
             onHttpCheckFail(executor, ex);
-            return;
-        }
-        if (response == null) {
-            onExecutorWithoutExecution(executor);
-            return;
+            return false;
         }
-        JsonNode overview;
+        JsonNode status;
         try {
-            overview = toJson(response);
+            status = toJson(response);
         } catch (MonitorException ex) {
             LOG.error("Invalid response from executor: {}\n{}",
                     executor.getAddress(), response, ex);
-            return;
+            return false;
         }
-        Execution execution;
-        try {
-            execution = getExecution(executor, overview);
-        } catch (MonitorException ex) {
-            LOG.error("Can't get execution for: {}\n{}",
-                    executor.getAddress(), response, ex);
-            return;
+        executor.setCapacity(status.path("capacity").asInt(1));
+        executor.setRecentRunTime(status.path("recentRunTime").asLong(-1));
+        executor.setMemoryHeadroom(
+                status.path("memory").path("headroom").asLong(-1));
+        // Only changed executions are send.
+        for (JsonNode overview : status.path("executions")) {
+            Execution execution;
+            try {
+                execution = executions.getExecution(overview);
+            } catch (MonitorException ex) {
+                LOG.error("Can't get execution for: {}\n{}",
+                        executor.getAddress(), overview, ex);
+                continue;
+            }
+            if (execution == null) {
+                LOG.error("Executor ({}) is running unknown execution.\n{}",
+                        executor.getAddress(), overview);
+                continue;
+            }
+            reportExecutorHasExecution(executor, execution);
+            updateFromOverview(execution, overview);
+            JsonNode debugData =
+                    status.path("debugData").path(execution.getIri());
+            if (debugData.isArray()) {
+                listener.onDebugData(execution, debugData);
+            }
         }
-        reportExecutorHasExecution(executor, execution);
-        if (execution == null) {
-            LOG.error("Executor ({}) is running unknown execution.\n{}",
-                    executor.getAddress(), response);
-            return;
+        updateFromDeltas(executor, status);
+        if (executor.getLastStart() < requestTime) {
+            // The status can miss only executions started after
+            // we asked for it.
+            Set<String> running = new HashSet<>();
+            for (JsonNode iri : status.path("running")) {
+                running.add(iri.asText());
+            }
+            List<Execution> assigned =
+                    new ArrayList<>(executions.getExecutions(executor));
+            for (Execution execution : assigned) {
+                if (!running.contains(execution.getIri())) {
+                    onExecutorWithoutExecution(executor, execution);
+                }
+            }
+        }
+        executor.setStatusVersion(status.path("version").asLong(-1));
+        return true;
+    }
+
+    /**
+     * Changes of components are send as deltas to the overviews, they
+     * are send only for executions without the overview in the status.
+     */
+    private void updateFromDeltas(Executor executor, JsonNode status) {
+        Set<Execution> changed = new LinkedHashSet<>();
+        for (JsonNode delta : status.path("deltas")) {
+            Execution execution;
+            try {
+                execution = executions.getExecution(delta);
+            } catch (MonitorException ex) {
+                LOG.error("Can't get execution for: {}\n{}",
+                        executor.getAddress(), delta, ex);
+                continue;
+            }
+            if (execution == null) {
+                LOG.error("Executor ({}) is running unknown execution.\n{}",
+                        executor.getAddress(), delta);
+                continue;
+            }
+            listener.onExecutionDelta(execution, delta);
+            changed.add(execution);
+        }
+        for (Execution execution : changed) {
+            JsonNode debugData =
+                    status.path("debugData").path(execution.getIri());
+            if (debugData.isArray()) {
+                listener.onDebugData(execution, debugData);
+            }
         }
-        updateFromOverview(execution, overview);
     }
 
     private void onExecutorIsAlive(Executor executor) {
@@ -83,31 +152,24 @@ class CheckExecutor {
         if (!executor.isAlive()) {
             return;
         }
-        LOG.error("Can't connect to: {}",
+        LOG.error("Can't connect to: {} ({})",
                 executor.getAddress(), ex.getLocalizedMessage());
         executor.setAlive(false);
+        executor.setStatusVersion(-1);
         listener.onExecutorUnavailable(executor);
     }
 
-    private void onExecutorWithoutExecution(Executor executor) {
-        listener.onExecutorWithoutExecution(executor);
+    private void onExecutorWithoutExecution(
+            Executor executor, Execution execution) {
+        listener.onExecutorWithoutExecution(executor, execution);
     }
 
     private JsonNode toJson(String body) throws MonitorException {
         try {
             return mapper.readTree(body);
         } catch (IOException ex) {
-            throw new MonitorException("Can't read overview JSON.", ex);
-        }
-    }
-
-    private Execution getExecution(Executor executor, JsonNode overview)
-            throws MonitorException {
-        Execution execution = executions.getExecution(executor);
-        if (execution == null) {
-            return executions.getExecution(overview);
+            throw new MonitorException("Can't read status JSON.", ex);
         }
-        return execution;
     }
 
     private void reportExecutorHasExecution(
@@ -3,6 +3,7 @@ package com.linkedpipes.etl.executor.monitor.executor;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.linkedpipes.etl.executor.monitor.MonitorException;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
+import com.linkedpipes.etl.executor.monitor.execution.ExecutionStatus;
 
 import java.util.Collection;
 
@@ -10,8 +11,16 @@ public interface ExecutionSource {
 
     Collection<Execution> getExecutions();
 
+    /**
+     * Return executions with given status ordered by IRI.
+     */
+    Collection<Execution> getExecutions(ExecutionStatus status);
+
     Execution getExecution(JsonNode overview) throws MonitorException;
 
-    Execution getExecution(Executor executor);
+    /**
+     * Return executions assigned to given executor.
+     */
+    Collection<Execution> getExecutions(Executor executor);
 
 }
@@ -1,13 +1,42 @@
 package com.linkedpipes.etl.executor.monitor.executor;
 
 /**
- * Represents an instance of an executor.
+ * Represents an instance of an executor. The executor is updated from
+ * a watcher thread and read from other threads, so all fields are
+ * volatile.
  */
 public class Executor {
 
     private final String address;
 
-    private boolean alive = false;
+    private volatile boolean alive = false;
+
+    /**
+     * Number of executions the executor can run at the same time.
+     */
+    private volatile int capacity = 1;
+
+    /**
+     * Average run time of recent executions in milliseconds,
+     * -1 if unknown.
+     */
+    private volatile long recentRunTime = -1;
+
+    /**
+     * Memory available for new executions in bytes, -1 if unknown.
+     */
+    private volatile long memoryHeadroom = -1;
+
+    /**
+     * Version of the last status received from the executor,
+     * -1 if unknown.
+     */
+    private volatile long statusVersion = -1;
+
+    /**
+     * Time an execution was last started on the executor.
+     */
+    private volatile long lastStart = 0;
 
     Executor(String address) {
         this.address = address;
@@ -25,4 +54,44 @@ public class Executor {
         this.alive = alive;
     }
 
+    int getCapacity() {
+        return capacity;
+    }
+
+    void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    long getRecentRunTime() {
+        return recentRunTime;
+    }
+
+    void setRecentRunTime(long recentRunTime) {
+        this.recentRunTime = recentRunTime;
+    }
+
+    long getMemoryHeadroom() {
+        return memoryHeadroom;
+    }
+
+    void setMemoryHeadroom(long memoryHeadroom) {
+        this.memoryHeadroom = memoryHeadroom;
+    }
+
+    long getStatusVersion() {
+        return statusVersion;
+    }
+
+    void setStatusVersion(long statusVersion) {
+        this.statusVersion = statusVersion;
+    }
+
+    long getLastStart() {
+        return lastStart;
+    }
+
+    void setLastStart(long lastStart) {
+        this.lastStart = lastStart;
+    }
+
 }
@@ -7,18 +7,19 @@ public interface ExecutorEventListener {
 
     /**
      * When execution was found for given executor.
-     *
-     * @param execution Can be null.
      */
     void onExecutorHasExecution(Execution execution, Executor executor);
 
     /**
-     * When no execution was found for the executor.
+     * When execution assigned to the executor is no longer executed
+     * by the executor.
      */
-    void onExecutorWithoutExecution(Executor executor);
+    void onExecutorWithoutExecution(Executor executor, Execution execution);
 
     /**
-     * When executor becomes unavailable/unresponsive.
+     * When executor becomes unavailable/unresponsive. Executions that
+     * were not started by the executor yet should be released, so they
+     * can be started by other executors.
      */
     void onExecutorUnavailable(Executor executor);
 
@@ -27,4 +28,15 @@ public interface ExecutorEventListener {
      */
     void onOverview(Execution execution, JsonNode overview);
 
+    /**
+     * When a component of a running execution changed its status
+     * or progress. The delta should be applied to the last overview.
+     */
+    void onExecutionDelta(Execution execution, JsonNode delta);
+
+    /**
+     * When list of debug data units of a running execution is available.
+     */
+    void onDebugData(Execution execution, JsonNode dataUnits);
+
 }
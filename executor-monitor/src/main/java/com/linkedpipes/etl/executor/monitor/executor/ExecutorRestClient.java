@@ -11,11 +11,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
@@ -26,40 +26,51 @@ class ExecutorRestClient {
     private static final Logger LOG =
             LoggerFactory.getLogger(ExecutorRestClient.class);
 
+    /**
+     * Time in milliseconds the executor can wait for a change before
+     * responding to status request.
+     */
+    static final int STATUS_WAIT = 20000;
+
+    private static final int CONNECT_TIMEOUT = 5000;
+
+    /**
+     * Give executor some time to respond after the status wait.
+     */
+    private static final int READ_TIMEOUT = STATUS_WAIT + 10000;
+
     private final RestTemplate restTemplate;
 
     public ExecutorRestClient() {
-        restTemplate = new RestTemplate();
+        SimpleClientHttpRequestFactory requestFactory =
+                new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(CONNECT_TIMEOUT);
+        requestFactory.setReadTimeout(READ_TIMEOUT);
+        restTemplate = new RestTemplate(requestFactory);
         // Support national character encoding in messages.
         restTemplate.getMessageConverters()
                 .add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
     }
 
     /**
-     * Can return null as an empty body.
+     * Return status of the executor with capacity and overviews
+     * of executions changed since the last status. If there is no
+     * change the executor waits for one before responding.
      */
     public String check(Executor executor) {
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         HttpEntity entity = new HttpEntity<>(headers);
         headers.add("Accept", "application/json");
-        ResponseEntity<String> response;
-        try {
-            response = restTemplate.exchange(
-                    getOverviewUrl(executor), HttpMethod.GET,
-                    entity, String.class);
-        } catch (HttpClientErrorException ex) {
-            if (ex.getStatusCode().value() == HttpStatus.SC_NOT_FOUND) {
-                // There is no execution running, that is fine.
-                return null;
-            } else {
-                throw ex;
-            }
-        }
+        ResponseEntity<String> response = restTemplate.exchange(
+                getStatusUrl(executor), HttpMethod.GET,
+                entity, String.class,
+                executor.getStatusVersion(), STATUS_WAIT);
         return response.getBody();
     }
 
-    private String getOverviewUrl(Executor executor) {
-        return executor.getAddress() + "/api/v1/executions/overview";
+    private String getStatusUrl(Executor executor) {
+        return executor.getAddress()
+                + "/api/v1/executions/status?since={since}&wait={wait}";
     }
 
     public void start(Executor executor, Execution execution)
@@ -104,26 +115,29 @@ class ExecutorRestClient {
         }
     }
 
-    public void cancel(Executor executor, String userRequest)
+    public void cancel(
+            Executor executor, Execution execution, String userRequest)
             throws MonitorException {
         try {
-            this.cancelExecution(executor, userRequest);
+            this.cancelExecution(executor, execution, userRequest);
         } catch (Exception ex) {
             throw new MonitorException("Cancel request failed.", ex);
         }
     }
 
-    private void cancelExecution(Executor executor, String userRequest) {
+    private void cancelExecution(
+            Executor executor, Execution execution, String userRequest) {
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add("Content-Type", "application/json");
         HttpEntity request = new HttpEntity<>(userRequest, headers);
 
         ResponseEntity<String> response = restTemplate.exchange(
-                getCancelUrl(executor), HttpMethod.POST,
-                request, String.class);
+                getCancelUrl(executor) + "?iri={iri}", HttpMethod.POST,
+                request, String.class, execution.getIri());
 
-        LOG.info("Cancelling '{}' -> {}",
-                executor.getAddress(), response.getStatusCode());
+        LOG.info("Cancelling '{}' on '{}' -> {}",
+                execution.getIri(), executor.getAddress(),
+                response.getStatusCode());
     }
 
     private String getCancelUrl(Executor executor) {
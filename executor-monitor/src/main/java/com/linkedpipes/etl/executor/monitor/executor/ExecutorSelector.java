@@ -0,0 +1,87 @@
+package com.linkedpipes.etl.executor.monitor.executor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Select executor for a new execution using the load reported
+ * by the executors.
+ *
+ * <p>Executors with free slots and enough free memory are preferred.
+ * From them the one with the lowest share of used slots is selected,
+ * ties are resolved by recent run time and then by free memory.
+ */
+class ExecutorSelector {
+
+    /**
+     * Executors with less free memory are used only if there is
+     * no other option.
+     */
+    static final long MIN_MEMORY_HEADROOM = 64L * 1024 * 1024;
+
+    private static final Comparator<Candidate> ORDER =
+            Comparator.<Candidate>comparingDouble(Candidate::getLoad)
+                    .thenComparingLong(Candidate::getRecentRunTime)
+                    .thenComparing(Comparator.comparingLong(
+                            Candidate::getMemoryHeadroom).reversed());
+
+    private static class Candidate {
+
+        private final Executor executor;
+
+        private final int freeSlots;
+
+        Candidate(Executor executor, int freeSlots) {
+            this.executor = executor;
+            this.freeSlots = freeSlots;
+        }
+
+        double getLoad() {
+            int capacity = Math.max(1, executor.getCapacity());
+            return (double) (capacity - freeSlots) / capacity;
+        }
+
+        long getRecentRunTime() {
+            return Math.max(0, executor.getRecentRunTime());
+        }
+
+        long getMemoryHeadroom() {
+            long headroom = executor.getMemoryHeadroom();
+            return headroom < 0 ? Long.MAX_VALUE : headroom;
+        }
+
+    }
+
+    /**
+     * Return executor for new execution or null if there is no executor
+     * with free slot.
+     *
+     * @param freeSlots Number of free slots for each executor.
+     */
+    public Executor select(Map<Executor, Integer> freeSlots) {
+        List<Candidate> candidates = new ArrayList<>();
+        List<Candidate> lowMemory = new ArrayList<>();
+        for (Map.Entry<Executor, Integer> entry : freeSlots.entrySet()) {
+            if (entry.getValue() < 1) {
+                continue;
+            }
+            Candidate candidate =
+                    new Candidate(entry.getKey(), entry.getValue());
+            if (candidate.getMemoryHeadroom() < MIN_MEMORY_HEADROOM) {
+                lowMemory.add(candidate);
+            } else {
+                candidates.add(candidate);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = lowMemory;
+        }
+        return candidates.stream()
+                .min(ORDER)
+                .map(candidate -> candidate.executor)
+                .orElse(null);
+    }
+
+}
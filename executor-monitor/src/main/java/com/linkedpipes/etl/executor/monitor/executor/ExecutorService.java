@@ -8,13 +8,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +40,8 @@ public class ExecutorService {
 
     private final CheckExecutor checker;
 
+    private final ExecutorSelector selector = new ExecutorSelector();
+
     @Autowired
     public ExecutorService(
             ExecutionSource executions,
@@ -53,7 +58,9 @@ public class ExecutorService {
 
     @PostConstruct
     public void onInit() {
-        addExecutor(configuration.getExecutorUri());
+        for (String uri : configuration.getExecutorUris()) {
+            addExecutor(uri);
+        }
     }
 
     private void addExecutor(String address) {
@@ -66,12 +73,20 @@ public class ExecutorService {
         checker.check(executor);
     }
 
-    @Scheduled(fixedDelay = 2000, initialDelay = 500)
-    public void checkExecutors() {
-        for (Executor executor : executors) {
-            checkExecutor(executor);
-        }
+    List<Executor> getExecutors() {
+        return Collections.unmodifiableList(executors);
+    }
+
+    /**
+     * Wait for change of given executor, apply it and start queued
+     * executions if possible.
+     *
+     * @return False if the executor status was not received.
+     */
+    boolean watchExecutor(Executor executor) {
+        boolean result = checker.check(executor);
         startExecutions();
+        return result;
     }
 
     /**
@@ -88,35 +103,59 @@ public class ExecutorService {
             if (queued.isEmpty()) {
                 return;
             }
-            Iterator<Execution> iterator = queued.iterator();
+            Map<Executor, Integer> freeSlots = new HashMap<>();
             for (Executor executor : executors) {
-                if (isAvailableForNewExecution(executor)) {
-                    startExecution(iterator.next(), executor);
-                }
-                if (!iterator.hasNext()) {
+                freeSlots.put(executor, getFreeSlots(executor));
+            }
+            for (Execution execution : queued) {
+                Executor executor = selector.select(freeSlots);
+                if (executor == null) {
                     return;
                 }
+                if (startExecution(execution, executor)) {
+                    freeSlots.merge(executor, -1, Integer::sum);
+                } else {
+                    // Do not use the executor till next check.
+                    freeSlots.put(executor, 0);
+                }
             }
         }
     }
 
+    /**
+     * Return queued executions that are not assigned to any executor.
+     */
     private List<Execution> getExecutionQueued() {
-        return executions.getExecutions().stream()
+        Set<Execution> assigned = new HashSet<>();
+        for (Executor executor : executors) {
+            assigned.addAll(executions.getExecutions(executor));
+        }
+        return executions.getExecutions(ExecutionStatus.QUEUED).stream()
                 .filter(ex -> ExecutionStatus.QUEUED.equals(ex.getStatus()))
-                .sorted((l, r) -> l.getIri().compareTo(r.getIri()))
+                .filter(ex -> !assigned.contains(ex))
                 .collect(Collectors.toList());
     }
 
-    private boolean isAvailableForNewExecution(Executor executor) {
-        return executor.isAlive() && executions.getExecution(executor) == null;
+    /**
+     * Return number of executions the executor can accept.
+     */
+    private int getFreeSlots(Executor executor) {
+        if (!executor.isAlive()) {
+            return 0;
+        }
+        return Math.max(0, executor.getCapacity()
+                - executions.getExecutions(executor).size());
     }
 
-    private void startExecution(Execution execution, Executor executor) {
+    private boolean startExecution(Execution execution, Executor executor) {
         try {
             this.restClient.start(executor, execution);
+            executor.setLastStart(System.currentTimeMillis());
             this.eventListener.onExecutorHasExecution(execution, executor);
+            return true;
         } catch (Exception ex) {
             LOG.error("Can't start execution.", ex);
+            return false;
         }
     }
 
@@ -127,13 +166,12 @@ public class ExecutorService {
             throw new MonitorException(
                     "Can't find executor for: {}", execution.getIri());
         }
-        this.restClient.cancel(executor, userRequest);
+        this.restClient.cancel(executor, execution, userRequest);
     }
 
     private Executor getExecutor(Execution execution) {
         for (Executor executor : executors) {
-            Execution executorsExecution = executions.getExecution(executor);
-            if (execution == executorsExecution) {
+            if (executions.getExecutions(executor).contains(execution)) {
                 return executor;
             }
         }
@@ -0,0 +1,84 @@
+package com.linkedpipes.etl.executor.monitor.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * For each executor keep a status request waiting for a change, so
+ * changes of executions are received as soon as they happen instead
+ * of polling the executors.
+ */
+@Service
+class ExecutorWatcher {
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(ExecutorWatcher.class);
+
+    /**
+     * Delay in milliseconds before next request when the status
+     * was not received.
+     */
+    private static final long RETRY_DELAY = 2000;
+
+    private final ExecutorService executorService;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public ExecutorWatcher(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @PostConstruct
+    public void onInit() {
+        for (Executor executor : executorService.getExecutors()) {
+            Thread thread = new Thread(
+                    () -> watch(executor),
+                    "executor-watcher-" + threads.size());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public void onDestroy() {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+
+    private void watch(Executor executor) {
+        LOG.info("Watching executor: {}", executor.getAddress());
+        while (running) {
+            boolean received;
+            try {
+                received = executorService.watchExecutor(executor);
+            } catch (RuntimeException ex) {
+                LOG.error("Can't check executor: {}",
+                        executor.getAddress(), ex);
+                received = false;
+            }
+            if (received) {
+                continue;
+            }
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
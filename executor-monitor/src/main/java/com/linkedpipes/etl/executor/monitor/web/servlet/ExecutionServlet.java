@@ -1,5 +1,7 @@
 package com.linkedpipes.etl.executor.monitor.web.servlet;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedpipes.etl.executor.monitor.MonitorException;
@@ -33,6 +35,9 @@ import java.util.List;
 @RequestMapping(value = "/executions")
 public class ExecutionServlet {
 
+    private static final JsonFactory JSON_FACTORY =
+            new ObjectMapper().getFactory();
+
     private final ExecutionFacade executions;
 
     private final ExecutorService executor;
@@ -45,22 +50,40 @@ public class ExecutionServlet {
         this.executor = executorService;
     }
 
+    /**
+     * Return executions, use "since" with the sequence number from the
+     * last response to get only changed executions. Use "format=json"
+     * to get compact JSON instead of RDF.
+     */
     @ResponseBody
     @RequestMapping(value = "", method = RequestMethod.GET)
     public void getExecutions(
             @RequestParam(value = "changedSince", required = false)
                     Long changedSince,
+            @RequestParam(value = "since", required = false)
+                    Long since,
+            @RequestParam(value = "format", required = false)
+                    String outputFormat,
             HttpServletRequest request,
             HttpServletResponse response)
             throws IOException {
+        GetExecutionsHandler handler =
+                new GetExecutionsHandler(this.executions);
+        if ("json".equals(outputFormat)) {
+            response.setHeader(
+                    "Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            try (OutputStream stream = response.getOutputStream();
+                 JsonGenerator json = JSON_FACTORY.createGenerator(stream)) {
+                handler.handleJson(changedSince, since, json);
+            }
+            return;
+        }
         RDFFormat format = this.getFormat(request);
         response.setHeader("Content-Type", format.getDefaultMIMEType());
         try (OutputStream stream = response.getOutputStream()) {
             RDFWriter writer = Rio.createWriter(format, stream);
             writer.startRDF();
-            GetExecutionsHandler handler =
-                    new GetExecutionsHandler(this.executions);
-            handler.handle(changedSince, writer);
+            handler.handle(changedSince, since, writer);
             writer.endRDF();
             stream.flush();
         }
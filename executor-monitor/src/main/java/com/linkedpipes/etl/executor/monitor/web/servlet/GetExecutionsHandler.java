@@ -1,56 +1,167 @@
 package com.linkedpipes.etl.executor.monitor.web.servlet;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
 import com.linkedpipes.etl.executor.monitor.execution.ExecutionFacade;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
 import org.eclipse.rdf4j.rio.RDFWriter;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Date;
 
+/**
+ * Write list of executions. The client can ask only for executions
+ * changed since given time or since given change sequence number.
+ * In the second case the pipeline statements are send only for
+ * executions not known to the client.
+ */
 class GetExecutionsHandler {
 
+    private static final String METADATA =
+            "http://etl.linkedpipes.com/metadata";
+
+    private static final String ONTOLOGY =
+            "http://etl.linkedpipes.com/ontology/";
+
     private final ValueFactory valueFactory = SimpleValueFactory.getInstance();
 
     private final ExecutionFacade executionFacade;
 
+    /**
+     * Time of the request.
+     */
+    private Date serverTime;
+
+    /**
+     * Sequence number of the last change included in the response.
+     */
+    private long sequence;
+
+    private boolean loading;
+
+    private int toLoad;
+
     public GetExecutionsHandler(ExecutionFacade executionFacade) {
         this.executionFacade = executionFacade;
     }
 
-    public void handle(Long changedSince, RDFWriter writer) {
-        Collection<Execution> executions;
-        if (changedSince == null) {
-            executions = executionFacade.getExecutions();
-        } else {
-            executions = executionFacade.getExecutions(new Date(changedSince));
+    public void handle(Long changedSince, Long since, RDFWriter writer) {
+        Collection<Execution> executions = collect(changedSince, since);
+        for (Execution execution : executions) {
+            this.writeStatements(execution.getOverviewStatements(), writer);
+            if (sendPipeline(execution, since)) {
+                this.writeStatements(
+                        execution.getPipelineStatements(), writer);
+            }
         }
+        writeMetadata(createIri("Metadata"), RDF.TYPE, writer);
+        writeMetadata(
+                valueFactory.createLiteral(serverTime.getTime()),
+                createIri("serverTime"), writer);
+        writeMetadata(
+                valueFactory.createLiteral(sequence),
+                createIri("sequence"), writer);
+        // Executions are loaded in background after start, so the client
+        // can tell that the list is not complete yet.
+        writeMetadata(
+                valueFactory.createLiteral(loading),
+                createIri("loading"), writer);
+        if (loading) {
+            writeMetadata(
+                    valueFactory.createLiteral(toLoad),
+                    createIri("toLoad"), writer);
+        }
+    }
 
+    /**
+     * Write the executions as compact JSON, the overview is used as it
+     * is and only the pipeline IRI and label are written.
+     */
+    public void handleJson(Long changedSince, Long since, JsonGenerator json)
+            throws IOException {
+        Collection<Execution> executions = collect(changedSince, since);
+        json.writeStartObject();
+        json.writeNumberField("serverTime", serverTime.getTime());
+        json.writeNumberField("sequence", sequence);
+        json.writeBooleanField("loading", loading);
+        if (loading) {
+            json.writeNumberField("toLoad", toLoad);
+        }
+        json.writeArrayFieldStart("executions");
         for (Execution execution : executions) {
-            this.writeStatements(execution.getOverviewStatements(), writer);
-            this.writeStatements(execution.getPipelineStatements(), writer);
+            json.writeStartObject();
+            json.writeStringField("iri", execution.getIri());
+            json.writeStringField("status", execution.getStatus().asStr());
+            JsonNode overview = executionFacade.getOverview(execution);
+            if (overview != null) {
+                json.writeFieldName("overview");
+                json.writeTree(overview);
+            }
+            if (sendPipeline(execution, since)) {
+                writePipeline(execution, json);
+            }
+            json.writeEndObject();
         }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
 
-        writer.handleStatement(valueFactory.createStatement(
-                valueFactory.createIRI(
-                        "http://etl.linkedpipes.com/metadata"),
-                RDF.TYPE,
-                valueFactory.createIRI(
-                        "http://etl.linkedpipes.com/ontology/Metadata"),
-                valueFactory.createIRI(
-                        "http://etl.linkedpipes.com/metadata")));
+    private Collection<Execution> collect(Long changedSince, Long since) {
+        // Take the time and sequence before reading the executions,
+        // so executions changed in the meantime are reported again
+        // in next request.
+        serverTime = new Date();
+        sequence = executionFacade.getSequence();
+        loading = executionFacade.isLoading();
+        toLoad = executionFacade.getExecutionsToLoad();
+        if (since != null) {
+            return executionFacade.getExecutions(since);
+        } else if (changedSince != null) {
+            return executionFacade.getExecutions(new Date(changedSince));
+        } else {
+            return executionFacade.getExecutions();
+        }
+    }
 
+    private boolean sendPipeline(Execution execution, Long since) {
+        return since == null || executionFacade.isAddedAfter(execution, since);
+    }
+
+    private void writePipeline(Execution execution, JsonGenerator json)
+            throws IOException {
+        if (execution.getPipeline() == null) {
+            return;
+        }
+        json.writeObjectFieldStart("pipeline");
+        json.writeStringField("iri", execution.getPipeline().stringValue());
+        for (Statement statement : execution.getPipelineStatements()) {
+            if (SKOS.PREF_LABEL.equals(statement.getPredicate())
+                    && execution.getPipeline().equals(
+                    statement.getSubject())) {
+                json.writeStringField(
+                        "label", statement.getObject().stringValue());
+                break;
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private IRI createIri(String name) {
+        return valueFactory.createIRI(ONTOLOGY + name);
+    }
+
+    private void writeMetadata(Value value, IRI predicate, RDFWriter writer) {
+        IRI metadata = valueFactory.createIRI(METADATA);
         writer.handleStatement(valueFactory.createStatement(
-                valueFactory.createIRI(
-                        "http://etl.linkedpipes.com/metadata"),
-                valueFactory.createIRI(
-                        "http://etl.linkedpipes.com/ontology/serverTime"),
-                valueFactory.createLiteral((new Date()).getTime()),
-                valueFactory.createIRI(
-                        "http://etl.linkedpipes.com/metadata")));
+                metadata, predicate, value, metadata));
     }
 
     private void writeStatements(
@@ -61,5 +172,4 @@ class GetExecutionsHandler {
         }
     }
 
-
 }
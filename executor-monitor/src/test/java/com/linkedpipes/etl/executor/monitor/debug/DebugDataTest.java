@@ -1,5 +1,7 @@
 package com.linkedpipes.etl.executor.monitor.debug;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_EXEC;
 import com.linkedpipes.etl.executor.monitor.TestUtils;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
@@ -10,6 +12,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.List;
 
 public class DebugDataTest {
@@ -50,6 +53,28 @@ public class DebugDataTest {
         Assert.assertEquals("123", invalid.getExecutionId());
     }
 
+    @Test
+    public void updateDebugData() throws Exception {
+        File directory = TestUtils.resource("debug");
+        DataUnit loaded = new DataUnit(
+                "abc", "valid", "valid-info", null, Collections.emptyList());
+        loaded.updateDebugDirectories(directory);
+        DebugData debugData = new DebugData("abc", directory,
+                Collections.singletonMap("valid", loaded));
+        JsonNode dataUnits = new ObjectMapper().readTree("["
+                + "{\"name\":\"valid\",\"dataPath\":\"other\"},"
+                + "{\"name\":\"new\",\"dataPath\":\"valid-info\"}]");
+        DebugData updated = DebugDataFactory.update(debugData, dataUnits);
+        //
+        Assert.assertEquals("abc", updated.getExecutionId());
+        Assert.assertEquals(2, updated.getDataUnits().size());
+        Assert.assertSame(loaded, updated.getDataUnits().get("valid"));
+        DataUnit added = updated.getDataUnits().get("new");
+        Assert.assertEquals("abc", added.getExecutionId());
+        added.updateDebugDirectories(directory);
+        Assert.assertEquals(2, added.getDebugDirectories().size());
+    }
+
     private Statements twoDataUnitsWithValidAndInvalidDebugFiles() {
         Statements statements = Statements.arrayList();
         statements.addIri(
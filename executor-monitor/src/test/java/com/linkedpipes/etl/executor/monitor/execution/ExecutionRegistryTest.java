@@ -0,0 +1,106 @@
+package com.linkedpipes.etl.executor.monitor.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+public class ExecutionRegistryTest {
+
+    @Test
+    public void getByIdAndIri() {
+        ExecutionRegistry registry = new ExecutionRegistry();
+        Execution execution = createExecution(
+                "http://localhost/executions/1", ExecutionStatus.QUEUED, 10);
+        registry.add(execution);
+        //
+        Assert.assertSame(execution, registry.getById("1"));
+        Assert.assertSame(
+                execution, registry.getByIri("http://localhost/executions/1"));
+        Assert.assertNull(registry.getById("2"));
+        registry.remove(execution);
+        Assert.assertNull(registry.getById("1"));
+        Assert.assertEquals(0, registry.size());
+        Assert.assertTrue(registry.getChangedAfter(new Date(0)).isEmpty());
+    }
+
+    @Test
+    public void getByStatusOrderedByIri() {
+        ExecutionRegistry registry = new ExecutionRegistry();
+        Execution second = createExecution(
+                "http://localhost/executions/2", ExecutionStatus.QUEUED, 10);
+        Execution first = createExecution(
+                "http://localhost/executions/1", ExecutionStatus.QUEUED, 10);
+        Execution running = createExecution(
+                "http://localhost/executions/3", ExecutionStatus.RUNNING, 10);
+        registry.add(second);
+        registry.add(first);
+        registry.add(running);
+        //
+        Assert.assertEquals(Arrays.asList(first, second),
+                new ArrayList<>(registry.getByStatus(ExecutionStatus.QUEUED)));
+        second.setStatus(ExecutionStatus.RUNNING);
+        registry.onChange(second);
+        Assert.assertEquals(Collections.singletonList(first),
+                new ArrayList<>(registry.getByStatus(ExecutionStatus.QUEUED)));
+        Assert.assertEquals(2,
+                registry.getByStatus(ExecutionStatus.RUNNING).size());
+    }
+
+    @Test
+    public void getChangedAfter() {
+        ExecutionRegistry registry = new ExecutionRegistry();
+        Execution first = createExecution(
+                "http://localhost/executions/1", ExecutionStatus.QUEUED, 10);
+        Execution second = createExecution(
+                "http://localhost/executions/2", ExecutionStatus.QUEUED, 20);
+        registry.add(first);
+        registry.add(second);
+        //
+        Assert.assertEquals(Collections.singletonList(second),
+                new ArrayList<>(registry.getChangedAfter(new Date(10))));
+        first.setLastChange(new Date(30));
+        registry.onChange(first);
+        Assert.assertEquals(Arrays.asList(second, first),
+                new ArrayList<>(registry.getChangedAfter(new Date(10))));
+        Assert.assertEquals(Collections.singletonList(first),
+                new ArrayList<>(registry.getChangedAfter(new Date(20))));
+    }
+
+    @Test
+    public void getChangedAfterSequence() {
+        ExecutionRegistry registry = new ExecutionRegistry();
+        Execution first = createExecution(
+                "http://localhost/executions/1", ExecutionStatus.QUEUED, 10);
+        Execution second = createExecution(
+                "http://localhost/executions/2", ExecutionStatus.QUEUED, 10);
+        registry.add(first);
+        long sequence = registry.getSequence();
+        registry.add(second);
+        //
+        Assert.assertEquals(Collections.singletonList(second),
+                new ArrayList<>(registry.getChangedAfter(sequence)));
+        Assert.assertFalse(registry.isAddedAfter(first, sequence));
+        Assert.assertTrue(registry.isAddedAfter(second, sequence));
+        first.setStatus(ExecutionStatus.RUNNING);
+        registry.onChange(first);
+        Assert.assertEquals(Arrays.asList(second, first),
+                new ArrayList<>(registry.getChangedAfter(sequence)));
+        Assert.assertFalse(registry.isAddedAfter(first, sequence));
+        Assert.assertTrue(registry.getChangedAfter(
+                registry.getSequence()).isEmpty());
+    }
+
+    private Execution createExecution(
+            String iri, ExecutionStatus status, long lastChange) {
+        Execution execution = new Execution();
+        execution.setIri(iri);
+        execution.setStatus(status);
+        execution.setLastChange(new Date(lastChange));
+        return execution;
+    }
+
+}
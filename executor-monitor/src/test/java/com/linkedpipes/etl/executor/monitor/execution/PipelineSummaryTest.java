@@ -0,0 +1,80 @@
+package com.linkedpipes.etl.executor.monitor.execution;
+
+import com.linkedpipes.etl.executor.monitor.MonitorException;
+import com.linkedpipes.etl.executor.monitor.TestUtils;
+import com.linkedpipes.etl.rdf4j.Statements;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class PipelineSummaryTest {
+
+    @Test
+    public void saveAndLoad() throws MonitorException, IOException {
+        File directory = Files.createTempDirectory("lp-summary").toFile();
+        directory.deleteOnExit();
+        Execution expected = new Execution();
+        expected.setIri("http://execution");
+        expected.setDirectory(TestUtils.resource("execution"));
+        (new PipelineLoader(expected)).loadPipelineIntoExecution();
+        expected.setDirectory(directory);
+        PipelineSummary summary = new PipelineSummary();
+        summary.save(expected);
+        new File(directory, "pipeline-summary.nt").deleteOnExit();
+        //
+        Execution actual = new Execution();
+        actual.setIri("http://execution");
+        actual.setDirectory(directory);
+        Assert.assertTrue(summary.load(actual));
+        Assert.assertEquals(expected.getPipeline(), actual.getPipeline());
+        Statements statements = new Statements(actual.getPipelineStatements());
+        Assert.assertTrue(statements.containsAllLogMissing(
+                expected.getPipelineStatements()));
+        Assert.assertEquals(expected.getPipelineStatements().size(),
+                actual.getPipelineStatements().size());
+    }
+
+    @Test
+    public void truncatedSummary() throws MonitorException, IOException {
+        File directory = Files.createTempDirectory("lp-summary").toFile();
+        directory.deleteOnExit();
+        Execution execution = new Execution();
+        execution.setIri("http://execution");
+        execution.setDirectory(TestUtils.resource("execution"));
+        (new PipelineLoader(execution)).loadPipelineIntoExecution();
+        execution.setDirectory(directory);
+        PipelineSummary summary = new PipelineSummary();
+        summary.save(execution);
+        File file = new File(directory, "pipeline-summary.nt");
+        file.deleteOnExit();
+        Assert.assertFalse(
+                new File(directory, "pipeline-summary.nt.tmp").exists());
+        // Simulate a crash while the file was written.
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(),
+                Arrays.copyOf(content, content.length / 2 + 1));
+        try {
+            summary.load(execution);
+            Assert.fail("Truncated summary should not be loaded.");
+        } catch (MonitorException ex) {
+            // Expected.
+        }
+        summary.delete(execution);
+        Assert.assertFalse(summary.load(execution));
+    }
+
+    @Test
+    public void missingSummary() throws MonitorException, IOException {
+        File directory = Files.createTempDirectory("lp-summary").toFile();
+        directory.deleteOnExit();
+        Execution execution = new Execution();
+        execution.setIri("http://execution");
+        execution.setDirectory(directory);
+        Assert.assertFalse((new PipelineSummary()).load(execution));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.linkedpipes.etl.executor.monitor.execution.overview;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class OverviewDeltaTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final OverviewDelta overviewDelta = new OverviewDelta();
+
+    @Test
+    public void applyDeltas() throws IOException {
+        JsonNode overview = mapper.readTree("{"
+                + "\"@context\":{},"
+                + "\"status\":{\"@id\":\"queued\"},"
+                + "\"lastChange\":\"2020-01-01T10:00:00.000\","
+                + "\"pipelineProgress\":{\"total\":2,\"current\":0}}");
+        JsonNode status = mapper.readTree("{\"type\":\"component\","
+                + "\"lastChange\":\"2020-01-01T10:00:01.000\","
+                + "\"status\":{\"@id\":\"running\"},"
+                + "\"pipelineProgress\":{\"current\":1},"
+                + "\"component\":{\"@id\":\"c\","
+                + "\"status\":{\"@id\":\"running\"}}}");
+        JsonNode progress = mapper.readTree("{\"type\":\"progress\","
+                + "\"lastChange\":\"2020-01-01T10:00:02.000\","
+                + "\"component\":{\"@id\":\"c\","
+                + "\"status\":{\"@id\":\"running\"},"
+                + "\"current\":5,\"total\":10}}");
+        JsonNode actual = overviewDelta.apply(
+                overviewDelta.apply(overview, status), progress);
+        // Deltas can be applied multiple times.
+        actual = overviewDelta.apply(actual, progress);
+        //
+        Assert.assertEquals("running",
+                actual.get("status").get("@id").asText());
+        Assert.assertEquals("2020-01-01T10:00:02.000",
+                actual.get("lastChange").asText());
+        Assert.assertEquals(2,
+                actual.get("pipelineProgress").get("total").asInt());
+        Assert.assertEquals(1,
+                actual.get("pipelineProgress").get("current").asInt());
+        Assert.assertTrue(actual.get("@context").has("components"));
+        Assert.assertEquals(1, actual.get("components").size());
+        Assert.assertEquals(progress.get("component"),
+                actual.get("components").get(0));
+        // Original overview is not modified.
+        Assert.assertFalse(overview.has("components"));
+    }
+
+}
@@ -5,8 +5,11 @@ import com.linkedpipes.etl.executor.monitor.MonitorException;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.Collections;
+
 public class CheckExecutorTest {
 
     @Test
@@ -32,6 +35,7 @@ public class CheckExecutorTest {
         (new CheckExecutor(listener, client, null)).check(executor);
         //
         Assert.assertFalse(executor.isAlive());
+        Assert.assertEquals(-1, executor.getStatusVersion());
         Mockito.verify(listener, Mockito.times(1))
                 .onExecutorUnavailable(executor);
     }
@@ -41,14 +45,20 @@ public class CheckExecutorTest {
         ExecutorEventListener listener =
                 Mockito.mock(ExecutorEventListener.class);
         ExecutorRestClient client = Mockito.mock(ExecutorRestClient.class);
+        ExecutionSource executions = Mockito.mock(ExecutionSource.class);
         Executor executor = new Executor(null);
         executor.setAlive(true);
-        Mockito.when(client.check(executor)).thenReturn(null);
-        (new CheckExecutor(listener, client, null)).check(executor);
+        Mockito.when(client.check(executor))
+                .thenReturn("{\"capacity\":1,\"running\":[],"
+                        + "\"executions\":[]}");
+        Execution execution = new Execution();
+        Mockito.when(executions.getExecutions(executor))
+                .thenReturn(Collections.singletonList(execution));
+        (new CheckExecutor(listener, client, executions)).check(executor);
         //
         Assert.assertTrue(executor.isAlive());
         Mockito.verify(listener, Mockito.times(1))
-                .onExecutorWithoutExecution(executor);
+                .onExecutorWithoutExecution(executor, execution);
     }
 
     @Test
@@ -57,7 +67,8 @@ public class CheckExecutorTest {
         ExecutionSource executions = Mockito.mock(ExecutionSource.class);
         Executor executor = new Executor(null);
         executor.setAlive(true);
-        Mockito.when(client.check(executor)).thenReturn("{}");
+        Mockito.when(client.check(executor))
+                .thenReturn("{\"capacity\":2,\"executions\":[{}]}");
         Execution execution = new Execution();
         Mockito.when(executions.getExecution(Mockito.any(JsonNode.class)))
                 .thenReturn(execution);
@@ -65,6 +76,7 @@ public class CheckExecutorTest {
                 Mockito.mock(ExecutorEventListener.class);
         (new CheckExecutor(listener, client, executions)).check(executor);
         //
+        Assert.assertEquals(2, executor.getCapacity());
         Mockito.verify(listener, Mockito.times(1))
                 .onExecutorHasExecution(execution, executor);
         Mockito.verify(listener, Mockito.times(1))
@@ -72,14 +84,43 @@ public class CheckExecutorTest {
     }
 
     @Test
-    public void updateFromOverview() {
+    public void ignoreExecutionStartedDuringCheck() {
+        ExecutorEventListener listener =
+                Mockito.mock(ExecutorEventListener.class);
         ExecutorRestClient client = Mockito.mock(ExecutorRestClient.class);
         ExecutionSource executions = Mockito.mock(ExecutionSource.class);
         Executor executor = new Executor(null);
         executor.setAlive(true);
-        Mockito.when(client.check(executor)).thenReturn("{}");
         Execution execution = new Execution();
-        Mockito.when(executions.getExecution(executor)).thenReturn(execution);
+        Mockito.when(client.check(executor)).thenAnswer((call) -> {
+            // Execution is started while we wait for the response.
+            executor.setLastStart(System.currentTimeMillis());
+            return "{\"version\":2,\"running\":[],\"executions\":[]}";
+        });
+        Mockito.when(executions.getExecutions(executor))
+                .thenReturn(Collections.singletonList(execution));
+        (new CheckExecutor(listener, client, executions)).check(executor);
+        //
+        Mockito.verify(listener, Mockito.never())
+                .onExecutorWithoutExecution(executor, execution);
+        Assert.assertEquals(2, executor.getStatusVersion());
+    }
+
+    @Test
+    public void updateFromOverview() throws MonitorException {
+        ExecutorRestClient client = Mockito.mock(ExecutorRestClient.class);
+        ExecutionSource executions = Mockito.mock(ExecutionSource.class);
+        Executor executor = new Executor(null);
+        executor.setAlive(true);
+        Mockito.when(client.check(executor))
+                .thenReturn("{\"capacity\":1,\"running\":[\"iri\"],"
+                        + "\"executions\":[{}]}");
+        Execution execution = Mockito.mock(Execution.class);
+        Mockito.when(execution.getIri()).thenReturn("iri");
+        Mockito.when(executions.getExecution(Mockito.any(JsonNode.class)))
+                .thenReturn(execution);
+        Mockito.when(executions.getExecutions(executor))
+                .thenReturn(Collections.singletonList(execution));
         ExecutorEventListener listener =
                 Mockito.mock(ExecutorEventListener.class);
         (new CheckExecutor(listener, client, executions)).check(executor);
@@ -88,6 +129,63 @@ public class CheckExecutorTest {
                 .onExecutorHasExecution(execution, executor);
         Mockito.verify(listener, Mockito.times(1))
                 .onOverview(Mockito.eq(execution), Mockito.any(JsonNode.class));
+        Mockito.verify(listener, Mockito.never())
+                .onExecutorWithoutExecution(executor, execution);
+        Mockito.verify(listener, Mockito.never())
+                .onDebugData(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void updateDebugData() throws MonitorException {
+        ExecutorRestClient client = Mockito.mock(ExecutorRestClient.class);
+        ExecutionSource executions = Mockito.mock(ExecutionSource.class);
+        Executor executor = new Executor(null);
+        executor.setAlive(true);
+        Mockito.when(client.check(executor))
+                .thenReturn("{\"running\":[\"iri\"],\"executions\":[{}],"
+                        + "\"debugData\":{\"iri\":[{\"name\":\"0\"}]}}");
+        Execution execution = Mockito.mock(Execution.class);
+        Mockito.when(execution.getIri()).thenReturn("iri");
+        Mockito.when(executions.getExecution(Mockito.any(JsonNode.class)))
+                .thenReturn(execution);
+        ExecutorEventListener listener =
+                Mockito.mock(ExecutorEventListener.class);
+        (new CheckExecutor(listener, client, executions)).check(executor);
+        //
+        ArgumentCaptor<JsonNode> dataUnits =
+                ArgumentCaptor.forClass(JsonNode.class);
+        Mockito.verify(listener, Mockito.times(1))
+                .onDebugData(Mockito.eq(execution), dataUnits.capture());
+        Assert.assertEquals(1, dataUnits.getValue().size());
+    }
+
+    @Test
+    public void updateFromDelta() throws MonitorException {
+        ExecutorRestClient client = Mockito.mock(ExecutorRestClient.class);
+        ExecutionSource executions = Mockito.mock(ExecutionSource.class);
+        Executor executor = new Executor(null);
+        executor.setAlive(true);
+        Mockito.when(client.check(executor))
+                .thenReturn("{\"version\":3,\"running\":[\"iri\"],"
+                        + "\"executions\":[],\"deltas\":[{}],"
+                        + "\"debugData\":{\"iri\":[]}}");
+        Execution execution = Mockito.mock(Execution.class);
+        Mockito.when(execution.getIri()).thenReturn("iri");
+        Mockito.when(executions.getExecution(Mockito.any(JsonNode.class)))
+                .thenReturn(execution);
+        Mockito.when(executions.getExecutions(executor))
+                .thenReturn(Collections.singletonList(execution));
+        ExecutorEventListener listener =
+                Mockito.mock(ExecutorEventListener.class);
+        (new CheckExecutor(listener, client, executions)).check(executor);
+        //
+        Mockito.verify(listener, Mockito.times(1)).onExecutionDelta(
+                Mockito.eq(execution), Mockito.any(JsonNode.class));
+        Mockito.verify(listener, Mockito.never())
+                .onOverview(Mockito.any(), Mockito.any());
+        Mockito.verify(listener, Mockito.times(1))
+                .onDebugData(Mockito.eq(execution), Mockito.any());
+        Assert.assertEquals(3, executor.getStatusVersion());
     }
 
 }
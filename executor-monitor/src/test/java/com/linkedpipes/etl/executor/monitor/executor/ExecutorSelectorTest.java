@@ -0,0 +1,64 @@
+package com.linkedpipes.etl.executor.monitor.executor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ExecutorSelectorTest {
+
+    private static final long MEMORY = 1024L * 1024 * 1024;
+
+    @Test
+    public void noFreeSlot() {
+        Map<Executor, Integer> freeSlots = new HashMap<>();
+        freeSlots.put(createExecutor(1, -1, MEMORY), 0);
+        Assert.assertNull((new ExecutorSelector()).select(freeSlots));
+    }
+
+    @Test
+    public void preferLessLoaded() {
+        Executor busy = createExecutor(4, -1, MEMORY);
+        Executor idle = createExecutor(2, -1, MEMORY);
+        Map<Executor, Integer> freeSlots = new HashMap<>();
+        freeSlots.put(busy, 1);
+        freeSlots.put(idle, 2);
+        Assert.assertSame(idle, (new ExecutorSelector()).select(freeSlots));
+    }
+
+    @Test
+    public void preferShorterRunTime() {
+        Executor slow = createExecutor(1, 2000, MEMORY);
+        Executor fast = createExecutor(1, 1000, MEMORY);
+        Map<Executor, Integer> freeSlots = new HashMap<>();
+        freeSlots.put(slow, 1);
+        freeSlots.put(fast, 1);
+        Assert.assertSame(fast, (new ExecutorSelector()).select(freeSlots));
+    }
+
+    @Test
+    public void avoidLowMemory() {
+        Executor lowMemory = createExecutor(1, 1000, 1024);
+        Executor slow = createExecutor(1, 2000, MEMORY);
+        Map<Executor, Integer> freeSlots = new HashMap<>();
+        freeSlots.put(lowMemory, 1);
+        freeSlots.put(slow, 1);
+        Assert.assertSame(slow, (new ExecutorSelector()).select(freeSlots));
+        // Use executor with low memory if there is no other option.
+        freeSlots.put(slow, 0);
+        Assert.assertSame(
+                lowMemory, (new ExecutorSelector()).select(freeSlots));
+    }
+
+    private Executor createExecutor(
+            int capacity, long recentRunTime, long memoryHeadroom) {
+        Executor executor = new Executor(null);
+        executor.setAlive(true);
+        executor.setCapacity(capacity);
+        executor.setRecentRunTime(recentRunTime);
+        executor.setMemoryHeadroom(memoryHeadroom);
+        return executor;
+    }
+
+}
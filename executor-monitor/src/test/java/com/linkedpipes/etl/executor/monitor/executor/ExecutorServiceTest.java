@@ -4,10 +4,13 @@ import com.linkedpipes.etl.executor.monitor.Configuration;
 import com.linkedpipes.etl.executor.monitor.MonitorException;
 import com.linkedpipes.etl.executor.monitor.execution.Execution;
 import com.linkedpipes.etl.executor.monitor.execution.ExecutionStatus;
+import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 public class ExecutorServiceTest {
 
@@ -16,7 +19,8 @@ public class ExecutorServiceTest {
         ExecutionSource executions = Mockito.mock(ExecutionSource.class);
         ExecutorEventListener eventListener = null;
         Configuration configuration = Mockito.mock(Configuration.class);
-        Mockito.when(configuration.getExecutorUri()).thenReturn("iri");
+        Mockito.when(configuration.getExecutorUris())
+                .thenReturn(Collections.singletonList("iri"));
         ExecutorRestClient restClient = null;
         CheckExecutor checker = Mockito.mock(CheckExecutor.class);
         ExecutorService service = new ExecutorService(
@@ -24,7 +28,7 @@ public class ExecutorServiceTest {
         service.onInit();
         //
         Mockito.verify(checker, Mockito.times(1)).check(Mockito.any());
-        service.checkExecutors();
+        checkExecutors(service);
         Mockito.verify(checker, Mockito.times(2)).check(Mockito.any());
     }
 
@@ -33,22 +37,23 @@ public class ExecutorServiceTest {
         ExecutionSource executions = Mockito.mock(ExecutionSource.class);
         Execution execution = Mockito.mock(Execution.class);
         Mockito.when(execution.getStatus()).thenReturn(ExecutionStatus.QUEUED);
-        Mockito.when(executions.getExecutions())
+        Mockito.when(executions.getExecutions(ExecutionStatus.QUEUED))
                 .thenReturn(Arrays.asList(execution));
         ExecutorEventListener eventListener = Mockito
                 .mock(ExecutorEventListener.class);
         Configuration configuration = Mockito.mock(Configuration.class);
-        Mockito.when(configuration.getExecutorUri()).thenReturn("iri");
+        Mockito.when(configuration.getExecutorUris())
+                .thenReturn(Collections.singletonList("iri"));
         ExecutorRestClient restClient = Mockito.mock(ExecutorRestClient.class);
         CheckExecutor checker = Mockito.mock(CheckExecutor.class);
         Mockito.doAnswer((call) -> {
             call.getArgument(0, Executor.class).setAlive(true);
-            return null;
+            return true;
         }).when(checker).check(Mockito.any());
         ExecutorService service = new ExecutorService(
                 executions, eventListener, configuration, restClient, checker);
         service.onInit();
-        service.checkExecutors();
+        checkExecutors(service);
         //
         Mockito.verify(restClient, Mockito.times(1))
                 .start(Mockito.any(), Mockito.eq(execution));
@@ -56,16 +61,86 @@ public class ExecutorServiceTest {
                 .onExecutorHasExecution(Mockito.eq(execution), Mockito.any());
     }
 
+    @Test
+    public void fillFreeSlots() throws MonitorException {
+        ExecutionSource executions = Mockito.mock(ExecutionSource.class);
+        Execution first = createQueuedExecution("http://localhost/1");
+        Execution second = createQueuedExecution("http://localhost/2");
+        Execution third = createQueuedExecution("http://localhost/3");
+        Mockito.when(executions.getExecutions(ExecutionStatus.QUEUED))
+                .thenReturn(Arrays.asList(first, second, third));
+        ExecutorEventListener eventListener = Mockito
+                .mock(ExecutorEventListener.class);
+        Configuration configuration = Mockito.mock(Configuration.class);
+        Mockito.when(configuration.getExecutorUris())
+                .thenReturn(Collections.singletonList("iri"));
+        ExecutorRestClient restClient = Mockito.mock(ExecutorRestClient.class);
+        CheckExecutor checker = Mockito.mock(CheckExecutor.class);
+        Mockito.doAnswer((call) -> {
+            Executor executor = call.getArgument(0, Executor.class);
+            executor.setAlive(true);
+            executor.setCapacity(3);
+            return true;
+        }).when(checker).check(Mockito.any());
+        Mockito.when(executions.getExecutions(Mockito.any(Executor.class)))
+                .thenReturn(Collections.singletonList(third));
+        ExecutorService service = new ExecutorService(
+                executions, eventListener, configuration, restClient, checker);
+        service.onInit();
+        checkExecutors(service);
+        //
+        Mockito.verify(restClient, Mockito.times(1))
+                .start(Mockito.any(), Mockito.eq(first));
+        Mockito.verify(restClient, Mockito.times(1))
+                .start(Mockito.any(), Mockito.eq(second));
+        Mockito.verify(restClient, Mockito.never())
+                .start(Mockito.any(), Mockito.eq(third));
+    }
+
+    @Test
+    public void spreadExecutions() throws MonitorException {
+        ExecutionSource executions = Mockito.mock(ExecutionSource.class);
+        Execution first = createQueuedExecution("http://localhost/1");
+        Execution second = createQueuedExecution("http://localhost/2");
+        Mockito.when(executions.getExecutions(ExecutionStatus.QUEUED))
+                .thenReturn(Arrays.asList(first, second));
+        ExecutorEventListener eventListener = Mockito
+                .mock(ExecutorEventListener.class);
+        Configuration configuration = Mockito.mock(Configuration.class);
+        Mockito.when(configuration.getExecutorUris())
+                .thenReturn(Arrays.asList("first", "second"));
+        ExecutorRestClient restClient = Mockito.mock(ExecutorRestClient.class);
+        CheckExecutor checker = Mockito.mock(CheckExecutor.class);
+        Mockito.doAnswer((call) -> {
+            Executor executor = call.getArgument(0, Executor.class);
+            executor.setAlive(true);
+            executor.setCapacity(2);
+            return true;
+        }).when(checker).check(Mockito.any());
+        ExecutorService service = new ExecutorService(
+                executions, eventListener, configuration, restClient, checker);
+        service.onInit();
+        service.asyncStartExecutions();
+        //
+        ArgumentCaptor<Executor> captor =
+                ArgumentCaptor.forClass(Executor.class);
+        Mockito.verify(restClient, Mockito.times(2))
+                .start(captor.capture(), Mockito.any());
+        Assert.assertNotSame(
+                captor.getAllValues().get(0), captor.getAllValues().get(1));
+    }
+
     @Test
     public void cancelExecution() throws MonitorException {
         ExecutionSource executions = Mockito.mock(ExecutionSource.class);
         Execution execution = Mockito.mock(Execution.class);
         Mockito.when(execution.getStatus()).thenReturn(ExecutionStatus.RUNNING);
-        Mockito.when(executions.getExecution(Mockito.any(Executor.class)))
-                .thenReturn(execution);
+        Mockito.when(executions.getExecutions(Mockito.any(Executor.class)))
+                .thenReturn(Collections.singletonList(execution));
         ExecutorEventListener eventListener = null;
         Configuration configuration = Mockito.mock(Configuration.class);
-        Mockito.when(configuration.getExecutorUri()).thenReturn("iri");
+        Mockito.when(configuration.getExecutorUris())
+                .thenReturn(Collections.singletonList("iri"));
         ExecutorRestClient restClient = Mockito.mock(ExecutorRestClient.class);
         CheckExecutor checker = Mockito.mock(CheckExecutor.class);
         ExecutorService service = new ExecutorService(
@@ -74,8 +149,21 @@ public class ExecutorServiceTest {
         service.cancelExecution(execution, "request");
         //
         Mockito.verify(restClient, Mockito.times(1))
-                .cancel(Mockito.any(), Mockito.eq("request"));
+                .cancel(Mockito.any(), Mockito.eq(execution),
+                        Mockito.eq("request"));
     }
 
+    private Execution createQueuedExecution(String iri) {
+        Execution execution = Mockito.mock(Execution.class);
+        Mockito.when(execution.getStatus()).thenReturn(ExecutionStatus.QUEUED);
+        Mockito.when(execution.getIri()).thenReturn(iri);
+        return execution;
+    }
+
+    private void checkExecutors(ExecutorService service) {
+        for (Executor executor : service.getExecutors()) {
+            service.watchExecutor(executor);
+        }
+    }
 
 }
@@ -34,6 +34,10 @@ public class Configuration {
 
     private String storageAddress;
 
+    private int parallelComponents;
+
+    private int parallelExecutions;
+
     private final List<String> bannedJarPatterns = new ArrayList<>(20);
 
     private final Properties properties = new Properties();
@@ -66,6 +70,20 @@ public class Configuration {
         osgiStorageDirectory = getProperty("executor.osgi.working.directory");
         osgiComponentDirectory = getProperty("storage.jars.directory");
         storageAddress = getProperty("storage.uri");
+        parallelComponents = getPropertyInteger(
+                "executor.execution.parallel_components", 1);
+        if (parallelComponents < 1) {
+            LOG.error("Invalid configuration property: '{}'",
+                    "executor.execution.parallel_components");
+            throw new RuntimeException("Invalid configuration property!");
+        }
+        parallelExecutions = getPropertyInteger(
+                "executor.execution.parallel_executions", 1);
+        if (parallelExecutions < 1) {
+            LOG.error("Invalid configuration property: '{}'",
+                    "executor.execution.parallel_executions");
+            throw new RuntimeException("Invalid configuration property!");
+        }
         //
         try {
             String value = properties.getProperty(
@@ -119,6 +137,18 @@ public class Configuration {
         return bannedJarPatterns;
     }
 
+    /**
+     * Maximum number of components of a single pipeline that can be
+     * executed at the same time, value one means sequential execution.
+     */
+    public int getParallelComponents() {
+        return parallelComponents;
+    }
+
+    public int getParallelExecutions() {
+        return parallelExecutions;
+    }
+
     private String getProperty(String name) {
         final String value;
         try {
@@ -145,6 +175,13 @@ public class Configuration {
         }
     }
 
+    private Integer getPropertyInteger(String name, int defaultValue) {
+        if (properties.getProperty(name) == null) {
+            return defaultValue;
+        }
+        return getPropertyInteger(name);
+    }
+
     private static void validateDirectory(String value) {
         (new File(value)).mkdirs();
     }
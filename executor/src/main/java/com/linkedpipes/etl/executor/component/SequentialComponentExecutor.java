@@ -4,9 +4,10 @@ import com.linkedpipes.etl.executor.ExecutorException;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.execution.ExecutionObserver;
 import com.linkedpipes.etl.executor.execution.model.ExecutionComponent;
-import com.linkedpipes.etl.executor.logging.LoggerFacade;
 import org.slf4j.MDC;
 
+import java.util.Map;
+
 class SequentialComponentExecutor implements Runnable {
 
     private final SequentialExecution executable;
@@ -19,6 +20,12 @@ class SequentialComponentExecutor implements Runnable {
 
     private ExecutionContext context;
 
+    /**
+     * MDC context of the execution, as the component is executed
+     * in another thread.
+     */
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
     public SequentialComponentExecutor(
             SequentialExecution executable,
             ExecutionObserver execution,
@@ -32,7 +39,9 @@ class SequentialComponentExecutor implements Runnable {
 
     @Override
     public void run() {
-        MDC.put(LoggerFacade.EXECUTION_MDC, null);
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        }
         try {
             execution.onComponentUserCodeBegin(component);
             executable.execute(context);
@@ -42,7 +51,7 @@ class SequentialComponentExecutor implements Runnable {
             exception = new ExecutorException(
                     "PipelineComponent execution failed.", ex);
         }
-        MDC.remove(LoggerFacade.EXECUTION_MDC);
+        MDC.clear();
     }
 
     public ExecutorException getException() {
@@ -13,7 +13,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-
+/**
+ * Close data units once they are no longer needed. As components can
+ * be executed in parallel, all methods are synchronized.
+ */
 class DataUnitCloser {
 
     private static final Logger LOG =
@@ -25,6 +28,12 @@ class DataUnitCloser {
 
     private final Set<String> executedComponents = new HashSet<>();
 
+    /**
+     * Components that are being executed, we must not close their
+     * data units.
+     */
+    private final Set<String> runningComponents = new HashSet<>();
+
     /**
      * We have owners only for initialized data units.
      */
@@ -37,14 +46,23 @@ class DataUnitCloser {
         this.pipelineQuery = pipelineQuery;
     }
 
-    public void addComponentDataUnits(ExecutionComponent component) {
+    public synchronized void addComponentDataUnits(
+            ExecutionComponent component) {
         for (DataUnit dataUnit : component.getDataUnits()) {
             this.owners.put(dataUnit, component);
         }
     }
 
-    public void onComponentExecuted(ExecutionComponent component) {
+    public synchronized void onComponentWillExecute(
+            ExecutionComponent component) {
+        this.addComponentDataUnits(component);
+        this.runningComponents.add(component.getIri());
+    }
+
+    public synchronized void onComponentExecuted(
+            ExecutionComponent component) {
         LOG.info("onComponentExecuted", getComponentId(component.getIri()));
+        this.runningComponents.remove(component.getIri());
         this.executedComponents.add(component.getIri());
     }
 
@@ -53,7 +71,7 @@ class DataUnitCloser {
         return iri.substring(startIndex);
     }
 
-    public void closeUnusedDataUnits() throws ExecutorException {
+    public synchronized void closeUnusedDataUnits() throws ExecutorException {
         // Collect ports to close.
         LOG.info("Close data units:");
         List<DataUnit> toClose = new ArrayList<>();
@@ -87,6 +105,10 @@ class DataUnitCloser {
         ExecutionComponent owner = this.owners.get(dataUnit);
         // 'owner' would be null for only non-initialized components,
         // so that should never happen.
+        if (owner != null
+                && this.runningComponents.contains(owner.getIri())) {
+            return false;
+        }
         return this.pipelineQuery.isNoLongerUsed(
                 this.executedComponents, owner, dataUnit);
     }
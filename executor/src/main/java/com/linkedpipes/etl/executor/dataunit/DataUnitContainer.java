@@ -39,7 +39,8 @@ class DataUnitContainer {
     private final DataUnit metadata;
 
     /**
-     * Internal status of the container.
+     * Internal status of the container. Data units can be closed by other
+     * threads, so all status changes are guarded by the container.
      */
     private Status status;
 
@@ -56,7 +57,8 @@ class DataUnitContainer {
     /**
      * Initialize data unit from given data units.
      */
-    public void initialize(Map<String, ManageableDataUnit> instances)
+    public synchronized void initialize(
+            Map<String, ManageableDataUnit> instances)
             throws ExecutorException {
         if (this.status != Status.NEW) {
             throw new ExecutorException("Invalid stat of data unit ({}) : {}",
@@ -76,7 +78,7 @@ class DataUnitContainer {
      * Initialize data unit from given directory. The given directory
      * must contains previously saved data by the data unit.
      */
-    public void initialize(File directory)
+    public synchronized void initialize(File directory)
             throws ExecutorException {
         if (this.status != Status.NEW) {
             throw new ExecutorException("Invalid stat of data unit ({}) : {}",
@@ -92,7 +94,8 @@ class DataUnitContainer {
         this.status = Status.INITIALIZED;
     }
 
-    public void onComponentDidExecute() throws ExecutorException {
+    public synchronized void onComponentDidExecute()
+            throws ExecutorException {
         if (this.status != Status.INITIALIZED) {
             throw new ExecutorException("Invalid status change from: {} to {}",
                     this.status, Status.AFTER_EXECUTION);
@@ -103,7 +106,7 @@ class DataUnitContainer {
     /**
      * Save content of the data unit instance.
      */
-    public void save() throws ExecutorException {
+    public synchronized void save() throws ExecutorException {
         if (this.status == Status.NEW) {
             // This can happen for unused data units (if pipeline fail).
             return;
@@ -129,7 +132,7 @@ class DataUnitContainer {
     /**
      * Close wrapped instance.
      */
-    public void close() {
+    public synchronized void close() {
         if (this.status == Status.NEW) {
             // Can happen if pipeline fail.
             return;
@@ -152,7 +155,7 @@ class DataUnitContainer {
      * Do not load the content, just load reference. This make it possible
      * to save the debug data.
      */
-    public void mapByReference(File source)
+    public synchronized void mapByReference(File source)
             throws ExecutorException {
         File saveDirectory = this.metadata.getSaveDirectory();
         if (saveDirectory == null) {
@@ -168,14 +171,14 @@ class DataUnitContainer {
         this.status = Status.MAPPED;
     }
 
-    public boolean openWithData() {
+    public synchronized boolean openWithData() {
         return this.status == Status.AFTER_EXECUTION
                 || this.status == Status.SAVED
                 || this.status == Status.MAPPED;
     }
 
     // TODO REMOVE
-    public Status getStatus() {
+    public synchronized Status getStatus() {
         return this.status;
     }
 
@@ -13,6 +13,10 @@ import java.util.Map;
 
 /**
  * This class is responsible for handling dataunit management.
+ *
+ * <p>Components can be executed in parallel. Each data unit is used only
+ * by its component and all data units are created before the execution,
+ * so only the closing of data units must be synchronized.
  */
 public class DataUnitManager {
 
@@ -58,7 +62,7 @@ public class DataUnitManager {
         this.instances.put(iri, instance);
     }
 
-    public void close() {
+    public synchronized void close() {
         for (DataUnitContainer container : this.dataUnits.values()) {
             if (container.openWithData()) {
                 container.close();
@@ -83,7 +87,7 @@ public class DataUnitManager {
             }
             result.put(dataUnit.getIri(), container.getInstance());
         }
-        this.portCloser.addComponentDataUnits(component);
+        this.portCloser.onComponentWillExecute(component);
         return result;
     }
 
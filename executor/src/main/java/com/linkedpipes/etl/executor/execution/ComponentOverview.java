@@ -0,0 +1,55 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Status and progress of a single component as a part of the execution
+ * overview.
+ */
+class ComponentOverview {
+
+    private final String iri;
+
+    private String status;
+
+    private Long current;
+
+    private Long total;
+
+    ComponentOverview(String iri) {
+        this.iri = iri;
+    }
+
+    ComponentOverview(ComponentOverview other) {
+        this.iri = other.iri;
+        this.status = other.status;
+        this.current = other.current;
+        this.total = other.total;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public void setProgress(long current, long total) {
+        this.current = current;
+        this.total = total;
+    }
+
+    public ObjectNode toJsonLd(ObjectMapper mapper) {
+        ObjectNode result = mapper.createObjectNode();
+        result.put("@id", iri);
+        if (status != null) {
+            ObjectNode statusNode = mapper.createObjectNode();
+            statusNode.put("@id", status);
+            result.set("status", statusNode);
+        }
+        if (current != null) {
+            result.put("current", current);
+            result.put("total", total);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Component reported progress.
+ */
+public class ComponentProgressDelta extends ExecutionDelta {
+
+    ComponentProgressDelta(
+            String execution, ComponentOverview component,
+            String lastChange) {
+        super(execution, component, lastChange);
+    }
+
+    @Override
+    protected String getType() {
+        return "progress";
+    }
+
+    @Override
+    protected void writeContent(ObjectMapper mapper, ObjectNode root) {
+        // Progress is part of the component.
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Component changed its status. As this can change status and progress
+ * of the execution, they are part of the delta as well.
+ */
+public class ComponentStatusDelta extends ExecutionDelta {
+
+    private final String executionStatus;
+
+    private final int mapped;
+
+    private final int executed;
+
+    ComponentStatusDelta(
+            String execution, ComponentOverview component,
+            String lastChange, String executionStatus,
+            int mapped, int executed) {
+        super(execution, component, lastChange);
+        this.executionStatus = executionStatus;
+        this.mapped = mapped;
+        this.executed = executed;
+    }
+
+    @Override
+    protected String getType() {
+        return "component";
+    }
+
+    @Override
+    protected void writeContent(ObjectMapper mapper, ObjectNode root) {
+        ObjectNode statusNode = mapper.createObjectNode();
+        statusNode.put("@id", executionStatus);
+        root.set("status", statusNode);
+        ObjectNode progressNode = mapper.createObjectNode();
+        progressNode.put("current", executed + mapped);
+        progressNode.put("current_mapped", mapped);
+        progressNode.put("current_executed", executed);
+        root.set("pipelineProgress", progressNode);
+    }
+
+}
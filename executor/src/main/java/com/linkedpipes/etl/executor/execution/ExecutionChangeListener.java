@@ -0,0 +1,24 @@
+package com.linkedpipes.etl.executor.execution;
+
+/**
+ * Notified when the state of an execution, as saved to execution
+ * overview or execution information, changes.
+ */
+public interface ExecutionChangeListener {
+
+    /**
+     * Called from the thread that changed the execution, so it
+     * should not block.
+     *
+     * @param iri Execution IRI.
+     */
+    void onExecutionChange(String iri);
+
+    /**
+     * Called when a component of the execution changed its status or
+     * reported progress. Called from the thread that changed the execution,
+     * so it should not block.
+     */
+    void onExecutionDelta(ExecutionDelta delta);
+
+}
@@ -0,0 +1,52 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Incremental change of a running execution. The delta holds the whole
+ * state of the changed component, so applying it more then once
+ * is harmless.
+ */
+public abstract class ExecutionDelta {
+
+    private final String execution;
+
+    private final ComponentOverview component;
+
+    private final String lastChange;
+
+    protected ExecutionDelta(
+            String execution, ComponentOverview component,
+            String lastChange) {
+        this.execution = execution;
+        this.component = new ComponentOverview(component);
+        this.lastChange = lastChange;
+    }
+
+    public String getExecution() {
+        return execution;
+    }
+
+    /**
+     * The execution is stored in the same way as in the overview,
+     * so the execution can be resolved in the same way.
+     */
+    public ObjectNode toJson(ObjectMapper mapper, long version) {
+        ObjectNode result = mapper.createObjectNode();
+        result.put("version", version);
+        result.put("type", getType());
+        ObjectNode executionNode = mapper.createObjectNode();
+        executionNode.put("@id", execution);
+        result.set("execution", executionNode);
+        result.put("lastChange", lastChange);
+        result.set("component", component.toJsonLd(mapper));
+        writeContent(mapper, result);
+        return result;
+    }
+
+    protected abstract String getType();
+
+    protected abstract void writeContent(ObjectMapper mapper, ObjectNode root);
+
+}
@@ -19,8 +19,10 @@ import org.eclipse.rdf4j.model.vocabulary.RDF;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ExecutionInformation {
 
@@ -52,6 +54,13 @@ public class ExecutionInformation {
 
     private final File file;
 
+    /**
+     * For each debug name of a data unit relative path to its data,
+     * contains only data units with written debug data.
+     */
+    private final Map<String, String> debugDataPaths =
+            new ConcurrentHashMap<>();
+
     public ExecutionInformation(
             ExecutionStatusMonitor executionStatus,
             ExecutionModel execution,
@@ -155,6 +164,8 @@ public class ExecutionInformation {
             statements.addString(dataUnitIri,
                     "http://etl.linkedpipes.com/ontology/debug",
                     dataUnit.getVirtualDebugPath());
+            debugDataPaths.put(dataUnit.getVirtualDebugPath(),
+                    dataUnit.getRelativeSaveDataPath());
         }
     }
 
@@ -176,6 +187,18 @@ public class ExecutionInformation {
         componentStatus.put(component.getIri(), LP_EXEC.STATUS_FAILED);
     }
 
+    public String getComponentStatus(ExecutionComponent component) {
+        return componentStatus.get(component.getIri());
+    }
+
+    /**
+     * Same information about debug data as in {@link #getStatements()},
+     * the map can be read while the execution is running.
+     */
+    public Map<String, String> getDebugDataPaths() {
+        return Collections.unmodifiableMap(debugDataPaths);
+    }
+
     public Statements getStatements() {
         Statements output = buildChangingValues();
         output.addAll(statements);
@@ -1,6 +1,7 @@
 package com.linkedpipes.etl.executor.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import com.linkedpipes.etl.executor.api.v1.event.Event;
 import com.linkedpipes.etl.executor.execution.message.ComponentMessageWriter;
@@ -19,10 +20,16 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Components of a pipeline can be executed in parallel. State shared by
+ * all components (status, overview, information and pipeline messages)
+ * is guarded by a single lock, messages of a component are guarded
+ * by the component's message writer.
+ */
 public class ExecutionObserver {
 
     private static final Logger LOG =
@@ -43,9 +50,16 @@ public class ExecutionObserver {
     private final ExecutionInformation information;
 
     private final Map<ExecutionComponent, ComponentMessageWriter>
-            componentMessages = new HashMap<>();
+            componentMessages = new ConcurrentHashMap<>();
+
+    private final String iri;
+
+    private final Object lock = new Object();
+
+    private volatile ExecutionChangeListener changeListener = null;
 
     public ExecutionObserver(ResourceManager resourceManager, String iri) {
+        this.iri = iri;
         this.resourceManager = resourceManager;
         this.execution = new ExecutionModel(resourceManager, iri);
         this.status = new ExecutionStatusMonitor();
@@ -63,8 +77,38 @@ public class ExecutionObserver {
         return execution;
     }
 
-    public ExecutionOverview getExecutionOverviewModel() {
-        return overview;
+    public ObjectNode getOverviewJson(ObjectMapper mapper) {
+        synchronized (lock) {
+            return overview.toJsonLd(mapper);
+        }
+    }
+
+    public void setChangeListener(ExecutionChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void notifyChangeListener() {
+        ExecutionChangeListener listener = this.changeListener;
+        if (listener != null) {
+            listener.onExecutionChange(iri);
+        }
+    }
+
+    /**
+     * Must be called under the lock, so the deltas are reported in the
+     * same order as they were applied to the overview.
+     */
+    private void notifyChangeListener(ExecutionDelta delta) {
+        ExecutionChangeListener listener = this.changeListener;
+        if (listener != null) {
+            listener.onExecutionDelta(delta);
+        }
+    }
+
+    private void notifyComponentStatus(ExecutionComponent component) {
+        notifyChangeListener(overview.onComponentStatus(
+                component.getIri(),
+                information.getComponentStatus(component)));
     }
 
     private void writeOverviewToDisk() {
@@ -95,10 +139,13 @@ public class ExecutionObserver {
 
     public void onExecutionBegin() {
         LOG.info("onExecutionBegin");
-        this.pipelineMessages.onExecutionBegin();
-        this.overview.onExecutionBegin(new Date());
-        this.writePipelineMessagesToDisk();
-        this.writeOverviewToDisk();
+        synchronized (lock) {
+            this.pipelineMessages.onExecutionBegin();
+            this.overview.onExecutionBegin(new Date());
+            this.writePipelineMessagesToDisk();
+            this.writeOverviewToDisk();
+            this.notifyChangeListener();
+        }
     }
 
     public void onCantLoadComponentJar(
@@ -107,11 +154,17 @@ public class ExecutionObserver {
         ExecutionComponent component = execution.getComponent(pplComponent);
         createComponentWriter(component);
 
-        this.getComponentWriter(component).onComponentFailed(component, ex);
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.onComponentFailed(component, ex);
+        }
 
-        this.status.onExecuteComponentFailed();
-        this.information.onComponentFailed(component);
-        this.writeInformationToDisk();
+        synchronized (lock) {
+            this.status.onExecuteComponentFailed();
+            this.information.onComponentFailed(component);
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
         this.writeComponentMessagesToDisk(component);
 
         removeComponentWriter(component);
@@ -135,7 +188,10 @@ public class ExecutionObserver {
 
     public void onAfterComponentExecution(
             ExecutionComponent component) throws IOException {
-        this.getComponentWriter(component).save();
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.save();
+        }
         removeComponentWriter(component);
     }
 
@@ -145,13 +201,27 @@ public class ExecutionObserver {
     }
 
     public void onComponentEvent(ExecutionComponent component, Event event) {
-        this.getComponentWriter(component).addEvent(component, event);
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.addEvent(component, event);
+        }
         this.writeComponentMessagesToDisk(component);
+        ProgressEventReader progress = new ProgressEventReader();
+        if (progress.read(event)) {
+            synchronized (lock) {
+                notifyChangeListener(overview.onComponentProgress(
+                        component.getIri(),
+                        progress.getCurrent(), progress.getTotal()));
+            }
+        }
     }
 
     private void writeComponentMessagesToDisk(ExecutionComponent component) {
+        ComponentMessageWriter writer = this.getComponentWriter(component);
         try {
-            this.getComponentWriter(component).save();
+            synchronized (writer) {
+                writer.save();
+            }
         } catch (IOException ex) {
             LOG.error("Can't save pipeline messages.", ex);
         }
@@ -160,10 +230,16 @@ public class ExecutionObserver {
     public void onMapComponentBegin(ExecutionComponent component) {
         LOG.info("onMapComponentBegin : {}",
                 component.getIri());
-        this.overview.onComponentBegin();
-        this.information.onComponentBegin(component);
-        this.getComponentWriter(component).onComponentBegin(component);
-        this.writeInformationToDisk();
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.onComponentBegin(component);
+        }
+        synchronized (lock) {
+            this.overview.onComponentBegin();
+            this.information.onComponentBegin(component);
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
         this.writeComponentMessagesToDisk(component);
     }
 
@@ -171,28 +247,43 @@ public class ExecutionObserver {
             ExecutionComponent component, LpException exception) {
         LOG.error("onMapComponentFailed : {}",
                 component.getIri(), exception);
-        this.getComponentWriter(component).onComponentFailed(
-                component, exception);
-        this.status.onMapComponentFailed();
-        this.information.onComponentFailed(component);
-        this.writeInformationToDisk();
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.onComponentFailed(component, exception);
+        }
+        synchronized (lock) {
+            this.status.onMapComponentFailed();
+            this.information.onComponentFailed(component);
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
     }
 
     public void onMapComponentSuccessful(ExecutionComponent component) {
         LOG.info("onMapComponentSuccessful : {}",
                 component.getIri());
-        this.overview.onComponentMapped();
-        this.information.onMapComponentSuccessful(component);
-        this.writeInformationToDisk();
+        synchronized (lock) {
+            this.overview.onComponentMapped();
+            this.information.onMapComponentSuccessful(component);
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
     }
 
-    public void onExecuteComponentInitializing(ExecutionComponent component) {
+    public void onExecuteComponentInitializing(
+            ExecutionComponent component) {
         LOG.info("onExecuteComponentInitializing : {}",
                 component.getIri());
-        this.overview.onComponentBegin();
-        this.information.onComponentBegin(component);
-        this.getComponentWriter(component).onComponentBegin(component);
-        this.writeInformationToDisk();
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.onComponentBegin(component);
+        }
+        synchronized (lock) {
+            this.overview.onComponentBegin();
+            this.information.onComponentBegin(component);
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
         this.writeComponentMessagesToDisk(component);
     }
 
@@ -200,11 +291,16 @@ public class ExecutionObserver {
             ExecutionComponent component, LpException exception) {
         LOG.error("onExecuteComponentFailed : {}",
                 component.getIri(), exception);
-        this.getComponentWriter(component).onComponentFailed(
-                component, exception);
-        this.status.onExecuteComponentFailed();
-        this.information.onComponentFailed(component);
-        this.writeInformationToDisk();
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.onComponentFailed(component, exception);
+        }
+        synchronized (lock) {
+            this.status.onExecuteComponentFailed();
+            this.information.onComponentFailed(component);
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
         this.writeComponentMessagesToDisk(component);
     }
 
@@ -212,18 +308,26 @@ public class ExecutionObserver {
             ExecutionComponent component, boolean cancelled) {
         LOG.info("onExecuteComponentSuccessful : {}",
                 component.getIri());
-        this.getComponentWriter(component).onComponentEnd(component);
-        this.overview.onComponentExecuted();
-        this.information.onComponentEnd(component, cancelled);
-        this.writeOverviewToDisk();
-        this.writeInformationToDisk();
+        ComponentMessageWriter writer = this.getComponentWriter(component);
+        synchronized (writer) {
+            writer.onComponentEnd(component);
+        }
+        synchronized (lock) {
+            this.overview.onComponentExecuted();
+            this.information.onComponentEnd(component, cancelled);
+            this.writeOverviewToDisk();
+            this.writeInformationToDisk();
+            this.notifyComponentStatus(component);
+        }
     }
 
     public void onExecuteComponentCantSaveDataUnit(
             ExecutionComponent component, LpException exception) {
         LOG.error("onExecuteComponentFailed : {}",
                 component.getIri(), exception);
-        this.status.onExecuteComponentCantSaveDataUnit();
+        synchronized (lock) {
+            this.status.onExecuteComponentCantSaveDataUnit();
+        }
         // TODO Add message.
     }
 
@@ -247,65 +351,85 @@ public class ExecutionObserver {
             ExecutionComponent component, LpException exception) {
         LOG.error("onCantCreateComponentExecutor : {}",
                 component.getIri(), exception);
-        this.status.onCantCreateComponentExecutor();
+        synchronized (lock) {
+            this.status.onCantCreateComponentExecutor();
+        }
         // TODO Add message.
     }
 
     public void onPipelineLoaded(PipelineModel pipeline) {
         LOG.info("onPipelineLoaded");
-        this.status.onPipelineLoaded();
-        this.execution.initialize(pipeline);
-        this.overview.onPipelineLoaded(pipeline);
-        this.information.onPipelineLoaded(pipeline);
-        this.writeInformationToDisk();
-        this.writeOverviewToDisk();
+        synchronized (lock) {
+            this.status.onPipelineLoaded();
+            this.execution.initialize(pipeline);
+            this.overview.onPipelineLoaded(pipeline);
+            this.information.onPipelineLoaded(pipeline);
+            this.writeInformationToDisk();
+            this.writeOverviewToDisk();
+            this.notifyChangeListener();
+        }
     }
 
     public void onCantLoadPipeline(LpException exception) {
         LOG.info("onCantLoadPipeline", exception);
-        this.status.onInvalidPipeline();
+        synchronized (lock) {
+            this.status.onInvalidPipeline();
+        }
         // TODO Add message.
     }
 
     public void onCantPreparePipeline(LpException exception) {
         LOG.error("onCantLoadPipeline", exception);
-        this.status.onCantPreparePipeline();
+        synchronized (lock) {
+            this.status.onCantPreparePipeline();
+        }
         // TODO Add message.
     }
 
     public void onObserverBeginFailed(LpException exception) {
         LOG.error("onObserverBeginFailed", exception);
-        this.status.onObserverBeginFailed();
+        synchronized (lock) {
+            this.status.onObserverBeginFailed();
+        }
         // TODO Add message.
     }
 
     public void onDataUnitsLoadingFailed(LpException exception) {
         LOG.error("onDataUnitsLoadingFailed", exception);
-        this.status.onDataUnitsLoadingFailed();
+        synchronized (lock) {
+            this.status.onDataUnitsLoadingFailed();
+        }
         // TODO Add message.
     }
 
     public void onComponentsLoadingFailed(LpException exception) {
         LOG.error("onComponentsLoadingFailed", exception);
-        this.status.onComponentsLoadingFailed();
+        synchronized (lock) {
+            this.status.onComponentsLoadingFailed();
+        }
         // TODO Add message.
     }
 
     public void onExecutionFailedOnThrowable(Throwable exception) {
         LOG.error("onExecutionFailedOnThrowable", exception);
-        this.status.onExecutionFailedOnThrowable();
+        synchronized (lock) {
+            this.status.onExecutionFailedOnThrowable();
+        }
         // TODO Add message.
     }
 
     public void onExecutionEnd() {
         LOG.info("onExecutionEnd");
-        this.pipelineMessages.onExecutionEnd();
-        this.status.onExecutionEnd();
-        this.overview.onExecutionEnd(new Date());
-        //
-        this.writePipelineMessagesToDisk();
-        this.writeInformationToDisk();
-        this.writeOverviewToDisk();
+        synchronized (lock) {
+            this.pipelineMessages.onExecutionEnd();
+            this.status.onExecutionEnd();
+            this.overview.onExecutionEnd(new Date());
+            //
+            this.writePipelineMessagesToDisk();
+            this.writeInformationToDisk();
+            this.writeOverviewToDisk();
+            this.notifyChangeListener();
+        }
         if (!this.componentMessages.isEmpty()) {
             LOG.error("Some components were not closed.");
         }
@@ -313,27 +437,36 @@ public class ExecutionObserver {
 
     public void onCancelRequest() {
         LOG.info("onCancelRequest");
-        this.status.onCancelRequest();
-        this.overview.onExecutionCancelling();
-        // TODO Add message.
-        this.writeOverviewToDisk();
+        synchronized (lock) {
+            this.status.onCancelRequest();
+            this.overview.onExecutionCancelling();
+            // TODO Add message.
+            this.writeOverviewToDisk();
+            this.notifyChangeListener();
+        }
     }
 
     public void onObserverEndFailed(LpException exception) {
         LOG.error("onObserverEndFailed", exception);
-        this.status.onObserverEndFailed();
+        synchronized (lock) {
+            this.status.onObserverEndFailed();
+        }
         // TODO Add message.
     }
 
     public void onCantSaveComponentMessages(
             ExecutionComponent component, Exception exception) {
         LOG.error("onCantSaveComponentMessages", exception);
-        this.status.onCantSaveComponentMessages();
+        synchronized (lock) {
+            this.status.onCantSaveComponentMessages();
+        }
     }
 
 
     public void onComponentsExecutionBegin() {
-        this.status.onComponentsExecutionBegin();
+        synchronized (lock) {
+            this.status.onComponentsExecutionBegin();
+        }
     }
 
     public void onComponentsExecutionEnd() {
@@ -341,13 +474,21 @@ public class ExecutionObserver {
     }
 
     public boolean isExecutionSuccessful() {
-        return this.status.isExecutionSuccessful();
+        synchronized (lock) {
+            return this.status.isExecutionSuccessful();
+        }
     }
 
     public ExecutionInformation getInformation() {
         return information;
     }
 
+    public Statements getInformationStatements() {
+        synchronized (lock) {
+            return information.getStatements();
+        }
+    }
+
     public ExecutionMessageWriter getPipelineMessages() {
         return pipelineMessages;
     }
@@ -356,7 +497,9 @@ public class ExecutionObserver {
             throws IOException {
         ComponentMessageWriter writer = this.componentMessages.get(component);
         if (writer != null) {
-            return writer.getStatements();
+            synchronized (writer) {
+                return writer.getStatements();
+            }
         }
         File file = this.resourceManager.getComponentMessageFile(component);
         if (!file.exists()) {
@@ -1,6 +1,7 @@
 package com.linkedpipes.etl.executor.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_OVERVIEW;
 import com.linkedpipes.etl.executor.pipeline.model.PipelineComponent;
@@ -11,6 +12,8 @@ import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ExecutionOverview {
 
@@ -43,6 +46,9 @@ public class ExecutionOverview {
 
     private String lastChange;
 
+    private final Map<String, ComponentOverview> components =
+            new LinkedHashMap<>();
+
     public ExecutionOverview(
             File directory,
             String executionIri,
@@ -95,6 +101,29 @@ public class ExecutionOverview {
         onAfterUpdate();
     }
 
+    public ComponentStatusDelta onComponentStatus(
+            String component, String status) {
+        ComponentOverview overview = getComponent(component);
+        overview.setStatus(status);
+        onAfterUpdate();
+        return new ComponentStatusDelta(
+                executionIri, overview, lastChange,
+                statusMonitor.getStatus().getIri(),
+                mappedComponents, executedComponents);
+    }
+
+    public ComponentProgressDelta onComponentProgress(
+            String component, long current, long total) {
+        ComponentOverview overview = getComponent(component);
+        overview.setProgress(current, total);
+        onAfterUpdate();
+        return new ComponentProgressDelta(executionIri, overview, lastChange);
+    }
+
+    private ComponentOverview getComponent(String component) {
+        return components.computeIfAbsent(component, ComponentOverview::new);
+    }
+
     public void onExecutionCancelling() {
         onAfterUpdate();
     }
@@ -153,6 +182,14 @@ public class ExecutionOverview {
             responseNode.put("directorySize", directorySize);
         }
 
+        if (!components.isEmpty()) {
+            ArrayNode componentsNode = mapper.createArrayNode();
+            for (ComponentOverview component : components.values()) {
+                componentsNode.add(component.toJsonLd(mapper));
+            }
+            responseNode.set("components", componentsNode);
+        }
+
         return responseNode;
     }
 
@@ -185,6 +222,7 @@ public class ExecutionOverview {
         contextNode.put("current_executed", LP_OVERVIEW.HAS_PROGRESS_EXECUTED);
 
         contextNode.put("directorySize", LP_OVERVIEW.HAS_DIRECTORY_SIZE);
+        contextNode.put("components", LP_OVERVIEW.HAS_COMPONENT);
 
         return contextNode;
     }
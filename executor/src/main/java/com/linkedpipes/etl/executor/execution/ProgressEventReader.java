@@ -0,0 +1,84 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.linkedpipes.etl.executor.api.v1.event.Event;
+import com.linkedpipes.etl.executor.api.v1.rdf.model.TripleWriter;
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_EVENTS;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+
+import java.util.Date;
+
+/**
+ * Read progress from a component event, so the progress does not have
+ * to be parsed from the component messages.
+ */
+class ProgressEventReader implements TripleWriter {
+
+    private boolean progress = false;
+
+    private Long current = null;
+
+    private Long total = null;
+
+    /**
+     * @return False if the event is not a progress report.
+     */
+    public boolean read(Event event) {
+        progress = false;
+        current = null;
+        total = null;
+        event.write(this);
+        return progress && current != null && total != null;
+    }
+
+    public long getCurrent() {
+        return current;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    @Override
+    public void iri(String subject, String predicate, String object) {
+        if (RDF.TYPE.stringValue().equals(predicate)
+                && LP_EVENTS.PROGRESS_REPORT.equals(object)) {
+            progress = true;
+        }
+    }
+
+    @Override
+    public void string(String subject, String predicate, String object) {
+        // Not used by progress.
+    }
+
+    @Override
+    public void string(
+            String subject, String predicate, String object, String lang) {
+        // Not used by progress.
+    }
+
+    @Override
+    public void date(String subject, String predicate, Date object) {
+        // Not used by progress.
+    }
+
+    @Override
+    public void typed(
+            String subject, String predicate, String object, String type) {
+        try {
+            if (LP_EVENTS.HAS_CURRENT.equals(predicate)) {
+                current = Long.parseLong(object);
+            } else if (LP_EVENTS.HAS_TOTAL.equals(predicate)) {
+                total = Long.parseLong(object);
+            }
+        } catch (NumberFormatException ex) {
+            // Ignore invalid progress.
+        }
+    }
+
+    @Override
+    public void flush() {
+        // No action.
+    }
+
+}
@@ -29,11 +29,17 @@ public class LoggerFacade {
 
     private FileAppender infoAppender = null;
 
+    /**
+     * Create appenders for messages logged with {@link #EXECUTION_MDC}
+     * set to given value.
+     */
     public void prepareAppendersForExecution(
-            File debugLogFile, File warnLogFile) {
+            File debugLogFile, File warnLogFile, String execution) {
         destroyExecutionAppenders();
-        debugAppender = createExecutionAppender(debugLogFile, "DEBUG");
-        infoAppender = createExecutionAppender(warnLogFile, "EARN");
+        debugAppender = createExecutionAppender(
+                debugLogFile, "DEBUG", execution);
+        infoAppender = createExecutionAppender(
+                warnLogFile, "EARN", execution);
     }
 
     public void destroyExecutionAppenders() {
@@ -75,7 +81,7 @@ public class LoggerFacade {
     }
 
     private static FileAppender createExecutionAppender(
-            File logFile, String level) {
+            File logFile, String level, String execution) {
         LoggerContext loggerContext
                 = (LoggerContext) LoggerFactory.getILoggerFactory();
 
@@ -84,7 +90,7 @@ public class LoggerFacade {
         appender.setFile(logFile.getPath());
         addEncoder(appender, loggerContext,
                 "%d [%thread] %-5level %logger{25} - %msg%n");
-        addMdcFilter(appender, EXECUTION_MDC);
+        addMdcFilter(appender, EXECUTION_MDC, execution);
         addThresholdFilter(appender, level);
         appender.start();
 
@@ -106,8 +112,8 @@ public class LoggerFacade {
     }
 
     private static void addMdcFilter(
-            UnsynchronizedAppenderBase appender, String mdc) {
-        MdcKeyFilter mdcFilter = new MdcKeyFilter(mdc);
+            UnsynchronizedAppenderBase appender, String mdc, String value) {
+        MdcKeyFilter mdcFilter = new MdcKeyFilter(mdc, value);
         appender.addFilter(mdcFilter);
         mdcFilter.start();
 
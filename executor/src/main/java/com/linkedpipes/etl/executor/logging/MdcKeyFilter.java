@@ -4,8 +4,11 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.filter.Filter;
 import ch.qos.logback.core.spi.FilterReply;
 
+import java.util.Map;
+
 /**
- * Filter messages that does not contains given key in MDC context.
+ * Filter messages that does not contains given key in MDC context. If
+ * value is given, the key must be set to the value.
  */
 class MdcKeyFilter extends Filter<ILoggingEvent> {
 
@@ -14,17 +17,30 @@ class MdcKeyFilter extends Filter<ILoggingEvent> {
      */
     private final String key;
 
-    public MdcKeyFilter(String value) {
-        this.key = value;
+    /**
+     * Value to filter for, can be null.
+     */
+    private final String value;
+
+    public MdcKeyFilter(String key) {
+        this(key, null);
+    }
+
+    public MdcKeyFilter(String key, String value) {
+        this.key = key;
+        this.value = value;
     }
 
     @Override
     public FilterReply decide(ILoggingEvent event) {
-        if (event.getMDCPropertyMap().containsKey(key)) {
-            return FilterReply.NEUTRAL;
-        } else {
+        Map<String, String> properties = event.getMDCPropertyMap();
+        if (!properties.containsKey(key)) {
+            return FilterReply.DENY;
+        }
+        if (value != null && !value.equals(properties.get(key))) {
             return FilterReply.DENY;
         }
+        return FilterReply.NEUTRAL;
     }
 
 }
@@ -169,7 +169,12 @@ public class ModuleService implements ApplicationListener<ApplicationEvent> {
         }
     }
 
-    private Bundle getComponentBundle(String iri) throws ModuleException {
+    /**
+     * Synchronized as components can be loaded by multiple executions
+     * at the same time.
+     */
+    private synchronized Bundle getComponentBundle(String iri)
+            throws ModuleException {
         if (components.containsKey(iri)) {
             return components.get(iri);
         }
@@ -208,13 +213,15 @@ public class ModuleService implements ApplicationListener<ApplicationEvent> {
         }
     }
 
-    public ManageableDataUnit getDataUnit(Pipeline pipeline, String subject)
+    public ManageableDataUnit getDataUnit(
+            String execution, Pipeline pipeline, String subject)
             throws ModuleException {
         RdfSourceWrap source = wrapPipeline(pipeline);
         for (DataUnitFactory factory : getServices(DataUnitFactory.class)) {
             try {
                 ManageableDataUnit dataUnit = factory.create(
-                        subject, pipeline.getPipelineGraph(), source);
+                        execution, subject, pipeline.getPipelineGraph(),
+                        source);
                 if (dataUnit != null) {
                     return dataUnit;
                 }
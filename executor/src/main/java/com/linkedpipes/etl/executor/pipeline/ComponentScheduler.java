@@ -0,0 +1,99 @@
+package com.linkedpipes.etl.executor.pipeline;
+
+import com.linkedpipes.etl.executor.pipeline.model.Connection;
+import com.linkedpipes.etl.executor.pipeline.model.PipelineComponent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decide which components can be executed based on the connections
+ * between them. A component is ready once all components it is connected
+ * to, using data or run after connections, are finished.
+ *
+ * <p>The execution order is used to order the ready components and
+ * connections against the execution order are ignored, so there is always
+ * a component to execute.
+ */
+class ComponentScheduler {
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(ComponentScheduler.class);
+
+    /**
+     * Components in execution order, that were not started yet.
+     */
+    private final List<PipelineComponent> waiting;
+
+    /**
+     * For each component IRI of components it must wait for.
+     */
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+    private final Set<String> finished = new HashSet<>();
+
+    public ComponentScheduler(
+            List<PipelineComponent> components,
+            List<Connection> connections) {
+        this.waiting = new LinkedList<>(components);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int index = 0; index < components.size(); ++index) {
+            String iri = components.get(index).getIri();
+            positions.put(iri, index);
+            dependencies.put(iri, new HashSet<>());
+        }
+        for (Connection connection : connections) {
+            Integer source = positions.get(connection.getSourceComponent());
+            Integer target = positions.get(connection.getTargetComponent());
+            if (source == null || target == null) {
+                continue;
+            }
+            if (source >= target) {
+                LOG.warn("Ignored connection against execution order: {} {}",
+                        connection.getSourceComponent(),
+                        connection.getTargetComponent());
+                continue;
+            }
+            dependencies.get(connection.getTargetComponent())
+                    .add(connection.getSourceComponent());
+        }
+    }
+
+    /**
+     * Return up to given number of components that can be executed,
+     * returned components are considered started.
+     */
+    public List<PipelineComponent> takeReady(int limit) {
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        List<PipelineComponent> result = new ArrayList<>();
+        Iterator<PipelineComponent> iterator = waiting.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            PipelineComponent component = iterator.next();
+            if (finished.containsAll(dependencies.get(component.getIri()))) {
+                iterator.remove();
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
+    public void onFinished(PipelineComponent component) {
+        finished.add(component.getIri());
+    }
+
+    public boolean hasWaiting() {
+        return !waiting.isEmpty();
+    }
+
+}
@@ -34,7 +34,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class PipelineExecutor {
 
@@ -51,35 +60,67 @@ public class PipelineExecutor {
 
     private final ExecutionObserver execution;
 
+    /**
+     * Value of {@link LoggerFacade#EXECUTION_MDC} used for this execution,
+     * so logs of executions running at the same time are not mixed.
+     */
+    private final String executionMdc;
+
+    private final String executionIri;
+
     private DataUnitManager dataUnitManager;
 
     private boolean cancelExecution = false;
 
     /**
-     * Current component executor, we need to access to this
+     * Maximum number of components executed at the same time.
+     */
+    private final int parallelComponents;
+
+    /**
+     * Current component executors, we need to access to this
      * objects because of {@link #cancelExecution()}.
      */
-    private ComponentExecutor executor = null;
+    private final Set<ComponentExecutor> executors = new HashSet<>();
 
     private final Map<String, ManageableComponent>
             componentsInstances = new HashMap<>();
 
     /**
-     * Create the pipeline executor.
+     * Create the pipeline executor, that execute components one by one.
      *
      * @param directory Execution directory.
      * @param iri       ExecutionObserver IRI.
      * @param modules   Module service.
      */
     public PipelineExecutor(File directory, String iri, ModuleService modules) {
+        this(directory, iri, modules, 1);
+    }
+
+    /**
+     * Create the pipeline executor.
+     *
+     * @param directory          Execution directory.
+     * @param iri                ExecutionObserver IRI.
+     * @param modules            Module service.
+     * @param parallelComponents Maximum number of components executed
+     *                           at the same time.
+     */
+    public PipelineExecutor(
+            File directory, String iri, ModuleService modules,
+            int parallelComponents) {
+        this.parallelComponents = parallelComponents;
+        this.executionMdc = directory.getName();
+        this.executionIri = iri;
         // We assume that the directory we are executing is in the
         // directory with other executions.
-        MDC.put(LoggerFacade.EXECUTION_MDC, null);
+        MDC.put(LoggerFacade.EXECUTION_MDC, executionMdc);
         this.resources = new ResourceManager(
                 directory.getParentFile(), directory);
         this.loggerFacade.prepareAppendersForExecution(
                 resources.getDebugLogFile(),
-                resources.getWarnLogFile());
+                resources.getWarnLogFile(),
+                executionMdc);
         this.moduleFacade = modules;
         this.execution = new ExecutionObserver(resources, iri);
         this.execution.onExecutionBegin();
@@ -88,7 +129,7 @@ public class PipelineExecutor {
 
     public void execute() {
         LOG.info("PipelineExecutor.execute ... ");
-        MDC.put(LoggerFacade.EXECUTION_MDC, null);
+        MDC.put(LoggerFacade.EXECUTION_MDC, executionMdc);
         try {
             if (initialize()) {
                 execution.onComponentsExecutionBegin();
@@ -113,14 +154,13 @@ public class PipelineExecutor {
             if (cancelExecution) {
                 return;
             }
-            MDC.put(LoggerFacade.EXECUTION_MDC, null);
+            MDC.put(LoggerFacade.EXECUTION_MDC, executionMdc);
             LOG.info("ExecutionObserver cancelled!");
             cancelExecution = true;
-            // Notify the executor if it's not null.
-            final ComponentExecutor currentExecutor = executor;
-            if (currentExecutor != null) {
+            // Notify all running executors.
+            for (ComponentExecutor executor : executors) {
                 LOG.info("Cancelling component!");
-                currentExecutor.cancel();
+                executor.cancel();
             }
             execution.onCancelRequest();
             MDC.remove(LoggerFacade.EXECUTION_MDC);
@@ -131,6 +171,10 @@ public class PipelineExecutor {
         return execution;
     }
 
+    public String getExecutionIri() {
+        return executionIri;
+    }
+
     private boolean initialize() {
         try {
             loadPipeline();
@@ -250,7 +294,8 @@ public class PipelineExecutor {
         try {
             for (PipelineExecutionObserver observer :
                     moduleFacade.getPipelineListeners()) {
-                observer.onPipelineBegin(pipeline.getPipelineIri(),
+                observer.onPipelineBegin(
+                        executionIri, pipeline.getPipelineIri(),
                         new RdfSourceWrap(pipeline.getSource(),
                                 pipeline.getPipelineGraph()));
             }
@@ -262,7 +307,8 @@ public class PipelineExecutor {
     private void initializeDataUnits() throws ExecutorException {
         dataUnitManager = new DataUnitManager(pipeline.getModel());
         DataUnitInstanceSource dataUnitInstanceSource =
-                (iri) -> moduleFacade.getDataUnit(pipeline, iri);
+                (iri) -> moduleFacade.getDataUnit(
+                        executionIri, pipeline, iri);
         dataUnitManager.initialize(dataUnitInstanceSource,
                 execution.getModel().getDataUnitsForInitialization());
     }
@@ -302,16 +348,99 @@ public class PipelineExecutor {
     }
 
     private void executeComponents() {
+        if (parallelComponents > 1) {
+            executeComponentsInParallel();
+            return;
+        }
         for (PipelineComponent pplComponent
                 : pipeline.getModel().getComponents()) {
             if (!executeComponent(pplComponent)) {
                 break;
             }
-            synchronized (this) {
-                if (cancelExecution) {
+            if (isCancelled()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Execute components as soon as all components they depend on are
+     * finished. Once a component fails or the execution is cancelled no
+     * new component is started, but we wait for the running ones.
+     */
+    private void executeComponentsInParallel() {
+        LOG.info("Executing up to {} components in parallel.",
+                parallelComponents);
+        ComponentScheduler scheduler = new ComponentScheduler(
+                pipeline.getModel().getComponents(),
+                pipeline.getModel().getConnections());
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(parallelComponents);
+        CompletionService<Boolean> completionService =
+                new ExecutorCompletionService<>(executorService);
+        Map<Future<Boolean>, PipelineComponent> running = new HashMap<>();
+        boolean failed = false;
+        try {
+            while (true) {
+                if (!failed && !isCancelled()) {
+                    List<PipelineComponent> ready = scheduler.takeReady(
+                            parallelComponents - running.size());
+                    for (PipelineComponent component : ready) {
+                        running.put(completionService.submit(
+                                () -> executeComponentInThread(component)),
+                                component);
+                    }
+                }
+                if (running.isEmpty()) {
                     break;
                 }
+                Future<Boolean> future = waitForComponent(completionService);
+                PipelineComponent component = running.remove(future);
+                scheduler.onFinished(component);
+                if (!getComponentResult(future)) {
+                    failed = true;
+                }
             }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private boolean executeComponentInThread(PipelineComponent component) {
+        MDC.put(LoggerFacade.EXECUTION_MDC, executionMdc);
+        try {
+            return executeComponent(component);
+        } finally {
+            MDC.remove(LoggerFacade.EXECUTION_MDC);
+        }
+    }
+
+    private Future<Boolean> waitForComponent(
+            CompletionService<Boolean> completionService) {
+        while (true) {
+            try {
+                return completionService.take();
+            } catch (InterruptedException ex) {
+                LOG.debug("Ignored interrupt.", ex);
+            }
+        }
+    }
+
+    private boolean getComponentResult(Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            // The future is already completed.
+            return false;
+        } catch (ExecutionException ex) {
+            execution.onExecutionFailedOnThrowable(ex.getCause());
+            return false;
+        }
+    }
+
+    private boolean isCancelled() {
+        synchronized (this) {
+            return cancelExecution;
         }
     }
 
@@ -324,19 +453,41 @@ public class PipelineExecutor {
 
         this.execution.onBeforeComponentExecution(execComponent);
 
+        ComponentExecutor executor;
         try {
-            this.executor = getExecutor(pplComponent);
+            executor = getExecutor(pplComponent);
         } catch (ExecutorException ex) {
             this.execution.onCantCreateComponentExecutor(execComponent, ex);
             return this.afterComponentExecution(execComponent);
         }
 
-        boolean shouldContinue = this.executor.execute(this.dataUnitManager);
+        addExecutor(executor);
+        boolean shouldContinue;
+        try {
+            shouldContinue = executor.execute(this.dataUnitManager);
+        } finally {
+            removeExecutor(executor);
+        }
         boolean messagesSaved = this.afterComponentExecution(execComponent);
-        this.executor = null;
         return shouldContinue && messagesSaved;
     }
 
+    private void addExecutor(ComponentExecutor executor) {
+        synchronized (this) {
+            executors.add(executor);
+            if (cancelExecution) {
+                // Cancel was called before the executor was registered.
+                executor.cancel();
+            }
+        }
+    }
+
+    private void removeExecutor(ComponentExecutor executor) {
+        synchronized (this) {
+            executors.remove(executor);
+        }
+    }
+
     private boolean afterComponentExecution(ExecutionComponent component) {
         try {
             this.execution.onAfterComponentExecution(component);
@@ -375,7 +526,7 @@ public class PipelineExecutor {
         try {
             for (PipelineExecutionObserver observer :
                     moduleFacade.getPipelineListeners()) {
-                observer.onPipelineEnd();
+                observer.onPipelineEnd(executionIri);
             }
         } catch (ExecutorException ex) {
             execution.onObserverEndFailed(ex);
@@ -0,0 +1,138 @@
+package com.linkedpipes.etl.executor.web.servlet;
+
+import com.linkedpipes.etl.executor.execution.ExecutionChangeListener;
+import com.linkedpipes.etl.executor.execution.ExecutionDelta;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Track changes of running executions using a version number, so
+ * clients can wait for a change and ask only for changed executions.
+ *
+ * <p>The version starts at the current time, so a client that saw
+ * a version from before a restart of the executor does not miss changes.
+ *
+ * <p>Changes of components are kept as deltas, only the most recent deltas
+ * are kept. A client that asks for older version is treated as if all
+ * executions changed.
+ */
+class ExecutionChanges implements ExecutionChangeListener {
+
+    static class VersionedDelta {
+
+        private final long version;
+
+        private final ExecutionDelta delta;
+
+        VersionedDelta(long version, ExecutionDelta delta) {
+            this.version = version;
+            this.delta = delta;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public ExecutionDelta getDelta() {
+            return delta;
+        }
+
+    }
+
+    static final int MAX_DELTAS = 4096;
+
+    private long version = System.currentTimeMillis();
+
+    /**
+     * For each execution version of the last change.
+     */
+    private final Map<String, Long> changes = new HashMap<>();
+
+    private final Deque<VersionedDelta> deltas = new ArrayDeque<>();
+
+    /**
+     * Version of the last delta removed from deltas, older versions
+     * can not be served using deltas.
+     */
+    private long droppedVersion = version;
+
+    @Override
+    public synchronized void onExecutionChange(String iri) {
+        ++version;
+        changes.put(iri, version);
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void onExecutionDelta(ExecutionDelta delta) {
+        ++version;
+        deltas.addLast(new VersionedDelta(version, delta));
+        if (deltas.size() > MAX_DELTAS) {
+            droppedVersion = deltas.removeFirst().getVersion();
+        }
+        notifyAll();
+    }
+
+    public synchronized void onExecutionRemoved(String iri) {
+        ++version;
+        changes.remove(iri);
+        notifyAll();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Wait till there is version other then given one or the timeout
+     * elapse.
+     *
+     * @return Current version.
+     */
+    public synchronized long waitForChange(long since, long timeout)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (version == since) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            wait(remaining);
+        }
+        return version;
+    }
+
+    /**
+     * Return true if given execution changed after given version,
+     * or if the version is not known.
+     */
+    public synchronized boolean hasChangedSince(String iri, long since) {
+        if (since < droppedVersion || since > version) {
+            return true;
+        }
+        Long changed = changes.get(iri);
+        return changed == null || changed > since;
+    }
+
+    /**
+     * Return deltas after the first and up to the second version.
+     * Deltas of executions that are reported as changed using
+     * {@link #hasChangedSince(String, long)} are included as well.
+     */
+    public synchronized List<VersionedDelta> getDeltas(
+            long since, long until) {
+        List<VersionedDelta> result = new ArrayList<>();
+        for (VersionedDelta item : deltas) {
+            if (item.getVersion() > since && item.getVersion() <= until) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.linkedpipes.etl.executor.web.servlet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.linkedpipes.etl.executor.Configuration;
 import com.linkedpipes.etl.executor.ExecutorException;
+import com.linkedpipes.etl.executor.execution.ExecutionObserver;
 import com.linkedpipes.etl.executor.execution.model.ExecutionComponent;
 import com.linkedpipes.etl.executor.execution.model.ExecutionModel;
 import com.linkedpipes.etl.executor.module.ModuleService;
@@ -11,7 +14,6 @@ import com.linkedpipes.etl.rdf4j.Statements;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.Rio;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,23 +27,53 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping(value = "/v1/executions")
 class ExecutionServlet {
 
+    /**
+     * Number of finished executions used to compute recent run time.
+     */
+    private static final int RECENT_RUN_TIMES = 10;
+
+    /**
+     * Maximum time in milliseconds a status request can wait for
+     * a change.
+     */
+    private static final long MAX_STATUS_WAIT = 60000;
+
     private final ModuleService modules;
 
-    private final TaskExecutor taskExecutor;
+    private final Configuration configuration;
+
+    /**
+     * Running executions by IRI.
+     */
+    private final Map<String, PipelineExecutor> executors =
+            new LinkedHashMap<>();
 
-    private PipelineExecutor executor = null;
+    /**
+     * Run times of recently finished executions in milliseconds.
+     */
+    private final Deque<Long> recentRunTimes = new ArrayDeque<>();
+
+    private final ExecutionChanges changes = new ExecutionChanges();
 
     private final Object lock = new Object();
 
     @Autowired
-    public ExecutionServlet(ModuleService modules, TaskExecutor taskExecutor) {
+    public ExecutionServlet(
+            ModuleService modules, Configuration configuration) {
         this.modules = modules;
-        this.taskExecutor = taskExecutor;
+        this.configuration = configuration;
     }
 
     @ResponseBody
@@ -60,52 +92,114 @@ class ExecutionServlet {
 
     private boolean execute(File executionDirectory, String iri) {
         synchronized (lock) {
-            if (executor != null) {
-                // Already executing.
+            if (executors.size() >= getCapacity()
+                    || executors.containsKey(iri)) {
+                // No free slot or already executing.
                 return false;
             }
             PipelineExecutor newExecutor = new PipelineExecutor(
-                    executionDirectory, iri, modules);
-            executor = newExecutor;
-            taskExecutor.execute(() -> {
-                executor.execute();
-                // Detach execution object once execution is finished.
-                executor = null;
-            });
+                    executionDirectory, iri, modules,
+                    configuration.getParallelComponents());
+            executors.put(iri, newExecutor);
+            newExecutor.getExecution().setChangeListener(changes);
+            changes.onExecutionChange(iri);
+            Thread thread = new Thread(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    newExecutor.execute();
+                } finally {
+                    // Detach execution object once execution is finished.
+                    synchronized (lock) {
+                        executors.remove(iri);
+                        addRunTime(System.currentTimeMillis() - start);
+                    }
+                    changes.onExecutionRemoved(iri);
+                }
+            }, "execution-" + executionDirectory.getName());
+            thread.start();
         }
         return true;
     }
 
+    private void addRunTime(long runTime) {
+        recentRunTimes.addLast(runTime);
+        if (recentRunTimes.size() > RECENT_RUN_TIMES) {
+            recentRunTimes.removeFirst();
+        }
+    }
+
+    /**
+     * Return average run time of recent executions or -1 if there
+     * were no executions.
+     */
+    private long getRecentRunTime() {
+        synchronized (lock) {
+            if (recentRunTimes.isEmpty()) {
+                return -1;
+            }
+            long sum = 0;
+            for (Long runTime : recentRunTimes) {
+                sum += runTime;
+            }
+            return sum / recentRunTimes.size();
+        }
+    }
+
+    private int getCapacity() {
+        return configuration.getParallelExecutions();
+    }
 
     @ResponseBody
     @RequestMapping(
             value = "/cancel",
             method = RequestMethod.POST,
             consumes = MediaType.APPLICATION_JSON_VALUE)
-    public void cancel(HttpServletResponse response) throws MissingResource {
-        PipelineExecutor executorSnp = getExecutor();
-        synchronized (lock) {
-            executorSnp.cancelExecution();
-            response.setStatus(HttpServletResponse.SC_OK);
-        }
+    public void cancel(
+            @RequestParam(value = "iri", required = false) String iri,
+            HttpServletResponse response) throws MissingResource {
+        PipelineExecutor executorSnp = getExecutor(iri);
+        executorSnp.cancelExecution();
+        response.setStatus(HttpServletResponse.SC_OK);
     }
 
-    private PipelineExecutor getExecutor() throws MissingResource {
-        PipelineExecutor executorSnp = executor;
+    /**
+     * Return execution with given IRI, if no IRI is given return
+     * the only running execution.
+     */
+    private PipelineExecutor getExecutor(String iri) throws MissingResource {
+        PipelineExecutor executorSnp;
+        synchronized (lock) {
+            if (iri != null) {
+                executorSnp = executors.get(iri);
+            } else if (executors.size() == 1) {
+                executorSnp = executors.values().iterator().next();
+            } else {
+                executorSnp = null;
+            }
+        }
         if (executorSnp == null) {
             throw new MissingResource("No execution found.");
         }
         return executorSnp;
     }
 
+    private List<PipelineExecutor> getExecutors() {
+        synchronized (lock) {
+            return new ArrayList<>(executors.values());
+        }
+    }
+
     @ResponseBody
     @RequestMapping(value = "", method = RequestMethod.GET)
     public void getExecution(
+            @RequestParam(value = "iri", required = false) String iri,
             HttpServletRequest request,
             HttpServletResponse response)
             throws IOException {
-        PipelineExecutor executorSnp = executor;
-        if (executorSnp == null) {
+        PipelineExecutor executorSnp;
+        try {
+            executorSnp = getExecutor(iri);
+        } catch (MissingResource ex) {
             // We send no content here as there is just no execution.
             // This must be 2?? response otherwise executor-monitor
             // consider the check for execution (done by this call)
@@ -115,7 +209,7 @@ class ExecutionServlet {
         }
         //
         Statements statements =
-                executorSnp.getExecution().getInformation().getStatements();
+                executorSnp.getExecution().getInformationStatements();
         writeRdfResponse(request, response, statements);
     }
 
@@ -132,9 +226,10 @@ class ExecutionServlet {
     @ResponseBody
     @RequestMapping(value = "/overview", method = RequestMethod.GET)
     public void getOverview(
+            @RequestParam(value = "iri", required = false) String iri,
             HttpServletResponse response)
             throws IOException, ExecutorException {
-        PipelineExecutor executorSnp = getExecutor();
+        PipelineExecutor executorSnp = getExecutor(iri);
         response.setHeader("Content-Type", "application/ld+json");
         writeStatusOverview(response.getOutputStream(), executorSnp);
     }
@@ -147,18 +242,106 @@ class ExecutionServlet {
         }
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode jsonRoot =
-                executor.getExecution().getExecutionOverviewModel()
-                        .toJsonLd(objectMapper);
+                executor.getExecution().getOverviewJson(objectMapper);
         objectMapper.writeValue(stream, jsonRoot);
     }
 
+    /**
+     * Return capacity and load of the executor with IRIs of all
+     * running executions and overviews of executions changed since
+     * given version. Changes of components are reported as deltas
+     * to the overviews. If there is no change since given version, wait
+     * up to given time in milliseconds for a change.
+     */
+    @ResponseBody
+    @RequestMapping(value = "/status", method = RequestMethod.GET)
+    public void getStatus(
+            @RequestParam(value = "since", defaultValue = "-1") long since,
+            @RequestParam(value = "wait", defaultValue = "0") long wait,
+            HttpServletResponse response) throws IOException {
+        long version;
+        try {
+            version = changes.waitForChange(
+                    since, Math.min(wait, MAX_STATUS_WAIT));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            version = changes.getVersion();
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode jsonRoot = objectMapper.createObjectNode();
+        jsonRoot.put("version", version);
+        jsonRoot.put("capacity", getCapacity());
+        ArrayNode runningNode = objectMapper.createArrayNode();
+        ArrayNode executionsNode = objectMapper.createArrayNode();
+        ObjectNode debugDataNode = objectMapper.createObjectNode();
+        Map<String, ExecutionObserver> deltaExecutions = new HashMap<>();
+        for (PipelineExecutor executor : getExecutors()) {
+            String iri = executor.getExecutionIri();
+            runningNode.add(iri);
+            if (changes.hasChangedSince(iri, since)) {
+                executionsNode.add(executor.getExecution()
+                        .getOverviewJson(objectMapper));
+                debugDataNode.set(iri, createDebugDataNode(
+                        objectMapper, executor.getExecution()));
+            } else {
+                deltaExecutions.put(iri, executor.getExecution());
+            }
+        }
+        // Executions with full overview already contain the deltas.
+        ArrayNode deltasNode = objectMapper.createArrayNode();
+        for (ExecutionChanges.VersionedDelta item
+                : changes.getDeltas(since, version)) {
+            String iri = item.getDelta().getExecution();
+            ExecutionObserver execution = deltaExecutions.get(iri);
+            if (execution == null) {
+                continue;
+            }
+            deltasNode.add(item.getDelta().toJson(
+                    objectMapper, item.getVersion()));
+            debugDataNode.set(iri, createDebugDataNode(
+                    objectMapper, execution));
+        }
+        jsonRoot.set("running", runningNode);
+        jsonRoot.set("executions", executionsNode);
+        jsonRoot.set("deltas", deltasNode);
+        jsonRoot.set("debugData", debugDataNode);
+        jsonRoot.put("recentRunTime", getRecentRunTime());
+        Runtime runtime = Runtime.getRuntime();
+        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+        ObjectNode memoryNode = objectMapper.createObjectNode();
+        memoryNode.put("max", runtime.maxMemory());
+        memoryNode.put("used", usedMemory);
+        memoryNode.put("headroom", runtime.maxMemory() - usedMemory);
+        jsonRoot.set("memory", memoryNode);
+        response.setHeader("Content-Type", "application/json");
+        objectMapper.writeValue(response.getOutputStream(), jsonRoot);
+    }
+
+    /**
+     * Debug data units, so the monitor does not need to read them
+     * from the execution file.
+     */
+    private ArrayNode createDebugDataNode(
+            ObjectMapper objectMapper, ExecutionObserver execution) {
+        ArrayNode result = objectMapper.createArrayNode();
+        for (Map.Entry<String, String> entry
+                : execution.getInformation().getDebugDataPaths().entrySet()) {
+            ObjectNode dataUnitNode = objectMapper.createObjectNode();
+            dataUnitNode.put("name", entry.getKey());
+            dataUnitNode.put("dataPath", entry.getValue());
+            result.add(dataUnitNode);
+        }
+        return result;
+    }
+
     @ResponseBody
     @RequestMapping(value = "/messages", method = RequestMethod.GET)
     public void getPipelineMessages(
+            @RequestParam(value = "iri", required = false) String iri,
             HttpServletRequest request,
             HttpServletResponse response)
             throws IOException, MissingResource {
-        PipelineExecutor executorSnp = getExecutor();
+        PipelineExecutor executorSnp = getExecutor(iri);
         Statements statements = new Statements(
                 executorSnp.getExecution()
                         .getPipelineMessages()
@@ -172,10 +355,12 @@ class ExecutionServlet {
             method = RequestMethod.GET)
     public void getComponentMessages(
             @RequestParam(value = "iri") String iri,
+            @RequestParam(value = "execution", required = false)
+                    String execution,
             HttpServletRequest request,
             HttpServletResponse response)
             throws IOException, MissingResource {
-        PipelineExecutor executorSnp = getExecutor();
+        PipelineExecutor executorSnp = getExecutor(execution);
         ExecutionModel model = executorSnp.getExecution().getModel();
         ExecutionComponent component = model.getComponent(iri);
         Statements statements =
@@ -0,0 +1,50 @@
+package com.linkedpipes.etl.executor.execution;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_EXEC;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+
+public class ExecutionOverviewTest {
+
+    private static final String EXECUTION = "http://localhost/execution";
+
+    private static final String COMPONENT = "http://localhost/component";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void componentDeltas() {
+        ExecutionOverview overview = new ExecutionOverview(
+                new File("."), EXECUTION, new ExecutionStatusMonitor());
+        overview.onComponentBegin();
+        JsonNode status = overview.onComponentStatus(
+                COMPONENT, LP_EXEC.STATUS_RUNNING).toJson(mapper, 1);
+        JsonNode progress = overview.onComponentProgress(
+                COMPONENT, 2, 10).toJson(mapper, 2);
+        //
+        Assert.assertEquals("component", status.get("type").asText());
+        Assert.assertEquals(EXECUTION,
+                status.get("execution").get("@id").asText());
+        Assert.assertEquals(LP_EXEC.STATUS_RUNNING,
+                status.get("component").get("status").get("@id").asText());
+        Assert.assertTrue(status.has("pipelineProgress"));
+        //
+        Assert.assertEquals("progress", progress.get("type").asText());
+        Assert.assertEquals(2, progress.get("version").asLong());
+        JsonNode component = progress.get("component");
+        Assert.assertEquals(COMPONENT, component.get("@id").asText());
+        Assert.assertEquals(LP_EXEC.STATUS_RUNNING,
+                component.get("status").get("@id").asText());
+        Assert.assertEquals(2, component.get("current").asLong());
+        Assert.assertEquals(10, component.get("total").asLong());
+        // The overview contains the same component state.
+        JsonNode components = overview.toJsonLd(mapper).get("components");
+        Assert.assertEquals(1, components.size());
+        Assert.assertEquals(component, components.get(0));
+    }
+
+}
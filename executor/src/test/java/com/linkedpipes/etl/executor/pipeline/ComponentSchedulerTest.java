@@ -0,0 +1,103 @@
+package com.linkedpipes.etl.executor.pipeline;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
+import com.linkedpipes.etl.executor.pipeline.model.Connection;
+import com.linkedpipes.etl.executor.pipeline.model.PipelineComponent;
+import com.linkedpipes.etl.rdf.utils.model.BackendRdfValue;
+import com.linkedpipes.etl.rdf.utils.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ComponentSchedulerTest {
+
+    @Test
+    public void independentBranches() {
+        List<PipelineComponent> components = createComponents(4);
+        ComponentScheduler scheduler = new ComponentScheduler(
+                components, Arrays.asList(
+                        createConnection("1", "3", LP_PIPELINE.CONNECTION),
+                        createConnection("2", "4", LP_PIPELINE.CONNECTION)));
+        Assert.assertEquals(Arrays.asList("1", "2"),
+                asIris(scheduler.takeReady(4)));
+        Assert.assertTrue(scheduler.takeReady(4).isEmpty());
+        scheduler.onFinished(components.get(1));
+        Assert.assertEquals(Collections.singletonList("4"),
+                asIris(scheduler.takeReady(4)));
+        scheduler.onFinished(components.get(0));
+        Assert.assertEquals(Collections.singletonList("3"),
+                asIris(scheduler.takeReady(4)));
+        Assert.assertFalse(scheduler.hasWaiting());
+    }
+
+    @Test
+    public void runAfterConnection() {
+        List<PipelineComponent> components = createComponents(2);
+        ComponentScheduler scheduler = new ComponentScheduler(
+                components, Collections.singletonList(
+                        createConnection("1", "2", LP_PIPELINE.RUN_AFTER)));
+        Assert.assertEquals(Collections.singletonList("1"),
+                asIris(scheduler.takeReady(2)));
+        Assert.assertTrue(scheduler.takeReady(2).isEmpty());
+        scheduler.onFinished(components.get(0));
+        Assert.assertEquals(Collections.singletonList("2"),
+                asIris(scheduler.takeReady(2)));
+    }
+
+    @Test
+    public void respectLimit() {
+        List<PipelineComponent> components = createComponents(3);
+        ComponentScheduler scheduler = new ComponentScheduler(
+                components, Collections.emptyList());
+        Assert.assertEquals(Arrays.asList("1", "2"),
+                asIris(scheduler.takeReady(2)));
+        Assert.assertTrue(scheduler.takeReady(0).isEmpty());
+        Assert.assertEquals(Collections.singletonList("3"),
+                asIris(scheduler.takeReady(2)));
+    }
+
+    @Test
+    public void ignoreConnectionAgainstExecutionOrder() {
+        List<PipelineComponent> components = createComponents(2);
+        ComponentScheduler scheduler = new ComponentScheduler(
+                components, Collections.singletonList(
+                        createConnection("2", "1", LP_PIPELINE.CONNECTION)));
+        Assert.assertEquals(Arrays.asList("1", "2"),
+                asIris(scheduler.takeReady(2)));
+    }
+
+    private List<PipelineComponent> createComponents(int count) {
+        PipelineComponent[] result = new PipelineComponent[count];
+        for (int index = 0; index < count; ++index) {
+            result[index] = new PipelineComponent(String.valueOf(index + 1));
+        }
+        return Arrays.asList(result);
+    }
+
+    private Connection createConnection(
+            String source, String target, String type) {
+        Connection connection = new Connection();
+        connection.load(RDF.TYPE, createValue(type));
+        connection.load(LP_PIPELINE.HAS_SOURCE_COMPONENT, createValue(source));
+        connection.load(LP_PIPELINE.HAS_TARGET_COMPONENT, createValue(target));
+        return connection;
+    }
+
+    private BackendRdfValue createValue(String value) {
+        BackendRdfValue result = Mockito.mock(BackendRdfValue.class);
+        Mockito.when(result.asString()).thenReturn(value);
+        return result;
+    }
+
+    private List<String> asIris(List<PipelineComponent> components) {
+        return components.stream()
+                .map(PipelineComponent::getIri)
+                .collect(Collectors.toList());
+    }
+
+}
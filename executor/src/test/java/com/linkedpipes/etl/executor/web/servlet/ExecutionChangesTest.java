@@ -0,0 +1,76 @@
+package com.linkedpipes.etl.executor.web.servlet;
+
+import com.linkedpipes.etl.executor.execution.ExecutionDelta;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+public class ExecutionChangesTest {
+
+    @Test
+    public void changedSince() {
+        ExecutionChanges changes = new ExecutionChanges();
+        changes.onExecutionChange("first");
+        long version = changes.getVersion();
+        changes.onExecutionChange("second");
+        //
+        Assert.assertFalse(changes.hasChangedSince("first", version));
+        Assert.assertTrue(changes.hasChangedSince("second", version));
+        // Unknown version.
+        Assert.assertTrue(changes.hasChangedSince("first", -1));
+    }
+
+    @Test
+    public void returnOnChange() throws InterruptedException {
+        ExecutionChanges changes = new ExecutionChanges();
+        long version = changes.getVersion();
+        Thread thread = new Thread(() -> changes.onExecutionChange("first"));
+        thread.start();
+        Assert.assertTrue(changes.waitForChange(version, 60000) > version);
+        thread.join();
+    }
+
+    @Test
+    public void returnOnTimeout() throws InterruptedException {
+        ExecutionChanges changes = new ExecutionChanges();
+        long version = changes.getVersion();
+        Assert.assertEquals(version, changes.waitForChange(version, 10));
+    }
+
+    @Test
+    public void deltasSince() {
+        ExecutionChanges changes = new ExecutionChanges();
+        ExecutionDelta first = Mockito.mock(ExecutionDelta.class);
+        ExecutionDelta second = Mockito.mock(ExecutionDelta.class);
+        changes.onExecutionChange("first");
+        long version = changes.getVersion();
+        changes.onExecutionDelta(first);
+        changes.onExecutionDelta(second);
+        //
+        List<ExecutionChanges.VersionedDelta> deltas =
+                changes.getDeltas(version, changes.getVersion());
+        Assert.assertEquals(2, deltas.size());
+        Assert.assertSame(first, deltas.get(0).getDelta());
+        Assert.assertSame(second, deltas.get(1).getDelta());
+        Assert.assertEquals(1, changes.getDeltas(version, version + 1).size());
+        // Deltas do not change the overview.
+        Assert.assertFalse(changes.hasChangedSince("first", version));
+    }
+
+    @Test
+    public void changedWhenDeltasAreDropped() {
+        ExecutionChanges changes = new ExecutionChanges();
+        changes.onExecutionChange("first");
+        long version = changes.getVersion();
+        ExecutionDelta delta = Mockito.mock(ExecutionDelta.class);
+        for (int index = 0; index <= ExecutionChanges.MAX_DELTAS; ++index) {
+            changes.onExecutionDelta(delta);
+        }
+        Assert.assertTrue(changes.hasChangedSince("first", version));
+        Assert.assertFalse(
+                changes.hasChangedSince("first", changes.getVersion()));
+    }
+
+}
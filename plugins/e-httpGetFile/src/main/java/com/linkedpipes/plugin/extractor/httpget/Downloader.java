@@ -1,6 +1,5 @@
 package com.linkedpipes.plugin.extractor.httpget;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,12 +7,18 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
@@ -82,184 +87,211 @@ class Downloader {
 
     public static final int HTTP_TEMPORARY_REDIRECT = 307;
 
+    public static final int HTTP_PERMANENT_REDIRECT = 308;
+
+    private static final int MAX_REDIRECTS = 20;
+
     private static final Logger LOG = LoggerFactory.getLogger(Downloader.class);
 
     private final Task toDownload;
 
     private final Configuration configuration;
 
-    public Downloader(Task toDownload, Configuration configuration) {
+    private final HttpClient client;
+
+    public Downloader(
+            Task toDownload, Configuration configuration, HttpClient client) {
         this.toDownload = toDownload;
         this.configuration = configuration;
+        this.client = client;
     }
 
     public void download() throws IOException {
         LOG.info("Downloading: {} -> {}", toDownload.getSourceUrl(),
                 toDownload.getTargetFile().toString());
         //
-        URL url = createUrl(toDownload.getSourceUrl());
-        HttpURLConnection connection = null;
+        URI uri = createUri(toDownload.getSourceUrl());
         Date startTime = new Date();
         try {
-            connection = connect(url);
-            checkResponseCode(connection);
-            saveContentToFile(connection, toDownload.getTargetFile());
+            HttpResponse<InputStream> response = connect(uri);
+            try (InputStream body = response.body()) {
+                String errorMessage = null;
+                if (!isResponseSuccess(response)) {
+                    errorMessage = IOUtils.toString(body, "UTF-8");
+                }
+                if (configuration.logDetail) {
+                    logConnectionDetails(response, errorMessage);
+                }
+                checkResponseCode(response, errorMessage);
+                saveContentToFile(response, body, toDownload.getTargetFile());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted.", ex);
         } catch (RuntimeException ex) {
             throw new IOException("Can't download file.", ex);
         } finally {
             long downloadTime = (new Date()).getTime() - startTime.getTime();
             LOG.debug("Processing of: {} takes: {} ms",
                     toDownload.getSourceUrl(), downloadTime);
-            if (connection != null) {
-                connection.disconnect();
-            }
         }
     }
 
-    private URL createUrl(String stringAsUrl) throws IOException {
-        if (configuration.encodeUrl) {
-            try {
-                stringAsUrl = (new URL(stringAsUrl)).toURI().toASCIIString();
-            } catch (URISyntaxException ex) {
-                throw new IOException("Can't convert to URI:" + stringAsUrl, ex);
+    private URI createUri(String stringAsUrl) throws IOException {
+        try {
+            if (configuration.encodeUrl) {
+                return new URI((new URL(stringAsUrl)).toURI().toASCIIString());
             }
+            return new URI(stringAsUrl);
+        } catch (URISyntaxException ex) {
+            return createQuotedUri(stringAsUrl);
         }
-        return new URL(stringAsUrl);
     }
 
-    private HttpURLConnection connect(URL target) throws IOException {
-        HttpURLConnection connection = createConnection(target);
-        if (configuration.manualFollowRedirect) {
-            connection.setInstanceFollowRedirects(false);
-            return resolveRedirects(connection);
-        } else {
-            connection.setInstanceFollowRedirects(true);
-            return connection;
+    /**
+     * Quote characters not allowed in URI, the HttpURLConnection used
+     * before accepted them.
+     */
+    private URI createQuotedUri(String stringAsUrl) throws IOException {
+        URL url = new URL(stringAsUrl);
+        try {
+            return new URI(url.getProtocol(), url.getUserInfo(),
+                    url.getHost(), url.getPort(), url.getPath(),
+                    url.getQuery(), url.getRef());
+        } catch (URISyntaxException ex) {
+            throw new IOException("Can't convert to URI:" + stringAsUrl, ex);
         }
     }
 
-    private HttpURLConnection createConnection(URL target) throws IOException {
-        HttpURLConnection connection =
-                (HttpURLConnection) target.openConnection();
-        setHeaders(connection);
-        setTimeOut(connection);
-        if (configuration.logDetail) {
-            logConnectionDetails(connection);
+    /**
+     * If required resolve redirects, else the client follows them.
+     */
+    private HttpResponse<InputStream> connect(URI target)
+            throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = send(target);
+        if (!configuration.manualFollowRedirect) {
+            return response;
         }
-        return connection;
-    }
-
-    private void setHeaders(HttpURLConnection connection) {
-        Map<String, String> headers = toDownload.getHeader();
-        // Fixed headers, #697.
-        connection.setRequestProperty("accept-encoding", "gzip");
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            connection.setRequestProperty(entry.getKey(), entry.getValue());
+        int redirects = 0;
+        while (isResponseRedirect(response.statusCode())) {
+            if (++redirects > MAX_REDIRECTS) {
+                response.body().close();
+                throw new IOException("Too many redirects.");
+            }
+            String location = response.headers()
+                    .firstValue("location").orElse(null);
+            // Read the rest, so the connection can be reused.
+            response.body().readAllBytes();
+            response.body().close();
+            if (location == null) {
+                throw new IOException("Missing location for redirect.");
+            }
+            if (configuration.useUtf8ForRedirect) {
+                location = new String(
+                        location.getBytes(StandardCharsets.ISO_8859_1),
+                        StandardCharsets.UTF_8);
+            }
+            LOG.debug("Resolved redirect to: {}", location);
+            response = send(response.uri().resolve(createUri(location)));
         }
+        return response;
     }
 
-    private void setTimeOut(HttpURLConnection connection) {
-        Integer timeOut = toDownload.getTimeOut();
-        if (timeOut != null) {
-            connection.setConnectTimeout(timeOut);
-            connection.setReadTimeout(timeOut);
-        }
+    private HttpResponse<InputStream> send(URI target)
+            throws IOException, InterruptedException {
+        return client.send(
+                createRequest(target),
+                TimeoutBodyHandler.wrap(
+                        HttpResponse.BodyHandlers.ofInputStream(),
+                        toDownload.getTimeOut()));
     }
 
-    private void logConnectionDetails(HttpURLConnection connection) {
-        final InputStream errStream = connection.getErrorStream();
-        if (errStream != null) {
-            try {
-                LOG.debug("Error stream: {}",
-                        IOUtils.toString(errStream, "UTF-8"));
-            } catch (Throwable ex) {
-                // Ignore.
-            }
+    private HttpRequest createRequest(URI target) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target).GET();
+        if ("http".equalsIgnoreCase(target.getScheme())) {
+            // Prevent the client from trying to upgrade to HTTP/2 (h2c),
+            // HTTP/2 is negotiated only for https.
+            builder.version(HttpClient.Version.HTTP_1_1);
         }
-        try {
-            LOG.debug(" response code: {}", connection.getResponseCode());
-        } catch (IOException ex) {
-            LOG.warn("Can't read status code.");
+        // Fixed headers, #697.
+        builder.setHeader("accept-encoding", "gzip");
+        // Headers are checked when the configuration is loaded.
+        for (Map.Entry<String, String> entry :
+                toDownload.getHeader().entrySet()) {
+            builder.setHeader(entry.getKey(), entry.getValue());
         }
-        for (String header : connection.getHeaderFields().keySet()) {
-            for (String value : connection.getHeaderFields().get(header)) {
-                LOG.debug(" header: {} : {}", header, value);
-            }
+        Integer timeOut = toDownload.getTimeOut();
+        if (timeOut != null && timeOut > 0) {
+            builder.timeout(Duration.ofMillis(timeOut));
         }
+        return builder.build();
     }
 
-    private HttpURLConnection resolveRedirects(
-            HttpURLConnection connection) throws IOException {
-        int responseCode = connection.getResponseCode();
-        while (isResponseRedirect(responseCode)) {
-            String location = connection.getHeaderField("Location");
-            if (configuration.useUtf8ForRedirect) {
-                location = new String(location.getBytes("ISO-8859-1"), "UTF-8");
-            }
-            connection.disconnect();
-            LOG.debug("Resolved redirect to: {}", location);
-            connection = createConnection(createUrl(location));
-            responseCode = connection.getResponseCode();
+    private void logConnectionDetails(
+            HttpResponse<?> response, String errorMessage) {
+        if (errorMessage != null) {
+            LOG.debug("Error stream: {}", errorMessage);
         }
-        return connection;
+        LOG.debug(" response code: {}", response.statusCode());
+        response.headers().map().forEach((header, values) -> {
+            for (String value : values) {
+                LOG.debug(" header: {} : {}", header, value);
+            }
+        });
     }
 
     private boolean isResponseRedirect(int responseCode) {
         return responseCode == HttpURLConnection.HTTP_MOVED_PERM ||
                 responseCode == HttpURLConnection.HTTP_MOVED_TEMP ||
                 responseCode == HttpURLConnection.HTTP_SEE_OTHER ||
-                responseCode == HTTP_TEMPORARY_REDIRECT;
+                responseCode == HTTP_TEMPORARY_REDIRECT ||
+                responseCode == HTTP_PERMANENT_REDIRECT;
     }
 
-    private void checkResponseCode(HttpURLConnection connection)
-            throws IOException {
-        int responseCode = connection.getResponseCode();
+    private boolean isResponseSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= HttpURLConnection.HTTP_OK
+                && response.statusCode() < HttpURLConnection.HTTP_MULT_CHOICE;
+    }
 
-        StringWriter writer = new StringWriter();
-        try (InputStream err = connection.getErrorStream()) {
-            if (err != null) {
-                IOUtils.copy(err, writer, "UTF-8");
-            }
+    private void checkResponseCode(
+            HttpResponse<?> response, String errorMessage)
+            throws IOException {
+        if (isResponseSuccess(response)) {
+            return;
         }
-        LOG.info("Error: {}", writer.toString());
-
+        LOG.info("Error: {}", errorMessage);
         for (Map.Entry<String, List<String>> entry :
-                connection.getHeaderFields().entrySet()) {
+                response.headers().map().entrySet()) {
             LOG.info("Header: {}", entry.getKey());
             for (String value : entry.getValue()) {
                 LOG.info("  {}", value);
             }
         }
-
-        if (responseCode < 200 || responseCode > 299) {
-            IOException ex = new IOException(
-                    responseCode + " : " + connection.getResponseMessage());
-            LOG.error("Can't download file: {}", toDownload.getSourceUrl(), ex);
-            throw ex;
-        }
+        IOException ex = new IOException(
+                "Response code: " + response.statusCode());
+        LOG.error("Can't download file: {}", toDownload.getSourceUrl(), ex);
+        throw ex;
     }
 
-    private void saveContentToFile(HttpURLConnection connection, File file)
+    private void saveContentToFile(
+            HttpResponse<?> response, InputStream body, File file)
             throws IOException {
-        InputStream inputStream;
-        if (isGzip(connection)) {
-            inputStream = new GZIPInputStream(connection.getInputStream());
+        // Keep the behaviour of FileUtils.copyInputStreamToFile.
+        Files.createDirectories(file.toPath().getParent());
+        if (isGzip(response)) {
+            try (InputStream inputStream = new GZIPInputStream(body)) {
+                Files.copy(inputStream, file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
         } else {
-            inputStream = connection.getInputStream();
-        }
-        try {
-            FileUtils.copyInputStreamToFile(inputStream, file);
-        } finally {
-            inputStream.close();
+            Files.copy(body, file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
-    private boolean isGzip(HttpURLConnection connection) {
-        Map<String, List<String>> headers = getNormalizedHeader(connection);
-        if (!headers.containsKey("content-encoding")) {
-            return false;
-        }
-        for (String value : headers.get("content-encoding")) {
+    private boolean isGzip(HttpResponse<?> response) {
+        for (String value :
+                response.headers().allValues("content-encoding")) {
             if ("gzip".equals(value.toLowerCase())) {
                 return true;
             }
@@ -267,18 +299,4 @@ class Downloader {
         return false;
     }
 
-    private Map<String, List<String>> getNormalizedHeader(
-            HttpURLConnection connection) {
-        Map<String, List<String>> result = new HashMap<>();
-        for (Map.Entry<String, List<String>> entry :
-                connection.getHeaderFields().entrySet()) {
-            if (entry.getKey() == null) {
-                result.put(null, entry.getValue());
-            } else {
-                result.put(entry.getKey().toLowerCase(), entry.getValue());
-            }
-        }
-        return result;
-    }
-
 }
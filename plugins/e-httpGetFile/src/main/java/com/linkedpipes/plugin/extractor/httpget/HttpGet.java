@@ -10,10 +10,9 @@ import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.*;
 import java.io.File;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,14 +39,16 @@ public final class HttpGet implements Component, SequentialExecution {
     @Override
     public void execute() throws LpException {
         checkConfiguration();
-        setTrustAllCerts();
+        HttpClient client = HttpClientFactory.create(
+                !configuration.isManualFollowRedirect(), null);
         progressReport.start(1);
         File outputFile = output.createFile(configuration.getFileName());
         Map<String, String> header = createHeader();
         Downloader.Task fileToDownload = new Downloader.Task(
                 configuration.getUri(), outputFile, header, null);
         Downloader downloader = new Downloader(
-                fileToDownload, configuration.asDownloaderConfiguration());
+                fileToDownload, configuration.asDownloaderConfiguration(),
+                client);
         try {
             downloader.download();
         } catch (Exception ex) {
@@ -66,42 +67,24 @@ public final class HttpGet implements Component, SequentialExecution {
             throw exceptionFactory.failure("Missing property: {}",
                     HttpGetVocabulary.HAS_NAME);
         }
+        checkHeaders(createHeader());
     }
 
-    private void setTrustAllCerts() throws LpException {
-        LOG.warn("'Trust all certs' policy used -> security risk!");
-        TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    @Override
-                    public java.security.cert.X509Certificate[]
-                    getAcceptedIssuers() {
-                        return null;
-                    }
-
-                    @Override
-                    public void checkClientTrusted(
-                            java.security.cert.X509Certificate[] certs,
-                            String authType) {
-                    }
-
-                    @Override
-                    public void checkServerTrusted(
-                            java.security.cert.X509Certificate[] certs,
-                            String authType) {
-                    }
-                }
-        };
-        // Install the all-trusting trust manager.
-        try {
-            SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(
-                    sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier(
-                    (String urlHostName, SSLSession session) -> true);
-        } catch (KeyManagementException | NoSuchAlgorithmException ex) {
-            throw exceptionFactory
-                    .failure("Can't set trust all certificates.", ex);
+    /**
+     * The HTTP client refuses restricted or invalid headers, so we fail
+     * before the download.
+     */
+    private void checkHeaders(Map<String, String> headers)
+            throws LpException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder();
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            try {
+                builder.setHeader(entry.getKey(), entry.getValue());
+            } catch (IllegalArgumentException ex) {
+                throw exceptionFactory.failure(
+                        "Invalid or restricted header: {}",
+                        entry.getKey(), ex);
+            }
         }
     }
 
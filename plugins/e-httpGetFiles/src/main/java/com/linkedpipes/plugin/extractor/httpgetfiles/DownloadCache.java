@@ -0,0 +1,463 @@
+package com.linkedpipes.plugin.extractor.httpgetfiles;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent cache of downloaded files. For every cached file we store
+ * the ETag and Last-Modified headers, so we can ask the server whether
+ * the file changed.
+ *
+ * <p>The size of the cache is limited, the least recently used files
+ * are removed first. The cache directory is locked, so only one component
+ * can use it at a time. Until the cache is opened nothing is cached.
+ */
+class DownloadCache implements AutoCloseable {
+
+    public static class Entry {
+
+        private final String key;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final String contentHash;
+
+        private final long size;
+
+        Entry(String key, String etag, String lastModified,
+              String contentHash, long size) {
+            this.key = key;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.size = size;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+    }
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(DownloadCache.class);
+
+    private static final String INDEX_FILE = "index.bin";
+
+    private static final String LOCK_FILE = "lock";
+
+    private static final int INDEX_VERSION = 1;
+
+    private static final String NONE = "";
+
+    private static final int BYTE_MASK = 0xff;
+
+    private static final int HEX_RADIX = 16;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Strings in the index are stored using modified UTF-8 limited
+     * to 65535 bytes, so we do not cache requests with longer values.
+     */
+    private static final int MAX_STRING_LENGTH = 16 * 1024;
+
+    private final File directory;
+
+    private final long maxSize;
+
+    /**
+     * Entries in access order, the first one is the least recently used.
+     */
+    private final LinkedHashMap<String, Entry> entries =
+            new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+    private FileChannel lockChannel = null;
+
+    private FileLock lock = null;
+
+    private long size = 0;
+
+    /**
+     * @param maxSize Max size of cached files in bytes.
+     */
+    DownloadCache(File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return False if the cache is used by someone else.
+     */
+    public synchronized boolean open() throws IOException {
+        Files.createDirectories(directory.toPath());
+        FileChannel channel = FileChannel.open(
+                new File(directory, LOCK_FILE).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            // Locked by other component in this JVM.
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            return false;
+        }
+        lockChannel = channel;
+        loadIndex();
+        removeUnreferenced();
+        evict();
+        return true;
+    }
+
+    public synchronized boolean isOpen() {
+        return lock != null;
+    }
+
+    /**
+     * Key of the request, headers are part of the key as they can change
+     * the response.
+     */
+    public static String createKey(String uri, Map<String, String> headers) {
+        StringBuilder result = new StringBuilder(uri);
+        headers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach((entry) -> result.append('\n')
+                        .append(entry.getKey().toLowerCase())
+                        .append(':').append(entry.getValue()));
+        return result.toString();
+    }
+
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // The content can be hard linked to an output file, so check
+        // that it was not modified or removed.
+        File content = getContentFile(entry);
+        if (!content.exists() || content.length() != entry.size) {
+            LOG.info("Cached file was modified, removing: {}", key);
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Copy cached content to given file. If possible a hard link is
+     * created instead of a copy.
+     *
+     * @return False if the content is not in the cache anymore.
+     */
+    public boolean copyTo(Entry entry, File target) throws IOException {
+        File content;
+        synchronized (this) {
+            // Content file can be replaced but not removed while we hold
+            // the lock, so once we have the link or copy we are safe.
+            if (entries.get(entry.key) != entry) {
+                return false;
+            }
+            content = getContentFile(entry);
+            Files.createDirectories(target.toPath().getParent());
+            Files.deleteIfExists(target.toPath());
+            try {
+                Files.createLink(target.toPath(), content.toPath());
+                return true;
+            } catch (IOException | UnsupportedOperationException ex) {
+                LOG.debug("Can't create link, copying file.", ex);
+            }
+            Files.copy(content.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        }
+    }
+
+    /**
+     * Store content of given file in the cache. If there is neither
+     * ETag nor Last-Modified, the content is not stored.
+     */
+    public void put(String key, String etag, String lastModified, File file)
+            throws IOException {
+        if (!isOpen() || (etag == null && lastModified == null)) {
+            return;
+        }
+        if (isTooLong(key) || isTooLong(etag) || isTooLong(lastModified)) {
+            return;
+        }
+        // Copy to a temporary file first, this can be done in parallel.
+        File temp = Files.createTempFile(
+                directory.toPath(), "download-", ".tmp").toFile();
+        String contentHash;
+        try (InputStream input = new DigestInputStream(
+                new BufferedInputStream(new FileInputStream(file)),
+                createDigest())) {
+            Files.copy(input, temp.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            contentHash = toHex(
+                    ((DigestInputStream) input).getMessageDigest().digest());
+        } catch (IOException ex) {
+            Files.deleteIfExists(temp.toPath());
+            throw ex;
+        }
+        Entry entry = new Entry(
+                key, etag, lastModified, contentHash, temp.length());
+        synchronized (this) {
+            Entry oldEntry = entries.get(key);
+            if (oldEntry != null) {
+                size -= oldEntry.size;
+            }
+            if (oldEntry != null
+                    && oldEntry.contentHash.equals(contentHash)
+                    && getContentFile(oldEntry).exists()) {
+                // Same content, server just does not support
+                // conditional requests.
+                Files.delete(temp.toPath());
+            } else {
+                Files.move(temp.toPath(), getContentFile(entry).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            entries.put(key, entry);
+            size += entry.size;
+            evict();
+        }
+    }
+
+    private static boolean isTooLong(String value) {
+        return value != null && value.length() > MAX_STRING_LENGTH;
+    }
+
+    private static MessageDigest createDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException("Missing SHA-256.", ex);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte value : bytes) {
+            String hex = Integer.toString(value & BYTE_MASK, HEX_RADIX);
+            if (hex.length() == 1) {
+                result.append('0');
+            }
+            result.append(hex);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Remove least recently used entries until we fit into the limit.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> iterator =
+                entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            iterator.remove();
+            size -= entry.size;
+            deleteContent(entry);
+        }
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            size -= entry.size;
+            deleteContent(entry);
+        }
+    }
+
+    private void deleteContent(Entry entry) {
+        try {
+            Files.deleteIfExists(getContentFile(entry).toPath());
+        } catch (IOException ex) {
+            LOG.warn("Can't delete cached file for: {}", entry.key, ex);
+        }
+    }
+
+    private File getContentFile(Entry entry) {
+        try {
+            return new File(directory, toHex(createDigest().digest(
+                    entry.key.getBytes(StandardCharsets.UTF_8))));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void loadIndex() throws IOException {
+        File file = new File(directory, INDEX_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != INDEX_VERSION) {
+                LOG.info("Ignoring cache index of other version.");
+                return;
+            }
+            int count = input.readInt();
+            for (int index = 0; index < count; ++index) {
+                Entry entry = new Entry(
+                        input.readUTF(),
+                        fromStored(input.readUTF()),
+                        fromStored(input.readUTF()),
+                        input.readUTF(),
+                        input.readLong());
+                entries.put(entry.key, entry);
+                size += entry.size;
+            }
+        } catch (IOException ex) {
+            LOG.warn("Can't read cache index, cache is cleared.", ex);
+            clear();
+        }
+    }
+
+    /**
+     * Index is saved only when the cache is closed. If the execution
+     * fails we end up with the previous index, content files stored since
+     * then and temporary files. Such files are not in the index, so they
+     * would never be evicted, we remove them. Entries without content
+     * are removed as well.
+     */
+    private void removeUnreferenced() throws IOException {
+        Set<String> referenced = new HashSet<>();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            File content = getContentFile(entry);
+            if (content.exists()) {
+                referenced.add(content.getName());
+            } else {
+                iterator.remove();
+                size -= entry.size;
+            }
+        }
+        referenced.add(LOCK_FILE);
+        referenced.add(INDEX_FILE);
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (referenced.contains(file.getName())) {
+                continue;
+            }
+            LOG.debug("Removing file not in the cache index: {}", file);
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    private void clear() throws IOException {
+        entries.clear();
+        size = 0;
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!LOCK_FILE.equals(file.getName())) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    private static String fromStored(String value) {
+        return NONE.equals(value) ? null : value;
+    }
+
+    private static String toStored(String value) {
+        return value == null ? NONE : value;
+    }
+
+    /**
+     * Save the index and release the cache directory.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (lock == null) {
+            return;
+        }
+        try {
+            saveIndex();
+        } finally {
+            lock.release();
+            lockChannel.close();
+            lock = null;
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        File temp = new File(directory, INDEX_FILE + ".tmp");
+        List<Entry> toSave = new ArrayList<>(entries.values());
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(
+                        temp.toPath())))) {
+            output.writeInt(INDEX_VERSION);
+            output.writeInt(toSave.size());
+            // Keep the access order, the first is the least recently used.
+            for (Entry entry : toSave) {
+                output.writeUTF(entry.key);
+                output.writeUTF(toStored(entry.etag));
+                output.writeUTF(toStored(entry.lastModified));
+                output.writeUTF(entry.contentHash);
+                output.writeLong(entry.size);
+            }
+        }
+        Files.move(temp.toPath(), new File(directory, INDEX_FILE).toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+}
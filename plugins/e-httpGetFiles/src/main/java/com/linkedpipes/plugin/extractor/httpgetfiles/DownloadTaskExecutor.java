@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.net.http.HttpClient;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,14 +29,26 @@ class DownloadTaskExecutor implements TaskConsumer<DownloadTask> {
 
     private final HttpRequestReport requestReport;
 
+    private final HttpClient client;
+
+    private final HostStatistics statistics;
+
+    private final DownloadCache cache;
+
     public DownloadTaskExecutor(
             HttpGetFilesConfiguration configuration,
             ProgressReport progressReport,
             WritableFilesDataUnit output,
             ExceptionFactory exceptionFactory,
             StatementsConsumer statementsConsumer,
-            ReportWriter reportWriter) {
+            ReportWriter reportWriter,
+            HttpClient client,
+            HostStatistics statistics,
+            DownloadCache cache) {
         this.configuration = configuration;
+        this.client = client;
+        this.statistics = statistics;
+        this.cache = cache;
         this.progressReport = progressReport;
         this.output = output;
         this.exceptionFactory = exceptionFactory;
@@ -66,8 +79,8 @@ class DownloadTaskExecutor implements TaskConsumer<DownloadTask> {
         Downloader downloader = new Downloader(
                 createDownloaderTask(task),
                 configuration.asDownloaderConfiguration(),
-                requestReport);
-            downloader.download();
+                requestReport, client, statistics, cache);
+        downloader.download();
     }
 
     private void waitForNextDownload() {
@@ -1,7 +1,6 @@
 package com.linkedpipes.plugin.extractor.httpgetfiles;
 
 import com.linkedpipes.etl.executor.api.v1.LpException;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,16 +8,25 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
+/**
+ * Download a file using shared HTTP client.
+ */
 class Downloader {
 
     public static class Task {
@@ -83,6 +91,10 @@ class Downloader {
 
     public static final int HTTP_TEMPORARY_REDIRECT = 307;
 
+    public static final int HTTP_PERMANENT_REDIRECT = 308;
+
+    private static final int MAX_REDIRECTS = 20;
+
     private static final Logger LOG = LoggerFactory.getLogger(Downloader.class);
 
     private final Task toDownload;
@@ -91,159 +103,282 @@ class Downloader {
 
     private final HttpRequestReport requestReport;
 
+    private final HttpClient client;
+
+    private final HostStatistics statistics;
+
+    private final DownloadCache cache;
+
+    private final String cacheKey;
+
+    /**
+     * @param cache Cache to use, can be null.
+     */
     public Downloader(
             Task toDownload, Configuration configuration,
-            HttpRequestReport requestReport) {
+            HttpRequestReport requestReport, HttpClient client,
+            HostStatistics statistics, DownloadCache cache) {
         this.toDownload = toDownload;
         this.configuration = configuration;
         this.requestReport = requestReport;
+        this.client = client;
+        this.statistics = statistics;
+        this.cache = cache;
+        if (cache == null) {
+            this.cacheKey = null;
+        } else {
+            this.cacheKey = DownloadCache.createKey(
+                    toDownload.getSourceUrl(), toDownload.getHeader());
+        }
     }
 
     public void download() throws IOException, LpException {
         LOG.info("Downloading: {} -> {}", toDownload.getSourceUrl(),
                 toDownload.getTargetFile().toString());
         //
-        URL url = createUrl(toDownload.getSourceUrl());
-        HttpURLConnection connection = null;
+        URI uri = createUri(toDownload.getSourceUrl());
         Date startTime = new Date();
         try {
-            connection = connect(url);
-            if (configuration.logDetail) {
-                requestReport.reportHeaderResponse(connection);
+            DownloadCache.Entry cached =
+                    cache == null ? null : cache.get(cacheKey);
+            if (!download(uri, cached, startTime)) {
+                // The cached file was removed in the meantime.
+                download(uri, null, startTime);
             }
-            checkResponseCode(connection);
-            saveContentToFile(connection, toDownload.getTargetFile());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted.", ex);
         } catch (RuntimeException ex) {
             throw new IOException("Can't download file.", ex);
         } finally {
             long downloadTime = (new Date()).getTime() - startTime.getTime();
             LOG.debug("Processing of: {} takes: {} ms",
                     toDownload.getSourceUrl(), downloadTime);
-            if (connection != null) {
-                connection.disconnect();
-            }
         }
     }
 
-    private URL createUrl(String stringAsUrl) throws IOException {
-        if (configuration.encodeUrl) {
-            try {
-                stringAsUrl = (new URL(stringAsUrl)).toURI().toASCIIString();
-            } catch (URISyntaxException ex) {
-                throw new IOException("Can't convert to URI:" + stringAsUrl, ex);
+    /**
+     * @param cached If not null a conditional request is used.
+     * @return False if the file was not modified, but we failed to get
+     *      it from the cache.
+     */
+    private boolean download(
+            URI uri, DownloadCache.Entry cached, Date startTime)
+            throws IOException, InterruptedException, LpException {
+        HttpResponse<InputStream> response = connect(uri, cached);
+        try (InputStream body = response.body()) {
+            if (cached != null
+                    && response.statusCode()
+                    == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                if (configuration.logDetail) {
+                    requestReport.reportHeaderResponse(response, null);
+                }
+                LOG.debug("Not modified, using cached file.");
+                statistics.onCacheHit(response.uri());
+                return cache.copyTo(cached, toDownload.getTargetFile());
             }
+            String errorMessage = null;
+            if (!isResponseSuccess(response)) {
+                errorMessage = IOUtils.toString(body, "UTF-8");
+            }
+            if (configuration.logDetail) {
+                requestReport.reportHeaderResponse(response, errorMessage);
+            }
+            checkResponseCode(response, errorMessage);
+            long size = saveContentToFile(
+                    response, body, toDownload.getTargetFile());
+            statistics.onDownload(response.uri(), size,
+                    (new Date()).getTime() - startTime.getTime());
         }
-        return new URL(stringAsUrl);
+        addToCache(response);
+        return true;
     }
 
-    private HttpURLConnection connect(URL target) throws IOException {
-        HttpURLConnection connection = createConnection(target);
-        if (configuration.manualFollowRedirect) {
-            connection.setInstanceFollowRedirects(false);
-            return resolveRedirects(connection);
-        } else {
-            connection.setInstanceFollowRedirects(true);
-            return connection;
+    private void addToCache(HttpResponse<?> response) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(cacheKey,
+                    response.headers().firstValue("etag").orElse(null),
+                    response.headers().firstValue("last-modified")
+                            .orElse(null),
+                    toDownload.getTargetFile());
+        } catch (IOException ex) {
+            // We have the file, so we can continue without caching.
+            LOG.warn("Can't add file to cache: {}",
+                    toDownload.getSourceUrl(), ex);
         }
     }
 
-    private HttpURLConnection createConnection(URL target) throws IOException {
-        HttpURLConnection connection =
-                (HttpURLConnection) target.openConnection();
-        setHeaders(connection);
-        setTimeOut(connection);
-        return connection;
+    private URI createUri(String stringAsUrl) throws IOException {
+        try {
+            if (configuration.encodeUrl) {
+                return new URI((new URL(stringAsUrl)).toURI().toASCIIString());
+            }
+            return new URI(stringAsUrl);
+        } catch (URISyntaxException ex) {
+            return createQuotedUri(stringAsUrl);
+        }
     }
 
-    private void setHeaders(HttpURLConnection connection) {
-        Map<String, String> headers = toDownload.getHeader();
-        // Fixed headers, #697.
-        connection.setRequestProperty("accept-encoding", "gzip");
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            connection.setRequestProperty(entry.getKey(), entry.getValue());
+    /**
+     * Quote characters not allowed in URI, the HttpURLConnection used
+     * before accepted them.
+     */
+    private URI createQuotedUri(String stringAsUrl) throws IOException {
+        URL url = new URL(stringAsUrl);
+        try {
+            return new URI(url.getProtocol(), url.getUserInfo(),
+                    url.getHost(), url.getPort(), url.getPath(),
+                    url.getQuery(), url.getRef());
+        } catch (URISyntaxException ex) {
+            throw new IOException("Can't convert to URI:" + stringAsUrl, ex);
         }
     }
 
-    private void setTimeOut(HttpURLConnection connection) {
+    /**
+     * If required resolve redirects, else the client follows them.
+     */
+    private HttpResponse<InputStream> connect(
+            URI target, DownloadCache.Entry cached)
+            throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = send(target, cached);
+        if (!configuration.manualFollowRedirect) {
+            return response;
+        }
+        int redirects = 0;
+        while (isResponseRedirect(response.statusCode())) {
+            if (++redirects > MAX_REDIRECTS) {
+                response.body().close();
+                throw new IOException("Too many redirects.");
+            }
+            String location = response.headers()
+                    .firstValue("location").orElse(null);
+            // Read the rest, so the connection can be reused.
+            response.body().readAllBytes();
+            response.body().close();
+            if (location == null) {
+                throw new IOException("Missing location for redirect.");
+            }
+            if (configuration.useUtf8ForRedirect) {
+                location = new String(
+                        location.getBytes(StandardCharsets.ISO_8859_1),
+                        StandardCharsets.UTF_8);
+            }
+            LOG.debug("Resolved redirect to: {}", location);
+            response = send(
+                    response.uri().resolve(createUri(location)), cached);
+        }
+        return response;
+    }
+
+    private HttpResponse<InputStream> send(
+            URI target, DownloadCache.Entry cached)
+            throws IOException, InterruptedException {
+        return client.send(
+                createRequest(target, cached),
+                TimeoutBodyHandler.wrap(
+                        HttpResponse.BodyHandlers.ofInputStream(),
+                        toDownload.getTimeOut()));
+    }
+
+    private HttpRequest createRequest(
+            URI target, DownloadCache.Entry cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target).GET();
+        if ("http".equalsIgnoreCase(target.getScheme())) {
+            // Prevent the client from trying to upgrade to HTTP/2 (h2c),
+            // HTTP/2 is negotiated only for https.
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        // Fixed headers, #697.
+        builder.setHeader("accept-encoding", "gzip");
+        // Headers are checked when the configuration is loaded.
+        for (Map.Entry<String, String> entry :
+                toDownload.getHeader().entrySet()) {
+            builder.setHeader(entry.getKey(), entry.getValue());
+        }
+        if (cached != null) {
+            setConditionalHeaders(builder, cached);
+        }
         Integer timeOut = toDownload.getTimeOut();
-        if (timeOut != null) {
-            connection.setConnectTimeout(timeOut);
-            connection.setReadTimeout(timeOut);
+        if (timeOut != null && timeOut > 0) {
+            builder.timeout(Duration.ofMillis(timeOut));
         }
+        return builder.build();
     }
 
-    private HttpURLConnection resolveRedirects(
-            HttpURLConnection connection) throws IOException {
-        int responseCode = connection.getResponseCode();
-        while (isResponseRedirect(responseCode)) {
-            String location = connection.getHeaderField("Location");
-            if (configuration.useUtf8ForRedirect) {
-                location = new String(location.getBytes("ISO-8859-1"), "UTF-8");
+    private void setConditionalHeaders(
+            HttpRequest.Builder builder, DownloadCache.Entry cached) {
+        try {
+            if (cached.getEtag() != null) {
+                builder.setHeader("if-none-match", cached.getEtag());
             }
-            connection.disconnect();
-            LOG.debug("Resolved redirect to: {}", location);
-            connection = createConnection(createUrl(location));
-            responseCode = connection.getResponseCode();
+            if (cached.getLastModified() != null) {
+                builder.setHeader(
+                        "if-modified-since", cached.getLastModified());
+            }
+        } catch (IllegalArgumentException ex) {
+            LOG.warn("Invalid cached headers for: {}",
+                    toDownload.getSourceUrl(), ex);
         }
-        return connection;
     }
 
     private boolean isResponseRedirect(int responseCode) {
         return responseCode == HttpURLConnection.HTTP_MOVED_PERM ||
                 responseCode == HttpURLConnection.HTTP_MOVED_TEMP ||
                 responseCode == HttpURLConnection.HTTP_SEE_OTHER ||
-                responseCode == HTTP_TEMPORARY_REDIRECT;
+                responseCode == HTTP_TEMPORARY_REDIRECT ||
+                responseCode == HTTP_PERMANENT_REDIRECT;
     }
 
-    private void checkResponseCode(HttpURLConnection connection)
-            throws IOException {
-        int responseCode = connection.getResponseCode();
+    private boolean isResponseSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= HttpURLConnection.HTTP_OK
+                && response.statusCode() < HttpURLConnection.HTTP_MULT_CHOICE;
+    }
 
-        StringWriter writer = new StringWriter();
-        try (InputStream err = connection.getErrorStream()) {
-            if (err != null) {
-                IOUtils.copy(err, writer, "UTF-8");
-            }
+    private void checkResponseCode(
+            HttpResponse<?> response, String errorMessage)
+            throws IOException {
+        if (isResponseSuccess(response)) {
+            return;
         }
-        LOG.info("Error: {}", writer.toString());
-
+        LOG.info("Error: {}", errorMessage);
         for (Map.Entry<String, List<String>> entry :
-                connection.getHeaderFields().entrySet()) {
+                response.headers().map().entrySet()) {
             LOG.info("Header: {}", entry.getKey());
             for (String value : entry.getValue()) {
                 LOG.info("  {}", value);
             }
         }
-
-        if (responseCode < 200 || responseCode > 299) {
-            IOException ex = new IOException(
-                    responseCode + " : " + connection.getResponseMessage());
-            LOG.error("Can't download file: {}", toDownload.getSourceUrl(), ex);
-            throw ex;
-        }
+        IOException ex = new IOException(
+                "Response code: " + response.statusCode());
+        LOG.error("Can't download file: {}", toDownload.getSourceUrl(), ex);
+        throw ex;
     }
 
-    private void saveContentToFile(HttpURLConnection connection, File file)
+    /**
+     * @return Size of the file.
+     */
+    private long saveContentToFile(
+            HttpResponse<?> response, InputStream body, File file)
             throws IOException {
-        InputStream inputStream;
-        if (isGzip(connection)) {
-            inputStream = new GZIPInputStream(connection.getInputStream());
+        // Keep the behaviour of FileUtils.copyInputStreamToFile.
+        Files.createDirectories(file.toPath().getParent());
+        if (isGzip(response)) {
+            try (InputStream inputStream = new GZIPInputStream(body)) {
+                return Files.copy(inputStream, file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
         } else {
-            inputStream = connection.getInputStream();
-        }
-        try {
-            FileUtils.copyInputStreamToFile(inputStream, file);
-        } finally {
-            inputStream.close();
+            return Files.copy(body, file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
-    private boolean isGzip(HttpURLConnection connection) {
-        Map<String, List<String>> headers = getNormalizedHeader(connection);
-        if (!headers.containsKey("content-encoding")) {
-            return false;
-        }
-        for (String value : headers.get("content-encoding")) {
+    private boolean isGzip(HttpResponse<?> response) {
+        for (String value :
+                response.headers().allValues("content-encoding")) {
             if ("gzip".equals(value.toLowerCase())) {
                 return true;
             }
@@ -251,18 +386,4 @@ class Downloader {
         return false;
     }
 
-    private Map<String, List<String>> getNormalizedHeader(
-            HttpURLConnection connection) {
-        Map<String, List<String>> result = new HashMap<>();
-        for (Map.Entry<String, List<String>> entry :
-                connection.getHeaderFields().entrySet()) {
-            if (entry.getKey() == null) {
-                result.put(null, entry.getValue());
-            } else {
-                result.put(entry.getKey().toLowerCase(), entry.getValue());
-            }
-        }
-        return result;
-    }
-
 }
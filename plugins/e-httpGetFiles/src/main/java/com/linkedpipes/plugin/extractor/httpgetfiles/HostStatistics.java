@@ -0,0 +1,105 @@
+package com.linkedpipes.plugin.extractor.httpgetfiles;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collect number of downloaded and cached files, bytes and download time
+ * per host.
+ */
+class HostStatistics {
+
+    private static class Host {
+
+        private final AtomicLong files = new AtomicLong();
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        private final AtomicLong time = new AtomicLong();
+
+        private final AtomicLong cachedFiles = new AtomicLong();
+
+    }
+
+    private static final int MS_IN_SECOND = 1000;
+
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param time Download time in milliseconds.
+     */
+    public void onDownload(URI uri, long bytes, long time) {
+        Host host = getHost(uri);
+        host.files.incrementAndGet();
+        host.bytes.addAndGet(bytes);
+        host.time.addAndGet(time);
+    }
+
+    /**
+     * Called when server reports that the cached file is not modified.
+     */
+    public void onCacheHit(URI uri) {
+        getHost(uri).cachedFiles.incrementAndGet();
+    }
+
+    private Host getHost(URI uri) {
+        String name = uri.getHost() == null ? "" : uri.getHost();
+        return hosts.computeIfAbsent(name, (key) -> new Host());
+    }
+
+    /**
+     * Hosts are reported as resources with given prefix.
+     */
+    public List<Statement> asStatements(String prefix) {
+        ValueFactory valueFactory = SimpleValueFactory.getInstance();
+        List<Statement> result = new ArrayList<>();
+        int counter = 0;
+        for (Map.Entry<String, Host> entry : new TreeMap<>(hosts).entrySet()) {
+            IRI resource = valueFactory.createIRI(prefix + (++counter));
+            Host host = entry.getValue();
+            long time = host.time.get();
+            long throughput = time == 0
+                    ? 0 : host.bytes.get() * MS_IN_SECOND / time;
+            result.add(valueFactory.createStatement(
+                    resource, RDF.TYPE, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HOST_STATISTICS)));
+            result.add(valueFactory.createStatement(
+                    resource, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HAS_HOST),
+                    valueFactory.createLiteral(entry.getKey())));
+            result.add(valueFactory.createStatement(
+                    resource, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HAS_FILES),
+                    valueFactory.createLiteral(host.files.get())));
+            result.add(valueFactory.createStatement(
+                    resource, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HAS_CACHED_FILES),
+                    valueFactory.createLiteral(host.cachedFiles.get())));
+            result.add(valueFactory.createStatement(
+                    resource, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HAS_BYTES),
+                    valueFactory.createLiteral(host.bytes.get())));
+            result.add(valueFactory.createStatement(
+                    resource, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HAS_DOWNLOAD_TIME),
+                    valueFactory.createLiteral(time)));
+            result.add(valueFactory.createStatement(
+                    resource, valueFactory.createIRI(
+                            HttpGetFilesVocabulary.HAS_THROUGHPUT),
+                    valueFactory.createLiteral(throughput)));
+        }
+        return result;
+    }
+
+}
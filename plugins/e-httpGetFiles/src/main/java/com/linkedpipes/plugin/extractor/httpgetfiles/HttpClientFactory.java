@@ -0,0 +1,115 @@
+package com.linkedpipes.plugin.extractor.httpgetfiles;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+
+/**
+ * Create HTTP client shared by all downloads of a component. The client
+ * keeps connections alive, so following requests to the same host do
+ * not need to connect and do TLS handshake again. HTTP/2 is used for
+ * https when the server supports it.
+ */
+final class HttpClientFactory {
+
+    /**
+     * Trust all certificates, as an extended trust manager the hostname
+     * is not verified as well.
+     */
+    private static class TrustAllManager extends X509ExtendedTrustManager {
+
+        @Override
+        public void checkClientTrusted(
+                X509Certificate[] chain, String authType, Socket socket) {
+            // Trust all.
+        }
+
+        @Override
+        public void checkServerTrusted(
+                X509Certificate[] chain, String authType, Socket socket) {
+            // Trust all.
+        }
+
+        @Override
+        public void checkClientTrusted(
+                X509Certificate[] chain, String authType, SSLEngine engine) {
+            // Trust all.
+        }
+
+        @Override
+        public void checkServerTrusted(
+                X509Certificate[] chain, String authType, SSLEngine engine) {
+            // Trust all.
+        }
+
+        @Override
+        public void checkClientTrusted(
+                X509Certificate[] chain, String authType) {
+            // Trust all.
+        }
+
+        @Override
+        public void checkServerTrusted(
+                X509Certificate[] chain, String authType) {
+            // Trust all.
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+
+    }
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(HttpClientFactory.class);
+
+    private HttpClientFactory() {
+    }
+
+    /**
+     * @param followRedirect If false redirects are not followed.
+     * @param connectTimeout Connect timeout in milliseconds, can be null.
+     */
+    public static HttpClient create(
+            boolean followRedirect, Integer connectTimeout)
+            throws LpException {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .followRedirects(followRedirect
+                        ? HttpClient.Redirect.NORMAL
+                        : HttpClient.Redirect.NEVER)
+                .sslContext(createTrustAllContext());
+        if (connectTimeout != null && connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The context is used only by our client, so other components
+     * are not affected.
+     */
+    private static SSLContext createTrustAllContext() throws LpException {
+        LOG.warn("'Trust all certs' policy used -> security risk!");
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{new TrustAllManager()},
+                    new SecureRandom());
+            return context;
+        } catch (GeneralSecurityException ex) {
+            throw new LpException("Can't set trust all certificates.", ex);
+        }
+    }
+
+}
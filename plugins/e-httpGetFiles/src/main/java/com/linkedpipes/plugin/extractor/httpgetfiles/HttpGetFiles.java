@@ -17,9 +17,10 @@ import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.*;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +29,8 @@ public final class HttpGetFiles extends TaskExecution<DownloadTask> {
     private static final Logger LOG =
             LoggerFactory.getLogger(HttpGetFiles.class);
 
+    private static final long BYTES_IN_MB = 1024 * 1024;
+
     @Component.ContainsConfiguration
     @Component.InputPort(iri = "Configuration")
     public SingleGraphDataUnit configurationRdf;
@@ -53,9 +56,16 @@ public final class HttpGetFiles extends TaskExecution<DownloadTask> {
 
     private ReportWriter reportWriter;
 
+    private HttpClient client;
+
+    private final HostStatistics statistics = new HostStatistics();
+
+    private DownloadCache cache;
+
     @Override
     protected TaskSource<DownloadTask> createTaskSource() throws LpException {
         loadTasks();
+        checkHeaders();
         TaskSource<DownloadTask> source = TaskSource.groupTaskSource(
                 this.tasks, configuration.getThreadsPerGroup());
         source.setSkipOnError(configuration.isSkipOnError());
@@ -74,6 +84,31 @@ public final class HttpGetFiles extends TaskExecution<DownloadTask> {
         }
     }
 
+    /**
+     * The HTTP client refuses restricted headers, like host or connection,
+     * so we fail before any download.
+     */
+    private void checkHeaders() throws LpException {
+        checkHeaders(configuration.getHeaders());
+        for (DownloadTask task : tasks) {
+            checkHeaders(task.getHeaders());
+        }
+    }
+
+    private void checkHeaders(List<RequestHeader> headers)
+            throws LpException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder();
+        for (RequestHeader header : headers) {
+            try {
+                builder.setHeader(header.getKey(), header.getValue());
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                throw exceptionFactory.failure(
+                        "Invalid or restricted header: {}",
+                        header.getKey(), ex);
+            }
+        }
+    }
+
     @Override
     protected TaskExecutionConfiguration getExecutionConfiguration() {
         return this.configuration;
@@ -83,7 +118,8 @@ public final class HttpGetFiles extends TaskExecution<DownloadTask> {
     protected TaskConsumer<DownloadTask> createConsumer() {
         return new DownloadTaskExecutor(
                 configuration, progressReport, output, exceptionFactory,
-                statementsConsumer, reportWriter);
+                statementsConsumer, reportWriter, client, statistics,
+                cache);
     }
 
     @Override
@@ -100,56 +136,64 @@ public final class HttpGetFiles extends TaskExecution<DownloadTask> {
         super.initialization();
         statementsConsumer = new StatementsConsumer(reportRdf);
         reportWriter = createReportWriter();
+        // Shared by all workers, so connections are reused.
+        client = HttpClientFactory.create(
+                !configuration.isManualFollowRedirect(),
+                configuration.getTimeout());
+        cache = createCache();
+    }
+
+    private DownloadCache createCache() {
+        String directory = configuration.getCacheDirectory();
+        if (directory == null || directory.isEmpty()) {
+            return null;
+        }
+        return new DownloadCache(new File(directory),
+                configuration.getCacheSize() * BYTES_IN_MB);
     }
 
     @Override
     protected void beforeExecution() throws LpException {
         super.beforeExecution();
-        setTrustAllCerts();
+        openCache();
         progressReport.start(tasks);
     }
 
-    private void setTrustAllCerts() throws LpException {
-        LOG.warn("'Trust all certs' policy used -> security risk!");
-        final TrustManager[] trustAllCerts = new TrustManager[]{
-                new X509TrustManager() {
-                    @Override
-                    public java.security.cert.X509Certificate[]
-                    getAcceptedIssuers() {
-                        return null;
-                    }
-
-                    @Override
-                    public void checkClientTrusted(
-                            java.security.cert.X509Certificate[] certs,
-                            String authType) {
-                    }
-
-                    @Override
-                    public void checkServerTrusted(
-                            java.security.cert.X509Certificate[] certs,
-                            String authType) {
-                    }
-                }
-        };
-        // Install the all-trusting trust manager.
+    /**
+     * The cache is opened here, so it is closed in afterExecution.
+     */
+    private void openCache() throws LpException {
+        if (cache == null) {
+            return;
+        }
         try {
-            final SSLContext sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCerts, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(
-                    sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier(
-                    (String urlHostName, SSLSession session) -> true);
-        } catch (KeyManagementException | NoSuchAlgorithmException ex) {
-            throw exceptionFactory.failure(
-                    "Can't set trust all certificates.", ex);
+            if (!cache.open()) {
+                LOG.warn("Cache is used by another component, "
+                        + "files are downloaded without cache.");
+            }
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't open cache.", ex);
         }
     }
 
     @Override
     protected void afterExecution() throws LpException {
         super.afterExecution();
+        closeCache();
+        statementsConsumer.consume(statistics.asStatements(
+                reportRdf.getWriteGraph().stringValue() + "/host/"));
         this.progressReport.done();
     }
 
+    private void closeCache() throws LpException {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.close();
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't save cache.", ex);
+        }
+    }
+
 }
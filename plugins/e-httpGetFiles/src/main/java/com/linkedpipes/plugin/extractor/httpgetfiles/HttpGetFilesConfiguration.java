@@ -44,6 +44,13 @@ public class HttpGetFilesConfiguration implements TaskExecutionConfiguration {
     @RdfToPojo.Property(iri = HttpGetFilesVocabulary.HAS_THREADS_PER_GROUP)
     private int threadsPerGroup = 1;
 
+    /**
+     * If true each download runs on its own virtual thread, the number
+     * of downloads is limited only by threads per group.
+     */
+    @RdfToPojo.Property(iri = HttpGetFilesVocabulary.HAS_VIRTUAL_THREADS)
+    private boolean virtualThreads = false;
+
     @RdfToPojo.Property(iri = HttpGetFilesVocabulary.ENCODE_URL)
     private boolean encodeUrl = false;
 
@@ -53,6 +60,19 @@ public class HttpGetFilesConfiguration implements TaskExecutionConfiguration {
     @RdfToPojo.Property(iri = HttpGetFilesVocabulary.HAS_WAIT_TIME)
     private int waitTime = 0;
 
+    /**
+     * Directory with downloaded files shared between executions, if
+     * not set no cache is used.
+     */
+    @RdfToPojo.Property(iri = HttpGetFilesVocabulary.HAS_CACHE_DIRECTORY)
+    private String cacheDirectory;
+
+    /**
+     * Max size of the cache in MB.
+     */
+    @RdfToPojo.Property(iri = HttpGetFilesVocabulary.HAS_CACHE_SIZE)
+    private int cacheSize = 1024;
+
     public HttpGetFilesConfiguration() {
     }
 
@@ -126,6 +146,15 @@ public class HttpGetFilesConfiguration implements TaskExecutionConfiguration {
         this.threadsPerGroup = threadsPerGroup;
     }
 
+    @Override
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public boolean isEncodeUrl() {
         return encodeUrl;
     }
@@ -155,4 +184,20 @@ public class HttpGetFilesConfiguration implements TaskExecutionConfiguration {
         this.waitTime = waitTime;
     }
 
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
 }
@@ -45,6 +45,8 @@ public final class HttpGetFilesVocabulary {
     public static final String HAS_THREADS_PER_GROUP =
             PREFIX + "threadsPerGroup";
 
+    public static final String HAS_VIRTUAL_THREADS = PREFIX + "virtualThreads";
+
     public static final String HAS_HEADER_OBJECT = PREFIX + "hasHeaderObject";
 
     public static final String HAS_RESPONSE_LINE = PREFIX + "responseLine";
@@ -61,4 +63,25 @@ public final class HttpGetFilesVocabulary {
 
     public static final String HAS_WAIT_TIME = PREFIX + "waitTime";
 
+    public static final String HAS_CACHE_DIRECTORY = PREFIX + "cacheDirectory";
+
+    public static final String HAS_CACHE_SIZE = PREFIX + "cacheSize";
+
+    public static final String HOST_STATISTICS = PREFIX + "HostStatistics";
+
+    public static final String HAS_HOST = PREFIX + "host";
+
+    public static final String HAS_FILES = PREFIX + "files";
+
+    public static final String HAS_CACHED_FILES = PREFIX + "cachedFiles";
+
+    public static final String HAS_BYTES = PREFIX + "bytes";
+
+    public static final String HAS_DOWNLOAD_TIME = PREFIX + "downloadTime";
+
+    /**
+     * Bytes per second.
+     */
+    public static final String HAS_THROUGHPUT = PREFIX + "throughput";
+
 }
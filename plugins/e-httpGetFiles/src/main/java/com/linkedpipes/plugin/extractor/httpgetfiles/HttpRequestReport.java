@@ -2,7 +2,6 @@ package com.linkedpipes.plugin.extractor.httpgetfiles;
 
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import com.linkedpipes.etl.executor.api.v1.report.ReportWriter;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -10,9 +9,8 @@ import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -69,14 +67,16 @@ public class HttpRequestReport {
         this.task = task;
     }
 
-    public void reportHeaderResponse(HttpURLConnection connection)
+    public void reportHeaderResponse(
+            HttpResponse<?> response, String errorMessage)
             throws LpException {
         prepareForReporting(task);
-        reportErrorLine(connection);
-        reportResponseCode(connection);
-        connection.getHeaderFields().entrySet().forEach((entry) -> {
+        reportErrorLine(errorMessage);
+        reportResponseCode(response);
+        reportResponseLine(response);
+        response.headers().map().forEach((key, values) -> {
             addConnectionToReport();
-            reportHeaders(entry.getKey(), entry.getValue());
+            reportAsHeader(key, values);
         });
         consumer.consume(statements);
     }
@@ -88,34 +88,37 @@ public class HttpRequestReport {
         this.task = task;
     }
 
-    private void reportErrorLine(HttpURLConnection connection) {
-        String errorMessage;
-        InputStream errStream = connection.getErrorStream();
-        if (errStream != null) {
-            try {
-                errorMessage = IOUtils.toString(errStream, "UTF-8");
-            } catch (Throwable ex) {
-                return;
-            }
-            LOG.debug("Error stream: {}", errorMessage);
-            statements.add(valueFactory.createStatement(
-                    valueFactory.createIRI(reportWriter.getIriForReport(task)),
-                    errorPredicate,
-                    valueFactory.createLiteral(errorMessage)));
+    private void reportErrorLine(String errorMessage) {
+        if (errorMessage == null) {
+            return;
         }
+        LOG.debug("Error stream: {}", errorMessage);
+        statements.add(valueFactory.createStatement(
+                valueFactory.createIRI(reportWriter.getIriForReport(task)),
+                errorPredicate,
+                valueFactory.createLiteral(errorMessage)));
     }
 
-    private void reportResponseCode(HttpURLConnection connection) {
-        try {
-            int responseCode = connection.getResponseCode();
-            LOG.debug(" response code: {}", responseCode);
-            statements.add(valueFactory.createStatement(
-                    valueFactory.createIRI(reportWriter.getIriForReport(task)),
-                    errorPredicate,
-                    valueFactory.createLiteral(responseCode)));
-        } catch (IOException ex) {
-            LOG.warn("Can't read status code.");
-        }
+    private void reportResponseCode(HttpResponse<?> response) {
+        int responseCode = response.statusCode();
+        LOG.debug(" response code: {}", responseCode);
+        statements.add(valueFactory.createStatement(
+                valueFactory.createIRI(reportWriter.getIriForReport(task)),
+                errorPredicate,
+                valueFactory.createLiteral(responseCode)));
+    }
+
+    /**
+     * The client does not provide the status line, so we create it.
+     */
+    private void reportResponseLine(HttpResponse<?> response) {
+        String version = response.version() == HttpClient.Version.HTTP_2
+                ? "HTTP/2" : "HTTP/1.1";
+        addConnectionToReport();
+        statements.add(valueFactory.createStatement(
+                objectIri, responseLinePredicate,
+                valueFactory.createLiteral(
+                        version + " " + response.statusCode())));
     }
 
     private void addConnectionToReport() {
@@ -125,22 +128,6 @@ public class HttpRequestReport {
                 objectIri));
     }
 
-    private void reportHeaders(String header, List<String> values) {
-        if (header == null) {
-            reportAsResponseLine(values);
-        } else {
-            reportAsHeader(header, values);
-        }
-    }
-
-    private void reportAsResponseLine(List<String> values) {
-        for (String value : values) {
-            statements.add(valueFactory.createStatement(
-                    objectIri, responseLinePredicate,
-                    valueFactory.createLiteral(value)));
-        }
-    }
-
     private void reportAsHeader(String header, List<String> values) {
         IRI headerIri = createHeaderIri();
         statements.add(valueFactory.createStatement(
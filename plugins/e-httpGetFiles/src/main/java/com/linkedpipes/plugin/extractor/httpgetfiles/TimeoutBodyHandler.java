@@ -0,0 +1,177 @@
+package com.linkedpipes.plugin.extractor.httpgetfiles;
+
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request timeout covers only receiving of the response headers.
+ * This handler fails the body when no data arrive in given time while
+ * the consumer waits for them, so a stalled transfer does not block
+ * the worker. As with a socket read timeout, a large download does not
+ * fail as long as the data keep coming.
+ */
+final class TimeoutBodyHandler<T> implements HttpResponse.BodyHandler<T> {
+
+    private static class TimeoutSubscriber<T>
+            implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+
+        private final long timeout;
+
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        /**
+         * Number of requested items not yet received, we wait
+         * for data only if this is positive.
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        private volatile long lastActivity;
+
+        private volatile Flow.Subscription subscription;
+
+        TimeoutSubscriber(
+                HttpResponse.BodySubscriber<T> delegate, Duration timeout) {
+            this.delegate = delegate;
+            this.timeout = timeout.toNanos();
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            lastActivity = System.nanoTime();
+            delegate.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(long count) {
+                    if (count > 0) {
+                        demand.accumulateAndGet(
+                                count, TimeoutSubscriber::addDemand);
+                    }
+                    lastActivity = System.nanoTime();
+                    subscription.request(count);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                }
+
+            });
+            scheduleCheck(timeout);
+        }
+
+        private static long addDemand(long left, long right) {
+            long result = left + right;
+            // Unbounded demand stays unbounded.
+            return result < 0 ? Long.MAX_VALUE : result;
+        }
+
+        private void scheduleCheck(long delay) {
+            Executor executor = CompletableFuture.delayedExecutor(
+                    delay, TimeUnit.NANOSECONDS);
+            executor.execute(this::checkTimeout);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            if (done.get()) {
+                return;
+            }
+            lastActivity = System.nanoTime();
+            demand.updateAndGet(
+                    (value) -> value == Long.MAX_VALUE ? value : value - 1);
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done.compareAndSet(false, true)) {
+                delegate.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done.compareAndSet(false, true)) {
+                delegate.onComplete();
+            }
+        }
+
+        /**
+         * Fail if we wait for data for too long, else check again
+         * when the timeout would expire.
+         */
+        private void checkTimeout() {
+            if (done.get()) {
+                return;
+            }
+            long idle = System.nanoTime() - lastActivity;
+            if (demand.get() <= 0) {
+                // Consumer is not reading, it is not our timeout.
+                scheduleCheck(timeout);
+            } else if (idle < timeout) {
+                scheduleCheck(timeout - idle);
+            } else {
+                onTimeout();
+            }
+        }
+
+        private void onTimeout() {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            subscription.cancel();
+            delegate.onError(new HttpTimeoutException(
+                    "No data received in "
+                            + TimeUnit.NANOSECONDS.toMillis(timeout)
+                            + " ms."));
+        }
+
+    }
+
+    private final HttpResponse.BodyHandler<T> delegate;
+
+    private final Duration timeout;
+
+    private TimeoutBodyHandler(
+            HttpResponse.BodyHandler<T> delegate, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<T> apply(
+            HttpResponse.ResponseInfo responseInfo) {
+        return new TimeoutSubscriber<>(delegate.apply(responseInfo), timeout);
+    }
+
+    /**
+     * @param timeout Timeout in milliseconds, if null or not positive
+     *                the given handler is returned.
+     */
+    public static <T> HttpResponse.BodyHandler<T> wrap(
+            HttpResponse.BodyHandler<T> handler, Integer timeout) {
+        if (timeout == null || timeout <= 0) {
+            return handler;
+        }
+        return new TimeoutBodyHandler<>(handler, Duration.ofMillis(timeout));
+    }
+
+}
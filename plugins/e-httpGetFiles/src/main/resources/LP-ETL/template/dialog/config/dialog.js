@@ -32,6 +32,10 @@ define([], function () {
             "$type" : "int",
             "$label" : "Threads per group"
         },
+        "virtualThreads": {
+            "$type" : "bool",
+            "$label" : "Use virtual threads"
+        },
         "encodeUrl": {
             "$type" : "bool",
             "$label" : "Encode input URL"
@@ -47,6 +51,14 @@ define([], function () {
         "waitTime":{
             "$type" : "int",
             "$label" : "Wait time between retry"
+        },
+        "cacheDirectory": {
+            "$type" : "str",
+            "$label" : "Cache directory"
+        },
+        "cacheSize": {
+            "$type" : "int",
+            "$label" : "Cache size"
         }
     };
 
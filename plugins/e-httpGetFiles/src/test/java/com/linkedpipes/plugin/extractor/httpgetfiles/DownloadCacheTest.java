@@ -0,0 +1,158 @@
+package com.linkedpipes.plugin.extractor.httpgetfiles;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+public class DownloadCacheTest {
+
+    private File directory;
+
+    @Before
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("lp-test-").toFile();
+    }
+
+    @After
+    public void after() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void storeAndCopy() throws IOException {
+        DownloadCache cache = createCache(1024);
+        cache.put("a", "\"1\"", null, createFile("input", "content"));
+        DownloadCache.Entry entry = cache.get("a");
+        Assert.assertNotNull(entry);
+        Assert.assertEquals("\"1\"", entry.getEtag());
+        File output = new File(directory, "output/file");
+        Assert.assertTrue(cache.copyTo(entry, output));
+        Assert.assertEquals("content", readFile(output));
+        cache.close();
+    }
+
+    @Test
+    public void ignoreWithoutValidators() throws IOException {
+        DownloadCache cache = createCache(1024);
+        cache.put("a", null, null, createFile("input", "content"));
+        Assert.assertNull(cache.get("a"));
+        cache.close();
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        DownloadCache cache = createCache(10);
+        cache.put("a", "1", null, createFile("a", "aaaa"));
+        cache.put("b", "2", null, createFile("b", "bbbb"));
+        // Access "a" so "b" is the least recently used.
+        Assert.assertNotNull(cache.get("a"));
+        cache.put("c", "3", null, createFile("c", "cccc"));
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("c"));
+        Assert.assertEquals(2, cache.size());
+        cache.close();
+    }
+
+    @Test
+    public void reloadAfterClose() throws IOException {
+        DownloadCache cache = createCache(1024);
+        cache.put("a", null, "Mon, 01 Jan 2024 00:00:00 GMT",
+                createFile("input", "content"));
+        cache.close();
+        //
+        DownloadCache reopened = createCache(1024);
+        DownloadCache.Entry entry = reopened.get("a");
+        Assert.assertNotNull(entry);
+        Assert.assertNull(entry.getEtag());
+        Assert.assertEquals(
+                "Mon, 01 Jan 2024 00:00:00 GMT", entry.getLastModified());
+        Assert.assertEquals(7, entry.getSize());
+        reopened.close();
+    }
+
+    @Test
+    public void removeFilesNotInIndex() throws IOException {
+        DownloadCache cache = createCache(1024);
+        cache.put("a", "1", null, createFile("input", "content"));
+        cache.close();
+        // Files left by an execution that failed before saving the index.
+        File cacheDirectory = new File(directory, "cache");
+        File orphan = new File(cacheDirectory, "0123456789abcdef");
+        Files.write(orphan.toPath(), new byte[]{1, 2, 3});
+        File temp = new File(cacheDirectory, "download-1.tmp");
+        Files.write(temp.toPath(), new byte[]{1, 2, 3});
+        //
+        DownloadCache reopened = createCache(1024);
+        Assert.assertFalse(orphan.exists());
+        Assert.assertFalse(temp.exists());
+        Assert.assertNotNull(reopened.get("a"));
+        reopened.close();
+    }
+
+    @Test
+    public void removeEntriesWithoutContent() throws IOException {
+        DownloadCache cache = createCache(1024);
+        cache.put("a", "1", null, createFile("input", "content"));
+        cache.close();
+        File cacheDirectory = new File(directory, "cache");
+        for (File file : cacheDirectory.listFiles()) {
+            if (!file.getName().equals("index.bin")
+                    && !file.getName().equals("lock")) {
+                Files.delete(file.toPath());
+            }
+        }
+        //
+        DownloadCache reopened = createCache(1024);
+        Assert.assertEquals(0, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    public void lockedCache() throws IOException {
+        DownloadCache cache = createCache(1024);
+        DownloadCache other = new DownloadCache(
+                new File(directory, "cache"), 1024);
+        Assert.assertFalse(other.open());
+        other.put("a", "1", null, createFile("input", "content"));
+        other.close();
+        Assert.assertNull(cache.get("a"));
+        cache.close();
+    }
+
+    @Test
+    public void keyDependsOnHeaders() {
+        Assert.assertNotEquals(
+                DownloadCache.createKey("http://localhost",
+                        Collections.emptyMap()),
+                DownloadCache.createKey("http://localhost",
+                        Collections.singletonMap("Accept", "text/csv")));
+    }
+
+    private DownloadCache createCache(long size) throws IOException {
+        DownloadCache cache = new DownloadCache(
+                new File(directory, "cache"), size);
+        Assert.assertTrue(cache.open());
+        return cache;
+    }
+
+    private File createFile(String name, String content) throws IOException {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private String readFile(File file) throws IOException {
+        return new String(
+                Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.linkedpipes.plugin.extractor.httpgetfiles;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TimeoutBodyHandlerTest {
+
+    private static final int STALL_SECONDS = 10;
+
+    private static final int TIMEOUT = 500;
+
+    private static final int SLOW_PARTS = 8;
+
+    private static final int SLOW_DELAY = 150;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpServer server;
+
+    @Before
+    public void before() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/stalled", (exchange) -> {
+            // Send headers and part of the body, then stall.
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            body.write("start".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            try {
+                release.await(STALL_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                // Just end the response.
+            }
+            exchange.close();
+        });
+        server.createContext("/slow", (exchange) -> {
+            // Keep sending data for longer than is the timeout.
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            try {
+                for (int index = 0; index < SLOW_PARTS; ++index) {
+                    body.write("part".getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                    Thread.sleep(SLOW_DELAY);
+                }
+            } catch (InterruptedException ex) {
+                // Just end the response.
+            }
+            exchange.close();
+        });
+        server.createContext("/complete", (exchange) -> {
+            byte[] content = "content".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, content.length);
+            exchange.getResponseBody().write(content);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @After
+    public void after() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test(timeout = 5000)
+    public void failOnStalledBody() throws Exception {
+        HttpResponse<InputStream> response = send("/stalled");
+        try (InputStream body = response.body()) {
+            body.readAllBytes();
+            Assert.fail("Body read should time out.");
+        } catch (IOException ex) {
+            Assert.assertTrue(hasTimeoutCause(ex));
+        }
+    }
+
+    private boolean hasTimeoutCause(Throwable throwable) {
+        while (throwable != null) {
+            if (throwable instanceof HttpTimeoutException) {
+                return true;
+            }
+            throwable = throwable.getCause();
+        }
+        return false;
+    }
+
+    @Test(timeout = 5000)
+    public void readCompleteBody() throws Exception {
+        HttpResponse<InputStream> response = send("/complete");
+        try (InputStream body = response.body()) {
+            Assert.assertEquals("content",
+                    new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void readSlowBody() throws Exception {
+        HttpResponse<InputStream> response = send("/slow");
+        try (InputStream body = response.body()) {
+            Assert.assertEquals("part".repeat(SLOW_PARTS),
+                    new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private HttpResponse<InputStream> send(String path)
+            throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:"
+                + server.getAddress().getPort() + path);
+        return client.send(
+                HttpRequest.newBuilder(uri).build(),
+                TimeoutBodyHandler.wrap(
+                        HttpResponse.BodyHandlers.ofInputStream(), TIMEOUT));
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.linkedpipes.plugin.loader.sparql.endpoint;
 
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.executor.api.v1.LpException;
@@ -20,17 +21,119 @@ import org.eclipse.rdf4j.query.QueryLanguage;
 import org.eclipse.rdf4j.query.Update;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 
 public class SparqlEndpointLoaderChunked implements Component,
         SequentialExecution {
 
+    /**
+     * Log number of loaded statements per second.
+     */
+    private static class ThroughputReport {
+
+        private final long start = System.currentTimeMillis();
+
+        private long lastReport = start;
+
+        private long statements = 0;
+
+        void onChunkLoaded(Integer size) {
+            statements += size;
+            long now = System.currentTimeMillis();
+            if (now - lastReport < REPORT_INTERVAL) {
+                return;
+            }
+            lastReport = now;
+            LOG.info("Loaded {} statements, {} statements per second.",
+                    statements, perSecond(now));
+        }
+
+        void onEnd() {
+            LOG.info("Loaded {} statements in {} s, "
+                            + "{} statements per second.",
+                    statements, (System.currentTimeMillis() - start) / SECOND,
+                    perSecond(System.currentTimeMillis()));
+        }
+
+        private long perSecond(long now) {
+            long duration = Math.max(1, now - start);
+            return statements * SECOND / duration;
+        }
+
+    }
+
+    /**
+     * Collect statements from a chunk and load them in batches
+     * of commit size.
+     */
+    private class BatchLoader extends AbstractRDFHandler {
+
+        private final RepositoryConnection connection;
+
+        private final IRI graph;
+
+        private final int commitSize =
+                Math.max(1, configuration.getCommitSize());
+
+        private final List<Statement> batch = new ArrayList<>();
+
+        private int loaded = 0;
+
+        private LpException failure = null;
+
+        BatchLoader(RepositoryConnection connection, IRI graph) {
+            this.connection = connection;
+            this.graph = graph;
+        }
+
+        @Override
+        public void handleStatement(Statement statement) {
+            batch.add(statement);
+            if (batch.size() < commitSize) {
+                return;
+            }
+            try {
+                flush();
+            } catch (LpException ex) {
+                failure = ex;
+                throw new RDFHandlerException(ex);
+            }
+        }
+
+        void flush() throws LpException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            loadData(connection, batch, graph);
+            loaded += batch.size();
+            batch.clear();
+        }
+
+    }
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(SparqlEndpointLoaderChunked.class);
+
+    /**
+     * Interval between throughput reports in milliseconds.
+     */
+    private static final long REPORT_INTERVAL = 10000;
+
+    private static final long SECOND = 1000;
+
+    private static final int MAX_WAIT_TIME_MULTIPLICATION = 16;
+
     @Component.ContainsConfiguration
     @Component.InputPort(iri = "Configuration")
     public SingleGraphDataUnit configurationRdf;
@@ -90,40 +193,91 @@ public class SparqlEndpointLoaderChunked implements Component,
         }
     }
 
-    private void loadDataFromRepository(Repository repository) throws LpException {
+    /**
+     * Chunks are read ahead and loaded in parallel. Every worker keeps
+     * its connection for all chunks it loads.
+     */
+    private void loadDataFromRepository(Repository repository)
+            throws LpException {
         final IRI graph = SimpleValueFactory.getInstance().createIRI(
                 configuration.getTargetGraphName());
-        progressReport.start(inputRdf.size());
-        for (ChunkedTriples.Chunk chunk : inputRdf) {
-            final Collection<Statement> statements = chunk.toCollection();
-            if (statements.size() < configuration.getCommitSize()) {
-                // Commit all at once.
-                loadData(repository, statements, graph);
-                progressReport.entryProcessed();
-                continue;
-            }
-            // Split.
-            final List<Statement> toAdd = new ArrayList<>(
-                    configuration.getCommitSize());
-            final Iterator<Statement> iterator = statements.iterator();
-            while (iterator.hasNext()) {
-                toAdd.add(iterator.next());
-                if (toAdd.size() >= configuration.getCommitSize()) {
-                    loadData(repository, toAdd, graph);
-                    toAdd.clear();
+        final List<RepositoryConnection> connections =
+                Collections.synchronizedList(new ArrayList<>());
+        final ThreadLocal<RepositoryConnection> connection =
+                ThreadLocal.withInitial(() -> {
+                    RepositoryConnection result = repository.getConnection();
+                    connections.add(result);
+                    return result;
+                });
+        final ThroughputReport throughput = new ThroughputReport();
+        try {
+            new ChunkMapper(configuration.getThreads())
+                    .setProgressReport(progressReport)
+                    .map(inputRdf,
+                            (chunk) -> loadChunk(
+                                    connection.get(), chunk, graph),
+                            throughput::onChunkLoaded);
+        } finally {
+            for (RepositoryConnection item : connections) {
+                try {
+                    item.close();
+                } catch (RuntimeException ex) {
+                    LOG.warn("Can't close connection.", ex);
                 }
             }
-            if (!toAdd.isEmpty()) {
-                loadData(repository, toAdd, graph);
+        }
+        throughput.onEnd();
+    }
+
+    /**
+     * Statements are send in batches as they are read from the chunk,
+     * so the chunk is never loaded into memory.
+     *
+     * @return Number of loaded statements.
+     */
+    private Integer loadChunk(
+            RepositoryConnection connection, ChunkedTriples.Chunk chunk,
+            IRI graph) throws LpException {
+        final BatchLoader loader = new BatchLoader(connection, graph);
+        try {
+            chunk.handle(loader);
+        } catch (LpException ex) {
+            // Report the load failure, not the failure to read the chunk.
+            if (loader.failure != null) {
+                throw loader.failure;
             }
-            progressReport.entryProcessed();
+            throw ex;
         }
-        progressReport.done();
+        loader.flush();
+        return loader.loaded;
     }
 
-    private void loadData(Repository repository, Collection<Statement> statements, IRI graph) {
-        try (final RepositoryConnection remote = repository.getConnection()) {
-            remote.add(statements, graph);
+    private void loadData(
+            RepositoryConnection connection, Collection<Statement> statements,
+            IRI graph) throws LpException {
+        long retryWait = configuration.getRetryWait();
+        final long maxRetryWait = MAX_WAIT_TIME_MULTIPLICATION * retryWait;
+        int retry = 0;
+        while (true) {
+            try {
+                connection.add(statements, graph);
+                return;
+            } catch (RepositoryException ex) {
+                if (retry >= configuration.getRetryCount()) {
+                    throw exceptionFactory.failure(
+                            "Can't load data.", ex);
+                }
+                ++retry;
+                LOG.warn("Can't load data, retry {}/{} in {} ms.",
+                        retry, configuration.getRetryCount(), retryWait, ex);
+            }
+            try {
+                Thread.sleep(retryWait);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            }
+            retryWait = Math.min(2 * retryWait, maxRetryWait);
         }
     }
 
@@ -145,7 +299,11 @@ public class SparqlEndpointLoaderChunked implements Component,
                             configuration.getUserName(),
                             configuration.getPassword()));
         }
+        // Every worker thread needs own connection.
+        final int connections = Math.max(1, configuration.getThreads());
         return HttpClients.custom()
+                .setMaxConnPerRoute(connections)
+                .setMaxConnTotal(connections)
                 .setDefaultCredentialsProvider(credsProvider).build();
     }
 
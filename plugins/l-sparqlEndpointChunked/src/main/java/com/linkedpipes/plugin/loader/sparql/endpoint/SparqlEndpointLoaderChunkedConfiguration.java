@@ -32,6 +32,25 @@ public class SparqlEndpointLoaderChunkedConfiguration {
             iri = SparqlEndpointLoaderChunkedVocabulary.HAS_COMMIT_SIZE)
     private int commitSize = 100000;
 
+    /**
+     * Number of chunks loaded in parallel, each thread use own connection.
+     */
+    @RdfToPojo.Property(
+            iri = SparqlEndpointLoaderChunkedVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    @RdfToPojo.Property(
+            iri = SparqlEndpointLoaderChunkedVocabulary.HAS_RETRY_COUNT)
+    private int retryCount = 0;
+
+    /**
+     * Wait in milliseconds before the first retry, the wait is doubled
+     * with every next retry.
+     */
+    @RdfToPojo.Property(
+            iri = SparqlEndpointLoaderChunkedVocabulary.HAS_RETRY_WAIT)
+    private int retryWait = 1000;
+
     public SparqlEndpointLoaderChunkedConfiguration() {
     }
 
@@ -90,4 +109,28 @@ public class SparqlEndpointLoaderChunkedConfiguration {
     public void setCommitSize(int commitSize) {
         this.commitSize = commitSize;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public void setRetryCount(int retryCount) {
+        this.retryCount = retryCount;
+    }
+
+    public int getRetryWait() {
+        return retryWait;
+    }
+
+    public void setRetryWait(int retryWait) {
+        this.retryWait = retryWait;
+    }
 }
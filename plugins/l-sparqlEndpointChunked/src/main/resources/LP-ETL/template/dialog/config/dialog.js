@@ -24,6 +24,18 @@ define([], function () {
             "$type": "int",
             "$label": "Commit size"
         },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
+        },
+        "retryCount": {
+            "$type": "int",
+            "$label": "Number of retries"
+        },
+        "retryWait": {
+            "$type": "int",
+            "$label": "Wait before retry"
+        },
         "useAuthentication": {
             "$type": "bool",
             "$label": "Use authentication"
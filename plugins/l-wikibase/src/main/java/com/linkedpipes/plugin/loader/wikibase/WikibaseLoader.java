@@ -44,6 +44,12 @@ public class WikibaseLoader extends TaskExecution<WikibaseTask> {
 
     private List<WikibaseWorker> workers = new ArrayList<>();
 
+    /**
+     * Workers can be created during the execution, such workers must
+     * be initialized when created.
+     */
+    private boolean executionStarted = false;
+
     @Component.Inject
     public ProgressReport progressReport;
 
@@ -55,7 +61,12 @@ public class WikibaseLoader extends TaskExecution<WikibaseTask> {
 
             @Override
             public int getThreadsNumber() {
-                return 1;
+                return configuration.getThreads();
+            }
+
+            @Override
+            public boolean isVirtualThreads() {
+                return configuration.isVirtualThreads();
             }
 
             @Override
@@ -85,6 +96,9 @@ public class WikibaseLoader extends TaskExecution<WikibaseTask> {
         WikibaseWorker worker = new WikibaseWorker(
                 configuration, exceptionFactory,
                 outputRdf, collectStatements());
+        if (executionStarted) {
+            worker.onBeforeExecution();
+        }
         workers.add(worker);
         return worker;
     }
@@ -109,6 +123,7 @@ public class WikibaseLoader extends TaskExecution<WikibaseTask> {
         for (WikibaseWorker worker : workers) {
             worker.onBeforeExecution();
         }
+        executionStarted = true;
         if (tasks != null) {
             progressReport.start(tasks.size());
         }
@@ -47,6 +47,15 @@ public class WikibaseLoaderConfiguration {
     @RdfToPojo.Property(iri = WikibaseLoaderVocabulary.HAS_RETRY_PAUSE)
     private int retryWait = 30000;
 
+    /**
+     * Each thread use its own connection to the Wikibase.
+     */
+    @RdfToPojo.Property(iri = WikibaseLoaderVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    @RdfToPojo.Property(iri = WikibaseLoaderVocabulary.HAS_VIRTUAL_THREADS)
+    private boolean virtualThreads = false;
+
     public WikibaseLoaderConfiguration() {
     }
 
@@ -154,4 +163,20 @@ public class WikibaseLoaderConfiguration {
         this.retryWait = retryWait;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
 }
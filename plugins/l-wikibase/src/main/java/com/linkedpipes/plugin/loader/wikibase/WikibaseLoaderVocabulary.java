@@ -47,6 +47,10 @@ public final class WikibaseLoaderVocabulary {
 
     public static final String HAS_RETRY_PAUSE = PREFIX + "retryPause";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String HAS_VIRTUAL_THREADS = PREFIX + "virtualThreads";
+
     private WikibaseLoaderVocabulary() {
     }
 
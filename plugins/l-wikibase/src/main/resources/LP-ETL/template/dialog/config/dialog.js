@@ -59,6 +59,14 @@ define([], function () {
         "retryPause": {
             "$type": "int",
             "$label": "Retry pause"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
+        },
+        "virtualThreads": {
+            "$type": "bool",
+            "$label": "Use virtual threads"
         }
     };
 
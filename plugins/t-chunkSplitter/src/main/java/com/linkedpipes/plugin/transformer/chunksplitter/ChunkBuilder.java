@@ -0,0 +1,131 @@
+package com.linkedpipes.plugin.transformer.chunksplitter;
+
+import org.eclipse.rdf4j.model.Statement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collect statements for output chunks from {@link EntityIndex}.
+ *
+ * <p>Visited resources are marked with the number of the current chunk,
+ * so we do not need to clear anything between chunks. Instance must
+ * be used by one thread only.
+ */
+class ChunkBuilder {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final EntityIndex index;
+
+    private final int reverseDepth;
+
+    /**
+     * Resources added with their statements to the current chunk.
+     */
+    private final int[] added;
+
+    /**
+     * Resources visited in the reverse tree of the current chunk.
+     */
+    private final int[] reverseVisited;
+
+    private int current = 0;
+
+    private int[] stack = new int[INITIAL_CAPACITY];
+
+    private int stackSize = 0;
+
+    private int[] level = new int[INITIAL_CAPACITY];
+
+    private int levelSize = 0;
+
+    private int[] nextLevel = new int[INITIAL_CAPACITY];
+
+    private int nextLevelSize = 0;
+
+    public ChunkBuilder(EntityIndex index, int reverseDepth) {
+        this.index = index;
+        this.reverseDepth = reverseDepth;
+        this.added = new int[index.getResourceCount()];
+        this.reverseVisited = new int[index.getResourceCount()];
+    }
+
+    /**
+     * Collect statements of the root, all resources reachable from it
+     * and resources linking to it up to the reverse depth.
+     */
+    public List<Statement> create(int root) {
+        ++current;
+        List<Statement> output = new ArrayList<>();
+        addSubTree(root, output);
+        if (reverseDepth > 0) {
+            addReverseTree(root, output);
+        }
+        return output;
+    }
+
+    private void addSubTree(int root, List<Statement> output) {
+        added[root] = current;
+        stackSize = 0;
+        push(root);
+        while (stackSize > 0) {
+            int resource = stack[--stackSize];
+            index.addStatements(resource, output);
+            index.forEachObject(resource, (object) -> {
+                if (added[object] != current) {
+                    added[object] = current;
+                    push(object);
+                }
+            });
+        }
+    }
+
+    private void push(int resource) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[stackSize++] = resource;
+    }
+
+    /**
+     * Breadth-first search, so every resource in the given distance
+     * is visited.
+     */
+    private void addReverseTree(int root, List<Statement> output) {
+        reverseVisited[root] = current;
+        levelSize = 0;
+        level = addToLevel(level, levelSize++, root);
+        for (int depth = 0; depth < reverseDepth && levelSize > 0; ++depth) {
+            nextLevelSize = 0;
+            for (int position = 0; position < levelSize; ++position) {
+                index.forEachReverse(level[position], (subject) -> {
+                    if (reverseVisited[subject] == current) {
+                        return;
+                    }
+                    reverseVisited[subject] = current;
+                    nextLevel = addToLevel(
+                            nextLevel, nextLevelSize++, subject);
+                    if (added[subject] != current) {
+                        index.addStatements(subject, output);
+                    }
+                });
+            }
+            int[] swap = level;
+            level = nextLevel;
+            levelSize = nextLevelSize;
+            nextLevel = swap;
+        }
+    }
+
+    private static int[] addToLevel(int[] array, int position, int value) {
+        int[] result = array;
+        if (position == result.length) {
+            result = Arrays.copyOf(result, result.length * 2);
+        }
+        result[position] = value;
+        return result;
+    }
+
+}
@@ -7,19 +7,33 @@ import com.linkedpipes.etl.executor.api.v1.LpException;
 import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
-import com.linkedpipes.etl.executor.api.v1.vocabulary.RDF;
-import org.eclipse.rdf4j.model.Resource;
-import org.eclipse.rdf4j.model.Statement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-
-import java.util.*;
-
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Split chunks into smaller chunks, one for each resource of given type.
+ *
+ * <p>Input chunks are indexed one after another, output chunks for
+ * a single input chunk are created in parallel.
+ */
 public final class ChunkSplitter implements Component, SequentialExecution {
 
     private static final Logger LOG =
             LoggerFactory.getLogger(ChunkSplitter.class);
 
+    private static final int TERMINATION_CHECK = 5;
+
     @Component.ContainsConfiguration
     @Component.InputPort(iri = "Configuration")
     public SingleGraphDataUnit configurationRdf;
@@ -36,182 +50,81 @@ public final class ChunkSplitter implements Component, SequentialExecution {
     @Component.Inject
     public ProgressReport progressReport;
 
-    /**
-     * Store all statements about given resource.
-     */
-    private final Map<Resource, List<Statement>> entities = new HashMap<>();
-
-    /**
-     * For given subject store all objects that point towards it.
-     */
-    private final Map<Resource, List<Resource>> reverseResourceMap
-            = new HashMap<>();
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
 
     @Override
     public void execute() throws LpException {
-        progressReport.start(inputRdf.size());
-        for (ChunkedTriples.Chunk chunk : inputRdf) {
-            splitChunk(chunk);
-            progressReport.entryProcessed();
-        }
-        progressReport.done();
-    }
-
-    private void splitChunk(ChunkedTriples.Chunk chunk) throws LpException {
-        Collection<Statement> statements = chunk.toCollection();
-        LOG.info("Splitting chunk to entities ...");
-        createEntityMap(statements);
-        LOG.info("Collecting output resources ...");
-        List<Resource> baseResourcesForChunks =
-                getResourcesOfType(configuration.getType());
-        if (configuration.getIncomingLevelDepth() > 0) {
-            LOG.info("Creating reverse map ...");
-            createReverseMap(statements, baseResourcesForChunks);
-        }
-        LOG.info("Creating output for {} resources",
-                baseResourcesForChunks.size());
-        for (Resource resource : baseResourcesForChunks) {
-            createChunk(resource);
-        }
-        LOG.info("Chunk has been split to {} new chunks",
-                baseResourcesForChunks.size());
-    }
-
-    private void createEntityMap(Collection<Statement> statements) {
-        entities.clear();
-        for (Statement statement : statements) {
-            Resource subject = statement.getSubject();
-            List<Statement> chunk = entities.get(subject);
-            if (chunk == null) {
-                chunk = new ArrayList<>();
-                entities.put(subject, chunk);
+        int threads = Math.max(1, configuration.getThreads());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            progressReport.start(inputRdf.size());
+            for (ChunkedTriples.Chunk chunk : inputRdf) {
+                splitChunk(chunk, executor, threads);
+                progressReport.entryProcessed();
             }
-            chunk.add(statement);
+            progressReport.done();
+        } finally {
+            shutdown(executor);
         }
     }
 
-    private List<Resource> getResourcesOfType(String type) {
-        List<Resource> output = new ArrayList<>();
-        for (Map.Entry<Resource, List<Statement>> entry : entities.entrySet()) {
-            for (Statement statement : entry.getValue()) {
-                if (!RDF.TYPE.equals(statement.getPredicate().toString())) {
-                    continue;
+    private void splitChunk(
+            ChunkedTriples.Chunk chunk, ExecutorService executor,
+            int threads) throws LpException {
+        LOG.info("Indexing chunk ...");
+        int reverseDepth = configuration.getIncomingLevelDepth();
+        EntityIndex index = EntityIndex.create(
+                chunk.toCollection(), configuration.getType(), reverseDepth);
+        int[] roots = index.getRoots();
+        LOG.info("Creating output for {} resources", roots.length);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; ++thread) {
+            futures.add(executor.submit(() -> {
+                if (contextMap != null) {
+                    MDC.setContextMap(contextMap);
                 }
-                if (type.equals(statement.getObject().stringValue())) {
-                    output.add(entry.getKey());
-                    break;
+                ChunkBuilder builder = new ChunkBuilder(index, reverseDepth);
+                int position;
+                while ((position = next.getAndIncrement()) < roots.length) {
+                    outputRdf.submit(builder.create(roots[position]));
+                }
+                return null;
+            }));
+        }
+        LpException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            } catch (ExecutionException ex) {
+                // Stop other workers, but wait for them to finish.
+                next.set(roots.length);
+                if (failure == null) {
+                    failure = new LpException(
+                            "Can't create output chunk.", ex.getCause());
                 }
             }
         }
-        return output;
-    }
-
-    private void createReverseMap(Collection<Statement> statements,
-            List<Resource> baseResources) {
-        // If only one level is used we can build optimized reverse index.
-        if (configuration.getIncomingLevelDepth() == 1) {
-            createReverseMapLimitedResources(statements, baseResources);
-        } else {
-            createReverseMapAllResources(statements);
-        }
-
-    }
-
-    private void createReverseMapLimitedResources(
-            Collection<Statement> statements, List<Resource> baseResources) {
-        reverseResourceMap.clear();
-        for (Statement statement : statements) {
-            if (baseResources.contains(statement.getObject())) {
-                addReverseResource(statement.getSubject(),
-                        (Resource) statement.getObject());
-            }
-        }
-    }
-
-    private void createReverseMapAllResources(
-            Collection<Statement> statements) {
-        reverseResourceMap.clear();
-        for (Statement statement : statements) {
-            if (statement.getObject() instanceof Resource) {
-                addReverseResource(statement.getSubject(),
-                        (Resource) statement.getObject());
-            }
-        }
-    }
-
-    private void addReverseResource(Resource subject, Resource object) {
-        List<Resource> values = reverseResourceMap.get(object);
-        if (values == null) {
-            values = new ArrayList<>();
-            reverseResourceMap.put(object, values);
-        }
-        values.add(subject);
-    }
-
-    private void createChunk(Resource resource) throws LpException {
-        List<Statement> output = new ArrayList<>();
-        Stack<Resource> resourcesToAdd = new Stack();
-        Set<Resource> alreadyAdded = new HashSet<>();
-        resourcesToAdd.push(resource);
-        List<Resource> addedResources = new ArrayList<>();
-        // Add sub-tree.
-        while (!resourcesToAdd.isEmpty()) {
-            Resource resourceToAdd = resourcesToAdd.pop();
-            addedResources.add(resourceToAdd);
-            alreadyAdded.add(resourceToAdd);
-            List<Statement> statements = statementsForResource(resourceToAdd);
-            output.addAll(statements);
-            // Add new referenced resources.
-            statements.stream()
-                    .map(s -> s.getObject())
-                    .filter(r -> r instanceof Resource)
-                    .filter(r -> !alreadyAdded.contains(r))
-                    .forEach(r -> resourcesToAdd.push((Resource) r));
+        if (failure != null) {
+            throw failure;
         }
-        // Add reverse tree.
-        output.addAll(getStatementsForReverseResources(
-                resource, addedResources));
-        outputRdf.submit(output);
-    }
-
-    private List<Statement> statementsForResource(Resource resource) {
-        return entities.getOrDefault(resource, Collections.EMPTY_LIST);
+        LOG.info("Chunk has been split to {} new chunks", roots.length);
     }
 
-    private List<Statement> getStatementsForReverseResources(Resource resource,
-            List<Resource> addedResources) {
-        if (configuration.getIncomingLevelDepth() == 0) {
-            return Collections.EMPTY_LIST;
-        }
-        Set<Resource> resourcesInReverseTree = new HashSet<>();
-        collectReverseResources(resource, resourcesInReverseTree,
-                configuration.getIncomingLevelDepth());
-        resourcesInReverseTree.remove(resource);
-        List<Statement> statements = new ArrayList<>();
-        for (Resource item : resourcesInReverseTree) {
-            if (addedResources.contains(item)) {
-                // Already added.
-                continue;
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        while (true) {
+            try {
+                if (executor.awaitTermination(
+                        TERMINATION_CHECK, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                // Ignore.
             }
-            statements.addAll(statementsForResource(item));
-        }
-        return statements;
-    }
-
-    private void collectReverseResources(Resource resource,
-            Set<Resource> collector, int levelsToAdd) {
-        if (levelsToAdd < 0) {
-            return;
-        }
-        if (collector.contains(resource)) {
-            return;
-        }
-        collector.add(resource);
-        if (!reverseResourceMap.containsKey(resource)) {
-            return;
-        }
-        for (Resource item : reverseResourceMap.get(resource)) {
-            collectReverseResources(item, collector, levelsToAdd - 1);
         }
     }
 
@@ -11,6 +11,9 @@ public class ChunkSplitterConfiguration {
     @RdfToPojo.Property(iri = ChunkSplitterVocabulary.HAS_INCOMING_LEVEL_DEPTH)
     private int incomingLevelDepth = 0;
 
+    @RdfToPojo.Property(iri = ChunkSplitterVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public ChunkSplitterConfiguration() {
     }
 
@@ -30,4 +33,12 @@ public class ChunkSplitterConfiguration {
         this.incomingLevelDepth = incomingLevelDepth;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
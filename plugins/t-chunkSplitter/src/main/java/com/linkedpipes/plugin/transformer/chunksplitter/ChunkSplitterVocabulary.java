@@ -12,4 +12,6 @@ final class ChunkSplitterVocabulary {
     public static final String HAS_INCOMING_LEVEL_DEPTH =
             PREFIX + "incomingLevelDepth";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
 }
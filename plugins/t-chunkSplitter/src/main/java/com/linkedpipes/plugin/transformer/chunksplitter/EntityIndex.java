@@ -0,0 +1,234 @@
+package com.linkedpipes.plugin.transformer.chunksplitter;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.RDF;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of statements in a chunk. Resources are encoded to integers,
+ * statements are grouped by subject and the links between resources
+ * are stored in compressed sparse row arrays.
+ *
+ * <p>Once created the index is read only and can be used from
+ * multiple threads.
+ */
+class EntityIndex {
+
+    private static final int NO_RESOURCE = -1;
+
+    /**
+     * Statements ordered by subject.
+     */
+    private final Statement[] statements;
+
+    /**
+     * Statements of resource i are in [subjectStart[i], subjectStart[i+1]).
+     */
+    private final int[] subjectStart;
+
+    /**
+     * For every statement the object resource or {@link #NO_RESOURCE}.
+     */
+    private final int[] objects;
+
+    /**
+     * Subjects linking to resource i are stored in reverseSubjects
+     * at [reverseStart[i], reverseStart[i+1]).
+     */
+    private final int[] reverseStart;
+
+    private final int[] reverseSubjects;
+
+    private final int[] roots;
+
+    private EntityIndex(
+            Statement[] statements, int[] subjectStart, int[] objects,
+            int[] reverseStart, int[] reverseSubjects, int[] roots) {
+        this.statements = statements;
+        this.subjectStart = subjectStart;
+        this.objects = objects;
+        this.reverseStart = reverseStart;
+        this.reverseSubjects = reverseSubjects;
+        this.roots = roots;
+    }
+
+    /**
+     * @param type Type of the root resources.
+     * @param reverseDepth If zero no reverse index is created, if one only
+     *                     links to the root resources are indexed.
+     */
+    public static EntityIndex create(
+            Collection<Statement> input, String type, int reverseDepth) {
+        int size = input.size();
+        Statement[] inputStatements = input.toArray(new Statement[0]);
+        int[] inputSubjects = new int[size];
+        int[] inputObjects = new int[size];
+        int resources = encodeResources(
+                inputStatements, inputSubjects, inputObjects);
+        // Group statements by subject.
+        int[] subjectStart = createStart(inputSubjects, resources, null);
+        Statement[] statements = new Statement[size];
+        int[] objects = new int[size];
+        int[] position = Arrays.copyOf(subjectStart, resources);
+        for (int index = 0; index < size; ++index) {
+            int target = position[inputSubjects[index]]++;
+            statements[target] = inputStatements[index];
+            objects[target] = inputObjects[index];
+        }
+        int[] roots = collectRoots(statements, subjectStart, type);
+        // Reverse index.
+        BitSet reverseFilter = null;
+        if (reverseDepth == 1) {
+            reverseFilter = new BitSet(resources);
+            for (int root : roots) {
+                reverseFilter.set(root);
+            }
+        }
+        int[] reverseStart;
+        int[] reverseSubjects;
+        if (reverseDepth > 0) {
+            reverseStart = createStart(inputObjects, resources, reverseFilter);
+            reverseSubjects = new int[reverseStart[resources]];
+            position = Arrays.copyOf(reverseStart, resources);
+            for (int index = 0; index < size; ++index) {
+                int object = inputObjects[index];
+                if (isIndexed(object, reverseFilter)) {
+                    reverseSubjects[position[object]++] =
+                            inputSubjects[index];
+                }
+            }
+        } else {
+            reverseStart = new int[resources + 1];
+            reverseSubjects = new int[0];
+        }
+        return new EntityIndex(statements, subjectStart, objects,
+                reverseStart, reverseSubjects, roots);
+    }
+
+    /**
+     * Assign a number to every resource, the dictionary is released
+     * once we have the numbers.
+     *
+     * @return Number of resources.
+     */
+    private static int encodeResources(
+            Statement[] statements, int[] subjects, int[] objects) {
+        Map<Value, Integer> dictionary = new HashMap<>();
+        for (int index = 0; index < statements.length; ++index) {
+            Statement statement = statements[index];
+            subjects[index] = encode(dictionary, statement.getSubject());
+            if (statement.getObject() instanceof Resource) {
+                objects[index] = encode(dictionary, statement.getObject());
+            } else {
+                objects[index] = NO_RESOURCE;
+            }
+        }
+        return dictionary.size();
+    }
+
+    private static int encode(Map<Value, Integer> dictionary, Value value) {
+        Integer result = dictionary.get(value);
+        if (result == null) {
+            result = dictionary.size();
+            dictionary.put(value, result);
+        }
+        return result;
+    }
+
+    private static boolean isIndexed(int resource, BitSet filter) {
+        if (resource == NO_RESOURCE) {
+            return false;
+        }
+        return filter == null || filter.get(resource);
+    }
+
+    /**
+     * Count occurrences of every resource and compute start offsets.
+     */
+    private static int[] createStart(
+            int[] values, int resources, BitSet filter) {
+        int[] result = new int[resources + 1];
+        for (int value : values) {
+            if (isIndexed(value, filter)) {
+                ++result[value + 1];
+            }
+        }
+        for (int index = 0; index < resources; ++index) {
+            result[index + 1] += result[index];
+        }
+        return result;
+    }
+
+    private static int[] collectRoots(
+            Statement[] statements, int[] subjectStart, String type) {
+        int resources = subjectStart.length - 1;
+        BitSet result = new BitSet(resources);
+        for (int resource = 0; resource < resources; ++resource) {
+            for (int index = subjectStart[resource];
+                 index < subjectStart[resource + 1]; ++index) {
+                Statement statement = statements[index];
+                if (!RDF.TYPE.equals(statement.getPredicate().toString())) {
+                    continue;
+                }
+                if (type.equals(statement.getObject().stringValue())) {
+                    result.set(resource);
+                    break;
+                }
+            }
+        }
+        return result.stream().toArray();
+    }
+
+    public int getResourceCount() {
+        return subjectStart.length - 1;
+    }
+
+    public int[] getRoots() {
+        return roots;
+    }
+
+    public void addStatements(int resource, List<Statement> output) {
+        for (int index = subjectStart[resource];
+             index < subjectStart[resource + 1]; ++index) {
+            output.add(statements[index]);
+        }
+    }
+
+    /**
+     * Visit object resources of given resource.
+     */
+    public void forEachObject(int resource, ResourceConsumer consumer) {
+        for (int index = subjectStart[resource];
+             index < subjectStart[resource + 1]; ++index) {
+            if (objects[index] != NO_RESOURCE) {
+                consumer.accept(objects[index]);
+            }
+        }
+    }
+
+    /**
+     * Visit resources that link to given resource.
+     */
+    public void forEachReverse(int resource, ResourceConsumer consumer) {
+        for (int index = reverseStart[resource];
+             index < reverseStart[resource + 1]; ++index) {
+            consumer.accept(reverseSubjects[index]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ResourceConsumer {
+
+        void accept(int resource);
+
+    }
+
+}
@@ -15,6 +15,10 @@ define([], function () {
         "incomingLevelDepth": {
             "$type": "int",
             "$label": "Reverse resource depth"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
         }
     };
 
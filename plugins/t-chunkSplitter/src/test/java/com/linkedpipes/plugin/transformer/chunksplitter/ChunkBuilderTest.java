@@ -0,0 +1,128 @@
+package com.linkedpipes.plugin.transformer.chunksplitter;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.RDF;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ChunkBuilderTest {
+
+    private static final String TYPE = "http://localhost/Root";
+
+    private final ValueFactory valueFactory =
+            SimpleValueFactory.getInstance();
+
+    private final Statement rootType = statement("root", RDF.TYPE,
+            valueFactory.createIRI(TYPE));
+
+    private final Statement otherType = statement("other", RDF.TYPE,
+            valueFactory.createIRI(TYPE));
+
+    private final Statement rootName = statement("root", "name",
+            valueFactory.createLiteral("Root"));
+
+    private final Statement rootChild = statement("root", "child",
+            iri("child"));
+
+    private final Statement childLoop = statement("child", "parent",
+            iri("root"));
+
+    private final Statement childName = statement("child", "name",
+            valueFactory.createLiteral("Child"));
+
+    private final Statement reference = statement("reference", "link",
+            iri("root"));
+
+    private final Statement reference2 = statement("reference2", "link",
+            iri("reference"));
+
+    private final List<Statement> statements = Arrays.asList(
+            rootType, otherType, rootName, rootChild, childLoop, childName,
+            reference, reference2);
+
+    @Test
+    public void collectRoots() {
+        EntityIndex index = EntityIndex.create(statements, TYPE, 0);
+        Assert.assertEquals(2, index.getRoots().length);
+    }
+
+    @Test
+    public void subTreeOnly() {
+        EntityIndex index = EntityIndex.create(statements, TYPE, 0);
+        ChunkBuilder builder = new ChunkBuilder(index, 0);
+        Assert.assertEquals(
+                asSet(rootType, rootName, rootChild, childLoop, childName),
+                createForRoot(index, builder, "root"));
+        // The builder can be reused.
+        Assert.assertEquals(
+                asSet(otherType),
+                createForRoot(index, builder, "other"));
+    }
+
+    @Test
+    public void reverseOneLevel() {
+        EntityIndex index = EntityIndex.create(statements, TYPE, 1);
+        ChunkBuilder builder = new ChunkBuilder(index, 1);
+        Assert.assertEquals(
+                asSet(rootType, rootName, rootChild, childLoop, childName,
+                        reference),
+                createForRoot(index, builder, "root"));
+    }
+
+    @Test
+    public void reverseTwoLevels() {
+        EntityIndex index = EntityIndex.create(statements, TYPE, 2);
+        ChunkBuilder builder = new ChunkBuilder(index, 2);
+        List<Statement> actual = builder.create(findRoot(index, "root"));
+        // No statement is added twice.
+        Assert.assertEquals(7, actual.size());
+        Assert.assertEquals(
+                asSet(rootType, rootName, rootChild, childLoop, childName,
+                        reference, reference2),
+                new HashSet<>(actual));
+    }
+
+    private Set<Statement> createForRoot(
+            EntityIndex index, ChunkBuilder builder, String name) {
+        return new HashSet<>(builder.create(findRoot(index, name)));
+    }
+
+    private int findRoot(EntityIndex index, String name) {
+        Value expected = iri(name);
+        for (int root : index.getRoots()) {
+            List<Statement> output = new ArrayList<>();
+            index.addStatements(root, output);
+            if (output.get(0).getSubject().equals(expected)) {
+                return root;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private Set<Statement> asSet(Statement... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    private Statement statement(String subject, String predicate,
+            Value object) {
+        String predicateIri = predicate.startsWith("http://")
+                ? predicate : "http://localhost/" + predicate;
+        return valueFactory.createStatement(iri(subject),
+                valueFactory.createIRI(predicateIri), object);
+    }
+
+    private IRI iri(String name) {
+        return valueFactory.createIRI("http://localhost/" + name);
+    }
+
+}
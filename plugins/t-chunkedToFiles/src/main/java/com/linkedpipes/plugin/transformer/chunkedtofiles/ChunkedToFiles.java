@@ -1,6 +1,7 @@
 package com.linkedpipes.plugin.transformer.chunkedtofiles;
 
 import com.linkedpipes.etl.dataunit.core.files.WritableFilesDataUnit;
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.executor.api.v1.LpException;
@@ -9,6 +10,7 @@ import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFParser;
@@ -26,6 +28,7 @@ import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ChunkedToFiles implements Component, SequentialExecution {
 
@@ -50,7 +53,7 @@ public class ChunkedToFiles implements Component, SequentialExecution {
     @Component.Inject
     public ExceptionFactory exceptionFactory;
 
-    private Integer outputCounter = 0;
+    private final AtomicInteger outputCounter = new AtomicInteger();
 
     private RDFFormat outputFormat;
 
@@ -96,15 +99,12 @@ public class ChunkedToFiles implements Component, SequentialExecution {
     }
 
     private void convertChunks() throws LpException {
-        progressReport.start(inputChunked.size());
-        for (ChunkedTriples.Chunk chunk : inputChunked) {
-            convert(chunk);
-            progressReport.entryProcessed();
-        }
-        progressReport.done();
+        new ChunkMapper(configuration.getThreads())
+                .setProgressReport(progressReport)
+                .map(inputChunked, this::convert, null);
     }
 
-    private void convert(ChunkedTriples.Chunk chunk) throws LpException {
+    private Void convert(ChunkedTriples.Chunk chunk) throws LpException {
         File outputFile = createOutputFile();
         try (FileOutputStream outStream = new FileOutputStream(outputFile);
              OutputStreamWriter outWriter = new OutputStreamWriter(
@@ -113,6 +113,7 @@ public class ChunkedToFiles implements Component, SequentialExecution {
         } catch (IOException | RuntimeException ex) {
             throw exceptionFactory.failure("Can't write data.", ex);
         }
+        return null;
     }
 
     private void writeChunk(ChunkedTriples.Chunk chunk,
@@ -120,7 +121,12 @@ public class ChunkedToFiles implements Component, SequentialExecution {
         RDFWriter rdfWriter = createWriter(streamWriter);
         rdfWriter.startRDF();
         addNamespaces(rdfWriter);
-        chunk.toCollection().forEach((st) -> rdfWriter.handleStatement(st));
+        chunk.handle(new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(Statement statement) {
+                rdfWriter.handleStatement(statement);
+            }
+        });
         rdfWriter.endRDF();
     }
 
@@ -149,7 +155,7 @@ public class ChunkedToFiles implements Component, SequentialExecution {
     }
 
     private File createOutputFile() throws LpException {
-        String fileName = ++outputCounter + "." +
+        String fileName = outputCounter.incrementAndGet() + "." +
                 outputFormat.getDefaultFileExtension();
         return outputFiles.createFile(fileName);
     }
@@ -14,6 +14,9 @@ public class ChunkedToFilesConfiguration {
     @RdfToPojo.Property(iri = ChunkedToFilesVocabulary.HAS_PREFIX_TTL)
     private String prefixTurtle = "";
 
+    @RdfToPojo.Property(iri = ChunkedToFilesVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public ChunkedToFilesConfiguration() {
     }
 
@@ -41,4 +44,12 @@ public class ChunkedToFilesConfiguration {
         this.prefixTurtle = prefixTurtle;
     }
 
-}
\ No newline at end of file
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+}
@@ -13,6 +13,8 @@ public class ChunkedToFilesVocabulary {
 
     public static final String HAS_PREFIX_TTL  = PREFIX + "prefixTurtle";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
     private ChunkedToFilesVocabulary() {
     }
 
@@ -19,6 +19,10 @@ define([], function () {
         "prefixTurtle": {
             "$type": "str",
             "$label": "Turtle with prefixes"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
         }
     };
 
@@ -1,13 +1,22 @@
 package com.linkedpipes.plugin.transformer.chunkedToTurtle;
 
 import com.linkedpipes.etl.dataunit.core.files.WritableFilesDataUnit;
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkFormat;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
+import com.linkedpipes.etl.dataunit.core.rdf.DefaultChunk;
 import com.linkedpipes.etl.executor.api.v1.LpException;
 import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 
 public class ChunkedToTurtle implements Component, SequentialExecution {
@@ -22,14 +31,39 @@ public class ChunkedToTurtle implements Component, SequentialExecution {
     public void execute() throws LpException {
         for (File directory : inputChunked.getSourceDirectories()) {
             for (File file : directory.listFiles()) {
-                final File destination = outputFiles.createFile(file.getName());
-                try {
-                    Files.copy(file.toPath(), destination.toPath());
-                } catch (IOException ex) {
-                    throw new LpException("Can't copy data file.");
+                if (ChunkFormat.detect(file) == ChunkFormat.TURTLE) {
+                    copyFile(file);
+                } else {
+                    convertFile(file);
                 }
             }
         }
     }
 
+    private void copyFile(File file) throws LpException {
+        final File destination = outputFiles.createFile(file.getName());
+        try {
+            Files.copy(file.toPath(), destination.toPath());
+        } catch (IOException ex) {
+            throw new LpException("Can't copy data file.");
+        }
+    }
+
+    private void convertFile(File file) throws LpException {
+        String name = file.getName();
+        int extensionIndex = name.lastIndexOf('.');
+        if (extensionIndex > 0) {
+            name = name.substring(0, extensionIndex);
+        }
+        final File destination = outputFiles.createFile(name + ".ttl");
+        try (OutputStream stream = new FileOutputStream(destination);
+             Writer writer = new OutputStreamWriter(
+                     stream, StandardCharsets.UTF_8)) {
+            new DefaultChunk(file).handle(
+                    Rio.createWriter(RDFFormat.TURTLE, writer));
+        } catch (IOException ex) {
+            throw new LpException("Can't write data file.", ex);
+        }
+    }
+
 }
@@ -100,8 +100,15 @@ class CellConverter {
     }
 
     private String convertToDate(Cell cell, double value) {
+        return formatDate(cell.getNumericCellValue());
+    }
+
+    /**
+     * Format Excel date value as yyyy-mm-dd.
+     */
+    public static String formatDate(double value) {
         Calendar cal = new GregorianCalendar();
-        cal.setTime(HSSFDateUtil.getJavaDate(cell.getNumericCellValue()));
+        cal.setTime(HSSFDateUtil.getJavaDate(value));
         final StringBuilder dateStr = new StringBuilder(10);
         dateStr.append(cal.get(Calendar.YEAR));
         dateStr.append("-");
@@ -8,6 +8,8 @@ import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
 
+import java.io.IOException;
+
 public class ExcelToCsv implements Component, SequentialExecution {
 
     @Component.ContainsConfiguration
@@ -43,8 +45,27 @@ public class ExcelToCsv implements Component, SequentialExecution {
     private void parseFiles() throws LpException {
         WorkbookConverter parser = new WorkbookConverter(
                 configuration, exceptionFactory, outputFiles);
+        XlsxWorkbookConverter streamingParser = new XlsxWorkbookConverter(
+                configuration, exceptionFactory, outputFiles);
         for (FilesDataUnit.Entry entry : inputFiles) {
-            parser.processEntry(entry);
+            if (useStreaming(entry)) {
+                streamingParser.processEntry(entry);
+            } else {
+                parser.processEntry(entry);
+            }
+        }
+    }
+
+    private boolean useStreaming(FilesDataUnit.Entry entry)
+            throws LpException {
+        if (!configuration.isStreaming()) {
+            return false;
+        }
+        try {
+            return XlsxWorkbookConverter.isSupported(entry.toFile());
+        } catch (IOException ex) {
+            throw exceptionFactory.failure("Can't read file: {}",
+                    entry.getFileName(), ex);
         }
     }
 
@@ -132,6 +132,19 @@ public class ExcelToCsvConfiguration {
     @RdfToPojo.Property(iri = ExcelToCsvVocabulary.HAS_EVAL_FORMULA)
     private boolean evaluateFormulas = false;
 
+    /**
+     * If true .xlsx files are read row by row, formulas are not evaluated,
+     * instead values stored in the file are used.
+     */
+    @RdfToPojo.Property(iri = ExcelToCsvVocabulary.HAS_STREAMING)
+    private boolean streaming = false;
+
+    /**
+     * Number of sheets converted in parallel in streaming mode.
+     */
+    @RdfToPojo.Property(iri = ExcelToCsvVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public ExcelToCsvConfiguration() {
     }
 
@@ -230,4 +243,20 @@ public class ExcelToCsvConfiguration {
     public void setEvaluateFormulas(boolean evaluateFormulas) {
         this.evaluateFormulas = evaluateFormulas;
     }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
 }
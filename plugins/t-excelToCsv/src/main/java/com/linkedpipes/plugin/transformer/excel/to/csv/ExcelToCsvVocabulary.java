@@ -42,6 +42,10 @@ final class ExcelToCsvVocabulary {
 
     public static final String HAS_EVAL_FORMULA = PREFIX + "evalFormula";
 
+    public static final String HAS_STREAMING = PREFIX + "streaming";
+
+    public static final String HAS_THREADS = PREFIX + "threads";
+
     private ExcelToCsvVocabulary() {
     }
 
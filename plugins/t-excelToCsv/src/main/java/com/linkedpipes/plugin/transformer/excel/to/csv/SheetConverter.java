@@ -181,6 +181,13 @@ class SheetConverter {
     }
 
     private void writeRow(List<String> values) {
+        writeRow(outputStream, values);
+    }
+
+    /**
+     * Write row as a CSV line, all values are quoted.
+     */
+    public static void writeRow(PrintStream outputStream, List<String> values) {
         boolean first = true;
         for (String item : values) {
             if (!first) {
@@ -194,7 +201,7 @@ class SheetConverter {
         outputStream.print("\n");
     }
 
-    private String sanitizeValue(String value) {
+    private static String sanitizeValue(String value) {
         if (value == null) {
             return "";
         } else {
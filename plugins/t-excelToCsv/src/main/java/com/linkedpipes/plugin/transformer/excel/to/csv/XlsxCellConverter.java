@@ -0,0 +1,146 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+/**
+ * Convert cells read from the sheet XML into strings, the output is the
+ * same as of {@link CellConverter} except for formulas. Formulas can not
+ * be evaluated so the values stored in the file are used.
+ *
+ * <p>Can be shared by multiple threads.
+ */
+class XlsxCellConverter {
+
+    private static final String TYPE_SHARED_STRING = "s";
+
+    private static final String TYPE_INLINE_STRING = "inlineStr";
+
+    private static final String TYPE_FORMULA_STRING = "str";
+
+    private static final String TYPE_BOOLEAN = "b";
+
+    private static final String TYPE_ERROR = "e";
+
+    private static final String TYPE_DATE = "d";
+
+    private final ExcelToCsvConfiguration configuration;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    /**
+     * For each style true if the style use date format.
+     */
+    private final boolean[] dateStyles;
+
+    public XlsxCellConverter(
+            ExcelToCsvConfiguration configuration,
+            ReadOnlySharedStringsTable sharedStrings,
+            StylesTable styles) {
+        this.configuration = configuration;
+        this.sharedStrings = sharedStrings;
+        this.dateStyles = collectDateStyles(styles);
+    }
+
+    private static boolean[] collectDateStyles(StylesTable styles) {
+        if (styles == null) {
+            return new boolean[0];
+        }
+        boolean[] result = new boolean[styles.getNumCellStyles()];
+        for (int index = 0; index < result.length; ++index) {
+            XSSFCellStyle style = styles.getStyleAt(index);
+            result[index] = DateUtil.isADateFormat(
+                    style.getDataFormat(), style.getDataFormatString());
+        }
+        return result;
+    }
+
+    public String getCellValue(XlsxSheetReader.Cell cell)
+            throws IllegalArgumentException {
+        if (cell == null) {
+            return "";
+        }
+        if (cell.isFormula()) {
+            return convertFormulaCell(cell);
+        }
+        String type = cell.getType();
+        String value = cell.getValue();
+        if (TYPE_ERROR.equals(type)) {
+            throw new IllegalArgumentException("Wrong cell type: error"
+                    + " on row: " + Integer.toString(cell.getRow())
+                    + " column: " + Integer.toString(cell.getColumn()));
+        }
+        if (value == null) {
+            return "";
+        }
+        if (TYPE_SHARED_STRING.equals(type)) {
+            return sharedStrings.getEntryAt(Integer.parseInt(value));
+        } else if (TYPE_INLINE_STRING.equals(type)
+                || TYPE_FORMULA_STRING.equals(type)
+                || TYPE_DATE.equals(type)) {
+            return value;
+        } else if (TYPE_BOOLEAN.equals(type)) {
+            return convertBooleanCell(value);
+        } else {
+            return convertNumericCell(cell, value);
+        }
+    }
+
+    private String convertFormulaCell(XlsxSheetReader.Cell cell) {
+        if (!configuration.isEvaluateFormulas()) {
+            throw new IllegalArgumentException(
+                    "Evaluation of cells with formulas are not enabled, "
+                            + "  row: " + Integer.toString(cell.getRow())
+                            + " column: " +
+                            Integer.toString(cell.getColumn()));
+        }
+        String type = cell.getType();
+        String value = cell.getValue();
+        if (value == null) {
+            throw new IllegalArgumentException(
+                    "Missing stored value of formula"
+                            + " on row: " + Integer.toString(cell.getRow())
+                            + " column: " +
+                            Integer.toString(cell.getColumn()));
+        }
+        if (TYPE_FORMULA_STRING.equals(type)) {
+            return value;
+        } else if (TYPE_BOOLEAN.equals(type)) {
+            return convertBooleanCell(value);
+        } else if (TYPE_ERROR.equals(type)) {
+            throw new IllegalArgumentException(
+                    "Unsupported value type for formula: error"
+                            + " on row: " + Integer.toString(cell.getRow())
+                            + " column: " +
+                            Integer.toString(cell.getColumn()));
+        } else {
+            return convertNumericCell(cell, value);
+        }
+    }
+
+    private String convertBooleanCell(String value) {
+        if ("1".equals(value)) {
+            return "true";
+        } else {
+            return "false";
+        }
+    }
+
+    private String convertNumericCell(
+            XlsxSheetReader.Cell cell, String value) {
+        double number = Double.parseDouble(value);
+        if (configuration.isNumericParse() && isDateStyle(cell.getStyle())
+                && DateUtil.isValidExcelDate(number)) {
+            return CellConverter.formatDate(number);
+        }
+        return NumberToTextConverter.toText(number);
+    }
+
+    private boolean isDateStyle(int style) {
+        return style >= 0 && style < dateStyles.length && dateStyles[style];
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming version of {@link SheetConverter} for .xlsx files, rows are
+ * read and written one by one. The output is the same as of
+ * {@link SheetConverter} for the same configuration.
+ *
+ * <p>The sheet is read twice if there are virtual columns with cell values.
+ */
+class XlsxSheetConverter {
+
+    /**
+     * Provide content of a sheet XML part, can be called repeatedly.
+     */
+    @FunctionalInterface
+    public interface SheetSource {
+
+        InputStream open() throws IOException;
+
+    }
+
+    private final ExcelToCsvConfiguration configuration;
+
+    private final XlsxCellConverter cellConverter;
+
+    private PrintStream outputStream;
+
+    private List<String> virtualColumns;
+
+    private List<String> virtualNames;
+
+    private int firstRowNum;
+
+    private int columnsStart;
+
+    /**
+     * Number of columns to read, -1 if not yet known.
+     */
+    private int columnsCount;
+
+    /**
+     * Rows read before the number of columns is known.
+     */
+    private List<List<XlsxSheetReader.Cell>> pendingRows;
+
+    private boolean firstRow;
+
+    public XlsxSheetConverter(
+            ExcelToCsvConfiguration configuration,
+            XlsxCellConverter cellConverter) {
+        this.configuration = configuration;
+        this.cellConverter = cellConverter;
+    }
+
+    public void convert(String sheetName, SheetSource source,
+            PrintStream output) throws IOException {
+        this.outputStream = output;
+        initializeVirtualColumns(sheetName, source);
+        firstRowNum = -1;
+        columnsStart = configuration.getColumnsStart();
+        if (configuration.getColumnsEnd() == -1) {
+            // Determined by the first row.
+            columnsCount = -1;
+        } else {
+            // +1 to also read the last indexed column
+            columnsCount = configuration.getColumnsEnd() - columnsStart + 1;
+        }
+        pendingRows = new ArrayList<>();
+        firstRow = true;
+        try (InputStream stream = source.open()) {
+            XlsxSheetReader.read(stream, this::onRow);
+        }
+        if (columnsCount == -1 && !pendingRows.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Missing row used to determine number of columns: "
+                            + (configuration.getRowsStart() + firstRowNum));
+        }
+    }
+
+    private void initializeVirtualColumns(
+            String sheetName, SheetSource source) throws IOException {
+        int virtualColumnsSize = configuration.getVirtualColumns().size();
+        virtualColumns = new ArrayList<>(virtualColumnsSize);
+        virtualNames = new ArrayList<>(virtualColumnsSize);
+        addStaticReferences(source);
+        if (configuration.isIncludeSheetName()) {
+            virtualColumns.add(sheetName);
+            virtualNames.add("sheet_name");
+        }
+    }
+
+    private void addStaticReferences(SheetSource source) throws IOException {
+        if (configuration.getVirtualColumns().isEmpty()) {
+            return;
+        }
+        // Collect referenced cells, row -> column -> cell.
+        Map<Integer, Map<Integer, XlsxSheetReader.Cell>> cells =
+                new HashMap<>();
+        int lastRow = -1;
+        for (ExcelToCsvConfiguration.VirtualColumn column
+                : configuration.getVirtualColumns()) {
+            cells.computeIfAbsent(column.getRow() - 1, (key) -> new HashMap<>())
+                    .put(column.getColumn() - 1, null);
+            lastRow = Math.max(lastRow, column.getRow() - 1);
+        }
+        final int lastRowToRead = lastRow;
+        try (InputStream stream = source.open()) {
+            XlsxSheetReader.read(stream, (row) -> {
+                Map<Integer, XlsxSheetReader.Cell> rowCells =
+                        cells.get(row.getIndex());
+                if (rowCells != null) {
+                    for (XlsxSheetReader.Cell cell : row.getCells()) {
+                        if (rowCells.containsKey(cell.getColumn())) {
+                            rowCells.put(cell.getColumn(), cell.copy());
+                        }
+                    }
+                }
+                return row.getIndex() < lastRowToRead;
+            });
+        }
+        for (ExcelToCsvConfiguration.VirtualColumn column
+                : configuration.getVirtualColumns()) {
+            XlsxSheetReader.Cell cell = cells.get(column.getRow() - 1)
+                    .get(column.getColumn() - 1);
+            virtualColumns.add(cellConverter.getCellValue(cell));
+            virtualNames.add(column.getName());
+        }
+    }
+
+    private boolean onRow(XlsxSheetReader.Row row) {
+        if (firstRowNum == -1) {
+            firstRowNum = row.getIndex();
+        }
+        if (columnsCount == -1 && row.getIndex()
+                == configuration.getRowsStart() + firstRowNum) {
+            columnsCount = row.getLastCellNum() - columnsStart;
+            for (List<XlsxSheetReader.Cell> cells : pendingRows) {
+                convertRow(cells);
+            }
+            pendingRows.clear();
+        }
+        int rowsEnd = configuration.getRowsEnd();
+        boolean afterEnd = rowsEnd != -1 && row.getIndex() > rowsEnd;
+        if (row.getIndex() >= configuration.getRowsStart() && !afterEnd) {
+            if (columnsCount == -1) {
+                pendingRows.add(copyCells(row.getCells()));
+            } else {
+                convertRow(row.getCells());
+            }
+        }
+        // Continue until we know the number of columns.
+        return !afterEnd || columnsCount == -1;
+    }
+
+    private List<XlsxSheetReader.Cell> copyCells(
+            List<XlsxSheetReader.Cell> cells) {
+        List<XlsxSheetReader.Cell> result = new ArrayList<>(cells.size());
+        for (XlsxSheetReader.Cell cell : cells) {
+            result.add(cell.copy());
+        }
+        return result;
+    }
+
+    private void convertRow(List<XlsxSheetReader.Cell> cells) {
+        List<String> values = rowToValues(cells);
+        if (containsEmptyValues(values)) {
+            return;
+        }
+        if (firstRow && configuration.isHeaderPresented()) {
+            firstRow = false;
+            values.addAll(virtualNames);
+        } else {
+            values.addAll(virtualColumns);
+        }
+        SheetConverter.writeRow(outputStream, values);
+    }
+
+    private List<String> rowToValues(List<XlsxSheetReader.Cell> cells) {
+        int count = Math.max(0, columnsCount);
+        List<String> values = new ArrayList<>(count + virtualColumns.size());
+        for (int i = 0; i < count; i++) {
+            values.add("");
+        }
+        for (XlsxSheetReader.Cell cell : cells) {
+            int index = cell.getColumn() - columnsStart;
+            if (index < 0) {
+                continue;
+            }
+            if (index >= count) {
+                break;
+            }
+            values.set(index, cellConverter.getCellValue(cell));
+        }
+        return values;
+    }
+
+    private boolean containsEmptyValues(List<String> values) {
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
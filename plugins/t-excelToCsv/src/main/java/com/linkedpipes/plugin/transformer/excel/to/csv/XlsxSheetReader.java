@@ -0,0 +1,339 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read rows of a sheet from the sheet XML part of .xlsx file one
+ * by one. Only raw cell content is read, see {@link XlsxCellConverter}.
+ */
+class XlsxSheetReader {
+
+    /**
+     * Raw cell content, instances are reused between rows.
+     */
+    public static class Cell {
+
+        /**
+         * Zero based row index.
+         */
+        private int row;
+
+        /**
+         * Zero based column index.
+         */
+        private int column;
+
+        private String type;
+
+        private int style;
+
+        private boolean formula;
+
+        private String value;
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getStyle() {
+            return style;
+        }
+
+        public boolean isFormula() {
+            return formula;
+        }
+
+        /**
+         * @return Null if the cell has no value.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        public Cell copy() {
+            Cell result = new Cell();
+            result.row = row;
+            result.column = column;
+            result.type = type;
+            result.style = style;
+            result.formula = formula;
+            result.value = value;
+            return result;
+        }
+
+    }
+
+    /**
+     * Row with cells, instance is reused.
+     */
+    public static class Row {
+
+        private final List<Cell> cells = new ArrayList<>();
+
+        private int index;
+
+        private int size;
+
+        /**
+         * Zero based row index.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return Cells in the row ordered by column.
+         */
+        public List<Cell> getCells() {
+            return cells.subList(0, size);
+        }
+
+        /**
+         * Same as {@link org.apache.poi.ss.usermodel.Row#getLastCellNum()}.
+         */
+        public int getLastCellNum() {
+            if (size == 0) {
+                return -1;
+            }
+            return cells.get(size - 1).column + 1;
+        }
+
+        private Cell addCell() {
+            if (size == cells.size()) {
+                cells.add(new Cell());
+            }
+            return cells.get(size++);
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * @return False to stop reading.
+         */
+        boolean onRow(Row row);
+
+    }
+
+    /**
+     * Used to stop the parser.
+     */
+    private static class StopReading extends SAXException {
+
+        StopReading() {
+            super("Reading stopped.");
+        }
+
+    }
+
+    private static class SheetHandler extends DefaultHandler {
+
+        private static final int LETTERS = 26;
+
+        private final RowHandler rowHandler;
+
+        private final Row row = new Row();
+
+        private final StringBuilder text = new StringBuilder();
+
+        private Cell cell = null;
+
+        private boolean collectText = false;
+
+        private boolean inlineString = false;
+
+        private boolean phonetic = false;
+
+        private int nextRow = 0;
+
+        private int nextColumn = 0;
+
+        SheetHandler(RowHandler rowHandler) {
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(
+                String uri, String localName, String qName,
+                Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    onRowStart(attributes);
+                    break;
+                case "c":
+                    onCellStart(attributes);
+                    break;
+                case "v":
+                    if (cell != null) {
+                        text.setLength(0);
+                        collectText = true;
+                    }
+                    break;
+                case "f":
+                    if (cell != null) {
+                        cell.formula = true;
+                    }
+                    break;
+                case "is":
+                    if (cell != null) {
+                        text.setLength(0);
+                        inlineString = true;
+                    }
+                    break;
+                case "rPh":
+                    phonetic = true;
+                    break;
+                case "t":
+                    collectText = inlineString && !phonetic;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName)
+                throws SAXException {
+            switch (localName) {
+                case "row":
+                    if (!rowHandler.onRow(row)) {
+                        throw new StopReading();
+                    }
+                    break;
+                case "c":
+                    cell = null;
+                    break;
+                case "v":
+                    if (cell != null && !inlineString) {
+                        cell.value = text.toString();
+                    }
+                    collectText = false;
+                    break;
+                case "is":
+                    if (cell != null) {
+                        cell.value = text.toString();
+                    }
+                    inlineString = false;
+                    break;
+                case "rPh":
+                    phonetic = false;
+                    break;
+                case "t":
+                    collectText = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private void onRowStart(Attributes attributes) {
+            String reference = attributes.getValue("r");
+            if (reference == null) {
+                row.index = nextRow;
+            } else {
+                row.index = Integer.parseInt(reference) - 1;
+            }
+            row.size = 0;
+            nextRow = row.index + 1;
+            nextColumn = 0;
+        }
+
+        private void onCellStart(Attributes attributes) {
+            cell = row.addCell();
+            cell.row = row.index;
+            String reference = attributes.getValue("r");
+            if (reference == null) {
+                cell.column = nextColumn;
+            } else {
+                cell.column = parseColumn(reference);
+            }
+            nextColumn = cell.column + 1;
+            cell.type = attributes.getValue("t");
+            String style = attributes.getValue("s");
+            if (style == null) {
+                cell.style = 0;
+            } else {
+                cell.style = Integer.parseInt(style);
+            }
+            cell.formula = false;
+            cell.value = null;
+        }
+
+        /**
+         * @param reference Cell reference, for example "AB12".
+         */
+        private static int parseColumn(String reference) {
+            int result = 0;
+            for (int index = 0; index < reference.length(); ++index) {
+                char c = reference.charAt(index);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                result = result * LETTERS + (c - 'A' + 1);
+            }
+            return result - 1;
+        }
+
+    }
+
+    private XlsxSheetReader() {
+    }
+
+    /**
+     * Read rows of the sheet, the stream is not closed.
+     */
+    public static void read(InputStream stream, RowHandler handler)
+            throws IOException {
+        XMLReader reader = createReader();
+        reader.setContentHandler(new SheetHandler(handler));
+        try {
+            reader.parse(new InputSource(stream));
+        } catch (StopReading ex) {
+            // Reading was stopped by the handler.
+        } catch (SAXException ex) {
+            throw new IOException("Can't parse sheet.", ex);
+        }
+    }
+
+    private static XMLReader createReader() throws IOException {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            factory.setFeature(
+                    "http://apache.org/xml/features/disallow-doctype-decl",
+                    true);
+            return factory.newSAXParser().getXMLReader();
+        } catch (ParserConfigurationException | SAXException ex) {
+            throw new IOException("Can't create XML parser.", ex);
+        }
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import com.linkedpipes.etl.dataunit.core.files.FilesDataUnit;
+import com.linkedpipes.etl.dataunit.core.files.WritableFilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackagePartName;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Convert .xlsx workbooks without loading them into memory. Sheets are
+ * read row by row using SAX. As formulas are not evaluated the sheets
+ * are independent and can be converted in parallel, in such case every
+ * thread opens the workbook on its own.
+ */
+class XlsxWorkbookConverter {
+
+    private static class SheetTask {
+
+        private final String fileName;
+
+        private final String name;
+
+        private final PackagePartName part;
+
+        private final File output;
+
+        SheetTask(String fileName, String name, PackagePartName part,
+                File output) {
+            this.fileName = fileName;
+            this.name = name;
+            this.part = part;
+            this.output = output;
+        }
+
+    }
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(XlsxWorkbookConverter.class);
+
+    private static final byte[] ZIP_HEADER = {'P', 'K', 3, 4};
+
+    private static final int TERMINATION_CHECK = 5;
+
+    private final ExcelToCsvConfiguration configuration;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final WritableFilesDataUnit outputFiles;
+
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
+    public XlsxWorkbookConverter(
+            ExcelToCsvConfiguration configuration,
+            ExceptionFactory exceptionFactory,
+            WritableFilesDataUnit outputFiles) {
+        this.configuration = configuration;
+        this.exceptionFactory = exceptionFactory;
+        this.outputFiles = outputFiles;
+    }
+
+    /**
+     * @return True if the file is a ZIP archive, i.e. .xlsx and not .xls.
+     */
+    public static boolean isSupported(File file) throws IOException {
+        byte[] header = new byte[ZIP_HEADER.length];
+        try (InputStream stream = new FileInputStream(file)) {
+            int read = stream.read(header);
+            return read == header.length && Arrays.equals(header, ZIP_HEADER);
+        }
+    }
+
+    public void processEntry(FilesDataUnit.Entry entry) throws LpException {
+        File file = entry.toFile();
+        OPCPackage workbook = openWorkbook(file);
+        try {
+            XSSFReader reader = new XSSFReader(workbook);
+            XlsxCellConverter cellConverter = new XlsxCellConverter(
+                    configuration,
+                    new ReadOnlySharedStringsTable(workbook),
+                    reader.getStylesTable());
+            List<SheetTask> tasks = createTasks(reader, entry.getFileName());
+            int threads = Math.min(configuration.getThreads(), tasks.size());
+            if (threads > 1) {
+                convertInParallel(file, tasks, cellConverter, threads);
+            } else {
+                for (SheetTask task : tasks) {
+                    convertSheet(workbook, task, cellConverter);
+                }
+            }
+        } catch (IOException | OpenXML4JException | SAXException ex) {
+            throw exceptionFactory.failure("Can't read workbook file.", ex);
+        } finally {
+            // The workbook is opened only for reading.
+            workbook.revert();
+        }
+    }
+
+    private OPCPackage openWorkbook(File file) throws LpException {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (InvalidFormatException ex) {
+            throw exceptionFactory.failure("Can't open workbook file.", ex);
+        }
+    }
+
+    /**
+     * Output files are created here as the data unit is not thread-safe.
+     */
+    private List<SheetTask> createTasks(XSSFReader reader, String fileName)
+            throws IOException, InvalidFormatException, LpException {
+        List<SheetTask> result = new ArrayList<>();
+        XSSFReader.SheetIterator iterator =
+                (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (iterator.hasNext()) {
+            iterator.next().close();
+            String sheetName = iterator.getSheetName();
+            if (!shouldParseSheet(sheetName)) {
+                continue;
+            }
+            result.add(new SheetTask(fileName, sheetName,
+                    iterator.getSheetPart().getPartName(),
+                    createOutputFile(fileName, sheetName)));
+        }
+        return result;
+    }
+
+    private boolean shouldParseSheet(String sheetName) {
+        if (configuration.getSheetFilter() == null ||
+                configuration.getSheetFilter().isEmpty()) {
+            return true;
+        }
+        return sheetName.matches(configuration.getSheetFilter());
+    }
+
+    private File createOutputFile(String fileName, String sheetName)
+            throws LpException {
+        String outputName = configuration.getFileNamePattern().
+                replace(ExcelToCsvConfiguration.FILE_HOLDER, fileName).
+                replace(ExcelToCsvConfiguration.SHEET_HOLDER, sheetName);
+        return outputFiles.createFile(outputName);
+    }
+
+    private void convertInParallel(
+            File file, List<SheetTask> tasks,
+            XlsxCellConverter cellConverter, int threads)
+            throws LpException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (SheetTask task : tasks) {
+                futures.add(executor.submit(() -> {
+                    if (contextMap != null) {
+                        MDC.setContextMap(contextMap);
+                    }
+                    OPCPackage workbook = openWorkbook(file);
+                    try {
+                        convertSheet(workbook, task, cellConverter);
+                    } finally {
+                        workbook.revert();
+                    }
+                    return null;
+                }));
+            }
+            waitForSheets(futures);
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    private void waitForSheets(List<Future<Void>> futures)
+            throws LpException {
+        Throwable failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            } catch (ExecutionException ex) {
+                // Stop conversion of other sheets.
+                futures.forEach((item) -> item.cancel(false));
+                if (failure == null) {
+                    failure = ex.getCause();
+                }
+            }
+        }
+        if (failure instanceof LpException) {
+            throw (LpException) failure;
+        } else if (failure != null) {
+            throw exceptionFactory.failure("Can't convert sheet.", failure);
+        }
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        while (true) {
+            try {
+                if (executor.awaitTermination(
+                        TERMINATION_CHECK, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                // Ignore.
+            }
+        }
+    }
+
+    private void convertSheet(
+            OPCPackage workbook, SheetTask task,
+            XlsxCellConverter cellConverter) throws LpException {
+        PackagePart part = workbook.getPart(task.part);
+        if (part == null) {
+            throw exceptionFactory.failure(
+                    "Missing sheet: {}", task.name);
+        }
+        LOG.info("Parsing sheet: '{}' in '{}'", task.name, task.fileName);
+        XlsxSheetConverter sheetConverter =
+                new XlsxSheetConverter(configuration, cellConverter);
+        try (PrintStream outputStream = new PrintStream(
+                new FileOutputStream(task.output), false, "UTF-8")) {
+            sheetConverter.convert(
+                    task.name, part::getInputStream, outputStream);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw exceptionFactory.failure(
+                    "Can't convert sheet: {}", task.name, ex);
+        }
+    }
+
+}
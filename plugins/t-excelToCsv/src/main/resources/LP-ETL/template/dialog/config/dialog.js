@@ -59,6 +59,14 @@ define([], function () {
         "evalFormula": {
             "$type": "bool",
             "$label": "Evaluate formulas"
+        },
+        "streaming": {
+            "$type": "bool",
+            "$label": "Read .xlsx files row by row"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads used"
         }
     };
 
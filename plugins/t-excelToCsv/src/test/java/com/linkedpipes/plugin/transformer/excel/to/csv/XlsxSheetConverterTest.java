@@ -0,0 +1,177 @@
+package com.linkedpipes.plugin.transformer.excel.to.csv;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+public class XlsxSheetConverterTest {
+
+    private final ExceptionFactory exceptionFactory =
+            (message, args) -> new LpException(message, args);
+
+    private File file;
+
+    @Before
+    public void before() throws Exception {
+        file = File.createTempFile("lp-test-", ".xlsx");
+        try (Workbook workbook = new XSSFWorkbook()) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper()
+                    .createDataFormat().getFormat("d.m.yyyy"));
+            Sheet sheet = workbook.createSheet("data");
+            // The first row is not at index zero.
+            Row header = sheet.createRow(1);
+            header.createCell(0).setCellValue("id");
+            header.createCell(1).setCellValue("name \"quoted\"");
+            header.createCell(2).setCellValue("value");
+            header.createCell(3).setCellValue("date");
+            header.createCell(4).setCellValue("flag");
+            for (int index = 0; index < 20; ++index) {
+                // Leave some rows empty.
+                if (index % 7 == 3) {
+                    sheet.createRow(index + 2).createCell(1)
+                            .setCellValue("");
+                    continue;
+                }
+                Row row = sheet.createRow(index + 2);
+                row.createCell(0).setCellValue(index);
+                if (index % 5 != 0) {
+                    row.createCell(1).setCellValue("Name " + index);
+                }
+                row.createCell(2).setCellValue(index * 1.25);
+                Cell date = row.createCell(3);
+                date.setCellValue(
+                        new GregorianCalendar(2020, Calendar.MARCH, index));
+                date.setCellStyle(dateStyle);
+                if (index % 2 == 0) {
+                    row.createCell(4).setCellValue(index % 4 == 0);
+                }
+                if (index == 10) {
+                    // Cell outside of the first row.
+                    row.createCell(6).setCellValue("extra");
+                }
+            }
+            sheet.createRow(30).createCell(2).setCellFormula("C3+C4");
+            workbook.getCreationHelper().createFormulaEvaluator()
+                    .evaluateAll();
+            try (OutputStream stream = new FileOutputStream(file)) {
+                workbook.write(stream);
+            }
+        }
+    }
+
+    @After
+    public void after() {
+        file.delete();
+    }
+
+    @Test
+    public void defaultConfiguration() throws Exception {
+        ExcelToCsvConfiguration configuration = new ExcelToCsvConfiguration();
+        configuration.setEvaluateFormulas(true);
+        assertSameOutput(configuration);
+    }
+
+    @Test
+    public void region() throws Exception {
+        ExcelToCsvConfiguration configuration = new ExcelToCsvConfiguration();
+        configuration.setRowsStart(2);
+        configuration.setRowsEnd(15);
+        configuration.setColumnsStart(1);
+        configuration.setColumnsEnd(6);
+        configuration.setHeaderPresented(false);
+        configuration.setNumericParse(false);
+        assertSameOutput(configuration);
+    }
+
+    @Test
+    public void virtualColumns() throws Exception {
+        ExcelToCsvConfiguration configuration = new ExcelToCsvConfiguration();
+        configuration.setRowsStart(1);
+        configuration.setRowsEnd(20);
+        configuration.setIncludeSheetName(true);
+        configuration.getVirtualColumns().add(
+                new ExcelToCsvConfiguration.VirtualColumn(2, 2, "first"));
+        configuration.getVirtualColumns().add(
+                new ExcelToCsvConfiguration.VirtualColumn(13, 7, "extra"));
+        configuration.getVirtualColumns().add(
+                new ExcelToCsvConfiguration.VirtualColumn(100, 1, "missing"));
+        assertSameOutput(configuration);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failOnFormula() throws Exception {
+        ExcelToCsvConfiguration configuration = new ExcelToCsvConfiguration();
+        convertStreaming(configuration);
+    }
+
+    private void assertSameOutput(ExcelToCsvConfiguration configuration)
+            throws Exception {
+        String expected = convert(configuration);
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected, convertStreaming(configuration));
+    }
+
+    private String convert(ExcelToCsvConfiguration configuration)
+            throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (Workbook workbook = WorkbookFactory.create(file);
+                PrintStream stream = new PrintStream(output, false, "UTF-8")) {
+            SheetConverter converter =
+                    new SheetConverter(configuration, exceptionFactory);
+            if (configuration.isEvaluateFormulas()) {
+                converter.setEvaluator(workbook.getCreationHelper()
+                        .createFormulaEvaluator());
+            }
+            converter.convert(workbook.getSheetAt(0), stream);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String convertStreaming(ExcelToCsvConfiguration configuration)
+            throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        OPCPackage workbook = OPCPackage.open(file, PackageAccess.READ);
+        try (PrintStream stream = new PrintStream(output, false, "UTF-8")) {
+            XSSFReader reader = new XSSFReader(workbook);
+            XlsxCellConverter cellConverter = new XlsxCellConverter(
+                    configuration,
+                    new ReadOnlySharedStringsTable(workbook),
+                    reader.getStylesTable());
+            XSSFReader.SheetIterator iterator =
+                    (XSSFReader.SheetIterator) reader.getSheetsData();
+            iterator.next().close();
+            PackagePart part = iterator.getSheetPart();
+            new XlsxSheetConverter(configuration, cellConverter).convert(
+                    iterator.getSheetName(), part::getInputStream, stream);
+        } finally {
+            workbook.revert();
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -6,23 +6,49 @@ import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 class BlankNodePrefixUpdater implements RDFHandler {
 
+    /**
+     * Files can be parsed at the same time, so time alone is not unique.
+     */
+    private static final AtomicLong COUNTER = new AtomicLong();
+
     private final RDFHandler handler;
 
     private ValueFactory valueFactory = SimpleValueFactory.getInstance();
 
+    private final boolean fixedPrefix;
+
     private String prefix;
 
     public BlankNodePrefixUpdater(RDFHandler writer) {
         this.handler = writer;
+        this.fixedPrefix = false;
+    }
+
+    /**
+     * Use the same prefix for all documents, used when a single file
+     * is parsed by parts.
+     */
+    public BlankNodePrefixUpdater(RDFHandler writer, String prefix) {
+        this.handler = writer;
+        this.fixedPrefix = true;
+        this.prefix = prefix;
     }
 
     @Override
     public void startRDF() throws RDFHandlerException {
         handler.startRDF();
-        prefix = Long.toString((new Date()).getTime()) + "_";
+        if (!fixedPrefix) {
+            prefix = createPrefix();
+        }
+    }
+
+    public static String createPrefix() {
+        return Long.toString((new Date()).getTime()) + "_"
+                + COUNTER.incrementAndGet() + "_";
     }
 
     @Override
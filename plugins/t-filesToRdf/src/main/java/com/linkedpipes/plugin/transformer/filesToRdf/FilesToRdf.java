@@ -8,19 +8,34 @@ import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.rio.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public final class FilesToRdf implements Component, SequentialExecution {
 
     private static final Logger LOG = LoggerFactory.getLogger(FilesToRdf.class);
 
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private static final int TERMINATION_CHECK = 5;
+
     @Component.ContainsConfiguration
     @Component.InputPort(iri = "Configuration")
     public SingleGraphDataUnit configurationRdf;
@@ -44,6 +59,8 @@ public final class FilesToRdf implements Component, SequentialExecution {
 
     private BufferedWriter inserter;
 
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
     @Override
     public void execute() throws LpException {
         prepareDefaultFormat();
@@ -89,6 +106,11 @@ public final class FilesToRdf implements Component, SequentialExecution {
     }
 
     private void loadEntry(FilesDataUnit.Entry entry) throws LpException {
+        List<LineRangeParser.Range> ranges = splitEntry(entry);
+        if (!ranges.isEmpty()) {
+            loadRanges(entry, ranges);
+            return;
+        }
         RDFFormat format = getFormat(entry.getFileName());
         RDFParser parser = createParser(format);
         try (InputStream fileStream = new FileInputStream(entry.toFile())) {
@@ -98,6 +120,106 @@ public final class FilesToRdf implements Component, SequentialExecution {
         }
     }
 
+    /**
+     * @return Empty list if the file should be loaded as a whole.
+     */
+    private List<LineRangeParser.Range> splitEntry(
+            FilesDataUnit.Entry entry) {
+        long splitSize = configuration.getSplitSize() * MEGABYTE;
+        if (splitSize <= 0 || entry.toFile().length() <= splitSize) {
+            return Collections.emptyList();
+        }
+        try {
+            RDFFormat format = getFormat(entry.getFileName());
+            if (!LineRangeParser.isSupported(format)) {
+                return Collections.emptyList();
+            }
+            return LineRangeParser.split(entry.toFile(), splitSize);
+        } catch (LpException | IOException ex) {
+            // The file is loaded as a whole and the failure is handled then.
+            LOG.warn("Can't split file: {}", entry.getFileName(), ex);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Load ranges of the file in parallel, each range into own graph.
+     */
+    private void loadRanges(
+            FilesDataUnit.Entry entry, List<LineRangeParser.Range> ranges)
+            throws LpException {
+        LOG.info("Loading {} in {} parts.",
+                entry.getFileName(), ranges.size());
+        RDFFormat format = getFormat(entry.getFileName());
+        String prefix = BlankNodePrefixUpdater.createPrefix();
+        // The graph created for the file is used for the first range.
+        List<IRI> graphs = new ArrayList<>();
+        graphs.add(inserter.getTargetGraph());
+        for (int index = 1; index < ranges.size(); ++index) {
+            graphs.add(outputRdf.createGraph());
+        }
+        int threads = Math.max(1, configuration.getThreads());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int index = 0; index < ranges.size(); ++index) {
+                LineRangeParser.Range range = ranges.get(index);
+                IRI graph = graphs.get(index);
+                futures.add(executor.submit(() -> {
+                    if (contextMap != null) {
+                        MDC.setContextMap(contextMap);
+                    }
+                    BufferedWriter writer = new BufferedWriter(
+                            configuration.getCommitSize(), outputRdf);
+                    writer.setTargetGraph(graph);
+                    LineRangeParser.parse(entry.toFile(), format, range,
+                            prefix, writer);
+                    return null;
+                }));
+            }
+            waitForRanges(entry, futures);
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    private void waitForRanges(
+            FilesDataUnit.Entry entry, List<Future<Void>> futures)
+            throws LpException {
+        Throwable failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            } catch (ExecutionException ex) {
+                // Stop loading of other ranges.
+                futures.forEach((item) -> item.cancel(false));
+                if (failure == null) {
+                    failure = ex.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            handleLoadingException(entry.getFileName(), failure);
+        }
+    }
+
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        while (true) {
+            try {
+                if (executor.awaitTermination(
+                        TERMINATION_CHECK, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                // Ignore.
+            }
+        }
+    }
+
     private RDFFormat getFormat(String fileName) throws LpException {
         if (defaultFormat != null) {
             return defaultFormat;
@@ -121,7 +243,7 @@ public final class FilesToRdf implements Component, SequentialExecution {
         return rdfParser;
     }
 
-    private void handleLoadingException(String fileName, Exception ex)
+    private void handleLoadingException(String fileName, Throwable ex)
             throws LpException {
         throw exceptionFactory.failure(
                 "Can't parse file: {}", fileName, ex);
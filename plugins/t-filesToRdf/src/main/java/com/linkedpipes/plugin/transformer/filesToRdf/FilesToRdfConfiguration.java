@@ -14,6 +14,19 @@ public class FilesToRdfConfiguration {
     @RdfToPojo.Property(iri = FilesToRdfVocabulary.HAS_SKIP_ON_FAILURE)
     private boolean skipOnFailure = false;
 
+    /**
+     * Number of threads used to load parts of a split file.
+     */
+    @RdfToPojo.Property(iri = FilesToRdfVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    /**
+     * N-Triples and N-Quads files bigger than given size in MB are split
+     * into parts of this size, zero to disable.
+     */
+    @RdfToPojo.Property(iri = FilesToRdfVocabulary.HAS_SPLIT_SIZE)
+    private int splitSize = 0;
+
     public FilesToRdfConfiguration() {
     }
 
@@ -41,4 +54,20 @@ public class FilesToRdfConfiguration {
         this.skipOnFailure = skipOnFailure;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getSplitSize() {
+        return splitSize;
+    }
+
+    public void setSplitSize(int splitSize) {
+        this.splitSize = splitSize;
+    }
+
 }
@@ -13,6 +13,10 @@ public final class FilesToRdfVocabulary {
 
     public static final String HAS_SKIP_ON_FAILURE = PREFIX + "softFail";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String HAS_SPLIT_SIZE = PREFIX + "splitSize";
+
     private FilesToRdfVocabulary() {
     }
 
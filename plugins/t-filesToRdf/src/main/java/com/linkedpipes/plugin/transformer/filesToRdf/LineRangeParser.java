@@ -0,0 +1,182 @@
+package com.linkedpipes.plugin.transformer.filesToRdf;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parse files in a line based format (N-Triples, N-Quads) by ranges.
+ * The ranges are aligned to line ends, so they can be parsed
+ * independently and in parallel. Each range is memory-mapped
+ * when parsed.
+ *
+ * <p>Labels of blank nodes are scoped to the whole file, so they are
+ * preserved and prefixed with a prefix shared by all ranges of the file.
+ */
+final class LineRangeParser {
+
+    public static final class Range {
+
+        private final long start;
+
+        private final long end;
+
+        Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ")";
+        }
+
+    }
+
+    /**
+     * Read mapped buffer as a stream.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private static final int BYTE_MASK = 0xFF;
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & BYTE_MASK;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int size = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, size);
+            return size;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+    /**
+     * Single range must fit into one mapped buffer.
+     */
+    private static final long MAX_RANGE_SIZE = Integer.MAX_VALUE;
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private static final byte NEW_LINE = '\n';
+
+    private static final String BASE_IRI = "http://localhost/base/";
+
+    private LineRangeParser() {
+    }
+
+    public static boolean isSupported(RDFFormat format) {
+        return RDFFormat.NTRIPLES.equals(format)
+                || RDFFormat.NQUADS.equals(format);
+    }
+
+    /**
+     * Split file into ranges of approximately given size, every range
+     * ends at the end of a line or at the end of the file.
+     */
+    public static List<Range> split(File file, long rangeSize)
+            throws IOException {
+        long size = Math.min(Math.max(1, rangeSize), MAX_RANGE_SIZE);
+        List<Range> result = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long start = 0;
+            while (start < fileSize) {
+                long end = start + size;
+                if (end < fileSize) {
+                    end = findLineEnd(channel, end - 1, fileSize);
+                } else {
+                    end = fileSize;
+                }
+                if (end - start > MAX_RANGE_SIZE) {
+                    throw new IOException(
+                            "Can't find end of line after: " + start);
+                }
+                result.add(new Range(start, end));
+                start = end;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Position after the first new line at or after the position.
+     */
+    private static long findLineEnd(
+            FileChannel channel, long position, long fileSize)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = position;
+        while (offset < fileSize) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                break;
+            }
+            for (int index = 0; index < read; ++index) {
+                if (buffer.get(index) == NEW_LINE) {
+                    return offset + index + 1;
+                }
+            }
+            offset += read;
+        }
+        return fileSize;
+    }
+
+    public static void parse(
+            File file, RDFFormat format, Range range,
+            String blankNodePrefix, RDFHandler handler) throws IOException {
+        RDFParser parser = Rio.createParser(format);
+        parser.getParserConfig().set(
+                BasicParserSettings.PRESERVE_BNODE_IDS, true);
+        parser.setRDFHandler(
+                new BlankNodePrefixUpdater(handler, blankNodePrefix));
+        try (FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    range.getStart(), range.getEnd() - range.getStart());
+            parser.parse(new ByteBufferInputStream(buffer), BASE_IRI);
+        }
+    }
+
+}
@@ -33,6 +33,14 @@ define([], function () {
         "softFail": {
             "$type": "bool",
             "$label": "Skip file on failure"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
+        },
+        "splitSize": {
+            "$type": "int",
+            "$label": "Split N-Triples and N-Quads files (MB)"
         }
     };
 
@@ -18,20 +18,37 @@ import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class FilesToRdfChunked implements Component, SequentialExecution {
 
     private static final Logger LOG =
             LoggerFactory.getLogger(FilesToRdfChunked.class);
 
+    private static final int INITIAL_BUFFER_SIZE = 100000;
+
+    private static final int TERMINATION_CHECK = 5;
+
+    private static final long MEGABYTE = 1024 * 1024;
+
     @Component.ContainsConfiguration
     @Component.InputPort(iri = "Configuration")
     public SingleGraphDataUnit configurationRdf;
@@ -51,9 +68,194 @@ public final class FilesToRdfChunked implements Component, SequentialExecution {
     @Component.Inject
     public ExceptionFactory exceptionFactory;
 
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
     private RDFFormat defaultFormat;
 
-    private List<Statement> buffer = new ArrayList<>(100000);
+    /**
+     * Content of one output chunk: a group of files or a range
+     * of a single split file.
+     */
+    private static class Task {
+
+        private final List<FilesDataUnit.Entry> entries;
+
+        /**
+         * Null if the whole files are loaded.
+         */
+        private final LineRangeParser.Range range;
+
+        private final String blankNodePrefix;
+
+        /**
+         * Number of ranges of the split file that are not loaded yet.
+         */
+        private final AtomicInteger rangesLeft;
+
+        Task(List<FilesDataUnit.Entry> entries) {
+            this.entries = entries;
+            this.range = null;
+            this.blankNodePrefix = null;
+            this.rangesLeft = null;
+        }
+
+        Task(FilesDataUnit.Entry entry, LineRangeParser.Range range,
+                String blankNodePrefix, AtomicInteger rangesLeft) {
+            this.entries = Collections.singletonList(entry);
+            this.range = range;
+            this.blankNodePrefix = blankNodePrefix;
+            this.rangesLeft = rangesLeft;
+        }
+
+    }
+
+    /**
+     * Load tasks one by one, every task is one chunk. Tasks are created
+     * in the order of input files, so they do not depend on the number
+     * of threads.
+     */
+    private class Worker implements Callable<Void> {
+
+        private final List<Statement> buffer =
+                new ArrayList<>(INITIAL_BUFFER_SIZE);
+
+        private final Map<RDFFormat, RDFParser> parsers = new HashMap<>();
+
+        private final RDFHandler bufferHandler = new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(Statement st) {
+                buffer.add(st);
+            }
+        };
+
+        private final List<Task> tasks;
+
+        private final AtomicInteger nextTask;
+
+        Worker(List<Task> tasks, AtomicInteger nextTask) {
+            this.tasks = tasks;
+            this.nextTask = nextTask;
+        }
+
+        @Override
+        public Void call() throws LpException {
+            if (contextMap != null) {
+                MDC.setContextMap(contextMap);
+            }
+            int index;
+            try {
+                while ((index = nextTask.getAndIncrement()) < tasks.size()) {
+                    loadTask(tasks.get(index));
+                }
+            } catch (LpException | RuntimeException ex) {
+                // Stop other workers right away, they finish
+                // only the tasks they are loading now.
+                nextTask.set(tasks.size());
+                throw ex;
+            }
+            return null;
+        }
+
+        private void loadTask(Task task) throws LpException {
+            if (task.range == null) {
+                for (FilesDataUnit.Entry entry : task.entries) {
+                    loadEntryOrSkip(entry);
+                    progressReport.entryProcessed();
+                }
+            } else {
+                loadRangeOrSkip(task);
+                if (task.rangesLeft.decrementAndGet() == 0) {
+                    progressReport.entryProcessed();
+                }
+            }
+            flushBuffer();
+        }
+
+        private void loadRangeOrSkip(Task task) throws LpException {
+            FilesDataUnit.Entry entry = task.entries.get(0);
+            LOG.debug("Loading: {} {}", entry.getFileName(), task.range);
+            try {
+                RDFFormat format = getFormat(entry.getFileName());
+                LineRangeParser.parse(entry.toFile(), format, task.range,
+                        task.blankNodePrefix, bufferHandler);
+            } catch (IOException | RuntimeException ex) {
+                if (configuration.isSkipOnFailure()) {
+                    LOG.error("Can't load file: {} {}",
+                            entry.getFileName(), task.range);
+                } else {
+                    throw exceptionFactory.failure("Can't load file: {} {}",
+                            entry.getFileName(), task.range, ex);
+                }
+            }
+            if (task.range.getStart() == 0) {
+                addFileReference(entry);
+            }
+        }
+
+        private void loadEntryOrSkip(FilesDataUnit.Entry entry)
+                throws LpException {
+            LOG.debug("Loading: {}", entry.getFileName());
+            try {
+                loadEntry(entry);
+            } catch (LpException ex) {
+                if (configuration.isSkipOnFailure()) {
+                    LOG.error("Can't load file: {}", entry.getFileName());
+                } else {
+                    throw ex;
+                }
+            }
+        }
+
+        private void flushBuffer() throws LpException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            outputRdf.submit(buffer);
+            buffer.clear();
+        }
+
+        private void loadEntry(FilesDataUnit.Entry entry)
+                throws LpException {
+            RDFFormat format = getFormat(entry.getFileName());
+            loadFile(entry.toFile(), format);
+            addFileReference(entry);
+        }
+
+        private void addFileReference(FilesDataUnit.Entry entry) {
+            if (!configuration.isFileReference()) {
+                return;
+            }
+            ValueFactory valueFactory = SimpleValueFactory.getInstance();
+            buffer.add(valueFactory.createStatement(
+                    valueFactory.createBNode(),
+                    valueFactory.createIRI(configuration.getFilePredicate()),
+                    valueFactory.createLiteral(entry.getFileName())
+            ));
+        }
+
+        private void loadFile(File file, RDFFormat format)
+                throws LpException {
+            try (InputStream stream = new FileInputStream(file)) {
+                final RDFParser parser = parsers.computeIfAbsent(
+                        format, this::createParser);
+                parser.parse(stream, "http://localhost/base/");
+            } catch (RuntimeException | IOException ex) {
+                throw exceptionFactory.failure(
+                        "Can't load file: {}", file, ex);
+            }
+        }
+
+        private RDFParser createParser(RDFFormat format) {
+            RDFHandler handler = bufferHandler;
+            if (format == RDFFormat.JSONLD) {
+                handler = new BlankNodePrefixUpdater(handler);
+            }
+            RDFParser parser = Rio.createParser(format);
+            parser.setRDFHandler(handler);
+            return parser;
+        }
+
+    }
 
     @Override
     public void execute() throws LpException {
@@ -77,48 +279,108 @@ public final class FilesToRdfChunked implements Component, SequentialExecution {
     }
 
     private void loadFiles() throws LpException {
-        progressReport.start(inputFiles.size());
-        int filesCounter = 0;
+        List<FilesDataUnit.Entry> entries = new ArrayList<>();
         for (FilesDataUnit.Entry entry : inputFiles) {
-            LOG.debug("Loading: {}", entry.getFileName());
-            try {
-                loadEntry(entry);
-            } catch (LpException ex) {
-                if (configuration.isSkipOnFailure()) {
-                    LOG.error("Can't load file: {}", entry.getFileName());
-                } else {
-                    throw ex;
+            entries.add(entry);
+        }
+        progressReport.start(entries.size());
+        List<Task> tasks = createTasks(entries);
+        int threads = Math.max(1, configuration.getThreads());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger nextTask = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < threads; ++thread) {
+                futures.add(executor.submit(new Worker(tasks, nextTask)));
+            }
+            waitForWorkers(futures);
+        } finally {
+            shutdown(executor);
+        }
+        progressReport.done();
+    }
+
+    /**
+     * Put files into groups of "files per chunk" files, split files
+     * are not part of any group and every range is a task.
+     */
+    private List<Task> createTasks(List<FilesDataUnit.Entry> entries) {
+        int filesPerChunk = Math.max(1, configuration.getFilesPerChunk());
+        List<Task> result = new ArrayList<>();
+        List<FilesDataUnit.Entry> group = new ArrayList<>();
+        for (FilesDataUnit.Entry entry : entries) {
+            List<LineRangeParser.Range> ranges = splitEntry(entry);
+            if (ranges.isEmpty()) {
+                group.add(entry);
+                if (group.size() >= filesPerChunk) {
+                    result.add(new Task(group));
+                    group = new ArrayList<>();
                 }
+                continue;
             }
-            ++filesCounter;
-            if (filesCounter >= configuration.getFilesPerChunk()) {
-                flushBuffer();
-                filesCounter = 0;
+            LOG.info("Loading {} in {} parts.",
+                    entry.getFileName(), ranges.size());
+            String prefix = BlankNodePrefixUpdater.createPrefix();
+            AtomicInteger rangesLeft = new AtomicInteger(ranges.size());
+            for (LineRangeParser.Range range : ranges) {
+                result.add(new Task(entry, range, prefix, rangesLeft));
             }
-            progressReport.entryProcessed();
         }
-        flushBuffer();
-        progressReport.done();
+        if (!group.isEmpty()) {
+            result.add(new Task(group));
+        }
+        return result;
     }
 
-    private void flushBuffer() throws LpException {
-        if (buffer.isEmpty()) {
-            return;
+    /**
+     * @return Empty list if the file should be loaded as a whole.
+     */
+    private List<LineRangeParser.Range> splitEntry(
+            FilesDataUnit.Entry entry) {
+        long splitSize = configuration.getSplitSize() * MEGABYTE;
+        if (splitSize <= 0 || entry.toFile().length() <= splitSize) {
+            return Collections.emptyList();
+        }
+        try {
+            RDFFormat format = getFormat(entry.getFileName());
+            if (!LineRangeParser.isSupported(format)) {
+                return Collections.emptyList();
+            }
+            return LineRangeParser.split(entry.toFile(), splitSize);
+        } catch (LpException | IOException ex) {
+            // The file is loaded as a whole and the failure is handled then.
+            LOG.warn("Can't split file: {}", entry.getFileName(), ex);
+            return Collections.emptyList();
         }
-        outputRdf.submit(buffer);
-        buffer.clear();
     }
 
-    private void loadEntry(FilesDataUnit.Entry entry) throws LpException {
-        RDFFormat format = getFormat(entry.getFileName());
-        loadFile(entry.toFile(), format);
-        if (configuration.isFileReference()) {
-            ValueFactory valueFactory = SimpleValueFactory.getInstance();
-            buffer.add(valueFactory.createStatement(
-                    valueFactory.createBNode(),
-                    valueFactory.createIRI(configuration.getFilePredicate()),
-                    valueFactory.createLiteral(entry.getFileName())
-            ));
+    /**
+     * Failed worker stops the others, so we only need to wait for all
+     * of them to finish.
+     */
+    private void waitForWorkers(List<Future<Void>> futures)
+            throws LpException {
+        LpException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            } catch (ExecutionException ex) {
+                if (failure != null) {
+                    continue;
+                }
+                if (ex.getCause() instanceof LpException) {
+                    failure = (LpException) ex.getCause();
+                } else {
+                    failure = new LpException(
+                            "Can't load files.", ex.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
@@ -134,28 +396,18 @@ public final class FilesToRdfChunked implements Component, SequentialExecution {
         return format.get();
     }
 
-    private void loadFile(File file, RDFFormat format) throws LpException {
-        try (InputStream stream = new FileInputStream(file)) {
-            final RDFParser parser = createParser(format);
-            parser.parse(stream, "http://localhost/base/");
-        } catch (RuntimeException | IOException ex) {
-            throw exceptionFactory.failure("Can't load file: {}", file, ex);
-        }
-    }
-
-    private RDFParser createParser(RDFFormat format) {
-        RDFHandler handler = new AbstractRDFHandler() {
-            @Override
-            public void handleStatement(Statement st) {
-                buffer.add(st);
+    private void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        while (true) {
+            try {
+                if (executor.awaitTermination(
+                        TERMINATION_CHECK, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                // Ignore.
             }
-        };
-        if (format == RDFFormat.JSONLD) {
-            handler = new BlankNodePrefixUpdater(handler);
         }
-        RDFParser parser = Rio.createParser(format);
-        parser.setRDFHandler(handler);
-        return parser;
     }
 
 }
@@ -20,6 +20,16 @@ public class FilesToRdfConfiguration {
     @RdfToPojo.Property(iri = FilesToRdfVocabulary.HAS_FILE_PREDICATE)
     private String filePredicate;
 
+    @RdfToPojo.Property(iri = FilesToRdfVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    /**
+     * N-Triples and N-Quads files bigger than given size in MB are split
+     * into parts of this size, zero to disable.
+     */
+    @RdfToPojo.Property(iri = FilesToRdfVocabulary.HAS_SPLIT_SIZE)
+    private int splitSize = 0;
+
     public FilesToRdfConfiguration() {
     }
 
@@ -62,4 +72,21 @@ public class FilesToRdfConfiguration {
     public void setFileReference(boolean fileReference) {
         this.fileReference = fileReference;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getSplitSize() {
+        return splitSize;
+    }
+
+    public void setSplitSize(int splitSize) {
+        this.splitSize = splitSize;
+    }
+
 }
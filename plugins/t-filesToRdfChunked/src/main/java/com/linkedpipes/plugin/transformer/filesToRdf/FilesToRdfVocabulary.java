@@ -17,6 +17,10 @@ public final class FilesToRdfVocabulary {
 
     public static final String HAS_FILE_PREDICATE = PREFIX + "filePredicate";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String HAS_SPLIT_SIZE = PREFIX + "splitSize";
+
     private FilesToRdfVocabulary() {
     }
 
@@ -41,6 +41,14 @@ define([], function () {
         "filePredicate": {
             "$type": "iri",
             "$label" : "File name predicate"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
+        },
+        "splitSize": {
+            "$type": "int",
+            "$label": "Split N-Triples and N-Quads files (MB)"
         }
     };
 
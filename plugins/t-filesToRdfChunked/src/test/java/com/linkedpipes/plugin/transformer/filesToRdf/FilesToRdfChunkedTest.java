@@ -0,0 +1,172 @@
+package com.linkedpipes.plugin.transformer.filesToRdf;
+
+import com.linkedpipes.etl.dataunit.core.files.FilesDataUnit;
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
+import org.eclipse.rdf4j.model.Statement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FilesToRdfChunkedTest {
+
+    private static final int FILES = 12;
+
+    private static final int WAIT_SECONDS = 10;
+
+    private File directory;
+
+    private final List<FilesDataUnit.Entry> entries = new ArrayList<>();
+
+    @Before
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("lp-test-").toFile();
+        for (int index = 0; index < FILES; ++index) {
+            String content = "<http://localhost/" + index + "> "
+                    + "<http://localhost/value> \"" + index + "\" .\n";
+            if (index == 1) {
+                content = "invalid content";
+            }
+            File file = new File(directory, index + ".nt");
+            Files.write(file.toPath(),
+                    content.getBytes(StandardCharsets.UTF_8));
+            entries.add(createEntry(file));
+        }
+    }
+
+    private FilesDataUnit.Entry createEntry(File file) {
+        return new FilesDataUnit.Entry() {
+
+            @Override
+            public File toFile() {
+                return file;
+            }
+
+            @Override
+            public String getFileName() {
+                return file.getName();
+            }
+
+        };
+    }
+
+    @After
+    public void after() {
+        for (FilesDataUnit.Entry entry : entries) {
+            entry.toFile().delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * The first chunk is loaded until the second one fails, the worker
+     * loading it must not continue with the remaining chunks.
+     */
+    @Test(timeout = 30000)
+    public void stopWorkersWhenLaterGroupFails() {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger submitted = new AtomicInteger();
+        FilesToRdfChunked component = new FilesToRdfChunked();
+        component.configuration = new FilesToRdfConfiguration();
+        component.configuration.setThreads(2);
+        component.inputFiles = createDataUnit();
+        component.outputRdf = (statements) -> {
+            if (containsSubject(statements, "http://localhost/0")) {
+                waitFor(failed);
+            }
+            submitted.incrementAndGet();
+        };
+        component.exceptionFactory = (message, args) -> {
+            failed.countDown();
+            return new LpException(message, args);
+        };
+        component.progressReport = new EmptyProgressReport();
+        try {
+            component.execute();
+            Assert.fail("Execution should fail.");
+        } catch (LpException ex) {
+            // Expected.
+        }
+        // The worker with the first chunk may take at most one more
+        // chunk before the failure is visible.
+        Assert.assertTrue(submitted.get() <= 2);
+    }
+
+    private static boolean containsSubject(
+            Collection<Statement> statements, String subject) {
+        for (Statement statement : statements) {
+            if (subject.equals(statement.getSubject().stringValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void waitFor(CountDownLatch latch) {
+        try {
+            latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private FilesDataUnit createDataUnit() {
+        return new FilesDataUnit() {
+
+            @Override
+            public Collection<File> getReadDirectories() {
+                return Collections.singletonList(directory);
+            }
+
+            @Override
+            public long size() {
+                return entries.size();
+            }
+
+            @Override
+            public Iterator<Entry> iterator() {
+                return entries.iterator();
+            }
+
+        };
+    }
+
+    private static class EmptyProgressReport implements ProgressReport {
+
+        @Override
+        public void start(long entriesToProcess) {
+            // No action.
+        }
+
+        @Override
+        public void start(Collection<?> collection) {
+            // No action.
+        }
+
+        @Override
+        public void entryProcessed() {
+            // No action.
+        }
+
+        @Override
+        public void done() {
+            // No action.
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.linkedpipes.plugin.transformer.filesToRdf;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class LineRangeParserTest {
+
+    private File file;
+
+    @Before
+    public void before() throws IOException {
+        file = File.createTempFile("lp-test-", ".nt");
+        StringBuilder content = new StringBuilder();
+        for (int index = 0; index < 20; ++index) {
+            content.append("<http://localhost/").append(index).append("> ")
+                    .append("<http://localhost/value> ")
+                    .append("\"Value ").append(index).append("\" .\n");
+            content.append("<http://localhost/").append(index).append("> ")
+                    .append("<http://localhost/node> _:shared .\n");
+        }
+        Files.write(file.toPath(),
+                content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void after() {
+        file.delete();
+    }
+
+    @Test
+    public void splitAtLineEnds() throws IOException {
+        byte[] content = Files.readAllBytes(file.toPath());
+        List<LineRangeParser.Range> ranges = LineRangeParser.split(file, 100);
+        Assert.assertTrue(ranges.size() > 1);
+        long expectedStart = 0;
+        for (LineRangeParser.Range range : ranges) {
+            Assert.assertEquals(expectedStart, range.getStart());
+            Assert.assertEquals('\n', content[(int) range.getEnd() - 1]);
+            expectedStart = range.getEnd();
+        }
+        Assert.assertEquals(content.length, expectedStart);
+    }
+
+    @Test
+    public void parseRanges() throws IOException {
+        List<LineRangeParser.Range> ranges = LineRangeParser.split(file, 100);
+        List<Statement> statements = new ArrayList<>();
+        for (LineRangeParser.Range range : ranges) {
+            StatementCollector collector = new StatementCollector();
+            LineRangeParser.parse(
+                    file, RDFFormat.NTRIPLES, range, "prefix_", collector);
+            statements.addAll(collector.getStatements());
+        }
+        Assert.assertEquals(40, statements.size());
+        // The blank node is the same in all ranges.
+        Set<BNode> nodes = new HashSet<>();
+        for (Statement statement : statements) {
+            if (statement.getObject() instanceof BNode) {
+                nodes.add((BNode) statement.getObject());
+            }
+        }
+        Assert.assertEquals(1, nodes.size());
+        Assert.assertEquals("prefix_shared", nodes.iterator().next().getID());
+    }
+
+}
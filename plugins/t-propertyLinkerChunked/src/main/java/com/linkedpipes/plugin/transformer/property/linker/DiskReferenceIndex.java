@@ -0,0 +1,497 @@
+package com.linkedpipes.plugin.transformer.property.linker;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Reference index stored in files. Statements are grouped by the value
+ * of the reference predicate and sorted by hash of the value. The hash
+ * table of content is memory-mapped, recently used values are cached.
+ *
+ * <p>Values are stored as N-Triples strings.
+ */
+class DiskReferenceIndex implements ReferenceIndex {
+
+    /**
+     * Collect the reference statements in a single pass and create
+     * the index.
+     */
+    public static class Builder {
+
+        /**
+         * Number of statements sorted in memory.
+         */
+        private static final int DEFAULT_RUN_SIZE = 100000;
+
+        private final File directory;
+
+        private final IRI predicate;
+
+        private final int runSize;
+
+        /**
+         * Subjects with the reference predicate and the predicate value.
+         */
+        private final Map<String, String> subjectToKey = new HashMap<>();
+
+        private final File statementsFile;
+
+        private final DataOutputStream statementsStream;
+
+        public Builder(File directory, IRI predicate) throws IOException {
+            this(directory, predicate, DEFAULT_RUN_SIZE);
+        }
+
+        Builder(File directory, IRI predicate, int runSize)
+                throws IOException {
+            this.directory = directory;
+            this.predicate = predicate;
+            this.runSize = runSize;
+            Files.createDirectories(directory.toPath());
+            this.statementsFile = new File(directory, "statements.bin");
+            this.statementsStream = openOutput(statementsFile);
+        }
+
+        /**
+         * We do not know whether the subject has the reference predicate
+         * yet, so we store all statements.
+         */
+        public void add(Statement statement) throws IOException {
+            String subject = encode(statement.getSubject());
+            if (predicate.equals(statement.getPredicate())) {
+                subjectToKey.put(subject, encode(statement.getObject()));
+            }
+            writeString(statementsStream, subject);
+            writeString(statementsStream, encode(statement.getPredicate()));
+            writeString(statementsStream, encode(statement.getObject()));
+            writeString(statementsStream, encode(statement.getContext()));
+        }
+
+        public DiskReferenceIndex build(int cacheSize) throws IOException {
+            statementsStream.close();
+            List<File> runs = createRuns();
+            Files.delete(statementsFile.toPath());
+            subjectToKey.clear();
+            File dataFile = new File(directory, "data.bin");
+            File indexFile = new File(directory, "index.bin");
+            mergeRuns(runs, dataFile, indexFile);
+            for (File run : runs) {
+                Files.delete(run.toPath());
+            }
+            return new DiskReferenceIndex(dataFile, indexFile, cacheSize);
+        }
+
+        /**
+         * Read stored statements, keep only those with a key and write
+         * them in sorted runs.
+         */
+        private List<File> createRuns() throws IOException {
+            List<File> result = new ArrayList<>();
+            List<Entry> buffer = new ArrayList<>();
+            try (DataInputStream input = openInput(statementsFile)) {
+                while (true) {
+                    String[] record = readRecord(input);
+                    if (record == null) {
+                        break;
+                    }
+                    String key = subjectToKey.get(record[SUBJECT]);
+                    if (key == null) {
+                        continue;
+                    }
+                    buffer.add(new Entry(key, record));
+                    if (buffer.size() >= runSize) {
+                        result.add(writeRun(buffer, result.size()));
+                        buffer.clear();
+                    }
+                }
+            }
+            if (!buffer.isEmpty()) {
+                result.add(writeRun(buffer, result.size()));
+            }
+            return result;
+        }
+
+        private File writeRun(List<Entry> entries, int index)
+                throws IOException {
+            entries.sort(ENTRY_COMPARATOR);
+            File file = new File(directory, "run-" + index + ".bin");
+            try (DataOutputStream output = openOutput(file)) {
+                for (Entry entry : entries) {
+                    entry.write(output);
+                }
+            }
+            return file;
+        }
+
+        private void mergeRuns(
+                List<File> runs, File dataFile, File indexFile)
+                throws IOException {
+            List<RunReader> readers = new ArrayList<>();
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                    Math.max(1, runs.size()),
+                    (left, right) -> ENTRY_COMPARATOR.compare(
+                            left.current, right.current));
+            try (DataOutputStream data = openOutput(dataFile);
+                 DataOutputStream index = openOutput(indexFile)) {
+                for (File run : runs) {
+                    RunReader reader = new RunReader(run);
+                    readers.add(reader);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+                String lastKey = null;
+                // DataOutputStream.size overflows for big files.
+                long offset = 0;
+                while (!queue.isEmpty()) {
+                    RunReader reader = queue.poll();
+                    Entry entry = reader.current;
+                    if (!entry.key.equals(lastKey)) {
+                        index.writeLong(entry.hash);
+                        index.writeLong(offset);
+                        offset += writeString(data, entry.key);
+                        lastKey = entry.key;
+                    }
+                    for (String value : entry.record) {
+                        offset += writeString(data, value);
+                    }
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+            } finally {
+                for (RunReader reader : readers) {
+                    reader.input.close();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Statement with the key it belongs to.
+     */
+    private static class Entry {
+
+        private final long hash;
+
+        private final String key;
+
+        private final String[] record;
+
+        Entry(String key, String[] record) {
+            this(hash(key), key, record);
+        }
+
+        Entry(long hash, String key, String[] record) {
+            this.hash = hash;
+            this.key = key;
+            this.record = record;
+        }
+
+        void write(DataOutputStream output) throws IOException {
+            output.writeLong(hash);
+            writeString(output, key);
+            for (String value : record) {
+                writeString(output, value);
+            }
+        }
+
+    }
+
+    private static class RunReader {
+
+        private final DataInputStream input;
+
+        private Entry current;
+
+        RunReader(File file) throws IOException {
+            this.input = openInput(file);
+        }
+
+        boolean next() throws IOException {
+            long hash;
+            try {
+                hash = input.readLong();
+            } catch (EOFException ex) {
+                current = null;
+                return false;
+            }
+            String key = readString(input);
+            current = new Entry(hash, key, readRecord(input));
+            return true;
+        }
+
+    }
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+            Comparator.<Entry>comparingLong((entry) -> entry.hash)
+                    .thenComparing((entry) -> entry.key);
+
+    private static final int SUBJECT = 0;
+
+    private static final int PREDICATE = 1;
+
+    private static final int OBJECT = 2;
+
+    private static final int CONTEXT = 3;
+
+    private static final int RECORD_SIZE = 4;
+
+    private static final int INITIAL_CACHE_CAPACITY = 16;
+
+    private static final float CACHE_LOAD_FACTOR = 0.75f;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final String NONE = "";
+
+    private final ValueFactory valueFactory =
+            SimpleValueFactory.getInstance();
+
+    private final File dataFile;
+
+    private final File indexFile;
+
+    private final FileChannel dataChannel;
+
+    private final long dataSize;
+
+    /**
+     * Pairs of hash and offset of the group in the data file.
+     */
+    private final LongBuffer index;
+
+    private final int indexSize;
+
+    private final Map<String, List<Statement>> cache;
+
+    private final int cacheSize;
+
+    private DiskReferenceIndex(File dataFile, File indexFile, int cacheSize)
+            throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.dataChannel = FileChannel.open(
+                dataFile.toPath(), StandardOpenOption.READ);
+        this.dataSize = dataChannel.size();
+        try (FileChannel indexChannel = FileChannel.open(
+                indexFile.toPath(), StandardOpenOption.READ)) {
+            if (indexChannel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Reference index is too big.");
+            }
+            this.index = indexChannel.map(FileChannel.MapMode.READ_ONLY,
+                    0, indexChannel.size()).asLongBuffer();
+        }
+        this.indexSize = index.limit() / 2;
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(
+                INITIAL_CACHE_CAPACITY, CACHE_LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, List<Statement>> eldest) {
+                return size() > DiskReferenceIndex.this.cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public List<Statement> get(Value value) throws IOException {
+        String key = encode(value);
+        synchronized (cache) {
+            List<Statement> result = cache.get(key);
+            if (result != null) {
+                return result;
+            }
+        }
+        List<Statement> result = load(key);
+        if (cacheSize > 0) {
+            synchronized (cache) {
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private List<Statement> load(String key) throws IOException {
+        long hash = hash(key);
+        for (int position = findFirst(hash);
+             position < indexSize && index.get(2 * position) == hash;
+             ++position) {
+            long start = index.get(2 * position + 1);
+            long end;
+            if (position + 1 < indexSize) {
+                end = index.get(2 * position + 3);
+            } else {
+                end = dataSize;
+            }
+            DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(read(start, end - start)));
+            if (!key.equals(readString(input))) {
+                // Hash collision.
+                continue;
+            }
+            List<Statement> result = new ArrayList<>();
+            String[] record;
+            while ((record = readRecord(input)) != null) {
+                result.add(createStatement(record));
+            }
+            return result;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return Position of the first entry with given or greater hash.
+     */
+    private int findFirst(long hash) {
+        int low = 0;
+        int high = indexSize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index.get(2 * middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private byte[] read(long start, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Reference group is too big.");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            int read = dataChannel.read(buffer, start + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.array();
+    }
+
+    private Statement createStatement(String[] record) {
+        Resource context = null;
+        if (!NONE.equals(record[CONTEXT])) {
+            context = NTriplesUtil.parseResource(
+                    record[CONTEXT], valueFactory);
+        }
+        return valueFactory.createStatement(
+                NTriplesUtil.parseResource(record[SUBJECT], valueFactory),
+                NTriplesUtil.parseURI(record[PREDICATE], valueFactory),
+                NTriplesUtil.parseValue(record[OBJECT], valueFactory),
+                context);
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataChannel.close();
+        synchronized (cache) {
+            cache.clear();
+        }
+        Files.deleteIfExists(dataFile.toPath());
+        // The mapped index is released by GC, on some systems we are not
+        // able to delete it before that.
+        indexFile.deleteOnExit();
+    }
+
+    private static String encode(Value value) {
+        if (value == null) {
+            return NONE;
+        }
+        return NTriplesUtil.toNTriplesString(value);
+    }
+
+    /**
+     * 64-bit FNV-1a hash.
+     */
+    private static long hash(String value) {
+        long result = FNV_OFFSET;
+        for (int index = 0; index < value.length(); ++index) {
+            result ^= value.charAt(index);
+            result *= FNV_PRIME;
+        }
+        return result;
+    }
+
+    private static DataOutputStream openOutput(File file)
+            throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)));
+    }
+
+    private static DataInputStream openInput(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)));
+    }
+
+    /**
+     * @return Number of written bytes.
+     */
+    private static int writeString(DataOutputStream output, String value)
+            throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        return Integer.BYTES + bytes.length;
+    }
+
+    private static String readString(DataInputStream input)
+            throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Null at the end of the stream.
+     */
+    private static String[] readRecord(DataInputStream input)
+            throws IOException {
+        String[] result = new String[RECORD_SIZE];
+        try {
+            result[SUBJECT] = readString(input);
+        } catch (EOFException ex) {
+            return null;
+        }
+        for (int index = SUBJECT + 1; index < RECORD_SIZE; ++index) {
+            result[index] = readString(input);
+        }
+        return result;
+    }
+
+}
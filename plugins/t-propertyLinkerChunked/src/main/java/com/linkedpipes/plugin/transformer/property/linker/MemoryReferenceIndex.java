@@ -0,0 +1,78 @@
+package com.linkedpipes.plugin.transformer.property.linker;
+
+import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keep all reference statements on the heap.
+ */
+class MemoryReferenceIndex implements ReferenceIndex {
+
+    /**
+     * Expected number of reference statements for a single value.
+     */
+    private static final int EXPECTED_STATEMENTS = 4;
+
+    private final Map<Value, List<Statement>> index;
+
+    private MemoryReferenceIndex(Map<Value, List<Statement>> index) {
+        this.index = index;
+    }
+
+    public static MemoryReferenceIndex create(
+            SingleGraphDataUnit referenceRdf, IRI predicate)
+            throws LpException {
+        Map<Resource, Value> resourceToValue = new HashMap<>();
+        Map<Value, List<Statement>> output = new HashMap<>();
+
+        RDFHandler findRelevantResources = new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(Statement st) {
+                resourceToValue.put(st.getSubject(), st.getObject());
+                output.put(st.getObject(), new ArrayList<>(EXPECTED_STATEMENTS));
+            }
+        };
+
+        RDFHandler collectObjects = new AbstractRDFHandler() {
+            @Override
+            public void handleStatement(Statement st) {
+                Value key = resourceToValue.get(st.getSubject());
+                if (key == null) {
+                    return;
+                }
+                output.get(key).add(st);
+            }
+        };
+
+        referenceRdf.execute((connection) -> {
+            connection.exportStatements(null, predicate, null, false,
+                    findRelevantResources, referenceRdf.getReadGraph());
+            connection.export(collectObjects, referenceRdf.getReadGraph());
+        });
+
+        return new MemoryReferenceIndex(output);
+    }
+
+    @Override
+    public List<Statement> get(Value value) {
+        return index.getOrDefault(value, Collections.emptyList());
+    }
+
+    @Override
+    public void close() {
+        // No action here.
+    }
+
+}
@@ -11,6 +11,18 @@ public class PropertyLinkedConfiguration {
     @RdfToPojo.Property(iri = PropertyLinkerVocabulary.HAS_DATA_PREDICATE)
     private String dataPredicate;
 
+    @RdfToPojo.Property(iri = PropertyLinkerVocabulary.HAS_THREADS)
+    private int threads = 1;
+
+    @RdfToPojo.Property(iri = PropertyLinkerVocabulary.HAS_INDEX_ON_DISK)
+    private boolean indexOnDisk = false;
+
+    /**
+     * Number of reference values cached when index is on disk.
+     */
+    @RdfToPojo.Property(iri = PropertyLinkerVocabulary.HAS_CACHE_SIZE)
+    private int cacheSize = 10000;
+
     public PropertyLinkedConfiguration() {
     }
 
@@ -30,4 +42,28 @@ public class PropertyLinkedConfiguration {
         this.dataPredicate = dataPredicate;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public boolean isIndexOnDisk() {
+        return indexOnDisk;
+    }
+
+    public void setIndexOnDisk(boolean indexOnDisk) {
+        this.indexOnDisk = indexOnDisk;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.linkedpipes.plugin.transformer.property.linker;
 
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.core.rdf.WritableChunkedTriples;
@@ -8,13 +9,17 @@ import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
+import com.linkedpipes.etl.executor.api.v1.service.WorkingDirectory;
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -36,8 +41,6 @@ public final class PropertyLinkerChunked implements Component,
     private static final Logger LOG
             = LoggerFactory.getLogger(PropertyLinkerChunked.class);
 
-    private static final int EXPECTED_CHUNK_SIZE = 4;
-
     @Component.InputPort(iri = "DataRdf")
     public ChunkedTriples dataRdf;
 
@@ -60,21 +63,29 @@ public final class PropertyLinkerChunked implements Component,
     @Component.Inject
     public ProgressReport progressReport;
 
-    private List<Statement> outputChunk = new ArrayList<>();
+    @Component.Inject
+    public WorkingDirectory workingDirectory;
 
     @Override
     public void execute() throws LpException {
         validateConfiguration();
         LOG.info("Building reference index ...");
-        Map<Value, List<Statement>> index = createReferenceIndex();
-        progressReport.start(dataRdf.size());
-        for (ChunkedTriples.Chunk chunk : dataRdf) {
-            LOG.info("Linking chunk ...");
-            linkChunk(chunk, index);
-            progressReport.entryProcessed();
-            LOG.info("Linking chunk ... done");
+        // The index is only read by the workers.
+        IRI predicate = SimpleValueFactory.getInstance().createIRI(
+                configuration.getDataPredicate());
+        ReferenceIndex index = createReferenceIndex(predicate);
+        try {
+            new ChunkMapper(configuration.getThreads())
+                    .setProgressReport(progressReport)
+                    .mapToChunks(dataRdf,
+                            (chunk) -> linkChunk(chunk, index), outputRdf);
+        } finally {
+            try {
+                index.close();
+            } catch (IOException ex) {
+                LOG.warn("Can't close reference index.", ex);
+            }
         }
-        progressReport.done();
     }
 
     private void validateConfiguration() throws LpException {
@@ -92,55 +103,49 @@ public final class PropertyLinkerChunked implements Component,
     }
 
 
-    private Map<Value, List<Statement>> createReferenceIndex()
+    private ReferenceIndex createReferenceIndex(IRI predicate)
             throws LpException {
-        Map<Resource, Value> resourceToValue = new HashMap<>();
-        Map<Value, List<Statement>> output = new HashMap<>();
-        IRI predicate = SimpleValueFactory.getInstance().createIRI(
-                this.configuration.getDataPredicate());
-
-        RDFHandler findRelevantResources = new AbstractRDFHandler() {
-            @Override
-            public void handleStatement(Statement st) {
-                resourceToValue.put(st.getSubject(), st.getObject());
-                output.put(st.getObject(), new ArrayList<>(4));
-            }
-        };
-
-        RDFHandler collectObjects = new AbstractRDFHandler() {
-            @Override
-            public void handleStatement(Statement st) {
-                Value key = resourceToValue.get(st.getSubject());
-                if (key == null) {
-                    return;
+        if (!configuration.isIndexOnDisk()) {
+            return MemoryReferenceIndex.create(referenceRdf, predicate);
+        }
+        File directory = new File(workingDirectory, "reference-index");
+        try {
+            DiskReferenceIndex.Builder builder =
+                    new DiskReferenceIndex.Builder(directory, predicate);
+            RDFHandler handler = new AbstractRDFHandler() {
+                @Override
+                public void handleStatement(Statement st) {
+                    try {
+                        builder.add(st);
+                    } catch (IOException ex) {
+                        throw new RDFHandlerException(ex);
+                    }
                 }
-                output.get(key).add(st);
-            }
-        };
-
-        this.referenceRdf.execute((connection) -> {
-            connection.exportStatements(null, predicate, null, false,
-                    findRelevantResources, referenceRdf.getReadGraph());
-            connection.export(collectObjects, referenceRdf.getReadGraph());
-        });
-
-        return output;
+            };
+            referenceRdf.execute((connection) -> {
+                connection.export(handler, referenceRdf.getReadGraph());
+            });
+            return builder.build(configuration.getCacheSize());
+        } catch (IOException | RDFHandlerException ex) {
+            throw exceptionFactory.failure(
+                    "Can't create reference index.", ex);
+        }
     }
 
-
-    private void linkChunk(
-            ChunkedTriples.Chunk chunk, Map<Value, List<Statement>> reference)
+    private List<Statement> linkChunk(
+            ChunkedTriples.Chunk chunk, ReferenceIndex reference)
             throws LpException {
         Collection<Statement> inputChunk = chunk.toCollection();
         List<Value> chunkValues = findChunkLinkingValues(inputChunk);
-        this.outputChunk.clear();
-        this.outputChunk.addAll(inputChunk);
+        List<Statement> outputChunk = new ArrayList<>(inputChunk);
         for (Value value : chunkValues) {
-            List<Statement> toAdd = reference.getOrDefault(
-                    value, Collections.EMPTY_LIST);
-            this.outputChunk.addAll(toAdd);
+            try {
+                outputChunk.addAll(reference.get(value));
+            } catch (IOException ex) {
+                throw new LpException("Can't read reference index.", ex);
+            }
         }
-        this.outputRdf.submit(outputChunk);
+        return outputChunk;
     }
 
     private List<Value> findChunkLinkingValues(
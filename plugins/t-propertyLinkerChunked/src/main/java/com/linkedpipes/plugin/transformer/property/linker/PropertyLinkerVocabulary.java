@@ -11,6 +11,12 @@ final class PropertyLinkerVocabulary {
 
     public static final String HAS_DATA_PREDICATE = PREFIX + "referencePredicate";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
+    public static final String HAS_INDEX_ON_DISK = PREFIX + "indexOnDisk";
+
+    public static final String HAS_CACHE_SIZE = PREFIX + "cacheSize";
+
     private PropertyLinkerVocabulary() {
     }
 
@@ -0,0 +1,23 @@
+package com.linkedpipes.plugin.transformer.property.linker;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Map value of the reference predicate to statements about resources
+ * with this value. Implementations must be thread-safe.
+ */
+interface ReferenceIndex extends AutoCloseable {
+
+    /**
+     * @return Empty list if there are no statements for the value.
+     */
+    List<Statement> get(Value value) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+}
@@ -15,6 +15,18 @@ define([], function () {
         "referencePredicate": {
             "$type": "str",
             "$label": "Predicate in reference data"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
+        },
+        "indexOnDisk": {
+            "$type": "bool",
+            "$label": "Store reference index on disk"
+        },
+        "cacheSize": {
+            "$type": "int",
+            "$label": "Number of cached reference values"
         }
     };
 
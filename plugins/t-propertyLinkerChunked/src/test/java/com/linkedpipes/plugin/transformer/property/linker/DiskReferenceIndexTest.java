@@ -0,0 +1,126 @@
+package com.linkedpipes.plugin.transformer.property.linker;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class DiskReferenceIndexTest {
+
+    private final ValueFactory valueFactory =
+            SimpleValueFactory.getInstance();
+
+    private final IRI code = iri("code");
+
+    private final IRI name = iri("name");
+
+    private File directory;
+
+    @Before
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("lp-test-").toFile();
+    }
+
+    @After
+    public void after() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void lookupAfterMerge() throws IOException {
+        List<Statement> statements = new ArrayList<>();
+        for (int index = 0; index < 50; ++index) {
+            statements.add(statement("item" + index, code,
+                    valueFactory.createLiteral("code-" + (index % 10))));
+            statements.add(statement("item" + index, name,
+                    valueFactory.createLiteral("Item " + index, "en")));
+        }
+        // Small runs force a merge of several sorted files.
+        try (DiskReferenceIndex index = createIndex(statements, 7, 2)) {
+            for (int key = 0; key < 10; ++key) {
+                Value value = valueFactory.createLiteral("code-" + key);
+                List<Statement> expected = new ArrayList<>();
+                for (int item = key; item < 50; item += 10) {
+                    // Both statements of the item share the code.
+                    expected.add(statements.get(item * 2));
+                    expected.add(statements.get(item * 2 + 1));
+                }
+                // Read twice to use the cache.
+                Assert.assertEquals(
+                        new HashSet<>(expected),
+                        new HashSet<>(index.get(value)));
+                Assert.assertEquals(
+                        new HashSet<>(expected),
+                        new HashSet<>(index.get(value)));
+            }
+        }
+    }
+
+    @Test
+    public void missingValue() throws IOException {
+        List<Statement> statements = Arrays.asList(
+                statement("a", code, valueFactory.createLiteral("1")),
+                statement("b", name, valueFactory.createLiteral("B")));
+        try (DiskReferenceIndex index = createIndex(statements, 100, 10)) {
+            Assert.assertTrue(
+                    index.get(valueFactory.createLiteral("2")).isEmpty());
+            Assert.assertEquals(1,
+                    index.get(valueFactory.createLiteral("1")).size());
+        }
+    }
+
+    @Test
+    public void preserveContext() throws IOException {
+        Statement withContext = valueFactory.createStatement(
+                iri("a"), code, iri("target"), iri("graph"));
+        Statement blankNode = valueFactory.createStatement(
+                iri("a"), name, valueFactory.createBNode("node"));
+        try (DiskReferenceIndex index = createIndex(
+                Arrays.asList(withContext, blankNode), 100, 10)) {
+            List<Statement> actual = index.get(iri("target"));
+            Assert.assertEquals(2, actual.size());
+            Assert.assertTrue(actual.contains(withContext));
+            Assert.assertTrue(actual.contains(blankNode));
+        }
+    }
+
+    private DiskReferenceIndex createIndex(
+            List<Statement> statements, int runSize, int cacheSize)
+            throws IOException {
+        DiskReferenceIndex.Builder builder =
+                new DiskReferenceIndex.Builder(directory, code, runSize);
+        for (Statement statement : statements) {
+            builder.add(statement);
+        }
+        return builder.build(cacheSize);
+    }
+
+    private Statement statement(String subject, IRI predicate, Value object) {
+        return valueFactory.createStatement(iri(subject), predicate, object);
+    }
+
+    private IRI iri(String value) {
+        return valueFactory.createIRI("http://localhost/" + value);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.linkedpipes.plugin.transformer.rdftofile;
 
 import com.linkedpipes.etl.dataunit.core.files.WritableFilesDataUnit;
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.executor.api.v1.LpException;
@@ -67,7 +68,6 @@ public final class RdfToFileChunked implements Component, SequentialExecution {
     }
 
     private void export() throws LpException {
-        reportStart();
         try (FileOutputStream outStream = new FileOutputStream(outputFile);
              OutputStreamWriter outWriter = new OutputStreamWriter(
                      outStream, Charset.forName(FILE_ENCODE))) {
@@ -79,24 +79,20 @@ public final class RdfToFileChunked implements Component, SequentialExecution {
         } catch (IOException ex) {
             throw exceptionFactory.failure("Can't write data.", ex);
         }
-        reportEnd();
     }
 
     private void exportChunks(RDFWriter writer) throws LpException {
-        for (ChunkedTriples.Chunk chunk : inputRdf) {
-            for (Statement statement : chunk.toCollection()) {
-                writer.handleStatement(statement);
-            }
-            progressReport.entryProcessed();
-        }
-    }
-
-    private void reportStart() {
-        progressReport.start(inputRdf.size());
-    }
-
-    private void reportEnd() {
-        progressReport.done();
+        // Chunks are loaded in parallel, but written in the input order
+        // by this thread as the writer is shared by all chunks.
+        new ChunkMapper(configuration.getThreads())
+                .setOrdered(true)
+                .setProgressReport(progressReport)
+                .map(inputRdf, ChunkedTriples.Chunk::toCollection,
+                        (statements) -> {
+                            for (Statement statement : statements) {
+                                writer.handleStatement(statement);
+                            }
+                        });
     }
 
     private RDFWriter createWriter(OutputStreamWriter streamWriter) {
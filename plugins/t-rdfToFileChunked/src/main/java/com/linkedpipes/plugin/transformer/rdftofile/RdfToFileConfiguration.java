@@ -17,6 +17,9 @@ public class RdfToFileConfiguration {
     @RdfToPojo.Property(iri = RdfToFileVocabulary.HAS_PREFIXES)
     private String prefixes;
 
+    @RdfToPojo.Property(iri = RdfToFileVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public RdfToFileConfiguration() {
     }
 
@@ -51,4 +54,13 @@ public class RdfToFileConfiguration {
     public void setPrefixes(String prefixes) {
         this.prefixes = prefixes;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
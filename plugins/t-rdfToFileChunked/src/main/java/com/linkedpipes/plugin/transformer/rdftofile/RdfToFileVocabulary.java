@@ -15,6 +15,8 @@ public final class RdfToFileVocabulary {
 
     public static final String HAS_PREFIXES = PREFIX + "prefixTurtle";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
     private RdfToFileVocabulary() {
     }
 
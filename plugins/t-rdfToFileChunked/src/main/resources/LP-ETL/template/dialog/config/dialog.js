@@ -23,6 +23,10 @@ define([], function () {
         "prefixTurtle": {
             "$type": "str",
             "$label": "Used prefixes as Turtle"
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
         }
     };
 
@@ -0,0 +1,335 @@
+package com.linkedpipes.plugin.transformer.sparql.construct;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.algebra.Extension;
+import org.eclipse.rdf4j.query.algebra.ExtensionElem;
+import org.eclipse.rdf4j.query.algebra.Join;
+import org.eclipse.rdf4j.query.algebra.MultiProjection;
+import org.eclipse.rdf4j.query.algebra.Projection;
+import org.eclipse.rdf4j.query.algebra.ProjectionElem;
+import org.eclipse.rdf4j.query.algebra.ProjectionElemList;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.Reduced;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.ValueConstant;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.parser.ParsedGraphQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Evaluate simple CONSTRUCT query directly over a list of statements,
+ * without loading them into a repository.
+ *
+ * <p>Only queries where the WHERE clause is a basic graph pattern
+ * in the default graph, without FROM or FROM NAMED, and the template
+ * contains no blank nodes are supported.
+ */
+class DirectConstruct {
+
+    private static final String SUBJECT = "subject";
+
+    private static final String PREDICATE = "predicate";
+
+    private static final String OBJECT = "object";
+
+    private final ValueFactory valueFactory =
+            SimpleValueFactory.getInstance();
+
+    /**
+     * Patterns from the WHERE clause.
+     */
+    private final List<StatementPattern> patterns;
+
+    /**
+     * Constants used by the template.
+     */
+    private final Map<String, Value> constants;
+
+    /**
+     * Template, every item maps the binding names to subject,
+     * predicate and object.
+     */
+    private final List<Map<String, String>> template;
+
+    private DirectConstruct(
+            List<StatementPattern> patterns, Map<String, Value> constants,
+            List<Map<String, String>> template) {
+        this.patterns = patterns;
+        this.constants = constants;
+        this.template = template;
+    }
+
+    /**
+     * @return Null if the query is not supported.
+     */
+    public static DirectConstruct create(ParsedGraphQuery query) {
+        // FROM and FROM NAMED change the default graph.
+        if (query.getDataset() != null) {
+            return null;
+        }
+        TupleExpr expr = query.getTupleExpr();
+        if (expr instanceof QueryRoot) {
+            expr = ((QueryRoot) expr).getArg();
+        }
+        // Reduced only allows to remove duplicities, so we can ignore it.
+        if (expr instanceof Reduced) {
+            expr = ((Reduced) expr).getArg();
+        }
+        List<ProjectionElemList> projections;
+        if (expr instanceof Projection) {
+            Projection projection = (Projection) expr;
+            projections = Collections.singletonList(
+                    projection.getProjectionElemList());
+            expr = projection.getArg();
+        } else if (expr instanceof MultiProjection) {
+            MultiProjection projection = (MultiProjection) expr;
+            projections = projection.getProjections();
+            expr = projection.getArg();
+        } else {
+            return null;
+        }
+        Map<String, Value> constants = new HashMap<>();
+        if (expr instanceof Extension) {
+            Extension extension = (Extension) expr;
+            for (ExtensionElem elem : extension.getElements()) {
+                // Blank nodes in template or expressions.
+                if (!(elem.getExpr() instanceof ValueConstant)) {
+                    return null;
+                }
+                constants.put(elem.getName(),
+                        ((ValueConstant) elem.getExpr()).getValue());
+            }
+            expr = extension.getArg();
+        }
+        List<StatementPattern> patterns = new ArrayList<>();
+        if (!collectPatterns(expr, patterns)) {
+            return null;
+        }
+        for (StatementPattern pattern : patterns) {
+            for (Var var : pattern.getVarList()) {
+                if (var.hasValue()) {
+                    constants.put(var.getName(), var.getValue());
+                }
+            }
+        }
+        List<Map<String, String>> template = new ArrayList<>();
+        for (ProjectionElemList projection : projections) {
+            Map<String, String> item = new HashMap<>();
+            for (ProjectionElem elem : projection.getElements()) {
+                item.put(elem.getTargetName(), elem.getSourceName());
+            }
+            if (item.size() != 3 || !item.containsKey(SUBJECT)
+                    || !item.containsKey(PREDICATE)
+                    || !item.containsKey(OBJECT)) {
+                return null;
+            }
+            template.add(item);
+        }
+        return new DirectConstruct(patterns, constants, template);
+    }
+
+    private static boolean collectPatterns(
+            TupleExpr expr, List<StatementPattern> patterns) {
+        if (expr instanceof Join) {
+            Join join = (Join) expr;
+            return collectPatterns(join.getLeftArg(), patterns)
+                    && collectPatterns(join.getRightArg(), patterns);
+        }
+        if (expr instanceof StatementPattern) {
+            StatementPattern pattern = (StatementPattern) expr;
+            if (pattern.getScope() != StatementPattern.Scope.DEFAULT_CONTEXTS
+                    || pattern.getContextVar() != null) {
+                return false;
+            }
+            patterns.add(pattern);
+            return true;
+        }
+        return false;
+    }
+
+    public Collection<Statement> evaluate(
+            Collection<Statement> statements, boolean deduplicate) {
+        // Repository would store every statement only once.
+        Collection<Statement> input = statements instanceof Set
+                ? statements : new LinkedHashSet<>(statements);
+        Map<IRI, List<Statement>> byPredicate = new HashMap<>();
+        for (Statement statement : input) {
+            byPredicate.computeIfAbsent(
+                    statement.getPredicate(), (key) -> new ArrayList<>())
+                    .add(statement);
+        }
+        List<Map<String, Value>> solutions =
+                Collections.singletonList(Collections.emptyMap());
+        // All solutions bind the same variables, as there are only
+        // statement patterns.
+        Set<String> bound = new HashSet<>();
+        for (StatementPattern pattern : patterns) {
+            Collection<Statement> candidates = input;
+            Var predicate = pattern.getPredicateVar();
+            if (predicate.hasValue()) {
+                candidates = byPredicate.getOrDefault(
+                        predicate.getValue(), Collections.emptyList());
+            }
+            solutions = join(solutions, pattern, candidates, bound);
+            if (solutions.isEmpty()) {
+                break;
+            }
+            for (Var var : pattern.getVarList()) {
+                if (!var.hasValue()) {
+                    bound.add(var.getName());
+                }
+            }
+        }
+        Collection<Statement> result;
+        if (deduplicate) {
+            result = new LinkedHashSet<>();
+        } else {
+            result = new ArrayList<>();
+        }
+        for (Map<String, Value> solution : solutions) {
+            for (Map<String, String> item : template) {
+                Statement statement = createStatement(solution, item);
+                if (statement != null) {
+                    result.add(statement);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * If the subject or the object is known for every solution, we index
+     * the candidates by it and join using the index. Otherwise, there is
+     * no shared variable and we need to combine all of them.
+     */
+    private List<Map<String, Value>> join(
+            List<Map<String, Value>> solutions, StatementPattern pattern,
+            Collection<Statement> candidates, Set<String> bound) {
+        Var key;
+        Function<Statement, Value> keyOf;
+        if (isKnown(pattern.getSubjectVar(), bound)) {
+            key = pattern.getSubjectVar();
+            keyOf = Statement::getSubject;
+        } else if (isKnown(pattern.getObjectVar(), bound)) {
+            key = pattern.getObjectVar();
+            keyOf = Statement::getObject;
+        } else {
+            return join(solutions, pattern, candidates);
+        }
+        Map<Value, List<Statement>> index = new HashMap<>();
+        for (Statement statement : candidates) {
+            index.computeIfAbsent(
+                    keyOf.apply(statement), (value) -> new ArrayList<>())
+                    .add(statement);
+        }
+        List<Map<String, Value>> result = new ArrayList<>();
+        for (Map<String, Value> solution : solutions) {
+            Value value = key.hasValue()
+                    ? key.getValue() : solution.get(key.getName());
+            for (Statement statement : index.getOrDefault(
+                    value, Collections.emptyList())) {
+                Map<String, Value> next = bind(pattern, statement, solution);
+                if (next != null) {
+                    result.add(next);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isKnown(Var var, Set<String> bound) {
+        return var.hasValue() || bound.contains(var.getName());
+    }
+
+    private List<Map<String, Value>> join(
+            List<Map<String, Value>> solutions, StatementPattern pattern,
+            Collection<Statement> candidates) {
+        List<Map<String, Value>> result = new ArrayList<>();
+        for (Map<String, Value> solution : solutions) {
+            for (Statement statement : candidates) {
+                Map<String, Value> next = bind(pattern, statement, solution);
+                if (next != null) {
+                    result.add(next);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Extended solution or null if the statement does not match.
+     */
+    private static Map<String, Value> bind(
+            StatementPattern pattern, Statement statement,
+            Map<String, Value> solution) {
+        Var[] vars = {pattern.getSubjectVar(), pattern.getPredicateVar(),
+                pattern.getObjectVar()};
+        Value[] values = {statement.getSubject(), statement.getPredicate(),
+                statement.getObject()};
+        Map<String, Value> result = null;
+        for (int index = 0; index < vars.length; ++index) {
+            Var var = vars[index];
+            Value value = values[index];
+            if (var.hasValue()) {
+                if (!var.getValue().equals(value)) {
+                    return null;
+                }
+                continue;
+            }
+            Value bound = solution.get(var.getName());
+            if (bound == null && result != null) {
+                bound = result.get(var.getName());
+            }
+            if (bound == null) {
+                if (result == null) {
+                    result = new HashMap<>(solution);
+                }
+                result.put(var.getName(), value);
+            } else if (!bound.equals(value)) {
+                return null;
+            }
+        }
+        return result == null ? solution : result;
+    }
+
+    /**
+     * @return Null if the statement would not be valid.
+     */
+    private Statement createStatement(
+            Map<String, Value> solution, Map<String, String> item) {
+        Value subject = getValue(solution, item.get(SUBJECT));
+        Value predicate = getValue(solution, item.get(PREDICATE));
+        Value object = getValue(solution, item.get(OBJECT));
+        if (!(subject instanceof Resource) || !(predicate instanceof IRI)
+                || object == null) {
+            return null;
+        }
+        return valueFactory.createStatement(
+                (Resource) subject, (IRI) predicate, object);
+    }
+
+    private Value getValue(Map<String, Value> solution, String name) {
+        Value value = solution.get(name);
+        if (value == null) {
+            value = constants.get(name);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.linkedpipes.plugin.transformer.sparql.construct;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.query.GraphQuery;
+import org.eclipse.rdf4j.query.GraphQueryResult;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evaluate CONSTRUCT query using an in-memory repository. The repository
+ * and the prepared query are reused for all chunks, the repository is
+ * cleared before each chunk. Instance must be used by one thread only.
+ */
+class RepositoryConstruct implements AutoCloseable {
+
+    private final Repository repository;
+
+    private final RepositoryConnection connection;
+
+    private final GraphQuery query;
+
+    public RepositoryConstruct(String query) {
+        this.repository = new SailRepository(new MemoryStore());
+        this.repository.init();
+        this.connection = repository.getConnection();
+        this.query = connection.prepareGraphQuery(query);
+    }
+
+    public List<Statement> evaluate(
+            Collection<Statement> statements, boolean deduplicate) {
+        if (connection.isActive()) {
+            // Left over from a failed chunk.
+            connection.rollback();
+        }
+        connection.begin();
+        connection.clear();
+        connection.add(statements);
+        connection.commit();
+        List<Statement> result = new ArrayList<>();
+        GraphQueryResult queryResult = query.evaluate();
+        if (deduplicate) {
+            // Sparql construct does not return distinct results by default:
+            // https://github.com/eclipse/rdf4j/issues/857
+            queryResult = QueryResults.distinctResults(queryResult);
+        }
+        try {
+            while (queryResult.hasNext()) {
+                result.add(queryResult.next());
+            }
+        } finally {
+            queryResult.close();
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+        repository.shutDown();
+    }
+
+}
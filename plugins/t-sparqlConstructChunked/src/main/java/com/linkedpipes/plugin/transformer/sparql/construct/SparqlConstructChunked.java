@@ -1,5 +1,6 @@
 package com.linkedpipes.plugin.transformer.sparql.construct;
 
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.core.rdf.WritableChunkedTriples;
@@ -8,14 +9,17 @@ import com.linkedpipes.etl.executor.api.v1.component.Component;
 import com.linkedpipes.etl.executor.api.v1.component.SequentialExecution;
 import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
 import com.linkedpipes.etl.executor.api.v1.service.ProgressReport;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.ParsedGraphQuery;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Chunked version of SPARQL construct. Perform the construct operation
@@ -48,35 +52,37 @@ public final class SparqlConstructChunked implements Component,
     @Component.Inject
     public ProgressReport progressReport;
 
-    private ExecutorManager executorManager;
+    /**
+     * Used if the query is simple enough.
+     */
+    private DirectConstruct directConstruct;
 
-    private List<SparqlConstructExecutor> executors = new LinkedList<>();
+    /**
+     * Repository for each worker thread.
+     */
+    private final ThreadLocal<RepositoryConstruct> repositoryConstruct =
+            ThreadLocal.withInitial(this::createRepositoryConstruct);
+
+    private final List<RepositoryConstruct> repositoryConstructs =
+            Collections.synchronizedList(new ArrayList<>());
 
     @Override
     public void execute() throws LpException {
         checkConfiguration();
-        createExecutors();
-        ExecutorService executor = Executors.newFixedThreadPool(
-                configuration.getNumberOfThreads());
-
-        progressReport.start(inputRdf.size());
-        startThreads(executor);
-        executor.shutdown();
-        awaitTermination(executor);
-        progressReport.done();
-        checkExecutorsStatus();
-    }
-
-    private void createExecutors() {
-        executorManager = new ExecutorManager(
-                inputRdf, outputRdf, progressReport);
-        for (int i = 0; i < configuration.getNumberOfThreads(); ++i) {
-            SparqlConstructExecutor constructExecutor =
-                    new SparqlConstructExecutor(executorManager,
-                            configuration.getQuery(),
-                            configuration.isUseDeduplication(),
-                            configuration.isSkipOnFailure());
-            executors.add(constructExecutor);
+        prepareQuery();
+        try {
+            new ChunkMapper(configuration.getNumberOfThreads())
+                    .setSkipOnFailure(configuration.isSkipOnFailure())
+                    .setProgressReport(progressReport)
+                    .mapToChunks(inputRdf, this::construct, outputRdf);
+        } catch (LpException ex) {
+            throw exceptionFactory.failure(
+                    "At least one construct failed. See logs for more info.",
+                    ex);
+        } finally {
+            for (RepositoryConstruct construct : repositoryConstructs) {
+                construct.close();
+            }
         }
     }
 
@@ -88,34 +94,37 @@ public final class SparqlConstructChunked implements Component,
         }
     }
 
-    private void startThreads(ExecutorService executor) {
-        LOG.info("Number of threads: {}", configuration.getNumberOfThreads());
-        for (SparqlConstructExecutor constructExecutor : executors) {
-            executor.submit(constructExecutor);
+    private void prepareQuery() throws LpException {
+        ParsedGraphQuery query;
+        try {
+            query = QueryParserUtil.parseGraphQuery(
+                    QueryLanguage.SPARQL, configuration.getQuery(), null);
+        } catch (RuntimeException ex) {
+            throw exceptionFactory.failure("Invalid query.", ex);
+        }
+        directConstruct = DirectConstruct.create(query);
+        if (directConstruct == null) {
+            LOG.info("Using repository to evaluate the query.");
+        } else {
+            LOG.info("Evaluating the query directly on the chunks.");
         }
     }
 
-    private void awaitTermination(ExecutorService executor) {
-        LOG.info("Waiting for executors ...");
-        while (true) {
-            try {
-                if (executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    break;
-                }
-            } catch (InterruptedException ex) {
-                // Ignore.
-            }
-        }
-        LOG.info("Waiting for executors ... done");
+    private RepositoryConstruct createRepositoryConstruct() {
+        RepositoryConstruct result =
+                new RepositoryConstruct(configuration.getQuery());
+        repositoryConstructs.add(result);
+        return result;
     }
 
-    private void checkExecutorsStatus() throws LpException {
-        for (SparqlConstructExecutor constructExecutor : executors) {
-            if (constructExecutor.isFailed()) {
-                throw exceptionFactory.failure(
-                        "At least one construct failed. See logs for more info.");
-            }
+    private Collection<Statement> construct(ChunkedTriples.Chunk chunk)
+            throws LpException {
+        Collection<Statement> statements = chunk.toCollection();
+        boolean deduplicate = configuration.isUseDeduplication();
+        if (directConstruct != null) {
+            return directConstruct.evaluate(statements, deduplicate);
         }
+        return repositoryConstruct.get().evaluate(statements, deduplicate);
     }
 
 }
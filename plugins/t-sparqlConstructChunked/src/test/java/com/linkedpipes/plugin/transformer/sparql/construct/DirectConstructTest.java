@@ -0,0 +1,152 @@
+package com.linkedpipes.plugin.transformer.sparql.construct;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class DirectConstructTest {
+
+    private static final String PREFIX = "PREFIX : <http://localhost/>\n";
+
+    private final ValueFactory valueFactory =
+            SimpleValueFactory.getInstance();
+
+    private final List<Statement> statements = Arrays.asList(
+            statement("a", "type", valueFactory.createIRI(
+                    "http://localhost/Person")),
+            statement("a", "name", valueFactory.createLiteral("Alice")),
+            statement("a", "knows", valueFactory.createIRI(
+                    "http://localhost/b")),
+            statement("b", "type", valueFactory.createIRI(
+                    "http://localhost/Person")),
+            statement("b", "name", valueFactory.createLiteral("Bob")),
+            statement("b", "knows", valueFactory.createIRI(
+                    "http://localhost/a")),
+            statement("c", "name", valueFactory.createLiteral("Carol")));
+
+    @Test
+    public void copyAll() {
+        assertSameResult("CONSTRUCT { ?s ?p ?o } WHERE { ?s ?p ?o }");
+    }
+
+    @Test
+    public void constantInTemplate() {
+        assertSameResult("CONSTRUCT { ?s :label ?name . ?s a :Entity } "
+                + "WHERE { ?s :name ?name }");
+    }
+
+    @Test
+    public void joinPatterns() {
+        assertSameResult("CONSTRUCT { ?s :friendName ?name } WHERE { "
+                + "?s a :Person ; :knows ?friend . ?friend :name ?name }");
+    }
+
+    @Test
+    public void sharedVariable() {
+        assertSameResult("CONSTRUCT { ?s :mutual ?o } WHERE { "
+                + "?s :knows ?o . ?o :knows ?s }");
+    }
+
+    @Test
+    public void noMatch() {
+        assertSameResult("CONSTRUCT { ?s ?p ?o } WHERE { "
+                + "?s :missing ?o . ?s ?p ?o }");
+    }
+
+    @Test
+    public void duplicatesWithoutDeduplication() {
+        List<Statement> input = new ArrayList<>(statements);
+        input.addAll(statements);
+        assertSameList("CONSTRUCT { ?s :label ?name } "
+                + "WHERE { ?s :name ?name }", input);
+        assertSameList("CONSTRUCT { ?s :friendName ?name } WHERE { "
+                + "?s a :Person ; :knows ?friend . ?friend :name ?name }",
+                input);
+    }
+
+    @Test
+    public void unsupportedQueries() {
+        assertNotSupported("CONSTRUCT { ?s :p [ :q ?o ] } "
+                + "WHERE { ?s :name ?o }");
+        assertNotSupported("CONSTRUCT { ?s :p ?o } "
+                + "WHERE { ?s :name ?o FILTER(?o != \"Bob\") }");
+        assertNotSupported("CONSTRUCT { ?s :p ?o } "
+                + "WHERE { ?s :name ?o OPTIONAL { ?s :knows ?x } }");
+        assertNotSupported("CONSTRUCT { ?s :p ?o } "
+                + "WHERE { GRAPH ?g { ?s :name ?o } }");
+        assertNotSupported("CONSTRUCT { ?s :p ?o } "
+                + "WHERE { ?s :name ?o } LIMIT 1");
+        assertNotSupported("CONSTRUCT { ?s :p ?o } FROM :graph "
+                + "WHERE { ?s :name ?o }");
+        assertNotSupported("CONSTRUCT { ?s :p ?o } FROM NAMED :graph "
+                + "WHERE { ?s :name ?o }");
+    }
+
+    private Statement statement(String subject, String predicate,
+            Value object) {
+        return valueFactory.createStatement(
+                valueFactory.createIRI("http://localhost/" + subject),
+                predicate.equals("type")
+                        ? valueFactory.createIRI(
+                        "http://www.w3.org/1999/02/22-rdf-syntax-ns#type")
+                        : valueFactory.createIRI(
+                        "http://localhost/" + predicate),
+                object);
+    }
+
+    private void assertSameResult(String query) {
+        DirectConstruct direct = create(query);
+        Assert.assertNotNull(direct);
+        try (RepositoryConstruct repository =
+                     new RepositoryConstruct(PREFIX + query)) {
+            // Run twice to check the repository is cleared.
+            repository.evaluate(statements, true);
+            Assert.assertEquals(
+                    new HashSet<>(repository.evaluate(statements, true)),
+                    new HashSet<>(direct.evaluate(statements, true)));
+        }
+    }
+
+    /**
+     * Compare results without deduplication, the order can differ.
+     */
+    private void assertSameList(String query, List<Statement> input) {
+        DirectConstruct direct = create(query);
+        Assert.assertNotNull(direct);
+        try (RepositoryConstruct repository =
+                     new RepositoryConstruct(PREFIX + query)) {
+            Assert.assertEquals(
+                    sorted(repository.evaluate(input, false)),
+                    sorted(direct.evaluate(input, false)));
+        }
+    }
+
+    private List<String> sorted(Collection<Statement> statements) {
+        return statements.stream()
+                .map(Statement::toString)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void assertNotSupported(String query) {
+        Assert.assertNull(create(query));
+    }
+
+    private DirectConstruct create(String query) {
+        return DirectConstruct.create(QueryParserUtil.parseGraphQuery(
+                QueryLanguage.SPARQL, PREFIX + query, null));
+    }
+
+}
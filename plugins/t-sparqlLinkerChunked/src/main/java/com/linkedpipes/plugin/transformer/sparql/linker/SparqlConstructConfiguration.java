@@ -11,6 +11,9 @@ public class SparqlConstructConfiguration {
     @RdfToPojo.Property(iri = SparqlConstructVocabulary.HAS_OUTPUT_MODE)
     private String outputMode;
 
+    @RdfToPojo.Property(iri = SparqlConstructVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public SparqlConstructConfiguration() {
     }
 
@@ -30,4 +33,12 @@ public class SparqlConstructConfiguration {
         this.outputMode = outputMode;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
@@ -15,6 +15,8 @@ final class SparqlConstructVocabulary {
 
     public static final String ADD_TO_CHUNK = PREFIX + "addToChunk";
 
+    public static final String HAS_THREADS = PREFIX + "threads";
+
     private SparqlConstructVocabulary() {
     }
 
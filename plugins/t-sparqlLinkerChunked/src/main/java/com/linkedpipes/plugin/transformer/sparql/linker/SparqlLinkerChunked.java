@@ -1,5 +1,6 @@
 package com.linkedpipes.plugin.transformer.sparql.linker;
 
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.core.rdf.WritableChunkedTriples;
@@ -68,8 +69,6 @@ public final class SparqlLinkerChunked implements Component,
             throw exceptionFactory.failure("Missing property: {}",
                     SparqlConstructVocabulary.HAS_QUERY);
         }
-        progressReport.start(dataRdf.size());
-        final List<Statement> outputBuffer = new ArrayList<>(10000);
         // Load reference data.
         final List<Statement> reference = new ArrayList<>(10000);
         referenceRdf.execute((connection) -> {
@@ -88,12 +87,23 @@ public final class SparqlLinkerChunked implements Component,
         LOG.info("Output mode (add to chunk: {}) : {}", isAddToChunk,
                 configuration.getOutputMode());
 
-        for (ChunkedTriples.Chunk data : dataRdf) {
-            LOG.info("processing ..");
-            // Prepare repository and load data.
-            final Repository repository =
-                    new SailRepository(new MemoryStore());
-            repository.initialize();
+        new ChunkMapper(configuration.getThreads())
+                .setProgressReport(progressReport)
+                .mapToChunks(dataRdf,
+                        (data) -> link(data, reference, isAddToChunk),
+                        outputRdf);
+    }
+
+    private List<Statement> link(
+            ChunkedTriples.Chunk data, List<Statement> reference,
+            boolean isAddToChunk) throws LpException {
+        LOG.info("processing ..");
+        final List<Statement> outputBuffer = new ArrayList<>();
+        // Prepare repository and load data.
+        final Repository repository =
+                new SailRepository(new MemoryStore());
+        repository.init();
+        try {
             LOG.info("\tloading ..");
             final Collection<Statement> statements = data.toCollection();
             Repositories.consume(repository, (connection) -> {
@@ -113,16 +123,12 @@ public final class SparqlLinkerChunked implements Component,
             if (isAddToChunk) {
                 outputBuffer.addAll(statements);
             }
-            outputRdf.submit(outputBuffer);
+        } finally {
             LOG.info("\tcleanup ..");
-            // Cleanup.
-            outputBuffer.clear();
             repository.shutDown();
-            progressReport.entryProcessed();
-            LOG.info("\tdone ..");
         }
-        progressReport.done();
+        LOG.info("\tdone ..");
+        return outputBuffer;
     }
 
-
 }
@@ -16,6 +16,10 @@ define([], function () {
             "$type": "iri",
             "$label": "Output mode",
             "$onLoad": defaultOutputMode
+        },
+        "threads": {
+            "$type": "int",
+            "$label": "Number of threads"
         }
     };
 
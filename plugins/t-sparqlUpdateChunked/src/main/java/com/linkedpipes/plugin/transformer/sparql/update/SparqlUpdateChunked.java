@@ -1,5 +1,6 @@
 package com.linkedpipes.plugin.transformer.sparql.update;
 
+import com.linkedpipes.etl.dataunit.core.rdf.ChunkMapper;
 import com.linkedpipes.etl.dataunit.core.rdf.ChunkedTriples;
 import com.linkedpipes.etl.dataunit.core.rdf.SingleGraphDataUnit;
 import com.linkedpipes.etl.dataunit.core.rdf.WritableChunkedTriples;
@@ -52,13 +53,18 @@ public final class SparqlUpdateChunked implements Component,
             throw exceptionFactory.failure("Missing property: {}",
                     SparqlUpdateVocabulary.CONFIG_SPARQL);
         }
-        // We always perform inserts.
-        progressReport.start(inputRdf.size());
-        List<Statement> outputBuffer = new ArrayList<>(10000);
-        for (ChunkedTriples.Chunk chunk : inputRdf) {
-            // Prepare repository and load data.
-            final Repository repository = new SailRepository(new MemoryStore());
-            repository.initialize();
+        new ChunkMapper(configuration.getThreads())
+                .setProgressReport(progressReport)
+                .mapToChunks(inputRdf, this::update, outputRdf);
+    }
+
+    private List<Statement> update(ChunkedTriples.Chunk chunk)
+            throws LpException {
+        List<Statement> outputBuffer = new ArrayList<>();
+        // Prepare repository and load data.
+        final Repository repository = new SailRepository(new MemoryStore());
+        repository.init();
+        try {
             final Collection<Statement> statements = chunk.toCollection();
             Repositories.consume(repository, (connection) -> {
                 connection.add(statements);
@@ -78,13 +84,10 @@ public final class SparqlUpdateChunked implements Component,
                     }
                 });
             });
-            outputRdf.submit(outputBuffer);
-            // Cleanup.
-            outputBuffer.clear();
+        } finally {
             repository.shutDown();
-            progressReport.entryProcessed();
         }
-        progressReport.done();
+        return outputBuffer;
     }
 
 }
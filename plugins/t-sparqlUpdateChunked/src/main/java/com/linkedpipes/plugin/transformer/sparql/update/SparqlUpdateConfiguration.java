@@ -8,6 +8,9 @@ public class SparqlUpdateConfiguration {
     @RdfToPojo.Property(iri = SparqlUpdateVocabulary.CONFIG_SPARQL)
     private String query = "INSERT { ?s ?p ?o } WHERE { ?s ?p ?o }";
 
+    @RdfToPojo.Property(iri = SparqlUpdateVocabulary.CONFIG_THREADS)
+    private int threads = 1;
+
     public SparqlUpdateConfiguration() {
     }
 
@@ -19,4 +22,12 @@ public class SparqlUpdateConfiguration {
         this.query = query;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
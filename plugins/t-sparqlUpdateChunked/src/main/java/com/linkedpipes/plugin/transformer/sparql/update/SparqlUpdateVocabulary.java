@@ -9,4 +9,6 @@ public class SparqlUpdateVocabulary {
 
     public static final String CONFIG_SPARQL = PREFIX + "query";
 
+    public static final String CONFIG_THREADS = PREFIX + "threads";
+
 }
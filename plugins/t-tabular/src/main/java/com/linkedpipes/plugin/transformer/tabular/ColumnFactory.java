@@ -10,9 +10,7 @@ import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -153,7 +151,7 @@ class ColumnFactory {
                 }
             }
             final UrlTemplate predicate
-                    = new UrlTemplate(baseUri + encodeString(name));
+                    = new UrlTemplate(baseUri + UriEncoder.encode(name));
             // Column with typed value.
             result.add(new ColumnTyped(XMLSchema.STRING, null, name, false,
                     aboutUrl, predicate));
@@ -161,12 +159,4 @@ class ColumnFactory {
         return result;
     }
 
-    private static String encodeString(String part) {
-        try {
-            return URLEncoder.encode(part, "UTF-8");
-        } catch (UnsupportedEncodingException ex) {
-            throw new RuntimeException("Unsupported encoding", ex);
-        }
-    }
-
 }
@@ -0,0 +1,142 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Create IRIs using a {@link StringTemplate}.
+ *
+ * <p>The value of a constant template is created only once. When the
+ * template depends on a single column, the IRIs are cached by the column
+ * value as columns like code lists contain only a few distinct values.
+ * The cache is turned off if it does not pay off.
+ *
+ * <p>Not thread-safe, each mapper must use own instance.
+ */
+class IriFactory {
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * Cache efficiency is checked after every given number of lookups.
+     */
+    private static final int CACHE_CHECK = 16 * CACHE_SIZE;
+
+    /**
+     * If less than 1 / CACHE_MIN_HIT_RATIO lookups are hits,
+     * the cache is turned off.
+     */
+    private static final int CACHE_MIN_HIT_RATIO = 4;
+
+    private static class Cache extends LinkedHashMap<String, IRI> {
+
+        private static final float LOAD_FACTOR = 0.75f;
+
+        Cache() {
+            super(CACHE_SIZE, LOAD_FACTOR, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IRI> eldest) {
+            return size() > CACHE_SIZE;
+        }
+
+    }
+
+    private final StringTemplate template;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private final Cache cache = new Cache();
+
+    private boolean constant;
+
+    /**
+     * Value of a constant template.
+     */
+    private IRI constantValue;
+
+    /**
+     * Index of column used as a key to the cache, -1 if cache is not used.
+     */
+    private int cacheIndex;
+
+    private int cacheLookups;
+
+    private int cacheHits;
+
+    IriFactory(StringTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * Must be called after the template is initialized.
+     */
+    public void initialize() {
+        cache.clear();
+        cacheLookups = 0;
+        cacheHits = 0;
+        constant = template.isConstant();
+        if (constant) {
+            constantValue = build(null, 0);
+            cacheIndex = -1;
+        } else {
+            constantValue = null;
+            cacheIndex = template.getSingleColumnIndex();
+        }
+    }
+
+    /**
+     * @return Null if any value is missing.
+     */
+    public IRI create(List<String> row, int rowNumber) {
+        if (constant) {
+            return constantValue;
+        }
+        if (cacheIndex == -1) {
+            return build(row, rowNumber);
+        }
+        final String key = row.get(cacheIndex);
+        if (key == null) {
+            return null;
+        }
+        IRI result = cache.get(key);
+        if (result == null) {
+            result = build(row, rowNumber);
+            cache.put(key, result);
+        } else {
+            ++cacheHits;
+        }
+        if (++cacheLookups == CACHE_CHECK) {
+            checkCache();
+        }
+        return result;
+    }
+
+    private IRI build(List<String> row, int rowNumber) {
+        builder.setLength(0);
+        if (template.appendTo(builder, row, rowNumber)) {
+            return VALUE_FACTORY.createIRI(builder.toString());
+        } else {
+            return null;
+        }
+    }
+
+    private void checkCache() {
+        if (cacheHits * CACHE_MIN_HIT_RATIO < cacheLookups) {
+            cacheIndex = -1;
+            cache.clear();
+        }
+        cacheLookups = 0;
+        cacheHits = 0;
+    }
+
+}
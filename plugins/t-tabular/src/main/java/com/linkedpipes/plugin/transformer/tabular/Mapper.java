@@ -17,7 +17,7 @@ import java.util.List;
  *
  * @author Škoda Petr
  */
-class Mapper {
+class Mapper implements RowHandler {
 
     /**
      * Output data mode.
@@ -157,11 +157,36 @@ class Mapper {
         return false;
     }
 
+    /**
+     * Prepare for mapping rows of a table started by other mapper,
+     * nothing is submitted. Used when rows are mapped in parallel.
+     *
+     * @param tableResource Value used in {@link #onTableStart}.
+     * @param table Resource of the table.
+     */
+    public void onTableContinue(
+            String tableResource, Resource table, List<String> header)
+            throws ColumnAbstract.MissingNameInHeader, InvalidTemplate,
+            LpException {
+        this.tableResource = tableResource;
+        this.T = table;
+        onHeader(header);
+    }
+
+    public String getTableResource() {
+        return tableResource;
+    }
+
+    public Resource getTable() {
+        return T;
+    }
+
     /**
      * Must be called before {@link #onRow(java.util.List)}.
      *
      * @param header Null if there is no header.
      */
+    @Override
     public void onHeader(List<String> header)
             throws ColumnAbstract.MissingNameInHeader, InvalidTemplate,
             LpException {
@@ -182,14 +207,52 @@ class Mapper {
      * @param row Row from the CSV file.
      * @return True if next line should be processed if it exists.
      */
+    @Override
     public boolean onRow(List<String> row) throws UnsupportedEncodingException,
             LpException, ColumnAbstract.MissingColumnValue {
         consumer.onRowStart();
+        if (!nextRow()) {
+            return true;
+        }
+        emitRow(row, rowNumber);
+        consumer.onRowEnd();
+        return hasNextRow();
+    }
+
+    /**
+     * Count next row.
+     *
+     * @return False if the row should be skipped.
+     */
+    public boolean nextRow() {
         rowNumber++;
         if (rowNumber <= configuration.getDialect().getSkipRows()) {
-            return true;
+            return false;
         }
         processedRowNumber++;
+        return true;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * @return True if next line should be processed if it exists.
+     */
+    public boolean hasNextRow() {
+        return !(0 < configuration.getRowLimit()
+                && configuration.getRowLimit() <= processedRowNumber);
+    }
+
+    /**
+     * Submit statements for given row, does not call
+     * {@link StatementConsumer#onRowStart()} nor
+     * {@link StatementConsumer#onRowEnd()}.
+     */
+    public void emitRow(List<String> row, int rowNumber)
+            throws UnsupportedEncodingException, LpException,
+            ColumnAbstract.MissingColumnValue {
         // 4.6
         final Resource R;
         if (outputMode == Mode.STANDARD) {
@@ -267,11 +330,6 @@ class Mapper {
 //                consumer.submit(S, P, value);
 //            }
         }
-        consumer.onRowEnd();
-
-        // True if we should continue with reading of the next line.
-        return !(0 < configuration.getRowLimit()
-                && configuration.getRowLimit() <= processedRowNumber);
     }
 
     public void onTableEnd() {
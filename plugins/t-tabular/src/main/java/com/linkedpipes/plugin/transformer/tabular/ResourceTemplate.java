@@ -4,7 +4,6 @@ import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,6 +20,8 @@ public class ResourceTemplate {
 
     private final StringTemplate template;
 
+    private final IriFactory iriFactory;
+
     /**
      * Last created resource.
      */
@@ -31,8 +32,11 @@ public class ResourceTemplate {
     public ResourceTemplate(String templateAsString) {
         if (templateAsString == null || templateAsString.isEmpty()) {
             template = null;
+            iriFactory = null;
         } else {
-            this.template = new StringTemplate(templateAsString);
+            this.template = new StringTemplate(
+                    templateAsString, ROW_NUMBER_COLUMN);
+            this.iriFactory = new IriFactory(template);
         }
     }
 
@@ -40,10 +44,8 @@ public class ResourceTemplate {
             throws InvalidTemplate {
         lastRowNumber = -1;
         if (template != null) {
-            List<String> extendedHeader = new ArrayList<>(header.size() + 1);
-            extendedHeader.add(ROW_NUMBER_COLUMN);
-            extendedHeader.addAll(header);
-            template.initialize(tableUri, extendedHeader);
+            template.initialize(tableUri, header);
+            iriFactory.initialize();
         }
     }
 
@@ -56,14 +58,9 @@ public class ResourceTemplate {
             if (template == null) {
                 resource = VALUE_FACTORY.createBNode();
             } else {
-                List<String> extendedRow = new ArrayList<>(row.size() + 1);
-                extendedRow.add(Integer.toString(rowNumber));
-                extendedRow.addAll(row);
-                final String value = template.process(extendedRow);
-                if (value == null) {
+                resource = iriFactory.create(row, rowNumber);
+                if (resource == null) {
                     return null;
-                } else {
-                    resource = VALUE_FACTORY.createIRI(value);
                 }
             }
             return resource;
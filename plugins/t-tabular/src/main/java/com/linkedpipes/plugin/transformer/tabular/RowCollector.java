@@ -0,0 +1,106 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collect statements together with the row boundaries, so they can be
+ * later replayed into another consumer.
+ */
+class RowCollector implements StatementConsumer {
+
+    private static final ValueFactory VALUE_FACTORY
+            = SimpleValueFactory.getInstance();
+
+    private List<Statement> statements = new ArrayList<>();
+
+    /**
+     * For each row index after the last statement of the row.
+     */
+    private List<Integer> rowEnds = new ArrayList<>();
+
+    @Override
+    public void onRowStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onRowEnd() {
+        rowEnds.add(statements.size());
+    }
+
+    @Override
+    public void onFileStart() {
+        // No operation here.
+    }
+
+    @Override
+    public void onFileEnd() {
+        // No operation here.
+    }
+
+    @Override
+    public void submit(Resource subject, IRI predicate, Value object) {
+        statements.add(VALUE_FACTORY.createStatement(
+                subject, predicate, object));
+    }
+
+    /**
+     * Return collected content and start collecting again.
+     */
+    public Content take() {
+        Content result = new Content(statements, rowEnds);
+        statements = new ArrayList<>();
+        rowEnds = new ArrayList<>();
+        return result;
+    }
+
+    /**
+     * Collected statements.
+     */
+    public static class Content {
+
+        private final List<Statement> statements;
+
+        private final List<Integer> rowEnds;
+
+        private Content(List<Statement> statements, List<Integer> rowEnds) {
+            this.statements = statements;
+            this.rowEnds = rowEnds;
+        }
+
+        /**
+         * Submit the statements in the same way they were submitted
+         * to the collector. Statements after the end of the last row
+         * are submitted without the end of the row.
+         */
+        public void replay(StatementConsumer consumer) throws LpException {
+            int start = 0;
+            for (int end : rowEnds) {
+                consumer.onRowStart();
+                submit(consumer, start, end);
+                consumer.onRowEnd();
+                start = end;
+            }
+            submit(consumer, start, statements.size());
+        }
+
+        private void submit(StatementConsumer consumer, int start, int end)
+                throws LpException {
+            for (Statement statement : statements.subList(start, end)) {
+                consumer.submit(statement.getSubject(),
+                        statement.getPredicate(), statement.getObject());
+            }
+        }
+
+    }
+
+}
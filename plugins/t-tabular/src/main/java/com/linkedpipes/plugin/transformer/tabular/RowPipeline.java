@@ -0,0 +1,332 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
+import org.eclipse.rdf4j.model.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map rows of tables using multiple threads.
+ *
+ * <p>Rows are read and numbered by the calling thread and sent in batches
+ * to worker threads. Each worker has own {@link Mapper}. Results, and all
+ * other output, are written to the consumer from the calling thread in
+ * the input order. As a result the output is the same as if the rows
+ * were mapped by a single {@link Mapper}. Batches of the next table
+ * are mapped while the previous table is still being written.
+ */
+class RowPipeline implements RowHandler, AutoCloseable {
+
+    /**
+     * Part of the output, written from the calling thread.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        void write() throws LpException;
+
+    }
+
+    /**
+     * Table state shared by all batches of the table.
+     */
+    private static class Table {
+
+        private final String fileName;
+
+        private final String resource;
+
+        private final Resource node;
+
+        private List<String> header;
+
+        /**
+         * Set from the calling thread.
+         */
+        private boolean failed = false;
+
+        Table(String fileName, String resource, Resource node) {
+            this.fileName = fileName;
+            this.resource = resource;
+            this.node = node;
+        }
+
+    }
+
+    /**
+     * Mapper and collector of a single worker thread.
+     */
+    private class Worker {
+
+        private final RowCollector collector = new RowCollector();
+
+        private final Mapper mapper;
+
+        private Table table = null;
+
+        Worker() throws LpException {
+            this.mapper = new Mapper(collector, configuration,
+                    ColumnFactory.createColumnList(
+                            configuration, exceptionFactory),
+                    exceptionFactory);
+        }
+
+        Action map(Table table, int firstRowNumber, List<List<String>> rows) {
+            Exception failure = null;
+            try {
+                if (this.table != table) {
+                    mapper.onTableContinue(
+                            table.resource, table.node, table.header);
+                    this.table = table;
+                }
+                int rowNumber = firstRowNumber;
+                for (List<String> row : rows) {
+                    mapper.emitRow(row, rowNumber++);
+                    collector.onRowEnd();
+                }
+            } catch (Exception ex) {
+                failure = ex;
+            }
+            RowCollector.Content content = collector.take();
+            Exception rowFailure = failure;
+            return () -> {
+                if (table.failed) {
+                    return;
+                }
+                content.replay(output);
+                if (rowFailure != null) {
+                    onFailure(table, rowFailure);
+                }
+            };
+        }
+
+    }
+
+    private static final Logger LOG =
+            LoggerFactory.getLogger(RowPipeline.class);
+
+    private static final int ROWS_PER_BATCH = 1000;
+
+    /**
+     * Number of batches in progress per thread.
+     */
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private static final int TERMINATION_CHECK = 5;
+
+    private final StatementConsumer output;
+
+    private final TabularConfiguration configuration;
+
+    private final ExceptionFactory exceptionFactory;
+
+    private final boolean skipOnError;
+
+    /**
+     * Used to number rows and to create non-row output.
+     */
+    private final Mapper mapper;
+
+    private final RowCollector collector = new RowCollector();
+
+    private final ExecutorService executor;
+
+    private final int maxInProgress;
+
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+
+    private final Deque<Future<Action>> pending = new ArrayDeque<>();
+
+    private final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+
+    private Table table;
+
+    private List<List<String>> rows = new ArrayList<>(ROWS_PER_BATCH);
+
+    private int firstRowNumber;
+
+    RowPipeline(StatementConsumer output, TabularConfiguration configuration,
+            ExceptionFactory exceptionFactory, boolean skipOnError,
+            int threads) throws LpException {
+        this.output = output;
+        this.configuration = configuration;
+        this.exceptionFactory = exceptionFactory;
+        this.skipOnError = skipOnError;
+        this.mapper = new Mapper(collector, configuration,
+                ColumnFactory.createColumnList(
+                        configuration, exceptionFactory),
+                exceptionFactory);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.maxInProgress = threads * BATCHES_PER_THREAD;
+    }
+
+    /**
+     * @param tableGroupUri If null then blank node is used.
+     */
+    public void initialize(String tableGroupUri) throws LpException {
+        mapper.initialize(tableGroupUri);
+        submitCollected();
+    }
+
+    public void onTableStart(String fileName, String tableResource)
+            throws LpException {
+        mapper.onTableStart(tableResource, null);
+        table = new Table(fileName, mapper.getTableResource(),
+                mapper.getTable());
+        submitCollected();
+    }
+
+    @Override
+    public void onHeader(List<String> header)
+            throws ColumnAbstract.MissingNameInHeader, InvalidTemplate,
+            LpException {
+        // Validate the header, the header can be also updated.
+        mapper.onHeader(header);
+        table.header = new ArrayList<>(header);
+    }
+
+    @Override
+    public boolean onRow(List<String> row) throws LpException {
+        if (!mapper.nextRow()) {
+            return true;
+        }
+        if (rows.isEmpty()) {
+            firstRowNumber = mapper.getRowNumber();
+        }
+        rows.add(row);
+        if (rows.size() >= ROWS_PER_BATCH) {
+            submitRows();
+        }
+        return mapper.hasNextRow();
+    }
+
+    /**
+     * Report failure of the current table, the failure is handled
+     * after all the rows read so far are written.
+     */
+    public void onTableFailure(Exception exception) throws LpException {
+        submitRows();
+        Table failedTable = table;
+        submit(() -> {
+            if (!failedTable.failed) {
+                onFailure(failedTable, exception);
+            }
+        });
+    }
+
+    public void onTableEnd() throws LpException {
+        submitRows();
+        mapper.onTableEnd();
+        table = null;
+    }
+
+    /**
+     * Submit action that is executed in order with the rest of the output.
+     */
+    public void submit(Action action) throws LpException {
+        pending.add(CompletableFuture.completedFuture(action));
+        writeFinished(maxInProgress);
+    }
+
+    /**
+     * Wait for all batches and write them.
+     */
+    public void flush() throws LpException {
+        writeFinished(0);
+    }
+
+    @Override
+    public void close() {
+        for (Future<Action> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+        executor.shutdown();
+        while (true) {
+            try {
+                if (executor.awaitTermination(
+                        TERMINATION_CHECK, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException ex) {
+                // Ignore.
+            }
+        }
+    }
+
+    private void submitCollected() throws LpException {
+        RowCollector.Content content = collector.take();
+        submit(() -> content.replay(output));
+    }
+
+    private void submitRows() throws LpException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Table batchTable = table;
+        List<List<String>> batchRows = rows;
+        int batchFirstRowNumber = firstRowNumber;
+        pending.add(executor.submit(() -> {
+            if (contextMap != null) {
+                MDC.setContextMap(contextMap);
+            }
+            return getWorker().map(
+                    batchTable, batchFirstRowNumber, batchRows);
+        }));
+        rows = new ArrayList<>(ROWS_PER_BATCH);
+        writeFinished(maxInProgress);
+    }
+
+    private Worker getWorker() throws LpException {
+        Worker worker = workers.get();
+        if (worker == null) {
+            worker = new Worker();
+            workers.set(worker);
+        }
+        return worker;
+    }
+
+    /**
+     * Write results in order until there are at most given number
+     * of results pending.
+     */
+    private void writeFinished(int maxPending) throws LpException {
+        while (pending.size() > maxPending) {
+            Action action;
+            try {
+                action = pending.poll().get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new LpException("Interrupted.", ex);
+            } catch (ExecutionException ex) {
+                throw new LpException("Can't map rows.", ex.getCause());
+            }
+            action.write();
+        }
+    }
+
+    private void onFailure(Table failedTable, Exception exception)
+            throws LpException {
+        if (!skipOnError) {
+            throw exceptionFactory.failure("Can't process file: {}",
+                    failedTable.fileName, exception);
+        }
+        LOG.error("Can't process file: {}", failedTable.fileName, exception);
+        failedTable.failed = true;
+    }
+
+}
@@ -32,6 +32,14 @@ public class Tabular implements Component, SequentialExecution {
 
     @Override
     public void execute() throws LpException {
+        if (configuration.getThreads() > 1) {
+            executeInParallel();
+        } else {
+            executeSequentially();
+        }
+    }
+
+    private void executeSequentially() throws LpException {
         final BufferedOutput output = new BufferedOutput(outputRdfDataUnit);
         final Parser parser = new Parser(configuration, exceptionFactory);
         final Mapper mapper = new Mapper(output, configuration,
@@ -42,16 +50,7 @@ public class Tabular implements Component, SequentialExecution {
         for (FilesDataUnit.Entry entry : inputFilesDataUnit) {
             LOG.info("Processing file: {}", entry.toFile());
             output.onFileStart();
-            final String table;
-            switch (configuration.getEncodeType()) {
-                case "emptyHost":
-                    table = "file:///" + entry.getFileName();
-                    break;
-                default:
-                    table = "file://" + entry.getFileName();
-                    break;
-            }
-            mapper.onTableStart(table, null);
+            mapper.onTableStart(getTableResource(entry), null);
             try {
                 parser.parse(entry, mapper);
             } catch (Exception ex) {
@@ -68,4 +67,37 @@ public class Tabular implements Component, SequentialExecution {
         }
     }
 
+    private void executeInParallel() throws LpException {
+        final BufferedOutput output = new BufferedOutput(outputRdfDataUnit);
+        final Parser parser = new Parser(configuration, exceptionFactory);
+        try (RowPipeline pipeline = new RowPipeline(output, configuration,
+                exceptionFactory, configuration.isSkipOnError(),
+                configuration.getThreads())) {
+            pipeline.initialize(null);
+            for (FilesDataUnit.Entry entry : inputFilesDataUnit) {
+                LOG.info("Processing file: {}", entry.toFile());
+                pipeline.submit(output::onFileStart);
+                pipeline.onTableStart(
+                        entry.getFileName(), getTableResource(entry));
+                try {
+                    parser.parse(entry, pipeline);
+                } catch (Exception ex) {
+                    pipeline.onTableFailure(ex);
+                }
+                pipeline.onTableEnd();
+                pipeline.submit(output::onFileEnd);
+            }
+            pipeline.flush();
+        }
+    }
+
+    private String getTableResource(FilesDataUnit.Entry entry) {
+        switch (configuration.getEncodeType()) {
+            case "emptyHost":
+                return "file:///" + entry.getFileName();
+            default:
+                return "file://" + entry.getFileName();
+        }
+    }
+
 }
@@ -425,6 +425,12 @@ public class TabularConfiguration {
     @RdfToPojo.Property(iri = TabularVocabulary.HAS_SKIP_ON_ERROR)
     private boolean skipOnError = false;
 
+    /**
+     * Number of threads used to map rows.
+     */
+    @RdfToPojo.Property(iri = TabularVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public TabularConfiguration() {
     }
 
@@ -516,4 +522,12 @@ public class TabularConfiguration {
         this.skipOnError = skipOnError;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
 }
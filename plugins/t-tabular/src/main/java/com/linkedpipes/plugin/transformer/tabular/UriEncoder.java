@@ -0,0 +1,116 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+/**
+ * Table driven encoder, produce the same output as
+ * {@link java.net.URLEncoder} with UTF-8 but append directly to
+ * a given builder.
+ */
+final class UriEncoder {
+
+    private static final int ASCII_SIZE = 128;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final int HEX_SHIFT = 4;
+
+    private static final int HEX_MASK = 0x0F;
+
+    private static final int CONTINUATION = 0x80;
+
+    private static final int CONTINUATION_MASK = 0x3F;
+
+    private static final int UTF8_SHIFT = 6;
+
+    private static final int TWO_BYTES = 0xC0;
+
+    private static final int THREE_BYTES = 0xE0;
+
+    private static final int FOUR_BYTES = 0xF0;
+
+    private static final int TWO_BYTES_LIMIT = 0x800;
+
+    /**
+     * Replacement of malformed surrogate pairs.
+     */
+    private static final char REPLACEMENT = '?';
+
+    /**
+     * Characters that are not encoded.
+     */
+    private static final boolean[] SAFE = new boolean[ASCII_SIZE];
+
+    static {
+        for (char c = 'a'; c <= 'z'; ++c) {
+            SAFE[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; ++c) {
+            SAFE[c] = true;
+        }
+        for (char c = '0'; c <= '9'; ++c) {
+            SAFE[c] = true;
+        }
+        SAFE['.'] = true;
+        SAFE['-'] = true;
+        SAFE['*'] = true;
+        SAFE['_'] = true;
+    }
+
+    private UriEncoder() {
+    }
+
+    public static String encode(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        encode(builder, value);
+        return builder.toString();
+    }
+
+    public static void encode(StringBuilder builder, String value) {
+        int length = value.length();
+        // Copy characters that need no encoding at once.
+        int start = 0;
+        for (int index = 0; index < length; ++index) {
+            char c = value.charAt(index);
+            if (c < ASCII_SIZE && SAFE[c]) {
+                continue;
+            }
+            builder.append(value, start, index);
+            if (c == ' ') {
+                builder.append('+');
+            } else if (c < ASCII_SIZE) {
+                appendByte(builder, c);
+            } else if (c < TWO_BYTES_LIMIT) {
+                appendByte(builder, TWO_BYTES | (c >> UTF8_SHIFT));
+                appendContinuation(builder, c);
+            } else if (Character.isHighSurrogate(c)
+                    && index + 1 < length
+                    && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(
+                        c, value.charAt(++index));
+                appendByte(builder,
+                        FOUR_BYTES | (codePoint >> (UTF8_SHIFT * 3)));
+                appendContinuation(builder, codePoint >> (UTF8_SHIFT * 2));
+                appendContinuation(builder, codePoint >> UTF8_SHIFT);
+                appendContinuation(builder, codePoint);
+            } else if (Character.isSurrogate(c)) {
+                appendByte(builder, REPLACEMENT);
+            } else {
+                appendByte(builder, THREE_BYTES | (c >> (UTF8_SHIFT * 2)));
+                appendContinuation(builder, c >> UTF8_SHIFT);
+                appendContinuation(builder, c);
+            }
+            start = index + 1;
+        }
+        builder.append(value, start, length);
+    }
+
+    private static void appendContinuation(StringBuilder builder, int value) {
+        appendByte(builder, CONTINUATION | (value & CONTINUATION_MASK));
+    }
+
+    private static void appendByte(StringBuilder builder, int value) {
+        builder.append('%');
+        builder.append(HEX[(value >> HEX_SHIFT) & HEX_MASK]);
+        builder.append(HEX[value & HEX_MASK]);
+    }
+
+}
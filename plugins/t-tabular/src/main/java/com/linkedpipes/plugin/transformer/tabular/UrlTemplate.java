@@ -1,8 +1,6 @@
 package com.linkedpipes.plugin.transformer.tabular;
 
 import org.eclipse.rdf4j.model.IRI;
-import org.eclipse.rdf4j.model.ValueFactory;
-import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 
 import java.util.List;
 
@@ -11,27 +9,23 @@ import java.util.List;
  */
 class UrlTemplate {
 
-    protected static final ValueFactory VALUE_FACTORY
-            = SimpleValueFactory.getInstance();
-
     private final StringTemplate template;
 
+    private final IriFactory iriFactory;
+
     UrlTemplate(String templateAsString) {
         this.template = new StringTemplate(templateAsString);
+        this.iriFactory = new IriFactory(template);
     }
 
     public void initialize(String tableUri, List<String> header)
             throws InvalidTemplate {
         template.initialize(tableUri, header);
+        iriFactory.initialize();
     }
 
     public IRI getUrl(List<String> row, int rowNumber) {
-        final String value = template.process(row);
-        if (value == null) {
-            return null;
-        } else {
-            return VALUE_FACTORY.createIRI(value);
-        }
+        return iriFactory.create(row, rowNumber);
     }
 
 }
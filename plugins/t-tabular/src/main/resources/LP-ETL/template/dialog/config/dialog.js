@@ -17,7 +17,8 @@ define([], function () {
             'skipRows': -1,
             'encodeType' : '',
             'skipLines' : 0,
-            'skipOnError': false
+            'skipOnError': false,
+            'threads': 1
         };
 
         var prefix = {
@@ -72,6 +73,7 @@ define([], function () {
             $scope.dialog.encodeType = rdf.getString(table, prefix.tabular + 'encodeType');
             $scope.dialog.skipLines = rdf.getInteger(table, prefix.tabular + 'skipLines');
             $scope.dialog.skipOnError = rdf.getBoolean(table, prefix.tabular + 'skipOnError');
+            $scope.dialog.threads = rdf.getInteger(table, prefix.tabular + 'threads');
 
             if ($scope.dialog.encodeType === undefined || $scope.dialog.encodeType === '') {
                 $scope.dialog.encodeType = "default";
@@ -120,6 +122,7 @@ define([], function () {
             rdf.setString(table, prefix.tabular + 'encodeType', $scope.dialog.encodeType);
             rdf.setInteger(table, prefix.tabular + 'skipLines', $scope.dialog.skipLines);
             rdf.setBoolean(table, prefix.tabular + 'skipOnError', $scope.dialog.skipOnError);
+            rdf.setInteger(table, prefix.tabular + 'threads', $scope.dialog.threads);
 
             var dialect = rdf.secureObject(table, prefix.csvw + 'dialect', 'Dialect');
             rdf.setString(dialect, prefix.csvw + 'delimeter', $scope.dialog.delimeter);
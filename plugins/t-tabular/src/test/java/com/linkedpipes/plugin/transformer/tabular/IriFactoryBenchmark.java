@@ -0,0 +1,198 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare creation of IRIs from templates for one million rows using
+ * {@link IriFactory} and {@link UriEncoder} with the previous
+ * implementation, where every token returned a new string encoded
+ * by {@link URLEncoder}.
+ *
+ * <p>This is not a test, run the main method with the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IriFactoryBenchmark {
+
+    private static final ValueFactory VALUE_FACTORY =
+            SimpleValueFactory.getInstance();
+
+    private static final int ROWS = 1000000;
+
+    /**
+     * Number of distinct values in the code column.
+     */
+    private static final int CODES = 50;
+
+    private static final List<String> HEADER =
+            Arrays.asList("id", "name", "code");
+
+    /**
+     * The previous implementation of {@link StringTemplate#process(List)}.
+     */
+    private static class UrlEncoderTemplate {
+
+        private final List<String> strings = new ArrayList<>();
+
+        /**
+         * For each string index of column to encode, or -1.
+         */
+        private final List<Integer> columns = new ArrayList<>();
+
+        UrlEncoderTemplate(String template) {
+            String toParse = template;
+            while (!toParse.isEmpty()) {
+                int left = toParse.indexOf('{');
+                if (left == -1) {
+                    add(toParse, -1);
+                    break;
+                }
+                int right = toParse.indexOf('}');
+                if (left > 0) {
+                    add(toParse.substring(0, left), -1);
+                }
+                String name = toParse.substring(left + 1, right);
+                add(null, HEADER.indexOf(name));
+                toParse = toParse.substring(right + 1);
+            }
+        }
+
+        private void add(String string, int column) {
+            strings.add(string);
+            columns.add(column);
+        }
+
+        public String process(List<String> row) {
+            StringBuilder result = new StringBuilder(20);
+            for (int index = 0; index < strings.size(); ++index) {
+                String value = processToken(index, row);
+                if (value == null) {
+                    return null;
+                }
+                result.append(value);
+            }
+            return result.toString();
+        }
+
+        private String processToken(int index, List<String> row) {
+            int column = columns.get(index);
+            if (column == -1) {
+                return strings.get(index);
+            }
+            String value = row.get(column);
+            if (value == null) {
+                return null;
+            }
+            return encode(value);
+        }
+
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new RuntimeException("Unsupported encoding", ex);
+        }
+    }
+
+    @Param({
+            "http://localhost/{id}",
+            "http://localhost/{code}",
+            "http://localhost/{id}/{name}"
+    })
+    public String template;
+
+    private List<List<String>> rows;
+
+    private UrlEncoderTemplate urlEncoderTemplate;
+
+    private IriFactory iriFactory;
+
+    @Setup
+    public void setup() throws InvalidTemplate {
+        rows = new ArrayList<>(ROWS);
+        for (int index = 0; index < ROWS; ++index) {
+            rows.add(Arrays.asList(
+                    Integer.toString(index),
+                    "name " + index,
+                    "code " + (index % CODES)));
+        }
+        urlEncoderTemplate = new UrlEncoderTemplate(template);
+        StringTemplate stringTemplate = new StringTemplate(template);
+        stringTemplate.initialize(null, HEADER);
+        iriFactory = new IriFactory(stringTemplate);
+    }
+
+    @Benchmark
+    public void urlEncoder(Blackhole blackhole) {
+        for (List<String> row : rows) {
+            blackhole.consume(VALUE_FACTORY.createIRI(
+                    urlEncoderTemplate.process(row)));
+        }
+    }
+
+    @Benchmark
+    public void iriFactory(Blackhole blackhole) {
+        // The factory is initialized for each table.
+        iriFactory.initialize();
+        int rowNumber = 0;
+        for (List<String> row : rows) {
+            blackhole.consume(iriFactory.create(row, ++rowNumber));
+        }
+    }
+
+    /**
+     * Encode only the values, without the template.
+     */
+    @Benchmark
+    public void urlEncoderValues(Blackhole blackhole) {
+        for (List<String> row : rows) {
+            blackhole.consume(encode(row.get(1)));
+        }
+    }
+
+    @Benchmark
+    public void uriEncoderValues(Blackhole blackhole) {
+        StringBuilder builder = new StringBuilder();
+        for (List<String> row : rows) {
+            builder.setLength(0);
+            UriEncoder.encode(builder, row.get(1));
+            blackhole.consume(builder.toString());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IriFactoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
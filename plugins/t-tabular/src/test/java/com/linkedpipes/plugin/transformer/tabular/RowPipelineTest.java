@@ -0,0 +1,122 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+import com.linkedpipes.etl.executor.api.v1.service.ExceptionFactory;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RowPipelineTest {
+
+    /**
+     * Record all calls, blank nodes are replaced with a placeholder.
+     */
+    private static class Recorder implements StatementConsumer {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onRowStart() {
+            // Not called for skipped rows by the pipeline.
+        }
+
+        @Override
+        public void onRowEnd() {
+            events.add("row end");
+        }
+
+        @Override
+        public void onFileStart() {
+            events.add("file start");
+        }
+
+        @Override
+        public void onFileEnd() {
+            events.add("file end");
+        }
+
+        @Override
+        public void submit(Resource subject, IRI predicate, Value object) {
+            events.add(toString(subject) + " " + predicate + " "
+                    + toString(object));
+        }
+
+        private static String toString(Value value) {
+            if (value instanceof BNode) {
+                return "_:node";
+            }
+            return value.toString();
+        }
+
+    }
+
+    private final ExceptionFactory exceptionFactory =
+            (message, args) -> new LpException(message, args);
+
+    @Test
+    public void sameOutputAsMapper() throws Exception {
+        TabularConfiguration configuration = createConfiguration();
+        List<List<String>> rows = new ArrayList<>();
+        for (int index = 0; index < 2500; ++index) {
+            rows.add(Arrays.asList("a" + index, "b" + index));
+        }
+        //
+        Recorder expected = new Recorder();
+        Mapper mapper = new Mapper(expected, configuration,
+                ColumnFactory.createColumnList(
+                        configuration, exceptionFactory),
+                exceptionFactory);
+        mapper.initialize(null);
+        for (String table : Arrays.asList("first", "second")) {
+            expected.onFileStart();
+            mapper.onTableStart("file://" + table, null);
+            mapper.onHeader(Arrays.asList("a", "b"));
+            for (List<String> row : rows) {
+                if (!mapper.onRow(row)) {
+                    break;
+                }
+            }
+            mapper.onTableEnd();
+            expected.onFileEnd();
+        }
+        //
+        Recorder actual = new Recorder();
+        try (RowPipeline pipeline = new RowPipeline(actual, configuration,
+                exceptionFactory, false, 3)) {
+            pipeline.initialize(null);
+            for (String table : Arrays.asList("first", "second")) {
+                pipeline.submit(actual::onFileStart);
+                pipeline.onTableStart(table, "file://" + table);
+                pipeline.onHeader(Arrays.asList("a", "b"));
+                for (List<String> row : rows) {
+                    if (!pipeline.onRow(row)) {
+                        break;
+                    }
+                }
+                pipeline.onTableEnd();
+                pipeline.submit(actual::onFileEnd);
+            }
+            pipeline.flush();
+        }
+        //
+        Assert.assertFalse(expected.events.isEmpty());
+        Assert.assertEquals(expected.events, actual.events);
+    }
+
+    private TabularConfiguration createConfiguration() {
+        TabularConfiguration configuration = new TabularConfiguration();
+        configuration.setFullMapping(true);
+        configuration.setStandardMode(true);
+        configuration.getDialect().setSkipRows(10);
+        configuration.setRowLimit(2000);
+        return configuration;
+    }
+
+}
@@ -83,7 +83,7 @@ abstract class ColumnAbstract {
      * @param rowNumber
      * @return Must not return null.
      */
-    public abstract List<Resource> emit(RdfOutput outputConsumer,
+    public abstract List<Resource> emit(StatementConsumer outputConsumer,
             List<String> row, int rowNumber)
             throws LpException, MissingColumnValue;
 
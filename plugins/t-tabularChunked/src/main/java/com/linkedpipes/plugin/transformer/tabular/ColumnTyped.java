@@ -29,7 +29,7 @@ class ColumnTyped extends ColumnAbstract {
     }
 
     @Override
-    public List<Resource> emit(RdfOutput outputConsumer,
+    public List<Resource> emit(StatementConsumer outputConsumer,
             List<String> row, int rowNumber)
             throws LpException, MissingColumnValue {
         final Resource s = aboutUrl.getResource(row, rowNumber);
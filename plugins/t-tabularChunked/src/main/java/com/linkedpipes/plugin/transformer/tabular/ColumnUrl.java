@@ -32,7 +32,7 @@ class ColumnUrl extends ColumnAbstract {
     }
 
     @Override
-    public List<Resource> emit(RdfOutput outputConsumer,
+    public List<Resource> emit(StatementConsumer outputConsumer,
             List<String> row, int rowNumber) throws LpException {
         final Resource s = aboutUrl.getResource(row, rowNumber);
         final IRI p = predicate.getUrl(row, rowNumber);
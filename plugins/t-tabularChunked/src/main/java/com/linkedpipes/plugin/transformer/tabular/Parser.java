@@ -53,7 +53,7 @@ class Parser {
         }
     }
 
-    public void parse(FilesDataUnit.Entry entry, Mapper mapper)
+    public void parse(FilesDataUnit.Entry entry, RowHandler mapper)
             throws UnsupportedEncodingException, IOException, LpException,
             ColumnAbstract.MissingColumnValue {
         try (final FileInputStream fileInputStream
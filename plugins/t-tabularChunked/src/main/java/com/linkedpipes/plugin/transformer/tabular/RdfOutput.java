@@ -11,7 +11,7 @@ import java.util.List;
 /**
  * Buffered output handler.
  */
-class RdfOutput {
+class RdfOutput implements StatementConsumer {
 
     private final static ValueFactory VALUE_FACTORY
             = SimpleValueFactory.getInstance();
@@ -29,10 +29,12 @@ class RdfOutput {
         this.linesPerChunk = linesPerChunk;
     }
 
+    @Override
     public void onRowStart() {
         // No operation here.
     }
 
+    @Override
     public void onRowEnd() throws LpException {
         linesCounter++;
         if (linesCounter >= linesPerChunk) {
@@ -41,14 +43,17 @@ class RdfOutput {
         }
     }
 
+    @Override
     public void onFileStart() throws LpException {
         // No operation here.
     }
 
+    @Override
     public void onFileEnd() throws LpException {
         flushBuffer();
     }
 
+    @Override
     public void submit(Resource subject, IRI predicate, Value object) {
         buffer.add(VALUE_FACTORY.createStatement(
                 subject, predicate, object));
@@ -0,0 +1,26 @@
+package com.linkedpipes.plugin.transformer.tabular;
+
+import com.linkedpipes.etl.executor.api.v1.LpException;
+
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+
+/**
+ * Receive header and rows from the {@link Parser}.
+ */
+interface RowHandler {
+
+    /**
+     * Called before the first row.
+     */
+    void onHeader(List<String> header)
+            throws ColumnAbstract.MissingNameInHeader, InvalidTemplate,
+            LpException;
+
+    /**
+     * @return True if next line should be processed if it exists.
+     */
+    boolean onRow(List<String> row) throws UnsupportedEncodingException,
+            LpException, ColumnAbstract.MissingColumnValue;
+
+}
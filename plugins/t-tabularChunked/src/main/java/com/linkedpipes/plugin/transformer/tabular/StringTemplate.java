@@ -1,8 +1,6 @@
 package com.linkedpipes.plugin.transformer.tabular;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,7 +15,11 @@ class StringTemplate {
 
     private static interface Token {
 
-        public abstract String process(List<String> row);
+        /**
+         * @return False if the value is missing.
+         */
+        public abstract boolean append(
+                StringBuilder builder, List<String> row, int rowNumber);
 
     }
 
@@ -33,8 +35,13 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
-            return string;
+        public boolean append(
+                StringBuilder builder, List<String> row, int rowNumber) {
+            if (string == null) {
+                return false;
+            }
+            builder.append(string);
+            return true;
         }
 
     }
@@ -55,14 +62,16 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
+        public boolean append(
+                StringBuilder builder, List<String> row, int rowNumber) {
             final String value = row.get(index);
             if (value == null) {
-                return null;
-            } else {
-                return encodeString(value);
+                return false;
             }
+            UriEncoder.encode(builder, value);
+            return true;
         }
+
     }
 
     /**
@@ -81,14 +90,16 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
+        public boolean append(
+                StringBuilder builder, List<String> row, int rowNumber) {
             final String value = row.get(index);
             if (value == null) {
-                return null;
-            } else {
-                return value;
+                return false;
             }
+            builder.append(value);
+            return true;
         }
+
     }
 
     /**
@@ -107,25 +118,67 @@ class StringTemplate {
         }
 
         @Override
-        public String process(List<String> row) {
+        public boolean append(
+                StringBuilder builder, List<String> row, int rowNumber) {
             final String value = row.get(index);
             if (value == null) {
-                return null;
-            } else {
-                return "#" + encodeString(value);
+                return false;
             }
+            builder.append('#');
+            UriEncoder.encode(builder, value);
+            return true;
+        }
+
+    }
+
+    /**
+     * Number of the row, the number is never encoded.
+     */
+    private static class TokenRowNumber implements Token {
+
+        private final String prefix;
+
+        private TokenRowNumber(String prefix) {
+            this.prefix = prefix;
         }
+
+        @Override
+        public boolean append(
+                StringBuilder builder, List<String> row, int rowNumber) {
+            builder.append(prefix);
+            builder.append(rowNumber);
+            return true;
+        }
+
     }
 
     private final String template;
 
+    /**
+     * Name of artificial column with row number, can be null.
+     */
+    private final String rowNumberColumn;
+
     /**
      * Contains information how to construct
      */
-    private final List<Token> tokens = new LinkedList<>();
+    private final List<Token> tokens = new ArrayList<>();
+
+    /**
+     * Reused by {@link #process(List, int)}.
+     */
+    private final StringBuilder builder = new StringBuilder();
 
     StringTemplate(String template) {
+        this(template, null);
+    }
+
+    /**
+     * @param rowNumberColumn Name of column that represents the row number.
+     */
+    StringTemplate(String template, String rowNumberColumn) {
         this.template = template;
+        this.rowNumberColumn = rowNumberColumn;
     }
 
     /**
@@ -182,19 +235,79 @@ class StringTemplate {
      * @return Can be null.
      */
     public String process(List<String> row) {
-        final StringBuilder result = new StringBuilder(20);
+        return process(row, 0);
+    }
+
+    /**
+     * @param row
+     * @param rowNumber
+     * @return Can be null.
+     */
+    public String process(List<String> row, int rowNumber) {
+        builder.setLength(0);
+        if (appendTo(builder, row, rowNumber)) {
+            return builder.toString();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Append value for given row to the builder.
+     *
+     * @return False if any value is missing, content of the builder
+     * is undefined in such case.
+     */
+    public boolean appendTo(
+            StringBuilder builder, List<String> row, int rowNumber) {
         for (Token token : tokens) {
-            String newString = token.process(row);
-            if (newString == null) {
+            if (!token.append(builder, row, rowNumber)) {
                 // If anyone return null, then we do not publish - ie. we
                 // assume all to be mandatory.
                 // TODO Implement optional
-                return null;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the value does not depend on the row.
+     */
+    public boolean isConstant() {
+        for (Token token : tokens) {
+            if (!(token instanceof TokenString)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Index of the only column the value depends on or -1 if
+     * there is no such column.
+     */
+    public int getSingleColumnIndex() {
+        int result = -1;
+        for (Token token : tokens) {
+            final int index;
+            if (token instanceof TokenString) {
+                continue;
+            } else if (token instanceof TokenSimpleExpansion) {
+                index = ((TokenSimpleExpansion) token).index;
+            } else if (token instanceof TokenReservedExpansion) {
+                index = ((TokenReservedExpansion) token).index;
+            } else if (token instanceof TokenFragmentExpansion) {
+                index = ((TokenFragmentExpansion) token).index;
             } else {
-                result.append(newString);
+                return -1;
+            }
+            if (result != -1 && result != index) {
+                return -1;
             }
+            result = index;
         }
-        return result.toString();
+        return result;
     }
 
     /**
@@ -221,14 +334,6 @@ class StringTemplate {
         return -1;
     }
 
-    private static String encodeString(String part) {
-        try {
-            return URLEncoder.encode(part, "UTF-8");
-        } catch (UnsupportedEncodingException ex) {
-            throw new RuntimeException("Unsupported encoding", ex);
-        }
-    }
-
     /**
      * Create token that based on given template.
      *
@@ -236,17 +341,28 @@ class StringTemplate {
      * @param header
      * @return
      */
-    private static Token createToken(String template, List<String> header)
+    private Token createToken(String template, List<String> header)
             throws InvalidTemplate {
         if (template.startsWith("+")) {
-            return new TokenReservedExpansion(getIndexForTemplate(
-                    template.substring(1), header));
+            final String name = template.substring(1);
+            if (name.equals(rowNumberColumn)) {
+                return new TokenRowNumber("");
+            }
+            return new TokenReservedExpansion(
+                    getIndexForTemplate(name, header));
         } else if (template.startsWith("#")) {
-            return new TokenFragmentExpansion(getIndexForTemplate(
-                    template.substring(1), header));
+            final String name = template.substring(1);
+            if (name.equals(rowNumberColumn)) {
+                return new TokenRowNumber("#");
+            }
+            return new TokenFragmentExpansion(
+                    getIndexForTemplate(name, header));
         } else {
-            return new TokenSimpleExpansion(getIndexForTemplate(
-                    template, header));
+            if (template.equals(rowNumberColumn)) {
+                return new TokenRowNumber("");
+            }
+            return new TokenSimpleExpansion(
+                    getIndexForTemplate(template, header));
         }
     }
 
@@ -42,6 +42,14 @@ public class TabularChunked implements Component, SequentialExecution {
 
     @Override
     public void execute() throws LpException {
+        if (configuration.getThreads() > 1) {
+            executeInParallel();
+        } else {
+            executeSequentially();
+        }
+    }
+
+    private void executeSequentially() throws LpException {
         final RdfOutput output = new RdfOutput(outputRdfDataUnit,
                 configuration.getChunkSize());
         LOG.info("Chunk size: {}", configuration.getChunkSize());
@@ -53,16 +61,7 @@ public class TabularChunked implements Component, SequentialExecution {
         progressReport.start(inputFilesDataUnit.size());
         for (FilesDataUnit.Entry entry : inputFilesDataUnit) {
             output.onFileStart();
-            final String table;
-            switch (configuration.getEncodeType()) {
-                case "emptyHost":
-                    table = "file:///" + entry.getFileName();
-                    break;
-                default:
-                    table = "file://" + entry.getFileName();
-                    break;
-            }
-            mapper.onTableStart(table, null);
+            mapper.onTableStart(getTableResource(entry), null);
             try {
                 parser.parse(entry, mapper);
             } catch (IOException | ColumnAbstract.MissingColumnValue ex) {
@@ -76,4 +75,41 @@ public class TabularChunked implements Component, SequentialExecution {
         progressReport.done();
     }
 
+    private void executeInParallel() throws LpException {
+        final RdfOutput output = new RdfOutput(outputRdfDataUnit,
+                configuration.getChunkSize());
+        LOG.info("Chunk size: {} threads: {}", configuration.getChunkSize(),
+                configuration.getThreads());
+        final Parser parser = new Parser(configuration, exceptionFactory);
+        progressReport.start(inputFilesDataUnit.size());
+        try (RowPipeline pipeline = new RowPipeline(output, configuration,
+                exceptionFactory, false, configuration.getThreads())) {
+            pipeline.initialize(null);
+            for (FilesDataUnit.Entry entry : inputFilesDataUnit) {
+                pipeline.submit(output::onFileStart);
+                pipeline.onTableStart(
+                        entry.getFileName(), getTableResource(entry));
+                try {
+                    parser.parse(entry, pipeline);
+                } catch (IOException | ColumnAbstract.MissingColumnValue ex) {
+                    pipeline.onTableFailure(ex);
+                }
+                pipeline.onTableEnd();
+                pipeline.submit(output::onFileEnd);
+                pipeline.submit(progressReport::entryProcessed);
+            }
+            pipeline.flush();
+        }
+        progressReport.done();
+    }
+
+    private String getTableResource(FilesDataUnit.Entry entry) {
+        switch (configuration.getEncodeType()) {
+            case "emptyHost":
+                return "file:///" + entry.getFileName();
+            default:
+                return "file://" + entry.getFileName();
+        }
+    }
+
 }
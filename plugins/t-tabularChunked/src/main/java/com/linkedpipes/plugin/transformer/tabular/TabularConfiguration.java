@@ -431,6 +431,12 @@ public class TabularConfiguration {
     @RdfToPojo.Property(iri = TabularVocabulary.HAS_SKIP_LINES)
     private int skipLines = 0;
 
+    /**
+     * Number of threads used to map rows.
+     */
+    @RdfToPojo.Property(iri = TabularVocabulary.HAS_THREADS)
+    private int threads = 1;
+
     public TabularConfiguration() {
     }
 
@@ -521,4 +527,12 @@ public class TabularConfiguration {
     public void setSkipLines(int skipLines) {
         this.skipLines = skipLines;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
 }
@@ -84,6 +84,8 @@ public final class TabularVocabulary {
 
     public static final String HAS_SKIP_LINES = LOCAL_PREFIX + "skipLines";
 
+    public static final String HAS_THREADS = LOCAL_PREFIX + "threads";
+
     private TabularVocabulary() {
     }
 
@@ -16,7 +16,8 @@ define([], function () {
             'baseUri': '',
             'skipRows': -1,
             'encodeType' : '',
-            'skipLines' : 0
+            'skipLines' : 0,
+            'threads': 1
         };
 
         var prefix = {
@@ -74,6 +75,7 @@ define([], function () {
                 $scope.dialog.encodeType = "default";
             }
             $scope.dialog.chunkSize = rdf.getInteger(table, prefix.tabular + 'chunkSize');
+            $scope.dialog.threads = rdf.getInteger(table, prefix.tabular + 'threads');
 
             var dialect = rdf.secureObject(table, prefix.csvw + 'dialect', 'Dialect');
             $scope.dialog.delimeter = rdf.getString(dialect, prefix.csvw + 'delimeter');
@@ -118,6 +120,7 @@ define([], function () {
             rdf.setString(table, prefix.tabular + 'encodeType', $scope.dialog.encodeType);
             rdf.setInteger(table, prefix.tabular + 'chunkSize', $scope.dialog.chunkSize);
             rdf.setInteger(table, prefix.tabular + 'skipLines', $scope.dialog.skipLines);
+            rdf.setInteger(table, prefix.tabular + 'threads', $scope.dialog.threads);
 
             var dialect = rdf.secureObject(table, prefix.csvw + 'dialect', 'Dialect');
             rdf.setString(dialect, prefix.csvw + 'delimeter', $scope.dialog.delimeter);
@@ -1,7 +1,11 @@
 package com.linkedpipes.plugin.transformer.tabular;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 import junit.framework.Assert;
+import org.eclipse.rdf4j.model.IRI;
 import org.junit.Test;
 
 /**
@@ -37,4 +41,58 @@ public class UrlTemplateTest {
         Assert.assertEquals("http://localhost/value#12", template.process(Arrays.asList("col1", "/value", "12")));
     }
 
+    @Test
+    public void test_row_number() throws InvalidTemplate {
+        final ResourceTemplate template = new ResourceTemplate(
+                "http://localhost/{col1}/{$ROW_NUMBER$}{#$ROW_NUMBER$}");
+        template.initialize(null, Arrays.asList("col1", "col2"));
+        Assert.assertEquals("http://localhost/a+b/12#12", template.getResource(
+                Arrays.asList("a b", "c"), 12).stringValue());
+    }
+
+    @Test
+    public void test_missing_value() throws InvalidTemplate {
+        final UrlTemplate template = new UrlTemplate("http://localhost/{col1}/{col2}");
+        template.initialize(null, Arrays.asList("col1", "col2"));
+        Assert.assertNull(template.getUrl(Arrays.asList("a", null), 1));
+        Assert.assertNull(template.getUrl(Arrays.asList(null, "b"), 1));
+        Assert.assertEquals("http://localhost/a/b", template.getUrl(Arrays.asList("a", "b"), 1).stringValue());
+    }
+
+    @Test
+    public void test_cached_values() throws InvalidTemplate {
+        final UrlTemplate template = new UrlTemplate("http://localhost/{col1}/{#col1}");
+        template.initialize(null, Arrays.asList("col1"));
+        for (int index = 0; index < 50000; ++index) {
+            final String value = "v " + (index % 7);
+            final IRI iri = template.getUrl(Arrays.asList(value), index);
+            Assert.assertEquals("http://localhost/v+" + (index % 7) + "/#v+" + (index % 7), iri.stringValue());
+        }
+        // Unique values turn the cache off.
+        for (int index = 0; index < 50000; ++index) {
+            final String value = "u" + index;
+            final IRI iri = template.getUrl(Arrays.asList(value), index);
+            Assert.assertEquals("http://localhost/u" + index + "/#u" + index, iri.stringValue());
+        }
+    }
+
+    @Test
+    public void test_encoder() {
+        final List<String> values = Arrays.asList("", "simple", "s p a c e",
+                "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~", "\u00e1\u010d\u0159",
+                "\u20ac\uffff", "\ud83d\ude00", "\ud83d", "a\ude00b", "\ud83dx");
+        for (String value : values) {
+            Assert.assertEquals(
+                    URLEncoder.encode(value, StandardCharsets.UTF_8),
+                    UriEncoder.encode(value));
+        }
+        final StringBuilder all = new StringBuilder();
+        for (char c = 0; c < Character.MAX_VALUE; ++c) {
+            all.append(c);
+        }
+        Assert.assertEquals(
+                URLEncoder.encode(all.toString(), StandardCharsets.UTF_8),
+                UriEncoder.encode(all.toString()));
+    }
+
 }
@@ -15,6 +15,9 @@ public class HttpRequestConfiguration implements TaskExecutionConfiguration {
     @RdfToPojo.Property(iri = HttpRequestVocabulary.HAS_THREADS_PER_GROUP)
     private int threadsPerGroup = 1;
 
+    @RdfToPojo.Property(iri = HttpRequestVocabulary.HAS_VIRTUAL_THREADS)
+    private boolean virtualThreads = false;
+
     @RdfToPojo.Property(iri = HttpRequestVocabulary.HAS_FOLLOW_REDIRECT)
     private boolean followRedirect = false;
 
@@ -53,6 +56,15 @@ public class HttpRequestConfiguration implements TaskExecutionConfiguration {
         this.threadsPerGroup = threadsPerGroup;
     }
 
+    @Override
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public boolean isFollowRedirect() {
         return followRedirect;
     }
@@ -47,6 +47,8 @@ public final class HttpRequestVocabulary {
     public static final String HAS_THREADS_PER_GROUP =
             PREFIX + "threadsPerGroup";
 
+    public static final String HAS_VIRTUAL_THREADS = PREFIX + "virtualThreads";
+
     public static final String HAS_RESPONSE_REPORT = PREFIX + "response";
 
     public static final String HAS_FOLLOW_REDIRECT = PREFIX + "followRedirect";
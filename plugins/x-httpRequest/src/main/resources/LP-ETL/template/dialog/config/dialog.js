@@ -20,6 +20,10 @@ define([], function () {
             "$type" : "int",
             "$label" : "Threads per group"
         },
+        "virtualThreads": {
+            "$type" : "bool",
+            "$label" : "Use virtual threads"
+        },
         "followRedirect" : {
             "$type" : "bool",
             "$label" : "Follow redirects"
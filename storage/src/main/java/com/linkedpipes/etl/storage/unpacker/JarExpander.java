@@ -3,6 +3,7 @@ package com.linkedpipes.etl.storage.unpacker;
 import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
 import com.linkedpipes.etl.storage.BaseException;
 import com.linkedpipes.etl.storage.unpacker.model.GraphCollection;
+import com.linkedpipes.etl.storage.unpacker.model.designer.DesignerPort;
 import com.linkedpipes.etl.storage.unpacker.model.executor.ExecutorComponent;
 import com.linkedpipes.etl.storage.unpacker.model.executor.ExecutorPort;
 import com.linkedpipes.etl.storage.unpacker.model.template.JarTemplate;
@@ -25,7 +26,8 @@ class JarExpander {
 
     public ExecutorComponent expand(
             String iri, List<String> configurations,
-            JarTemplate template) throws BaseException {
+            List<DesignerPort> ports, JarTemplate template)
+            throws BaseException {
 
         component = new ExecutorComponent();
         component.setIri(iri);
@@ -33,6 +35,8 @@ class JarExpander {
 
         copyTemplate(template);
 
+        applyPipelinePorts(ports);
+
         mergeConfigurations(template, configurations);
 
 
@@ -61,10 +65,28 @@ class JarExpander {
         newPort.setBinding(port.getBinding());
         newPort.setRequirements(port.getRequirements());
         newPort.setTypes(port.getTypes());
+        newPort.setChunkFormat(port.getChunkFormat());
 
         return newPort;
     }
 
+    /**
+     * Pipeline can change options of the data units, for example
+     * to opt in to the binary chunk format.
+     */
+    private void applyPipelinePorts(List<DesignerPort> ports) {
+        for (DesignerPort port : ports) {
+            if (port.getChunkFormat() == null) {
+                continue;
+            }
+            for (ExecutorPort executorPort : component.getPorts()) {
+                if (executorPort.getBinding().equals(port.getBinding())) {
+                    executorPort.setChunkFormat(port.getChunkFormat());
+                }
+            }
+        }
+    }
+
     private void mergeConfigurations(
             JarTemplate template,
             List<String> configurations) throws BaseException {
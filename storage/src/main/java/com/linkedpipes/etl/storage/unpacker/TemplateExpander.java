@@ -75,6 +75,7 @@ class TemplateExpander {
         ExecutorComponent component = jarExpander.expand(
                 srcComponent.getIri(),
                 srcComponent.getConfigurationGraphs(),
+                srcComponent.getPorts(),
                 template);
         copyBasicInformation(srcComponent, component);
         return component;
@@ -31,6 +31,11 @@ public class DesignerComponent implements Loadable {
 
     private boolean disabled = false;
 
+    /**
+     * Data unit options that override those from the template.
+     */
+    private List<DesignerPort> ports = new ArrayList<>();
+
     public DesignerComponent() {
     }
 
@@ -42,7 +47,7 @@ public class DesignerComponent implements Loadable {
         this.template = component.template;
         this.label = component.label;
         this.disabled = component.disabled;
-
+        this.ports.addAll(component.getPorts());
     }
 
     @Override
@@ -69,6 +74,10 @@ public class DesignerComponent implements Loadable {
             case LP_PIPELINE.HAS_DISABLED:
                 disabled = value.asBoolean();
                 return null;
+            case LP_PIPELINE.HAS_DATA_UNIT:
+                DesignerPort port = new DesignerPort();
+                ports.add(port);
+                return port;
             default:
                 return null;
         }
@@ -106,4 +115,8 @@ public class DesignerComponent implements Loadable {
         return disabled;
     }
 
+    public List<DesignerPort> getPorts() {
+        return ports;
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.linkedpipes.etl.storage.unpacker.model.designer;
+
+import com.linkedpipes.etl.executor.api.v1.vocabulary.LP_PIPELINE;
+import com.linkedpipes.etl.rdf.utils.model.BackendRdfValue;
+import com.linkedpipes.etl.rdf.utils.pojo.Loadable;
+
+/**
+ * Pipeline level options for a data unit of a component, the data unit
+ * is identified by the binding.
+ */
+public class DesignerPort implements Loadable {
+
+    private String binding;
+
+    private String chunkFormat;
+
+    public DesignerPort() {
+    }
+
+    @Override
+    public Loadable load(String predicate, BackendRdfValue value) {
+        switch (predicate) {
+            case LP_PIPELINE.HAS_BINDING:
+                binding = value.asString();
+                return null;
+            case LP_PIPELINE.HAS_CHUNK_FORMAT:
+                chunkFormat = value.asString();
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    public String getBinding() {
+        return binding;
+    }
+
+    /**
+     * Return IRI of the chunk format or null if not set.
+     */
+    public String getChunkFormat() {
+        return chunkFormat;
+    }
+
+}
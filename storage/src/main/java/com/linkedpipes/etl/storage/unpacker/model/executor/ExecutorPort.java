@@ -25,6 +25,8 @@ public class ExecutorPort {
 
     private Integer group = null;
 
+    private String chunkFormat = null;
+
     public ExecutorPort() {
     }
 
@@ -48,6 +50,9 @@ public class ExecutorPort {
             writer.typed(iri, LP_EXEC.HAS_DATA_UNIT_GROUP,
                     group.toString(), XSD.INTEGER);
         }
+        if (chunkFormat != null) {
+            writer.iri(iri, LP_PIPELINE.HAS_CHUNK_FORMAT, chunkFormat);
+        }
     }
 
     private boolean isMapped() {
@@ -96,4 +101,8 @@ public class ExecutorPort {
         this.group = group;
     }
 
+    public void setChunkFormat(String chunkFormat) {
+        this.chunkFormat = chunkFormat;
+    }
+
 }
@@ -17,6 +17,8 @@ public class TemplatePort implements Loadable {
 
     private final List<String> requirements = new LinkedList<>();
 
+    private String chunkFormat;
+
     public TemplatePort() {
     }
 
@@ -32,6 +34,9 @@ public class TemplatePort implements Loadable {
             case LP_PIPELINE.HAS_REQUIREMENT:
                 requirements.add(value.asString());
                 return null;
+            case LP_PIPELINE.HAS_CHUNK_FORMAT:
+                chunkFormat = value.asString();
+                return null;
             default:
                 return null;
         }
@@ -49,4 +54,8 @@ public class TemplatePort implements Loadable {
         return Collections.unmodifiableList(requirements);
     }
 
+    public String getChunkFormat() {
+        return chunkFormat;
+    }
+
 }
@@ -110,6 +110,23 @@ public class DesignerPipelineTest {
                 connection.getTargetComponent());
     }
 
+    @Test
+    public void load_09() throws Exception {
+        DesignerPipeline pipeline = loadPipeline("unpacker/designer/09.trig");
+
+        DesignerComponent component = pipeline.getComponent(
+                "http://localhost/pipeline/b67542e2");
+        Assert.assertEquals(1, component.getPorts().size());
+        DesignerPort port = component.getPorts().get(0);
+        Assert.assertEquals("OutputRdf", port.getBinding());
+        Assert.assertEquals(
+                "http://linkedpipes.com/ontology/chunk/Binary",
+                port.getChunkFormat());
+        // Ports are kept when the component is copied.
+        Assert.assertEquals(1,
+                new DesignerComponent(component).getPorts().size());
+    }
+
     private DesignerPipeline loadPipeline(String resourceName)
             throws IOException, RdfUtilsException {
         ClosableRdfSource source = Rdf4jUtils.loadAsSource(resourceName);
@@ -39,4 +39,9 @@ public final class LP_OVERVIEW {
 
     public static final String HAS_DIRECTORY_SIZE = PREFIX + "directorySize";
 
+    /**
+     * Status and progress of a component of a running execution.
+     */
+    public static final String HAS_COMPONENT = PREFIX + "component";
+
 }
@@ -99,6 +99,21 @@ public final class LP_PIPELINE {
     public static final String CHUNKED_TRIPLES_DATA_UNIT =
             PREFIX + "dataUnit/sesame/1.0/rdf/Chunked";
 
+    /**
+     * Format used to store chunks of chunked data unit.
+     */
+    public static final String HAS_CHUNK_FORMAT = PREFIX + "chunkFormat";
+
+    /**
+     * Store chunks as Turtle files, default format.
+     */
+    public static final String TURTLE_CHUNK_FORMAT = PREFIX + "chunk/Turtle";
+
+    /**
+     * Store chunks in compact binary format.
+     */
+    public static final String BINARY_CHUNK_FORMAT = PREFIX + "chunk/Binary";
+
     /**
      * Define requirement for working directory.
      */